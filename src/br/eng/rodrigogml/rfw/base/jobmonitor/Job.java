@@ -1,16 +1,24 @@
 package br.eng.rodrigogml.rfw.base.jobmonitor;
 
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobParallelTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWValidationException;
 import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
 import br.eng.rodrigogml.rfw.kernel.preprocess.PreProcess;
 
 /**
- * Description: Classe responsável por inciar e gerenciar a tarefa. Esta classe deve ser extendida para iniciar a execução da tarefa em paralelo (outra Thread).<br>
+ * Description: Classe responsável por inciar e gerenciar a tarefa. Esta classe deve ser extendida para iniciar a execução da tarefa em paralelo.<br>
+ * O Job não é mais uma Thread própria: ao chamar o {@link #start()} ele entra na fila do {@link JobMonitor} e é executado assim que houver espaço no executor compartilhado e na sua categoria ({@link #getCategory()}). Veja {@link JobMonitor#setMaxParallelJobs(int)} e {@link JobMonitor#setMaxParallelJobs(String, Integer)}.
  *
  * @author Rodrigo GML
  * @since 10.0 (18 de mar de 2020)
  */
-public abstract class Job extends Thread {
+public abstract class Job implements Runnable {
 
   /**
    * Recupera o Bean com as informações de jobStatus da tarefa, quando a tarefa suportar novas informações e mensagens podem ser retornadas (definidas) no bean durante a execução do método para que cheguem até o usuário, como textos, percentual de progresso, etc.
@@ -18,20 +26,72 @@ public abstract class Job extends Thread {
   private final JobStatus jobStatus;
 
   /**
-   * Inicia um novo Job
+   * Categoria do Job, utilizada para limitar a quantidade de Jobs de um mesmo tipo executando ao mesmo tempo.
+   */
+  private final String category;
+
+  /**
+   * Indica se o {@link #start()} já foi chamado.
+   */
+  private final AtomicBoolean started = new AtomicBoolean(false);
+
+  /**
+   * Liberado quando o Job termina, com sucesso, erro ou cancelado antes de ser executado.
+   */
+  private final CountDownLatch finished = new CountDownLatch(1);
+
+  /**
+   * Thread que está executando o Job. Null enquanto o Job aguarda na fila ou depois que termina. Alterada com o lock do Job, para que a interrupção nunca atinja a Thread depois que ela passou para outro Job.
+   */
+  private volatile Thread runner = null;
+
+  /**
+   * Execuções de {@link #parallelFor(int, JobParallelTask)} em andamento, interrompidas junto com o Job.
+   */
+  private final CopyOnWriteArrayList<JobParallel> parallels = new CopyOnWriteArrayList<>();
+
+  /**
+   * Inicia um novo Job, sem categoria.
+   *
+   * @param jobTitle Título de identificação da tarefa. Utilizado para realizar Logs e identificar a Thread no Debug.
    */
   public Job(String jobTitle) {
-    super("### Job: " + PreProcess.coalesce(jobTitle, "Job Without Title :/"));
-    this.setDaemon(false);
+    this(jobTitle, null);
+  }
+
+  /**
+   * Inicia um novo Job.
+   *
+   * @param jobTitle Título de identificação da tarefa. Utilizado para realizar Logs e identificar a Thread no Debug.
+   * @param category Categoria do Job, utilizada para limitar a quantidade de Jobs de um mesmo tipo executando ao mesmo tempo com {@link JobMonitor#setMaxParallelJobs(String, Integer)}. Ex: "Importação de NFe". Null para nenhuma categoria.
+   */
+  public Job(String jobTitle, String category) {
+    this.category = category;
     this.jobStatus = new JobStatus(JobMonitor.registerJob(this), PreProcess.coalesce(jobTitle, "Job Without Title :/"));
   }
 
   /**
-   * Método chamado quando começar a Thread.
+   * Coloca o Job na fila de execução do {@link JobMonitor}.<br>
+   * Este método só pode ser chamado uma única vez.
+   *
+   * @throws IllegalStateException Lançado caso o Job já tenha sido iniciado.
+   */
+  public void start() {
+    if (!this.started.compareAndSet(false, true)) throw new IllegalStateException("O Job '" + this.jobStatus.getJobTitle() + "' já foi iniciado!");
+    JobEngine.submit(this);
+  }
+
+  /**
+   * Método chamado pelo executor do {@link JobMonitor} quando chega a vez do Job ser executado.
    */
   @Override
   public void run() {
+    final Thread thread = Thread.currentThread();
+    final String threadName = thread.getName();
+    this.runner = thread;
     try {
+      // Identificamos a Thread do executor com o Job enquanto ele executa, facilitando o Debug como era com as Threads nomeadas
+      thread.setName("### Job: " + this.jobStatus.getJobTitle());
       this.jobStatus.setStep(JobStep.RUNNING);
       this.jobStatus.setJobReturn(runJob(this, this.jobStatus));
       this.jobStatus.setStep(JobStep.FINISHED);
@@ -39,12 +99,95 @@ public abstract class Job extends Thread {
       RFWLogger.logException(e);
       this.jobStatus.setException(e);
       this.jobStatus.setStep(JobStep.EXCEPTION);
+    } finally {
+      synchronized (this) {
+        this.runner = null;
+        Thread.interrupted(); // Não deixa uma interrupção destinada ao Job chegar no próximo Job executado nesta Thread
+      }
+      thread.setName(threadName);
+      this.finished.countDown();
     }
     JobMonitor.notifyEndOfJob(this.jobStatus.getJobUUID());
   }
 
   /**
-   * Método chamado quando a Thread do Job é iniciada.
+   * Interrompe o Job.<br>
+   * Caso o Job esteja em execução, a Thread que o executa é interrompida ({@link Thread#interrupt()}). Caso ainda esteja aguardando na fila, ele é retirado da fila e finalizado como cancelado, com a mesma exceção de {@link JobStatus#checkInterrupt()}.<br>
+   * Para solicitar o cancelamento cooperativo, sem interromper a Thread, utilize o {@link JobMonitor#interrupt(String)}.
+   */
+  public void interrupt() {
+    if (JobEngine.remove(this)) {
+      this.jobStatus.interrupt();
+      this.jobStatus.setException(new RFWValidationException("RFW_ERR_000004"));
+      this.jobStatus.setStep(JobStep.EXCEPTION);
+      this.finished.countDown();
+      JobMonitor.notifyEndOfJob(this.jobStatus.getJobUUID());
+    } else {
+      synchronized (this) {
+        if (this.runner != null) this.runner.interrupt();
+      }
+      for (JobParallel parallel : this.parallels) {
+        parallel.interrupt();
+      }
+    }
+  }
+
+  /**
+   * Processa itens em paralelo, dividindo o processamento entre os processadores disponíveis. Deve ser chamado de dentro do {@link #runJob(Job, JobStatus)}, e retorna depois que todos os itens forem processados.<br>
+   * Os itens são processados pela Thread do Job e por um pool de Threads compartilhado por todos os Jobs, limitado à quantidade de processadores.<br>
+   * <br>
+   * <b>Progresso:</b> o parallelFor utiliza os contadores de tarefas do passo atual do {@link JobStatus}: define o {@link JobStatus#getTasksTotal()} com a quantidade de itens e incrementa o {@link JobStatus#getTasksCount()} ao fim de cada item. Assim ele pode ser combinado com os passos ({@link JobStatus#incStepsCount()}) como
+   * qualquer outro processamento. Um parallelFor chamado dentro de outro não altera os contadores.<br>
+   * <b>Interrupção:</b> o {@link #interrupt()} do Job interrompe também as Threads que estão processando os itens, e nenhum novo item é iniciado. A solicitação de cancelamento do {@link JobMonitor#interrupt(String)} também impede que novos blocos de itens sejam iniciados.<br>
+   * <b>Exceções:</b> a primeira exceção lançada por um item interrompe o processamento dos demais, e é lançada por este método depois que todas as Threads terminarem, com as exceções dos demais itens que falharam em {@link Throwable#getSuppressed()}.
+   *
+   * @param count Quantidade de itens. Os índices passados para o task vão de 0 a count - 1.
+   * @param task Processamento de cada item.
+   * @throws Throwable A primeira exceção lançada por um item, ou {@link RFWValidationException} com o código "RFW_ERR_000004" caso o Job tenha sido interrompido.
+   */
+  public void parallelFor(int count, JobParallelTask task) throws Throwable {
+    if (count < 0) throw new IllegalArgumentException("A quantidade de itens não pode ser negativa!");
+    if (count == 0) return;
+    final JobParallel parallel = new JobParallel(count, task, this.jobStatus, this.parallels.isEmpty());
+    this.parallels.add(parallel);
+    try {
+      parallel.run();
+    } finally {
+      this.parallels.remove(parallel);
+    }
+  }
+
+  /**
+   * Verifica se o Job foi iniciado e ainda não terminou (aguardando na fila ou em execução).
+   *
+   * @return true caso o Job esteja na fila ou em execução.
+   */
+  public boolean isAlive() {
+    return this.started.get() && this.finished.getCount() > 0;
+  }
+
+  /**
+   * Aguarda o término do Job.
+   *
+   * @throws InterruptedException Lançado caso a Thread que aguarda seja interrompida.
+   */
+  public void join() throws InterruptedException {
+    this.finished.await();
+  }
+
+  /**
+   * Aguarda o término do Job por um tempo limitado.
+   *
+   * @param millis Tempo máximo de espera em milisegundos.
+   * @return true caso o Job tenha terminado, false caso o tempo tenha se esgotado.
+   * @throws InterruptedException Lançado caso a Thread que aguarda seja interrompida.
+   */
+  public boolean join(long millis) throws InterruptedException {
+    return this.finished.await(millis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Método chamado quando chega a vez do Job ser executado.
    *
    * @param job Instância do {@link Job}.
    * @param jStatus Bean para atualização do jobStatus de execução pela tarefa.
@@ -63,4 +206,13 @@ public abstract class Job extends Thread {
     return jobStatus;
   }
 
+  /**
+   * # categoria do Job, utilizada para limitar a quantidade de Jobs de um mesmo tipo executando ao mesmo tempo.
+   *
+   * @return the categoria do Job, utilizada para limitar a quantidade de Jobs de um mesmo tipo executando ao mesmo tempo
+   */
+  public String getCategory() {
+    return category;
+  }
+
 }
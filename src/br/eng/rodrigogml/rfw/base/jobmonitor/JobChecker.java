@@ -1,6 +1,6 @@
 package br.eng.rodrigogml.rfw.base.jobmonitor;
 
-import java.util.LinkedList;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
 import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobCheckerListener;
@@ -11,24 +11,41 @@ import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
 import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
 
 /**
- * Description: JobChecker é uma classe utilitária para forçar a verificação temporária de um Job em background.<br>
- * O JobChecker, depois de chamado o método {@link #start()}, inicia um Thread que verifica o status do Job de tempos em tempos e dispara o método para atualização.<br>
- * A Thread para automaticamente quando o {@link JobStep#FINISHED}.
+ * Description: JobChecker é uma classe utilitária para acompanhar as alterações de um Job em background.<br>
+ * O JobChecker, depois de chamado o método {@link #start()}, notifica os listeners sempre que o status do Job for alterado, até que ele termine ({@link JobStep#FINISHED} ou {@link JobStep#EXCEPTION}).<br>
+ * Quando o {@link JobStatusSupplier} entrega o {@link JobStatus} original (mesma JVM do Job) o JobChecker assina as notificações do próprio {@link JobStatus}, e as alterações chegam assim que acontecem, respeitando o intervalo mínimo de {@link #setMinIntervalMillis(long)}. Quando o {@link JobStatus} é uma cópia (como a recebida de outra JVM), o JobChecker verifica o Job a cada
+ * {@link #POLL_INTERVAL_MILLIS}, obtendo apenas as alterações desde a verificação anterior ({@link JobStatusSupplier#getJobStatusDelta(String, long, int)}) e notificando os listeners com uma cópia local do {@link JobStatus}.<br>
+ * Em ambos os casos os JobCheckers não criam Threads próprias: as notificações de todos eles são feitas por uma única Thread do {@link JobMonitor}.
  *
  * @author Rodrigo GML
  * @since 10.0 (18 de mar de 2020)
  */
 public class JobChecker implements Runnable {
 
+  /**
+   * Intervalo em milisegundos das verificações do Job quando o {@link JobStatus} não publica suas alterações.
+   */
+  public static final long POLL_INTERVAL_MILLIS = 500;
+
   /**
    * Identificador único do Job a ser verificado.
    */
   private final String jobUUID;
 
   /**
-   * Thread de verificação do Job
+   * Indica se o {@link #start()} já foi chamado.
+   */
+  private boolean started = false;
+
+  /**
+   * Intervalo mínimo em milisegundos entre duas notificações aos listeners. Padrão: 100ms.
    */
-  private Thread t;
+  private long minIntervalMillis = 100;
+
+  /**
+   * Cópia local do {@link JobStatus}, atualizada com os {@link JobStatusDelta} quando o Job é verificado periodicamente.
+   */
+  private JobStatus replica = null;
 
   /**
    * Referência para o {@link JobStatusSupplier} do {@link JobStatus}
@@ -38,7 +55,7 @@ public class JobChecker implements Runnable {
   /**
    * Listeners que receberão as notificações da tarefa.
    */
-  private final LinkedList<JobCheckerListener> listeners = new LinkedList<JobCheckerListener>();
+  private final CopyOnWriteArrayList<JobCheckerListener> listeners = new CopyOnWriteArrayList<JobCheckerListener>();
 
   // Deixei o construtor sem fornecer o JobStatusSupplier comentado de propósito, para forçar o dev a lembrar em que classloader ele está e a necessidade de passar o JobStatusSupplier ou null para o padrão.
   // /**
@@ -89,47 +106,95 @@ public class JobChecker implements Runnable {
    * @throws RFWException
    */
   public synchronized void start() throws RFWException {
-    if (this.t == null) {
-      t = new Thread(this);
-      t.setName("### JobChecker: " + this.jobSupplier.getJobStatus(this.jobUUID).getJobTitle());
-      t.setPriority(Thread.MIN_PRIORITY); // Este é só um verificador, não a execução da tarefa, não precisa competir pelo processador.
-      t.start();
+    if (!this.started) {
+      final JobStatus jobStatus = this.jobSupplier.getJobStatus(this.jobUUID);
+      if (jobStatus != null && jobStatus == JobMonitor.getJobStatus(this.jobUUID)) {
+        // JobStatus original: recebemos as alterações assim que acontecem
+        jobStatus.subscribe(new JobCheckerListener() {
+          @Override
+          public void updateStatus(JobStatus jobStatus, boolean lastCall) {
+            notifyListeners(jobStatus, lastCall);
+          }
+        }, this.minIntervalMillis);
+      } else {
+        // Cópia do JobStatus: só conseguimos acompanhar as alterações consultando o Job periodicamente
+        JobNotifier.poll(new JobNotifier.Check() {
+          @Override
+          public boolean check() throws Throwable {
+            return JobChecker.this.check();
+          }
+        }, POLL_INTERVAL_MILLIS);
+      }
+      this.started = true;
     }
   }
 
+  /**
+   * Verifica o status do Job e notifica os listeners caso ele tenha sido alterado desde a última notificação.<br>
+   * Chamado periodicamente pelo JobChecker quando o {@link JobStatus} não publica suas alterações, não é necessário chamá-lo diretamente.
+   */
   @Override
   public final void run() {
     try {
-      long lastchange = -1;
-      while (true) {
-        JobStatus jobStatus = JobChecker.this.getJobStatus();
-        if (jobStatus.getLastChange() > lastchange) {
-          lastchange = jobStatus.getLastChange();
-
-          // Verifica se será última rodada antes do método update para
-          boolean lastCall = jobStatus.getStep() == JobStep.FINISHED || jobStatus.getStep() == JobStep.EXCEPTION;
-
-          for (JobCheckerListener listener : listeners) {
-            try {
-              listener.updateStatus(jobStatus, lastCall);
-            } catch (Throwable t) { // Não permite que exceções do usuário interrompam o JobChecker
-              RFWLogger.logException(t);
-            }
-          }
+      check();
+    } catch (Throwable e) {
+      RFWLogger.logException(e);
+    }
+  }
+
+  /**
+   * Verifica o status do Job e notifica os listeners caso ele tenha sido alterado desde a última notificação.
+   *
+   * @return true caso o Job tenha terminado (ou não exista mais) e não precise mais ser verificado.
+   * @throws RFWException
+   */
+  private synchronized boolean check() throws RFWException {
+    final JobStatusDelta delta = this.jobSupplier.getJobStatusDelta(this.jobUUID, this.replica == null ? 0 : this.replica.getVersion(), this.replica == null ? 0 : this.replica.getReportSize());
+    if (delta == null) return true; // A tarefa foi removida do JobMonitor
+    if (this.replica != null && !delta.hasChanges()) return false;
+    try {
+      this.replica = delta.applyTo(this.replica);
+    } catch (RFWException e) {
+      // A cópia ficou inconsistente com o JobStatus (como um relatório reiniciado), na próxima verificação recuperamos o JobStatus completo
+      RFWLogger.logException(e);
+      this.replica = null;
+      return false;
+    }
 
-          if (lastCall) break;
-        }
+    // Verifica se será última rodada antes do método update para
+    final boolean lastCall = this.replica.getStep() == JobStep.FINISHED || this.replica.getStep() == JobStep.EXCEPTION;
+    notifyListeners(this.replica, lastCall);
+    return lastCall;
+  }
 
-        try {
-          Thread.sleep(500);
-        } catch (InterruptedException e) {
-        }
+  private void notifyListeners(JobStatus jobStatus, boolean lastCall) {
+    for (JobCheckerListener listener : this.listeners) {
+      try {
+        listener.updateStatus(jobStatus, lastCall);
+      } catch (Throwable t) { // Não permite que exceções do usuário interrompam o JobChecker
+        RFWLogger.logException(t);
       }
-    } catch (Throwable e) {
-      RFWLogger.logException(e);
     }
   }
 
+  /**
+   * Define o intervalo mínimo em milisegundos entre duas notificações aos listeners, quando o {@link JobStatus} publica suas alterações. As alterações feitas dentro do intervalo são agrupadas em uma única notificação. Deve ser definido antes do {@link #start()}.
+   *
+   * @param minIntervalMillis Intervalo em milisegundos. Padrão: 100ms.
+   */
+  public void setMinIntervalMillis(long minIntervalMillis) {
+    this.minIntervalMillis = minIntervalMillis;
+  }
+
+  /**
+   * # intervalo mínimo em milisegundos entre duas notificações aos listeners.
+   *
+   * @return the intervalo mínimo em milisegundos entre duas notificações aos listeners
+   */
+  public long getMinIntervalMillis() {
+    return minIntervalMillis;
+  }
+
   /**
    * Adiciona um listener para receber os eventos de alteração da tarefa.
    *
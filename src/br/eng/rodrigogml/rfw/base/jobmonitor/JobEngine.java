@@ -0,0 +1,390 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobParallelTask;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Motor de execução dos {@link Job} do {@link JobMonitor}.<br>
+ * Substitui o antigo modelo em que cada Job era uma Thread própria. Os Jobs iniciados entram em uma fila por categoria ({@link Job#getCategory()}) e são entregues a um executor compartilhado sempre que houver espaço: no máximo {@link #setMaxParallelJobs(int)} Jobs ao mesmo tempo no total, e no máximo o limite de cada categoria definido em {@link #setMaxParallelJobs(String, Integer)}. Entre os Jobs liberados para execução sai
+ * primeiro o mais antigo.<br>
+ * Assim uma rajada de importações solicitadas pelos usuários aguarda em fila ao invés de criar centenas de Threads disputando os mesmos recursos.<br>
+ * <br>
+ * Quando a JVM oferece Virtual Threads (Java 21 ou superior) cada Job é executado em uma Virtual Thread própria, e por padrão não há limite total de Jobs simultâneos (os limites por categoria continuam valendo). Nas versões anteriores os Jobs são executados em um pool limitado de Threads da plataforma, criadas sob demanda e finalizadas depois de {@link #KEEPALIVE_SECONDS} ociosas.<br>
+ * Em ambos os casos a JVM não é finalizada enquanto houver Job em execução, como acontecia com as antigas Threads dos Jobs: as Threads da plataforma não são daemon, e como as Virtual Threads são sempre daemon, enquanto houver Job em Virtual Thread uma Thread da plataforma não daemon aguarda o fim dos Jobs.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobEngine {
+
+  /**
+   * Tempo em segundos que uma Thread do pool pode ficar ociosa antes de ser finalizada.
+   */
+  private static final long KEEPALIVE_SECONDS = 60;
+
+  /**
+   * Fábrica de Virtual Threads, ou null caso a JVM não ofereça Virtual Threads.
+   */
+  private static final ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+
+  /**
+   * Quantidade máxima de Jobs executando simultaneamente. Padrão: sem limite com Virtual Threads, ou o dobro de processadores disponíveis (no mínimo 4) com as Threads da plataforma.
+   */
+  private static int maxParallelJobs = virtualThreadFactory != null ? Integer.MAX_VALUE : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  /**
+   * Pool de Threads da plataforma, criado apenas quando as Virtual Threads não estão disponíveis.
+   */
+  private static ThreadPoolExecutor platformExecutor = null;
+
+  /**
+   * Pool de Threads que processa os itens dos {@link Job#parallelFor(int, JobParallelTask)}, compartilhado por todos os Jobs. Criado na primeira utilização.
+   */
+  private static ThreadPoolExecutor parallelExecutor = null;
+
+  /**
+   * Thread da plataforma, não daemon, que mantém a JVM ativa enquanto houver Job em execução nas Virtual Threads. Protegida pelo lock da classe {@link JobEngine}.
+   */
+  private static Thread keepAliveThread = null;
+
+  /**
+   * Filas de Jobs aguardando execução, separadas por categoria. Protegidas pelo lock da classe {@link JobEngine}.
+   */
+  private static final HashMap<String, CategoryQueue> categoryQueues = new HashMap<>();
+
+  /**
+   * Quantidade de Jobs entregues ao executor e ainda não terminados.
+   */
+  private static int runningCount = 0;
+
+  /**
+   * Contador da ordem de chegada dos Jobs na fila.
+   */
+  private static long sequence = 0;
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private JobEngine() {
+  }
+
+  /**
+   * Coloca o Job na fila da sua categoria e libera para execução os Jobs que puderem ser executados.
+   *
+   * @param job Job a ser executado.
+   */
+  static synchronized void submit(Job job) {
+    final CategoryQueue categoryQueue = getCategoryQueue(job.getCategory());
+    categoryQueue.queue.add(new QueuedJob(job, categoryQueue, sequence++));
+    dispatch();
+  }
+
+  /**
+   * Remove da fila um Job que ainda não começou a ser executado.
+   *
+   * @param job Job a ser removido.
+   * @return true caso o Job estivesse na fila e tenha sido removido, false caso já tenha sido entregue para execução (ou nunca tenha sido iniciado).
+   */
+  static synchronized boolean remove(Job job) {
+    final CategoryQueue categoryQueue = categoryQueues.get(job.getCategory());
+    if (categoryQueue == null) return false;
+    for (QueuedJob queued : categoryQueue.queue) {
+      if (queued.job == job) return categoryQueue.queue.remove(queued);
+    }
+    return false;
+  }
+
+  /**
+   * Entrega ao executor os Jobs da fila enquanto houver espaço.<br>
+   * Deve ser chamado com o lock da classe.
+   */
+  private static void dispatch() {
+    while (runningCount < maxParallelJobs) {
+      // Procura, entre as categorias que não atingiram seu limite, o Job mais antigo. A quantidade de categorias é pequena, e só as cabeças de cada fila são comparadas.
+      QueuedJob next = null;
+      for (CategoryQueue categoryQueue : categoryQueues.values()) {
+        final QueuedJob head = categoryQueue.queue.peek();
+        if (head != null && (categoryQueue.maxParallelJobs == null || categoryQueue.running < categoryQueue.maxParallelJobs) && (next == null || head.sequence < next.sequence)) next = head;
+      }
+      if (next == null) break;
+
+      final CategoryQueue categoryQueue = next.categoryQueue;
+      categoryQueue.queue.poll();
+      categoryQueue.running++;
+      runningCount++;
+      startKeepAlive();
+
+      final Job job = next.job;
+      try {
+        getExecutor().execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              job.run();
+            } finally {
+              release(categoryQueue);
+            }
+          }
+        });
+      } catch (RuntimeException e) {
+        categoryQueue.running--;
+        runningCount--;
+        if (runningCount == 0) JobEngine.class.notifyAll(); // Libera a Thread de keep alive
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Chamado ao fim de cada Job para liberar o seu espaço e entregar ao executor o próximo Job da fila.
+   */
+  private static synchronized void release(CategoryQueue categoryQueue) {
+    categoryQueue.running--;
+    runningCount--;
+    dispatch();
+    if (runningCount == 0) JobEngine.class.notifyAll(); // Libera a Thread de keep alive
+  }
+
+  /**
+   * Inicia a Thread de keep alive caso os Jobs sejam executados em Virtual Threads e ela ainda não esteja ativa.<br>
+   * Deve ser chamado com o lock da classe.
+   */
+  private static void startKeepAlive() {
+    if (virtualThreadFactory == null || keepAliveThread != null) return;
+    keepAliveThread = new Thread("### JobEngine KeepAlive") {
+      @Override
+      public void run() {
+        synchronized (JobEngine.class) {
+          while (runningCount > 0) {
+            try {
+              JobEngine.class.wait();
+            } catch (InterruptedException e) {
+            }
+          }
+          keepAliveThread = null;
+        }
+      }
+    };
+    keepAliveThread.setDaemon(false);
+    keepAliveThread.start();
+  }
+
+  /**
+   * Define a quantidade máxima de Jobs de uma categoria executando simultaneamente.
+   *
+   * @param category Categoria dos Jobs, conforme definido em {@link Job#getCategory()}.
+   * @param maxParallelJobs Quantidade máxima de Jobs simultâneos, deve ser maior que zero. Null para remover o limite, ficando a categoria limitada apenas pelo limite total.
+   */
+  static synchronized void setMaxParallelJobs(String category, Integer maxParallelJobs) {
+    if (maxParallelJobs != null && maxParallelJobs <= 0) throw new IllegalArgumentException("A quantidade de Jobs simultâneos deve ser maior que zero!");
+    getCategoryQueue(category).maxParallelJobs = maxParallelJobs;
+    dispatch(); // Caso o limite tenha aumentado, Jobs em espera podem ser liberados
+  }
+
+  /**
+   * Recupera a quantidade máxima de Jobs de uma categoria executando simultaneamente.
+   *
+   * @param category Categoria dos Jobs, conforme definido em {@link Job#getCategory()}.
+   * @return Quantidade máxima de Jobs simultâneos, ou null caso a categoria não tenha limite próprio.
+   */
+  static synchronized Integer getMaxParallelJobs(String category) {
+    final CategoryQueue categoryQueue = categoryQueues.get(category);
+    return categoryQueue == null ? null : categoryQueue.maxParallelJobs;
+  }
+
+  /**
+   * Define a quantidade máxima de Jobs executando simultaneamente, considerando todas as categorias.
+   *
+   * @param maxParallelJobs Quantidade máxima de Jobs simultâneos. Deve ser maior que zero.
+   */
+  static synchronized void setMaxParallelJobs(int maxParallelJobs) {
+    if (maxParallelJobs <= 0) throw new IllegalArgumentException("A quantidade de Jobs simultâneos deve ser maior que zero!");
+    JobEngine.maxParallelJobs = maxParallelJobs;
+    if (platformExecutor != null) {
+      // A ordem importa: o ThreadPoolExecutor não aceita um core maior que o máximo
+      if (maxParallelJobs > platformExecutor.getMaximumPoolSize()) {
+        platformExecutor.setMaximumPoolSize(maxParallelJobs);
+        platformExecutor.setCorePoolSize(maxParallelJobs);
+      } else {
+        platformExecutor.setCorePoolSize(maxParallelJobs);
+        platformExecutor.setMaximumPoolSize(maxParallelJobs);
+      }
+    }
+    dispatch(); // Caso o limite tenha aumentado, Jobs em espera podem ser liberados
+  }
+
+  /**
+   * Recupera a quantidade máxima de Jobs executando simultaneamente, considerando todas as categorias.
+   *
+   * @return Quantidade máxima de Jobs simultâneos.
+   */
+  static synchronized int getMaxParallelJobs() {
+    return maxParallelJobs;
+  }
+
+  /**
+   * Recupera a quantidade de Jobs aguardando na fila para serem executados.
+   *
+   * @return Quantidade de Jobs na fila.
+   */
+  static synchronized int getQueuedJobs() {
+    int queued = 0;
+    for (CategoryQueue categoryQueue : categoryQueues.values()) {
+      queued += categoryQueue.queue.size();
+    }
+    return queued;
+  }
+
+  /**
+   * Recupera a quantidade de Jobs em execução.
+   *
+   * @return Quantidade de Jobs em execução.
+   */
+  static synchronized int getRunningJobs() {
+    return runningCount;
+  }
+
+  /**
+   * Indica se os Jobs estão sendo executados em Virtual Threads.
+   *
+   * @return true caso a JVM ofereça Virtual Threads.
+   */
+  static boolean isVirtualThreads() {
+    return virtualThreadFactory != null;
+  }
+
+  private static CategoryQueue getCategoryQueue(String category) {
+    CategoryQueue categoryQueue = categoryQueues.get(category);
+    if (categoryQueue == null) {
+      categoryQueue = new CategoryQueue();
+      categoryQueues.put(category, categoryQueue);
+    }
+    return categoryQueue;
+  }
+
+  private static Executor getExecutor() {
+    if (virtualThreadFactory != null) {
+      return new Executor() {
+        @Override
+        public void execute(Runnable command) {
+          virtualThreadFactory.newThread(command).start();
+        }
+      };
+    }
+    if (platformExecutor == null) {
+      platformExecutor = new ThreadPoolExecutor(maxParallelJobs, maxParallelJobs, KEEPALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+          // As Threads não são daemon para manter o comportamento dos antigos Jobs: enquanto houver Job em execução a JVM não é finalizada
+          final Thread thread = new Thread(r, "### JobEngine Worker #" + this.counter.incrementAndGet());
+          thread.setDaemon(false);
+          return thread;
+        }
+      });
+      platformExecutor.allowCoreThreadTimeOut(true);
+    }
+    return platformExecutor;
+  }
+
+  /**
+   * Recupera o pool de Threads compartilhado que processa os itens dos {@link Job#parallelFor(int, JobParallelTask)}.<br>
+   * Diferente do executor dos Jobs, o pool é limitado à quantidade de processadores, já que o parallelFor se destina a dividir processamento entre os núcleos. Os itens não são limitados pelo {@link #setMaxParallelJobs(int)}: o Job que os distribui já ocupa seu espaço.
+   *
+   * @return Pool de Threads do parallelFor.
+   */
+  static synchronized ThreadPoolExecutor getParallelExecutor() {
+    if (parallelExecutor == null) {
+      final int threads = getParallelism();
+      parallelExecutor = new ThreadPoolExecutor(threads, threads, KEEPALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+          // Daemon: a Thread do Job que aguarda os itens já mantém a JVM ativa
+          final Thread thread = new Thread(r, "### JobEngine Parallel #" + this.counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      parallelExecutor.allowCoreThreadTimeOut(true);
+    }
+    return parallelExecutor;
+  }
+
+  /**
+   * Recupera a quantidade de Threads do pool do parallelFor.
+   *
+   * @return Quantidade de processadores disponíveis.
+   */
+  static int getParallelism() {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Obtém a fábrica de Virtual Threads por reflexão, já que o código é compilado para o Java 8.
+   *
+   * @return Fábrica de Virtual Threads, ou null caso a JVM não as ofereça.
+   */
+  private static ThreadFactory createVirtualThreadFactory() {
+    try {
+      final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Method name = builderClass.getMethod("name", String.class, long.class);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(name.invoke(builder, "### JobEngine Virtual #", 1L));
+    } catch (NoSuchMethodException | ClassNotFoundException e) {
+      return null; // JVM sem Virtual Threads
+    } catch (Throwable e) {
+      RFWLogger.logException(e);
+      return null;
+    }
+  }
+
+  /**
+   * Fila de Jobs de uma mesma categoria aguardando execução, com o seu limite de Jobs simultâneos.
+   */
+  private static class CategoryQueue {
+
+    private final ArrayDeque<QueuedJob> queue = new ArrayDeque<>();
+
+    /**
+     * Limite de Jobs simultâneos da categoria. Null se não houver limite próprio.
+     */
+    private Integer maxParallelJobs = null;
+
+    /**
+     * Quantidade de Jobs da categoria em execução.
+     */
+    private int running = 0;
+
+  }
+
+  /**
+   * Job aguardando na fila de execução.
+   */
+  private static class QueuedJob {
+
+    private final Job job;
+
+    private final CategoryQueue categoryQueue;
+
+    private final long sequence;
+
+    public QueuedJob(Job job, CategoryQueue categoryQueue, long sequence) {
+      this.job = job;
+      this.categoryQueue = categoryQueue;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -1,18 +1,23 @@
 package br.eng.rodrigogml.rfw.base.jobmonitor;
 
-import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWRunTimeException;
 import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
 import br.eng.rodrigogml.rfw.kernel.utils.RUGenerators;
 
 /**
- * Description: JobMonitor é o serviço do Framework responsável por manter referência de Thread que estão rodando "trabalhos" pesados em paralelo.<br>
+ * Description: JobMonitor é o serviço do Framework responsável por executar e manter referência dos "trabalhos" pesados rodando em paralelo.<br>
  * O JobMonitor pode ser ser utilizado sempre que alguma requisição do usuário leve muito tempo para ser realizada e além de não querermos que a interface fique parada, queremos atualizar o usuário sobre os passos da tarefa sendo realizado.<br>
  *
- * Esta classe é a responsável por manter o registro, identificar e remover da memória (depois de terminado) o resultado dos JOBs.<br>
+ * Esta classe é a responsável por manter o registro, identificar e remover da memória (depois de terminado) o resultado dos JOBs. Os prazos de todos os Jobs (limite de vida e tempo de retenção depois de terminado) são controlados por uma única Thread.<br>
+ * Durante o tempo de retenção os resultados dos Jobs terminados ficam fora da memória, em disco, e apenas um pequeno índice é mantido em memória. Veja {@link #setResultStoreMaxBytes(long)}.<br>
+ * O registro, a finalização e a remoção dos Jobs não utilizam um lock global: o término de um Job não aguarda o término (ou a remoção) de outros Jobs.<br>
+ * Os Jobs são executados por um executor compartilhado, com fila e limites de Jobs simultâneos no total e por categoria. Veja {@link #setMaxParallelJobs(int)} e {@link #setMaxParallelJobs(String, Integer)}.<br>
  *
  * @author Rodrigo GML
  * @since 10.0 (18 de mar de 2020)
@@ -21,15 +26,19 @@ public class JobMonitor {
 
   /**
    * Hash com os registros dos Jobs do sistema.<Br>
-   * A chave é o UUID gerado na criação do Job
+   * A chave é o UUID gerado na criação do Job. As alterações de um mesmo Job são atômicas pelo próprio mapa, sem a necessidade de sincronizar os métodos do JobMonitor.
    */
-  private static HashMap<String, Job> hashJob = new HashMap<String, Job>();
+  private static final ConcurrentHashMap<String, Job> hashJob = new ConcurrentHashMap<String, Job>();
 
   /**
-   * Hash com os Timers de finalização da tarefa.<br>
-   * A chave é o UUID gerado na criação do Job
+   * Tempo máximo, em milisegundos, que um Job fica registrado no JobMonitor antes de terminar. Padrão: 1 hora.
    */
-  private static HashMap<String, Timer> hashTimer = new HashMap<String, Timer>();
+  private static volatile long leakTimeoutMillis = 3600000;
+
+  /**
+   * Tempo, em milisegundos, que um Job fica registrado no JobMonitor depois de terminado, para que o usuário possa recuperar seu resultado. Padrão: 10 minutos.
+   */
+  private static volatile long finishedJobRetentionMillis = 600000;
 
   /**
    * Construtor privado apra classe estática
@@ -43,103 +52,292 @@ public class JobMonitor {
    * @param job {@link Job} a ser registrado para posterior consulta.
    * @return Identificador único para referência futura da tarefa.
    */
-  static String registerJob(final Job job) {
-    String jobUUID = RUGenerators.generateUUID();
+  static String registerJob(Job job) {
+    final String jobUUID = RUGenerators.generateUUID();
     hashJob.put(jobUUID, job);
 
-    final String jobTitle = "##### JobMonitorTimer LeakCatcher: " + jobUUID;
-
-    // Ao criar a tarefa já vamos ter um prazo máximo de vida para essa tarefa fica no Monitor. No momento damos 6horas (exagero?)
-    Timer timer = new Timer(jobTitle, true);
-    timer.schedule(new TimerTask() {
+    // Ao criar a tarefa já vamos ter um prazo máximo de vida para essa tarefa fica no Monitor. O prazo é substituído pelo tempo de retenção quando o Job termina.
+    // A ação recupera o Job pelo UUID ao invés de guardar sua referência: o prazo substituído ou cancelado continua na fila do JobSweeper até vencer, e não deve manter o Job (com seu status, resultado e relatório) na memória.
+    JobSweeper.schedule(jobUUID, leakTimeoutMillis, new Runnable() {
       @Override
+      @SuppressWarnings("fallthrough")
       public void run() {
+        final Job job = hashJob.get(jobUUID);
+        if (job == null) return; // Job já removido da memória
+        final String jobTitle = "'" + job.getJobStatus().getJobTitle() + "' (" + jobUUID + ")";
         switch (job.getJobStatus().getStep()) {
           case IDLE:
+            if (job.isAlive()) {
+              RFWLogger.logImprovement("A tarefa está aguardando na fila de execução a mais tempo que o limite de execução do JobMonitor! " + jobTitle + ".");
+              break;
+            }
+            // fall through: Job que não está na fila nem em execução é descartado
           case EXCEPTION:
           case FINISHED:
             if (cleanJob(jobUUID)) {
               // Esse código "jamais" deve acontecer.
-              // Se acontecer ou é uma tarefa levando mais de 6 horas para ser terminada, ou, alguma tarefa foi alocada mas não iniciada, ou, a notificação de endOfJob falhou
-              RFWLogger.logError("Job foi descartado pela Thread de Vazamento da JobMonitor! '" + jobTitle + "'.");
+              // Se acontecer ou é uma tarefa levando mais tempo que o limite para ser terminada, ou, alguma tarefa foi alocada mas não iniciada, ou, a notificação de endOfJob falhou
+              RFWLogger.logError("Job foi descartado pela verificação de vazamento do JobMonitor! " + jobTitle + ".");
             }
             break;
           case RUNNING:
-            RFWLogger.logImprovement("A tarefa está rodando a mais tempo que o limite de execução do JobMonitor! '" + jobTitle + "'.");
+            RFWLogger.logImprovement("A tarefa está rodando a mais tempo que o limite de execução do JobMonitor! " + jobTitle + ".");
             break;
         }
       }
-    }, 3600000); // 1hora
-    // Salvamos o timer na hash para que possa ser encontrado depois
-    hashTimer.put(jobUUID, timer);
+    });
 
     return jobUUID;
   }
 
   /**
-   * Obtem o objeto de status de uma determinada tarefa.
+   * Obtem o objeto de status de uma determinada tarefa.<br>
+   * Para os Jobs terminados cujo resultado foi armazenado fora da memória, é retornada uma nova cópia do JobStatus a cada chamada. A cópia não aceita assinaturas ({@link JobStatus#subscribe(br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobCheckerListener, long)}), e o seu relatório é lido do disco sob
+   * demanda.<br>
+   * Caso o resultado armazenado não possa ser lido (falha de leitura do disco) é lançada uma {@link RFWRunTimeException}.
    *
    * @param jobUUID Identificador da tarefa.
    * @return Objeto com o Status da Tarefa, ou NULL caso não encontre a tarefa
    */
   public static JobStatus getJobStatus(String jobUUID) {
     Job job = hashJob.get(jobUUID);
-    if (job == null) return null;
-    return job.getJobStatus();
+    if (job != null) return job.getJobStatus();
+    final JobStatus jobStatus;
+    try {
+      jobStatus = JobResultStore.get(jobUUID);
+    } catch (RFWException e) {
+      throw new RFWRunTimeException("Falha ao ler o resultado armazenado do Job '" + jobUUID + "'!", e);
+    }
+    if (jobStatus == null) {
+      job = hashJob.get(jobUUID); // O Job pode ter sido removido da memória depois da primeira consulta, ao ter seu resultado armazenado
+      if (job != null) return job.getJobStatus();
+    }
+    return jobStatus;
   }
 
   /**
-   * Este método deve ser chamado pelo Job quando for finalizado. Colocamos assim um timer para remover o Job da memória (caso ele não seja dado baixa pela manualmente).
+   * Obtem apenas as alterações do status de uma tarefa depois de uma versão, e o relatório a partir de uma posição. Veja {@link JobStatus#getDelta(long, int)}.<br>
+   * Deve ser preferido ao {@link #getJobStatus(String)} pelas fachadas que permitem acompanhar as tarefas de outra JVM, evitando transferir o JobStatus completo a cada verificação.
    *
-   * @param jobUUID
+   * @param jobUUID Identificador da tarefa.
+   * @param sinceVersion Versão da cópia do cliente, ou 0 para obter todos os atributos.
+   * @param reportOffset Tamanho do relatório da cópia do cliente, ou 0 para obter o relatório completo.
+   * @return Delta com as alterações, ou NULL caso não encontre a tarefa.
+   * @throws RFWException Lançado caso a parte do relatório gravada em disco não possa ser lida.
    */
-  static synchronized void notifyEndOfJob(String jobUUID) {
-    // Buscamos o timer de vazamento e cancelamos ele
-    Timer leakTimer = hashTimer.get(jobUUID);
-    if (leakTimer != null) {
-      leakTimer.cancel();
-      hashTimer.remove(jobUUID);
-    }
+  public static JobStatusDelta getJobStatusDelta(String jobUUID, long sinceVersion, int reportOffset) throws RFWException {
+    final JobStatus jobStatus = getJobStatus(jobUUID);
+    if (jobStatus == null) return null;
+    return jobStatus.getDelta(sinceVersion, reportOffset);
+  }
 
-    // Criamos o novo (se a tarefa ainda existir, pois o método cleanJob pode ter sido chamado a partir do JobChecker antes de iniciar o notify (por isso a sincronização dos métodos), dando um tempo para que o usuário possa recuperar o status da tarefa, depois limpamos o Job da memória.
-    if (hashJob.containsKey(jobUUID)) {
-      final Timer timer = new Timer("##### JobMonitorTimer EndOfJob: " + jobUUID, true);
-      hashTimer.put(jobUUID, timer); // Colocamos o novo para que seja possível cancela-lo manualmente caso o usuário chame o método cleanJob()
-      timer.schedule(new TimerTask() {
-        @Override
-        public void run() {
-          cleanJob(jobUUID);
-        }
-      }, 600000); // 10min
-
-      try {
-        // BUG: Aguardamos a Thread do Timer subir, assim garantimos que se em seguida ela chamar o .cancel() no timer, o Timer de fato será cancelado. Se a thread não tiver subido ainda, o .cancel não faz nada.
-        // Ao invés do sleep poderiamos ter algum método que identificasse que a Thread já subiu.
-        // A chamada do método cleanJob vai aguardar pq estamos sincronizados. O problema é que a sincronização vai travar todos os usuários
-        Thread.sleep(1000);
-      } catch (InterruptedException e) {
+  /**
+   * Este método deve ser chamado pelo Job quando for finalizado. Substitui o prazo de vida do Job pelo tempo de retenção, depois do qual o Job é removido da memória (caso ele não seja dado baixa manualmente).
+   *
+   * @param jobUUID
+   */
+  static void notifyEndOfJob(final String jobUUID) {
+    // Se a tarefa ainda existir, damos um tempo para que o usuário possa recuperar o status da tarefa, depois limpamos o Job da memória.
+    // O prazo é definido dentro do computeIfPresent: enquanto ele executa o cleanJob não consegue remover o Job, e se o cleanJob remover depois, ele mesmo descarta o prazo. Assim não há como o prazo de retenção sobreviver a um Job já removido.
+    final Job job = hashJob.computeIfPresent(jobUUID, new BiFunction<String, Job, Job>() {
+      @Override
+      public Job apply(String key, Job job) {
+        JobSweeper.schedule(jobUUID, finishedJobRetentionMillis, new Runnable() {
+          @Override
+          public void run() {
+            cleanJob(jobUUID);
+          }
+        });
+        return job;
       }
+    });
+    if (job == null) {
+      JobSweeper.cancel(jobUUID); // O Job já foi removido (pelo cleanJob ou pela verificação de vazamento) antes da notificação
+    } else if (JobResultStore.store(jobUUID, job.getJobStatus())) {
+      // Com o resultado armazenado, o Job deixa a memória. Caso o cleanJob tenha removido o Job durante o armazenamento, o resultado é descartado aqui.
+      if (!hashJob.remove(jobUUID, job)) JobResultStore.remove(jobUUID);
     }
   }
 
   /**
    * Remove o Job da memória (do JobMonitor). Força a interrupção da tarefa (caso não tenha terminado).<br>
-   * Este método tem o intuíto de livrar os Jobs da memória para livrar recurso.
+   * Este método tem o intuíto de livrar os Jobs da memória para livrar recurso. Para os Jobs terminados, o resultado armazenado fora da memória também é apagado. Quem ainda tiver a referência do JobStatus continua podendo ler o seu relatório completo: a parte gravada em disco é apagada quando o JobStatus
+   * deixa de ser alcançável.
    *
    * @param jobUUID Identificador único da tarefa.
    * @return true caso o job tenha sido encontrado no JobMonitor, false caso contrário.
    */
-  public synchronized static boolean cleanJob(String jobUUID) {
-    Job job = hashJob.remove(jobUUID);
-    if (job != null) job.interrupt(); // Solicita o cancelamento do andamento do Job para o caso da tarefa ainda estar rodando.
-
-    // Descartamos do JobMonitor
-    Timer timer = hashTimer.get(jobUUID);
-    if (timer != null) {
-      timer.cancel();
+  public static boolean cleanJob(String jobUUID) {
+    final Job job = hashJob.remove(jobUUID); // Apenas uma das chamadas concorrentes obtém o Job
+    if (job != null) {
+      job.interrupt(); // Interrompe a Thread do Job para o caso da tarefa ainda estar rodando, ou retira da fila caso ainda não tenha começado.
     }
-    hashTimer.remove(jobUUID);
-    return job != null;
+    final boolean stored = JobResultStore.remove(jobUUID); // Apaga o resultado armazenado do Job terminado
+
+    // Descartamos o prazo do Job
+    JobSweeper.cancel(jobUUID);
+    return job != null || stored;
+  }
+
+  /**
+   * Define o tempo máximo que um Job fica registrado no JobMonitor antes de terminar. Ao fim do prazo, Jobs que não foram executados (e não estão na fila) são descartados, e para os Jobs ainda em execução é apenas registrado um log. Vale para os Jobs criados depois da alteração.
+   *
+   * @param leakTimeoutMillis Tempo em milisegundos. Padrão: 1 hora.
+   */
+  public static void setLeakTimeoutMillis(long leakTimeoutMillis) {
+    JobMonitor.leakTimeoutMillis = leakTimeoutMillis;
+  }
+
+  /**
+   * Recupera o tempo máximo que um Job fica registrado no JobMonitor antes de terminar.
+   *
+   * @return Tempo em milisegundos.
+   */
+  public static long getLeakTimeoutMillis() {
+    return leakTimeoutMillis;
+  }
+
+  /**
+   * Define o tempo que um Job fica registrado no JobMonitor depois de terminado, para que o usuário possa recuperar seu resultado. Depois desse tempo o Job é removido da memória. Vale para os Jobs que terminarem depois da alteração.
+   *
+   * @param finishedJobRetentionMillis Tempo em milisegundos. Padrão: 10 minutos.
+   */
+  public static void setFinishedJobRetentionMillis(long finishedJobRetentionMillis) {
+    JobMonitor.finishedJobRetentionMillis = finishedJobRetentionMillis;
+  }
+
+  /**
+   * Recupera o tempo que um Job fica registrado no JobMonitor depois de terminado.
+   *
+   * @return Tempo em milisegundos.
+   */
+  public static long getFinishedJobRetentionMillis() {
+    return finishedJobRetentionMillis;
+  }
+
+  /**
+   * Define o espaço máximo em disco ocupado pelos resultados dos Jobs terminados durante o tempo de retenção ({@link #setFinishedJobRetentionMillis(long)}).<br>
+   * Quando um Job termina, o seu JobStatus (com o retorno, a exceção e o relatório) é serializado e retirado da memória, ficando em memória apenas um pequeno índice. Os resultados pequenos ficam no próprio índice, os demais em um arquivo por Job. Ao ultrapassar o limite os resultados mais antigos são
+   * descartados antes do fim do tempo de retenção.<br>
+   * Os Jobs cujo retorno não é serializável continuam retidos em memória.
+   *
+   * @param resultStoreMaxBytes Espaço em bytes. Zero desativa o armazenamento, mantendo os Jobs terminados em memória. Padrão: 1GB.
+   * @throws RFWException
+   */
+  public static void setResultStoreMaxBytes(long resultStoreMaxBytes) throws RFWException {
+    if (resultStoreMaxBytes < 0) throw new RFWCriticalException("O espaço dos resultados dos Jobs não pode ser negativo!");
+    JobResultStore.setMaxBytes(resultStoreMaxBytes);
+  }
+
+  /**
+   * Recupera o espaço máximo em disco ocupado pelos resultados dos Jobs terminados.
+   *
+   * @return Espaço em bytes. Zero caso o armazenamento esteja desativado.
+   */
+  public static long getResultStoreMaxBytes() {
+    return JobResultStore.getMaxBytes();
+  }
+
+  /**
+   * Define o diretório dos arquivos dos resultados dos Jobs terminados. Vale para os Jobs que terminarem depois da alteração.
+   *
+   * @param directory Diretório existente. Null para utilizar um diretório temporário, criado na primeira gravação.
+   * @throws RFWException
+   */
+  public static void setResultStoreDirectory(File directory) throws RFWException {
+    if (directory != null && !directory.isDirectory()) throw new RFWCriticalException("O diretório dos resultados dos Jobs não existe: '${0}'!", new String[] { directory.getAbsolutePath() });
+    JobResultStore.setDirectory(directory);
+  }
+
+  /**
+   * Define a quantidade máxima de caracteres do relatório de cada Job ({@link JobStatus#append(String)}) mantidos em memória. Quando o relatório ultrapassa essa quantidade, seu início é gravado em um arquivo temporário e lido do disco quando necessário.
+   *
+   * @param reportMemoryChars Quantidade de caracteres. Deve ser maior que zero. Padrão: 1M caracteres (2MB por relatório).
+   * @throws RFWException
+   */
+  public static void setReportMemoryChars(int reportMemoryChars) throws RFWException {
+    if (reportMemoryChars <= 0) throw new RFWCriticalException("A quantidade de caracteres do relatório em memória deve ser maior que zero!");
+    JobReport.setMaxMemoryChars(reportMemoryChars);
+  }
+
+  /**
+   * Recupera a quantidade máxima de caracteres do relatório de cada Job mantidos em memória.
+   *
+   * @return Quantidade de caracteres.
+   */
+  public static int getReportMemoryChars() {
+    return JobReport.getMaxMemoryChars();
+  }
+
+  /**
+   * Define a quantidade máxima de Jobs executando simultaneamente, considerando todas as categorias.<br>
+   * Jobs iniciados com o limite atingido aguardam em fila, na ordem em que foram iniciados. Padrão: sem limite quando a JVM oferece Virtual Threads, caso contrário o dobro de processadores disponíveis (no mínimo 4).
+   *
+   * @param maxParallelJobs Quantidade máxima de Jobs simultâneos. Deve ser maior que zero.
+   * @throws RFWException
+   */
+  public static void setMaxParallelJobs(int maxParallelJobs) throws RFWException {
+    if (maxParallelJobs <= 0) throw new RFWCriticalException("A quantidade de Jobs simultâneos deve ser maior que zero!");
+    JobEngine.setMaxParallelJobs(maxParallelJobs);
+  }
+
+  /**
+   * Recupera a quantidade máxima de Jobs executando simultaneamente, considerando todas as categorias.
+   *
+   * @return Quantidade máxima de Jobs simultâneos.
+   */
+  public static int getMaxParallelJobs() {
+    return JobEngine.getMaxParallelJobs();
+  }
+
+  /**
+   * Define a quantidade máxima de Jobs de uma categoria ({@link Job#getCategory()}) executando simultaneamente.<br>
+   * Útil para os Jobs que disputam um mesmo recurso, como as importações: mesmo que vários sejam iniciados ao mesmo tempo, apenas a quantidade definida executará, os demais aguardam na fila.
+   *
+   * @param category Categoria dos Jobs.
+   * @param maxParallelJobs Quantidade máxima de Jobs simultâneos da categoria, deve ser maior que zero. Null para remover o limite, ficando a categoria limitada apenas por {@link #setMaxParallelJobs(int)}.
+   * @throws RFWException
+   */
+  public static void setMaxParallelJobs(String category, Integer maxParallelJobs) throws RFWException {
+    if (maxParallelJobs != null && maxParallelJobs <= 0) throw new RFWCriticalException("A quantidade de Jobs simultâneos deve ser maior que zero!");
+    JobEngine.setMaxParallelJobs(category, maxParallelJobs);
+  }
+
+  /**
+   * Recupera a quantidade máxima de Jobs de uma categoria executando simultaneamente.
+   *
+   * @param category Categoria dos Jobs.
+   * @return Quantidade máxima de Jobs simultâneos da categoria, ou null caso a categoria não tenha limite próprio.
+   */
+  public static Integer getMaxParallelJobs(String category) {
+    return JobEngine.getMaxParallelJobs(category);
+  }
+
+  /**
+   * Recupera a quantidade de Jobs iniciados que aguardam na fila para serem executados.
+   *
+   * @return Quantidade de Jobs na fila.
+   */
+  public static int getQueuedJobs() {
+    return JobEngine.getQueuedJobs();
+  }
+
+  /**
+   * Recupera a quantidade de Jobs em execução.
+   *
+   * @return Quantidade de Jobs em execução.
+   */
+  public static int getRunningJobs() {
+    return JobEngine.getRunningJobs();
+  }
+
+  /**
+   * Indica se os Jobs estão sendo executados em Virtual Threads (disponíveis a partir do Java 21) ou em um pool de Threads da plataforma.
+   *
+   * @return true caso os Jobs sejam executados em Virtual Threads.
+   */
+  public static boolean isVirtualThreads() {
+    return JobEngine.isVirtualThreads();
   }
 
   /**
@@ -148,7 +346,8 @@ public class JobMonitor {
    * @param jobUUID Idenficiador do Job.
    */
   public static void interrupt(String jobUUID) {
-    getJobStatus(jobUUID).interrupt();
+    final Job job = hashJob.get(jobUUID); // Jobs terminados, mesmo com o resultado armazenado, não são mais interrompidos
+    if (job != null) job.getJobStatus().interrupt();
   }
 
   /**
@@ -158,7 +357,8 @@ public class JobMonitor {
    * @param ex Exception com o motivo do cancelamento.
    */
   public static void interrupt(String jobUUID, RFWException ex) {
-    getJobStatus(jobUUID).interrupt(ex);
+    final Job job = hashJob.get(jobUUID); // Jobs terminados, mesmo com o resultado armazenado, não são mais interrompidos
+    if (job != null) job.getJobStatus().interrupt(ex);
   }
 
 }
@@ -0,0 +1,206 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobCheckerListener;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Entrega das notificações de alteração dos {@link JobStatus} aos seus assinantes ({@link JobStatus#subscribe(JobCheckerListener, long)} e {@link JobChecker}).<br>
+ * Substitui as antigas Threads do {@link JobChecker}, uma por Job acompanhado, que verificavam o {@link JobStatus} a cada 500ms. Todas as notificações são entregues por uma única Thread.<br>
+ * Cada assinatura tem no máximo uma notificação pendente: as alterações feitas enquanto a notificação aguarda são agrupadas nela, já que o assinante recebe o {@link JobStatus} com o estado do momento da entrega. Entre duas entregas de uma mesma assinatura é respeitado o intervalo mínimo da assinatura, mas a primeira alteração depois de um intervalo sem alterações é entregue
+ * imediatamente.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobNotifier {
+
+  /**
+   * Fila das notificações pendentes, ordenada pelo horário de entrega.
+   */
+  private static final DelayQueue<Subscription> queue = new DelayQueue<>();
+
+  /**
+   * Thread de entrega das notificações.
+   */
+  private static Thread notifier = null;
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private JobNotifier() {
+  }
+
+  /**
+   * Cria a assinatura das alterações de um {@link JobStatus}. As notificações são agendadas pelo {@link Subscription#signal()}, chamado pelo {@link JobStatus} a cada alteração. A primeira notificação, com o estado atual do Job, deve ser agendada por quem criou a assinatura.
+   *
+   * @param jobStatus Status do Job acompanhado.
+   * @param listener Listener notificado. Executado na Thread de notificação, deve ser rápido pois atrasa as notificações dos demais assinantes.
+   * @param minIntervalMillis Intervalo mínimo em milisegundos entre duas notificações.
+   * @return Assinatura criada.
+   */
+  static Subscription subscribe(final JobStatus jobStatus, final JobCheckerListener listener, long minIntervalMillis) {
+    return new Subscription(minIntervalMillis) {
+      @Override
+      boolean deliver() {
+        // Verifica se será a última notificação antes de notificar, para que o listener receba o mesmo estado avaliado aqui
+        final boolean lastCall = jobStatus.getStep() == JobStep.FINISHED || jobStatus.getStep() == JobStep.EXCEPTION;
+        jobStatus.publishProgress(); // As próximas alterações do progresso agendam uma nova notificação
+        listener.updateStatus(jobStatus, lastCall);
+        return lastCall;
+      }
+    };
+  }
+
+  /**
+   * Cria uma verificação periódica, para os casos em que o {@link JobStatus} não pode publicar suas alterações (como quando ele está em outra JVM).
+   *
+   * @param check Verificação executada a cada intervalo, na Thread de notificação. Retorna true quando não deve mais ser executada.
+   * @param intervalMillis Intervalo em milisegundos entre as verificações.
+   * @return Assinatura criada.
+   */
+  static Subscription poll(final Check check, long intervalMillis) {
+    final Subscription subscription = new Subscription(intervalMillis) {
+      @Override
+      boolean deliver() throws Throwable {
+        if (check.check()) return true;
+        signal(); // Agenda a próxima verificação
+        return false;
+      }
+    };
+    subscription.signal();
+    return subscription;
+  }
+
+  private static synchronized void startNotifier() {
+    if (notifier == null) {
+      notifier = new Thread("### JobMonitor Notifier") {
+        @Override
+        public void run() {
+          while (true) {
+            try {
+              final Subscription subscription = queue.take();
+              // Liberamos a notificação antes da entrega: alterações feitas durante a entrega agendam uma nova notificação
+              subscription.pending.set(false);
+              if (subscription.closed) continue;
+              subscription.lastDelivery = System.nanoTime();
+              subscription.delivered = true;
+              if (subscription.deliver()) subscription.close();
+            } catch (InterruptedException e) {
+              // A Thread não deve ser interrompida, continuamos a entrega
+            } catch (Throwable e) {
+              RFWLogger.logException(e);
+            }
+          }
+        }
+      };
+      notifier.setDaemon(true); // A notificação não impede a JVM de ser finalizada
+      notifier.start();
+    }
+  }
+
+  /**
+   * Verificação periódica de {@link JobNotifier#poll(Check, long)}.
+   */
+  static interface Check {
+
+    /**
+     * Executa a verificação.
+     *
+     * @return true caso a verificação não deva mais ser executada.
+     * @throws Throwable Erros são registrados em Log e não interrompem as verificações.
+     */
+    boolean check() throws Throwable;
+
+  }
+
+  /**
+   * Assinatura das notificações.
+   */
+  abstract static class Subscription implements Delayed {
+
+    /**
+     * Indica se a assinatura já está na fila aguardando a entrega.
+     */
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+
+    /**
+     * Intervalo mínimo entre duas entregas, em nanosegundos.
+     */
+    private final long minIntervalNanos;
+
+    /**
+     * Horário da entrega agendada, em {@link System#nanoTime()}. Só é alterado enquanto a assinatura não está na fila.
+     */
+    private volatile long deadline;
+
+    /**
+     * Horário da última entrega, em {@link System#nanoTime()}.
+     */
+    private volatile long lastDelivery;
+
+    /**
+     * Indica se já houve alguma entrega.
+     */
+    private volatile boolean delivered = false;
+
+    /**
+     * Indica se a assinatura foi encerrada.
+     */
+    private volatile boolean closed = false;
+
+    Subscription(long minIntervalMillis) {
+      this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minIntervalMillis));
+    }
+
+    /**
+     * Entrega a notificação.
+     *
+     * @return true caso a assinatura deva ser encerrada.
+     */
+    abstract boolean deliver() throws Throwable;
+
+    /**
+     * Agenda a entrega de uma notificação, caso ainda não exista uma pendente.
+     */
+    void signal() {
+      if (!this.closed && this.pending.compareAndSet(false, true)) {
+        final long now = System.nanoTime();
+        this.deadline = this.delivered ? Math.max(now, this.lastDelivery + this.minIntervalNanos) : now;
+        queue.add(this);
+        startNotifier();
+      }
+    }
+
+    /**
+     * Encerra a assinatura. Uma notificação pendente é descartada.
+     */
+    void close() {
+      this.closed = true;
+    }
+
+    /**
+     * Indica se a assinatura foi encerrada.
+     *
+     * @return true caso a assinatura tenha sido encerrada.
+     */
+    boolean isClosed() {
+      return this.closed;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+      return Long.compare(this.deadline - ((Subscription) o).deadline, 0);
+    }
+  }
+}
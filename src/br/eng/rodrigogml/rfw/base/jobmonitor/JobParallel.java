@@ -0,0 +1,222 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobParallelTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWValidationException;
+
+/**
+ * Description: Execução de um {@link Job#parallelFor(int, JobParallelTask)}.<br>
+ * Os itens são distribuídos em blocos de índices consecutivos entre a Thread do Job e até {@link JobEngine#getParallelism()} - 1 Threads do pool compartilhado ({@link JobEngine#getParallelExecutor()}). Cada Thread retira o próximo bloco ao terminar o anterior, assim as Threads mais rápidas processam mais blocos.<br>
+ * A Thread do Job também processa os blocos: mesmo que o pool esteja ocupado (como em um parallelFor chamado dentro de outro), todos os itens são processados, sem que a Thread do Job fique bloqueada aguardando o pool.<br>
+ * A primeira falha de um item, ou a interrupção do Job, interrompe a distribuição dos blocos e as Threads do pool que estão processando os itens.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobParallel {
+
+  /**
+   * Quantidade de blocos por Thread. Blocos menores equilibram melhor o trabalho entre as Threads, blocos maiores reduzem a disputa pelo próximo bloco.
+   */
+  private static final int CHUNKS_PER_THREAD = 8;
+
+  private final int count;
+
+  private final JobParallelTask task;
+
+  private final JobStatus jobStatus;
+
+  /**
+   * Indica se os itens atualizam os contadores de tarefas do {@link JobStatus}.
+   */
+  private final boolean trackProgress;
+
+  /**
+   * Quantidade de índices retirados de cada vez.
+   */
+  private final int chunkSize;
+
+  /**
+   * Próximo índice a ser distribuído.
+   */
+  private final AtomicInteger next = new AtomicInteger(0);
+
+  /**
+   * Indica que um item falhou ou que o Job foi interrompido, e nenhum novo bloco deve ser iniciado.
+   */
+  private volatile boolean failed = false;
+
+  /**
+   * Exceções lançadas pelos itens. Protegida pelo lock da instância.
+   */
+  private final ArrayList<Throwable> exceptions = new ArrayList<>();
+
+  /**
+   * Threads do pool processando os blocos. Protegida pelo lock da instância, para que a interrupção nunca atinja a Thread depois que ela passou para outra tarefa do pool.
+   */
+  private final HashSet<Thread> workers = new HashSet<>();
+
+  /**
+   * Quantidade de Workers entregues ao pool que ainda não terminaram. Protegida pelo lock da instância.
+   */
+  private int pendingWorkers = 0;
+
+  /**
+   * Cria a execução.
+   *
+   * @param count Quantidade de itens.
+   * @param task Processamento de cada item.
+   * @param jobStatus Status do Job.
+   * @param trackProgress Indica se os itens atualizam os contadores de tarefas do {@link JobStatus}.
+   */
+  JobParallel(int count, JobParallelTask task, JobStatus jobStatus, boolean trackProgress) {
+    this.count = count;
+    this.task = task;
+    this.jobStatus = jobStatus;
+    this.trackProgress = trackProgress;
+    this.chunkSize = Math.max(1, count / (JobEngine.getParallelism() * CHUNKS_PER_THREAD));
+  }
+
+  /**
+   * Processa todos os itens e aguarda o fim das Threads do pool.
+   *
+   * @throws Throwable A primeira exceção lançada por um item, com as demais adicionadas como {@link Throwable#getSuppressed()}.
+   */
+  void run() throws Throwable {
+    if (this.trackProgress) this.jobStatus.setTasks(0, this.count);
+
+    final int chunks = (this.count + this.chunkSize - 1) / this.chunkSize;
+    final int extraThreads = Math.min(JobEngine.getParallelism(), chunks) - 1;
+    final ArrayList<Worker> dispatched = new ArrayList<>(Math.max(0, extraThreads));
+    if (extraThreads > 0) {
+      final ThreadPoolExecutor executor = JobEngine.getParallelExecutor();
+      for (int i = 0; i < extraThreads; i++) {
+        final Worker worker = new Worker();
+        synchronized (this) {
+          this.pendingWorkers++;
+        }
+        try {
+          executor.execute(worker);
+          dispatched.add(worker);
+        } catch (RejectedExecutionException e) {
+          synchronized (this) {
+            this.pendingWorkers--;
+          }
+          break; // A Thread do Job processa os blocos restantes
+        }
+      }
+    }
+
+    process();
+
+    // Os Workers que ainda não começaram não são mais necessários: todos os blocos já foram retirados
+    for (Worker worker : dispatched) {
+      if (worker.claimed.compareAndSet(false, true)) finishWorker();
+    }
+    boolean interrupted = false;
+    synchronized (this) {
+      while (this.pendingWorkers > 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // A Thread do Job foi interrompida (Job#interrupt() já interrompe os Workers), continuamos aguardando para não deixar itens em processamento
+          interrupted = true;
+          fail(e);
+        }
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+
+    synchronized (this) {
+      if (!this.exceptions.isEmpty()) {
+        final Throwable first = this.exceptions.get(0);
+        for (int i = 1; i < this.exceptions.size(); i++) {
+          first.addSuppressed(this.exceptions.get(i));
+        }
+        throw first;
+      }
+    }
+  }
+
+  /**
+   * Processa os blocos até que não existam mais blocos ou que a execução falhe.
+   */
+  private void process() {
+    while (!this.failed) {
+      final int start = this.next.getAndAdd(this.chunkSize);
+      if (start >= this.count || start < 0) break; // start < 0 apenas no estouro do contador depois do último bloco
+      final int end = (int) Math.min((long) start + this.chunkSize, this.count);
+      try {
+        this.jobStatus.checkInterrupt();
+        for (int index = start; index < end && !this.failed; index++) {
+          this.task.run(index, this.jobStatus);
+          if (this.trackProgress) this.jobStatus.incTasksCount();
+        }
+      } catch (Throwable e) {
+        fail(e);
+      }
+    }
+  }
+
+  /**
+   * Registra a falha de um item, interrompendo a distribuição dos blocos e as Threads do pool que estão processando os itens.
+   *
+   * @param e Exceção do item.
+   */
+  private synchronized void fail(Throwable e) {
+    this.exceptions.add(e);
+    if (!this.failed) {
+      this.failed = true;
+      for (Thread worker : this.workers) {
+        if (worker != Thread.currentThread()) worker.interrupt();
+      }
+    }
+  }
+
+  /**
+   * Interrompe a execução, chamado por {@link Job#interrupt()}. Os itens em processamento nas Threads do pool são interrompidos e nenhum novo bloco é iniciado.
+   */
+  void interrupt() {
+    fail(new RFWValidationException("RFW_ERR_000004"));
+  }
+
+  private synchronized void finishWorker() {
+    this.pendingWorkers--;
+    notifyAll();
+  }
+
+  /**
+   * Tarefa entregue ao pool para processar os blocos.
+   */
+  private class Worker implements Runnable {
+
+    /**
+     * Indica que o Worker já foi iniciado pelo pool ou descartado pela Thread do Job, o que acontecer primeiro.
+     */
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+    @Override
+    public void run() {
+      if (!this.claimed.compareAndSet(false, true)) return; // Descartado: a Thread do Job já processou todos os blocos
+      final Thread thread = Thread.currentThread();
+      synchronized (JobParallel.this) {
+        JobParallel.this.workers.add(thread);
+      }
+      try {
+        process();
+      } finally {
+        synchronized (JobParallel.this) {
+          JobParallel.this.workers.remove(thread);
+          Thread.interrupted(); // Não deixa a interrupção destinada a este parallelFor chegar na próxima tarefa do pool
+        }
+        finishWorker();
+      }
+    }
+  }
+}
@@ -0,0 +1,323 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWRunTimeException;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Armazenamento do relatório do {@link JobStatus}.<br>
+ * Substitui o antigo {@link StringBuilder} sem limite de tamanho. Apenas o final do relatório fica em memória, limitado por {@link #setMaxMemoryChars(int)}: quando o limite é atingido, o início do conteúdo em memória é gravado em um arquivo temporário. Assim a memória utilizada pelo relatório não depende do seu tamanho, e qualquer trecho pode ser lido com {@link #read(long, int)} ou
+ * {@link #writeTo(Writer)}, sem montar o relatório inteiro em memória.<br>
+ * O arquivo é gravado em UTF-16, com 2 bytes por caractere, para que a posição de qualquer caractere no arquivo seja conhecida sem a necessidade de um índice.<br>
+ * Caso a gravação em disco falhe, o relatório continua sendo mantido inteiramente em memória, como antes.<br>
+ * O arquivo é apagado apenas quando o relatório deixa de ser alcançável ({@link JobReportFile}), assim o relatório pode ser lido inteiro enquanto houver quem tenha a sua referência.<br>
+ * O relatório também pode ser lido diretamente de um arquivo gravado por outro componente ({@link #open(JobReportFile, long, long)}), como o arquivo do resultado do Job em {@link JobResultStore}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobReport implements Serializable {
+
+  private static final long serialVersionUID = -6123385904371848420L;
+
+  /**
+   * Quantidade de caracteres lidos ou gravados no disco de cada vez.
+   */
+  private static final int BLOCK_CHARS = 32768;
+
+  /**
+   * Quantidade máxima de caracteres do relatório mantidos em memória. Padrão: 1M caracteres (2MB).
+   */
+  private static volatile int maxMemoryChars = 1024 * 1024;
+
+  /**
+   * Quantidade total de caracteres do relatório.
+   */
+  private transient long length = 0;
+
+  /**
+   * Quantidade de caracteres do início do relatório gravados no arquivo.
+   */
+  private transient long spilled = 0;
+
+  /**
+   * Final do relatório mantido em memória, a partir da posição {@link #spilled}.
+   */
+  private transient StringBuilder tail = new StringBuilder();
+
+  /**
+   * Arquivo temporário com o início do relatório. Null enquanto o relatório couber em memória.
+   */
+  private transient JobReportFile file = null;
+
+  /**
+   * Posição, em bytes, do início do relatório no arquivo.
+   */
+  private transient long fileOffset = 0;
+
+  /**
+   * Indica que o arquivo foi criado pelo próprio relatório, e pode ser alterado por ele. Os relatórios abertos com {@link #open(JobReportFile, long, long)} apenas leem o arquivo, abrindo-o a cada leitura.
+   */
+  private transient boolean owner = true;
+
+  /**
+   * Indica que a gravação em disco falhou e o relatório passa a ser mantido apenas em memória.
+   */
+  private transient boolean memoryOnly = false;
+
+  /**
+   * Abre, apenas para leitura, um relatório gravado em UTF-16 em um arquivo de outro componente. O arquivo é aberto apenas durante cada leitura. O relatório mantém a referência do arquivo, impedindo que ele seja apagado enquanto o relatório for alcançável.<br>
+   * Conteúdos anexados ao relatório são mantidos apenas em memória.
+   *
+   * @param file Arquivo com o relatório, já marcado como compartilhado ({@link JobReportFile#share()}).
+   * @param fileOffset Posição, em bytes, do início do relatório no arquivo.
+   * @param length Quantidade de caracteres do relatório.
+   * @return Relatório aberto.
+   */
+  static JobReport open(JobReportFile file, long fileOffset, long length) {
+    final JobReport report = new JobReport();
+    report.file = file;
+    report.fileOffset = fileOffset;
+    report.owner = false;
+    report.memoryOnly = true;
+    report.length = length;
+    report.spilled = length;
+    return report;
+  }
+
+  /**
+   * Anexa um conteúdo ao relatório.
+   *
+   * @param content Conteúdo a ser anexado.
+   */
+  synchronized void append(CharSequence content) {
+    this.tail.append(content);
+    this.length += content.length();
+    if (!this.memoryOnly && this.tail.length() > maxMemoryChars) {
+      // Gravamos até metade do limite, para que a gravação não aconteça a cada novo conteúdo
+      spill(this.tail.length() - maxMemoryChars / 2);
+    }
+  }
+
+  /**
+   * Grava no arquivo o início do conteúdo em memória.
+   *
+   * @param count Quantidade de caracteres a gravar.
+   */
+  private void spill(int count) {
+    try {
+      if (this.file == null) {
+        final File file = File.createTempFile("rfw-jobreport-", ".tmp");
+        file.deleteOnExit();
+        this.file = new JobReportFile(file, FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE));
+      }
+      final FileChannel channel = this.file.getChannel();
+      final ByteBuffer buffer = ByteBuffer.allocate(Math.min(count, BLOCK_CHARS) * 2);
+      int written = 0;
+      while (written < count) {
+        final int block = Math.min(count - written, BLOCK_CHARS);
+        buffer.clear();
+        for (int i = 0; i < block; i++) {
+          buffer.putChar(this.tail.charAt(written + i));
+        }
+        buffer.flip();
+        long position = this.fileOffset + (this.spilled + written) * 2;
+        while (buffer.hasRemaining()) {
+          position += channel.write(buffer, position);
+        }
+        written += block;
+      }
+      this.tail.delete(0, count);
+      this.spilled += count;
+    } catch (IOException e) {
+      RFWLogger.logException(e);
+      this.memoryOnly = true; // Mantemos o restante do relatório em memória
+    }
+  }
+
+  /**
+   * Lê um trecho do relatório.
+   *
+   * @param offset Posição do primeiro caractere.
+   * @param count Quantidade máxima de caracteres. O trecho é limitado ao final do relatório.
+   * @return Trecho do relatório.
+   * @throws IOException Lançado caso o arquivo do relatório não possa ser lido.
+   */
+  synchronized String read(long offset, int count) throws IOException {
+    if (offset < 0 || count < 0) throw new IndexOutOfBoundsException("Trecho inválido do relatório: " + offset + " (" + count + ")");
+    if (offset >= this.length) return "";
+    count = (int) Math.min(count, this.length - offset);
+    final StringBuilder buff = new StringBuilder(count);
+    if (offset < this.spilled) {
+      final int fromFile = (int) Math.min(count, this.spilled - offset);
+      readFile(offset, fromFile, buff);
+      offset += fromFile;
+      count -= fromFile;
+    }
+    if (count > 0) {
+      final int start = (int) (offset - this.spilled);
+      buff.append(this.tail, start, start + count);
+    }
+    return buff.toString();
+  }
+
+  private void readFile(long offset, int count, StringBuilder buff) throws IOException {
+    if (this.owner) {
+      readFile(this.file.getChannel(), offset, count, buff);
+    } else {
+      try (FileChannel channel = FileChannel.open(this.file.getFile().toPath(), StandardOpenOption.READ)) {
+        readFile(channel, offset, count, buff);
+      }
+    }
+  }
+
+  private void readFile(FileChannel channel, long offset, int count, StringBuilder buff) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(Math.min(count, BLOCK_CHARS) * 2);
+    while (count > 0) {
+      final int block = Math.min(count, BLOCK_CHARS);
+      buffer.clear();
+      buffer.limit(block * 2);
+      long position = this.fileOffset + offset * 2;
+      while (buffer.hasRemaining()) {
+        final int read = channel.read(buffer, position);
+        if (read < 0) throw new IOException("Final inesperado do arquivo do relatório do Job!");
+        position += read;
+      }
+      buffer.flip();
+      final CharBuffer chars = buffer.asCharBuffer();
+      buff.append(chars);
+      offset += block;
+      count -= block;
+    }
+  }
+
+  /**
+   * Escreve o relatório, até o tamanho que ele tem no início da escrita, em um {@link Writer}, em blocos, sem montar o relatório inteiro em memória.
+   *
+   * @param writer Destino do relatório.
+   * @throws IOException Lançado caso o arquivo do relatório não possa ser lido ou o writer falhe.
+   */
+  void writeTo(Writer writer) throws IOException {
+    final long length = length(); // Conteúdo anexado durante a escrita não é considerado
+    long offset = 0;
+    while (offset < length) {
+      // Cada bloco é lido com o lock, mas a escrita no writer é feita fora dele para não bloquear a tarefa que está anexando conteúdo
+      final String block = read(offset, (int) Math.min(length - offset, BLOCK_CHARS));
+      writer.write(block);
+      offset += block.length();
+    }
+  }
+
+  /**
+   * Descarta o relatório a partir de uma posição.
+   *
+   * @param newLength Novo tamanho do relatório.
+   * @throws IOException Lançado caso o arquivo do relatório não possa ser truncado.
+   */
+  synchronized void truncate(long newLength) throws IOException {
+    if (newLength >= this.length) return;
+    if (newLength >= this.spilled) {
+      this.tail.setLength((int) (newLength - this.spilled));
+    } else if (!this.owner) {
+      throw new IOException("O relatório do arquivo '" + this.file.getFile().getName() + "' é somente leitura!");
+    } else {
+      this.file.getChannel().truncate(newLength * 2);
+      this.spilled = newLength;
+      this.tail.setLength(0);
+    }
+    this.length = newLength;
+  }
+
+  /**
+   * Recupera o tamanho do relatório.
+   *
+   * @return Quantidade total de caracteres.
+   */
+  synchronized long length() {
+    return this.length;
+  }
+
+  /**
+   * Recupera a quantidade de caracteres do relatório mantidos em memória.
+   *
+   * @return Quantidade de caracteres em memória.
+   */
+  synchronized int memoryChars() {
+    return this.tail.length();
+  }
+
+  /**
+   * # arquivo temporário com o início do relatório. Null enquanto o relatório couber em memória.
+   *
+   * @return # arquivo temporário com o início do relatório
+   */
+  synchronized File getFile() {
+    return this.file == null ? null : this.file.getFile();
+  }
+
+  @Override
+  public String toString() {
+    try {
+      return read(0, (int) Math.min(length(), Integer.MAX_VALUE));
+    } catch (IOException e) {
+      throw new RFWRunTimeException("Falha ao ler o relatório do Job!", e);
+    }
+  }
+
+  /**
+   * Serializa o relatório completo, em blocos, para que a cópia do {@link JobStatus} tenha todo o seu conteúdo.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    final long length = length();
+    out.writeLong(length);
+    long offset = 0;
+    while (offset < length) {
+      // Blocos de no máximo 16K caracteres cabem no limite de 64KB do writeUTF
+      final String block = read(offset, (int) Math.min(length - offset, BLOCK_CHARS / 2));
+      out.writeUTF(block);
+      offset += block.length();
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // Os campos transientes não passam pelos inicializadores: a cópia é dona do seu próprio arquivo, caso precise gravar em disco
+    this.tail = new StringBuilder();
+    this.owner = true;
+    this.memoryOnly = false;
+    final long length = in.readLong();
+    while (this.length < length) {
+      append(in.readUTF());
+    }
+  }
+
+  /**
+   * Define a quantidade máxima de caracteres de cada relatório mantidos em memória.
+   *
+   * @param maxMemoryChars Quantidade de caracteres. Deve ser maior que zero.
+   */
+  static void setMaxMemoryChars(int maxMemoryChars) {
+    if (maxMemoryChars <= 0) throw new IllegalArgumentException("A quantidade de caracteres em memória deve ser maior que zero!");
+    JobReport.maxMemoryChars = maxMemoryChars;
+  }
+
+  /**
+   * Recupera a quantidade máxima de caracteres de cada relatório mantidos em memória.
+   *
+   * @return Quantidade de caracteres.
+   */
+  static int getMaxMemoryChars() {
+    return maxMemoryChars;
+  }
+}
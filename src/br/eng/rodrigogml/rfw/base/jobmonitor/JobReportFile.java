@@ -0,0 +1,159 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Arquivo em disco com o conteúdo de relatórios dos Jobs ({@link JobReport}) e dos resultados armazenados ({@link JobResultStore}).<br>
+ * O arquivo é apagado apenas quando não há mais nenhum {@link JobReport} que possa lê-lo: quando este objeto deixa de ser alcançável, a Thread de limpeza fecha o canal e apaga o arquivo. Assim quem ainda tem a referência de um {@link JobStatus} continua lendo o seu relatório completo, mesmo depois
+ * do Job ter sido removido do {@link JobMonitor}.<br>
+ * Os arquivos que nunca foram compartilhados com um relatório ({@link #share()}) podem ser apagados imediatamente com o {@link #release()}, sem aguardar a coleta pelo GC.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobReportFile {
+
+  /**
+   * Fila dos arquivos que deixaram de ser alcançáveis.
+   */
+  private static final ReferenceQueue<JobReportFile> queue = new ReferenceQueue<>();
+
+  /**
+   * Limpezas ainda não realizadas. Mantém as {@link Cleanup} alcançáveis até que sejam processadas.
+   */
+  private static final Set<Cleanup> pending = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Thread de limpeza dos arquivos.
+   */
+  private static Thread cleaner = null;
+
+  private final File file;
+
+  private final FileChannel channel;
+
+  private final Cleanup cleanup;
+
+  /**
+   * Indica que o arquivo está sendo lido por algum relatório, e só pode ser apagado depois que este objeto deixar de ser alcançável.
+   */
+  private boolean shared = false;
+
+  /**
+   * Indica que o arquivo já foi apagado pelo {@link #release()}.
+   */
+  private boolean deleted = false;
+
+  /**
+   * Registra um arquivo para ser apagado quando este objeto deixar de ser alcançável.
+   *
+   * @param file Arquivo.
+   * @param channel Canal aberto do arquivo, fechado junto com a limpeza. Null caso o arquivo seja aberto apenas durante cada leitura.
+   */
+  JobReportFile(File file, FileChannel channel) {
+    this.file = file;
+    this.channel = channel;
+    this.cleanup = new Cleanup(this, file, channel);
+    pending.add(this.cleanup);
+    startCleaner();
+  }
+
+  /**
+   * # arquivo.
+   *
+   * @return the arquivo
+   */
+  File getFile() {
+    return this.file;
+  }
+
+  /**
+   * # canal aberto do arquivo. Null caso o arquivo seja aberto apenas durante cada leitura.
+   *
+   * @return the canal aberto do arquivo
+   */
+  FileChannel getChannel() {
+    return this.channel;
+  }
+
+  /**
+   * Marca o arquivo como lido por um relatório, impedindo que ele seja apagado pelo {@link #release()}.
+   *
+   * @return true caso o arquivo possa ser lido, false caso já tenha sido apagado.
+   */
+  synchronized boolean share() {
+    if (this.deleted) return false;
+    this.shared = true;
+    return true;
+  }
+
+  /**
+   * Informa que o dono do arquivo não precisa mais dele. Caso nenhum relatório leia o arquivo ele é apagado imediatamente, caso contrário é apagado quando os relatórios deixarem de ser alcançáveis.
+   */
+  synchronized void release() {
+    if (!this.shared && !this.deleted) {
+      this.deleted = true;
+      this.cleanup.clean();
+    }
+  }
+
+  private static synchronized void startCleaner() {
+    if (cleaner == null) {
+      cleaner = new Thread("### JobMonitor Report Cleaner") {
+        @Override
+        public void run() {
+          while (true) {
+            try {
+              ((Cleanup) queue.remove()).clean();
+            } catch (InterruptedException e) {
+              // A Thread não deve ser interrompida, continuamos a limpeza
+            } catch (Throwable e) {
+              RFWLogger.logException(e);
+            }
+          }
+        }
+      };
+      cleaner.setDaemon(true); // Os arquivos restantes são apagados na finalização da JVM (File#deleteOnExit())
+      cleaner.start();
+    }
+  }
+
+  /**
+   * Limpeza do arquivo. Não tem referência para o {@link JobReportFile}, apenas para o arquivo e o canal.
+   */
+  private static class Cleanup extends PhantomReference<JobReportFile> {
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    public Cleanup(JobReportFile referent, File file, FileChannel channel) {
+      super(referent, queue);
+      this.file = file;
+      this.channel = channel;
+    }
+
+    /**
+     * Fecha o canal e apaga o arquivo. Executado uma única vez, mesmo que chamado pelo {@link JobReportFile#release()} e pela Thread de limpeza.
+     */
+    void clean() {
+      if (!pending.remove(this)) return;
+      if (this.channel != null) {
+        try {
+          this.channel.close();
+        } catch (IOException e) {
+          RFWLogger.logException(e);
+        }
+      }
+      if (this.file.exists() && !this.file.delete()) RFWLogger.logImprovement("Não foi possível apagar o arquivo do relatório do Job: " + this.file.getAbsolutePath());
+    }
+  }
+}
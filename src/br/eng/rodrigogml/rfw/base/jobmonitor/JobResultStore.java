@@ -0,0 +1,469 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Armazenamento dos resultados dos Jobs terminados, fora da memória, durante o tempo de retenção do {@link JobMonitor}.<br>
+ * Substitui a retenção do Job inteiro em memória: quando o Job termina o seu {@link JobStatus} (com o retorno, a exceção e o relatório) é serializado e o Job é removido do {@link JobMonitor}. Em memória fica apenas um pequeno índice com a localização do resultado.<br>
+ * Os resultados pequenos (até {@link #INLINE_MAX_BYTES}) ficam no próprio índice, já serializados, para não criar um arquivo para cada pequeno Job. Os demais são gravados em um arquivo por resultado, com o JobStatus serializado seguido do relatório em UTF-16. O relatório não é carregado na leitura do resultado: a cópia do
+ * JobStatus lê os trechos do relatório diretamente do arquivo ({@link JobReport#open(JobReportFile, long, long)}).<br>
+ * O JobStatus original não é alterado: quem ainda tem a sua referência continua lendo o relatório do seu próprio arquivo temporário, apagado quando o JobStatus original deixa de ser alcançável.<br>
+ * O espaço em disco é limitado por {@link #setMaxBytes(long)}: ao ultrapassar o limite os resultados mais antigos são descartados antes do fim do seu tempo de retenção. O arquivo do resultado descartado é apagado imediatamente, a não ser que alguma cópia do JobStatus ainda leia o seu relatório. Neste caso
+ * o arquivo é apagado quando as cópias deixarem de ser alcançáveis, e não é mais considerado no espaço ocupado.<br>
+ * Os Jobs cujo resultado não pode ser serializado continuam retidos em memória.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobResultStore {
+
+  /**
+   * Tamanho máximo, em bytes, dos resultados mantidos no índice em memória.
+   */
+  static final int INLINE_MAX_BYTES = 8192;
+
+  /**
+   * Quantidade de caracteres do relatório copiados para o arquivo do resultado de cada vez.
+   */
+  private static final int COPY_BLOCK_CHARS = 32768;
+
+  /**
+   * Índice dos resultados armazenados. A chave é o UUID do Job.
+   */
+  private static final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Resultados gravados em disco, na ordem de armazenamento, para o descarte dos mais antigos quando o limite de espaço é ultrapassado.
+   */
+  private static final ConcurrentSkipListMap<Long, Entry> diskOrder = new ConcurrentSkipListMap<>();
+
+  /**
+   * Lock das alterações do {@link #entries}, {@link #diskOrder} e {@link #diskBytes}, que devem ser feitas em conjunto para que uma remoção ou descarte concorrente não encontre o resultado em apenas parte deles.
+   * A leitura dos resultados ({@link #get(String)}) não utiliza o lock.
+   */
+  private static final Object indexLock = new Object();
+
+  /**
+   * Contador da ordem de armazenamento.
+   */
+  private static final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * Espaço em disco ocupado pelos resultados, em bytes.
+   */
+  private static final AtomicLong diskBytes = new AtomicLong();
+
+  /**
+   * Espaço máximo em disco, em bytes. Zero desativa o armazenamento, mantendo os Jobs terminados em memória. Padrão: 1GB.
+   */
+  private static volatile long maxBytes = 1024L * 1024 * 1024;
+
+  /**
+   * Diretório dos arquivos dos resultados. Null para criar um diretório temporário na primeira gravação.
+   */
+  private static File directory = null;
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private JobResultStore() {
+  }
+
+  /**
+   * Armazena o resultado de um Job terminado.
+   *
+   * @param jobUUID Identificador do Job.
+   * @param jobStatus Status do Job terminado.
+   * @return true caso o resultado tenha sido armazenado, false caso o armazenamento esteja desativado ou o resultado não possa ser serializado (neste caso o Job deve continuar em memória).
+   */
+  static boolean store(String jobUUID, JobStatus jobStatus) {
+    if (maxBytes <= 0) return false;
+    final JobReport report = jobStatus.getReportBuffer();
+    final long reportChars = report == null ? 0 : report.length();
+
+    File file = null;
+    try {
+      // O relatório que já tem parte em disco vai sempre para o arquivo
+      final ThresholdOutputStream out = new ThresholdOutputStream(reportChars * 2, report != null && report.getFile() != null);
+      try {
+        // O relatório não é serializado com o JobStatus: fica no final do arquivo, ou no índice, para ser lido diretamente
+        try (ObjectOutputStream oos = new ObjectOutputStream(out) {
+          {
+            enableReplaceObject(true);
+          }
+
+          @Override
+          protected Object replaceObject(Object obj) throws IOException {
+            return obj instanceof JobReport ? null : obj;
+          }
+        }) {
+          oos.writeObject(jobStatus);
+        }
+        file = out.file;
+        final Entry entry;
+        if (file == null) {
+          entry = new Entry(jobUUID, out.buffer.toByteArray(), report == null ? null : report.toString());
+        } else {
+          final long statusBytes = out.count;
+          if (report != null) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+              final ByteBuffer buffer = ByteBuffer.allocate(COPY_BLOCK_CHARS * 2); // UTF-16 big endian, o mesmo formato do JobReport
+              final CharBuffer chars = buffer.asCharBuffer();
+              report.writeTo(new Writer() {
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                  while (len > 0) {
+                    final int block = Math.min(len, COPY_BLOCK_CHARS);
+                    chars.clear();
+                    chars.put(cbuf, off, block);
+                    buffer.clear();
+                    buffer.limit(block * 2);
+                    while (buffer.hasRemaining()) {
+                      channel.write(buffer);
+                    }
+                    off += block;
+                    len -= block;
+                  }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                }
+
+                @Override
+                public void close() throws IOException {
+                }
+              });
+            }
+          }
+          entry = new Entry(jobUUID, new JobReportFile(file, null), statusBytes, reportChars, sequence.incrementAndGet());
+        }
+        synchronized (indexLock) {
+          if (entry.file != null) {
+            diskOrder.put(entry.sequence, entry);
+            diskBytes.addAndGet(entry.file.getFile().length());
+          }
+          final Entry previous = entries.put(jobUUID, entry);
+          if (previous != null) discard(previous);
+          if (entry.file != null) evictOverflow();
+        }
+        return true;
+      } finally {
+        out.close();
+      }
+    } catch (Throwable e) {
+      // Retorno não serializável ou falha de disco: o Job continua retido em memória, como antes do armazenamento
+      RFWLogger.logImprovement("O resultado do Job '" + jobUUID + "' não pôde ser armazenado fora da memória e continuará retido em memória: " + e);
+      RFWLogger.logException(e);
+      if (file != null && !file.delete()) file.deleteOnExit();
+      return false;
+    }
+  }
+
+  /**
+   * Recupera uma cópia do status de um Job armazenado. A cada chamada uma nova cópia é criada a partir do armazenamento.
+   *
+   * @param jobUUID Identificador do Job.
+   * @return Cópia do JobStatus, ou null caso o Job não esteja armazenado.
+   * @throws RFWException Lançado caso o resultado não possa ser lido.
+   */
+  static JobStatus get(String jobUUID) throws RFWException {
+    final Entry entry = entries.get(jobUUID);
+    if (entry == null) return null;
+    try {
+      if (entry.file == null) {
+        final JobStatus jobStatus = readStatus(new ByteArrayInputStream(entry.data));
+        if (entry.report != null) {
+          final JobReport report = new JobReport();
+          report.append(entry.report);
+          jobStatus.setReportBuffer(report);
+        }
+        return jobStatus;
+      } else {
+        final JobStatus jobStatus;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(entry.file.getFile()))) {
+          jobStatus = readStatus(in);
+        }
+        if (entry.reportChars > 0) {
+          // A cópia lê o relatório do arquivo, que a partir daqui só é apagado quando as cópias deixarem de ser alcançáveis
+          if (!entry.file.share()) return null; // Descartado durante a leitura
+          jobStatus.setReportBuffer(JobReport.open(entry.file, entry.statusBytes, entry.reportChars));
+        }
+        return jobStatus;
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      if (entries.get(jobUUID) != entry) return null; // Descartado durante a leitura
+      throw new RFWCriticalException("Falha ao ler o resultado armazenado do Job '${0}'!", new String[] { jobUUID }, e);
+    }
+  }
+
+  private static JobStatus readStatus(InputStream in) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream ois = new ObjectInputStream(in) {
+      @Override
+      protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        // O retorno do Job pode ser de uma classe da aplicação, não visível pelo ClassLoader do framework
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader != null) {
+          try {
+            return Class.forName(desc.getName(), false, loader);
+          } catch (ClassNotFoundException e) {
+          }
+        }
+        return super.resolveClass(desc);
+      }
+    }) {
+      return (JobStatus) ois.readObject();
+    }
+  }
+
+  /**
+   * Remove o resultado de um Job, apagando o seu arquivo.
+   *
+   * @param jobUUID Identificador do Job.
+   * @return true caso o Job estivesse armazenado.
+   */
+  static boolean remove(String jobUUID) {
+    synchronized (indexLock) {
+      final Entry entry = entries.remove(jobUUID);
+      if (entry == null) return false;
+      discard(entry);
+      return true;
+    }
+  }
+
+  /**
+   * Libera o arquivo de um resultado já retirado do índice. O arquivo é apagado imediatamente, ou quando as cópias do JobStatus que leem o seu relatório deixarem de ser alcançáveis.<br>
+   * Deve ser chamado com o {@link #indexLock}.
+   */
+  private static void discard(Entry entry) {
+    if (entry.file != null && diskOrder.remove(entry.sequence, entry)) {
+      diskBytes.addAndGet(-entry.file.getFile().length());
+      entry.file.release();
+    }
+  }
+
+  /**
+   * Descarta os resultados mais antigos enquanto o espaço em disco ultrapassar o limite.
+   */
+  private static void evictOverflow() {
+    synchronized (indexLock) {
+      while (diskBytes.get() > maxBytes) {
+        final Map.Entry<Long, Entry> oldest = diskOrder.firstEntry();
+        if (oldest == null) break;
+        final Entry entry = oldest.getValue();
+        if (entries.remove(entry.jobUUID, entry)) {
+          JobSweeper.cancel(entry.jobUUID); // O prazo de retenção não é mais necessário
+          RFWLogger.logImprovement("O resultado do Job '" + entry.jobUUID + "' foi descartado antes do fim do tempo de retenção, pois o espaço para os resultados dos Jobs foi ultrapassado.");
+        }
+        discard(entry);
+      }
+    }
+  }
+
+  /**
+   * Recupera a quantidade de resultados armazenados.
+   *
+   * @return Quantidade de Jobs armazenados.
+   */
+  static int size() {
+    return entries.size();
+  }
+
+  /**
+   * Recupera o espaço em disco ocupado pelos resultados.
+   *
+   * @return Espaço em bytes.
+   */
+  static long getDiskBytes() {
+    return diskBytes.get();
+  }
+
+  /**
+   * Define o espaço máximo em disco ocupado pelos resultados.
+   *
+   * @param maxBytes Espaço em bytes. Zero desativa o armazenamento, mantendo os Jobs terminados em memória.
+   */
+  static void setMaxBytes(long maxBytes) {
+    if (maxBytes < 0) throw new IllegalArgumentException("O espaço dos resultados dos Jobs não pode ser negativo!");
+    JobResultStore.maxBytes = maxBytes;
+    evictOverflow();
+  }
+
+  /**
+   * Recupera o espaço máximo em disco ocupado pelos resultados.
+   *
+   * @return Espaço em bytes.
+   */
+  static long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * Define o diretório dos arquivos dos resultados. Vale para os resultados armazenados depois da alteração.
+   *
+   * @param directory Diretório existente. Null para utilizar um diretório temporário.
+   */
+  static synchronized void setDirectory(File directory) {
+    if (directory != null && !directory.isDirectory()) throw new IllegalArgumentException("O diretório dos resultados dos Jobs não existe: " + directory.getAbsolutePath());
+    JobResultStore.directory = directory;
+  }
+
+  /**
+   * Recupera o diretório dos arquivos dos resultados, criando um diretório temporário caso nenhum tenha sido definido.
+   *
+   * @return Diretório dos arquivos.
+   * @throws IOException Lançado caso o diretório temporário não possa ser criado.
+   */
+  static synchronized File getDirectory() throws IOException {
+    if (directory == null) {
+      final File temp = Files.createTempDirectory("rfw-jobresults-").toFile();
+      temp.deleteOnExit(); // Só é apagado se estiver vazio, os arquivos são apagados pelo fim da retenção dos Jobs
+      directory = temp;
+    }
+    return directory;
+  }
+
+  /**
+   * Resultado armazenado.
+   */
+  private static class Entry {
+
+    private final String jobUUID;
+
+    /**
+     * JobStatus serializado, para os resultados mantidos no índice.
+     */
+    private final byte[] data;
+
+    /**
+     * Relatório, para os resultados mantidos no índice.
+     */
+    private final String report;
+
+    /**
+     * Arquivo do resultado, para os resultados gravados em disco.
+     */
+    private final JobReportFile file;
+
+    /**
+     * Tamanho, em bytes, do JobStatus serializado no início do arquivo. O relatório começa nesta posição.
+     */
+    private final long statusBytes;
+
+    /**
+     * Quantidade de caracteres do relatório gravado no arquivo.
+     */
+    private final long reportChars;
+
+    /**
+     * Ordem de armazenamento dos resultados gravados em disco.
+     */
+    private final long sequence;
+
+    public Entry(String jobUUID, byte[] data, String report) {
+      this.jobUUID = jobUUID;
+      this.data = data;
+      this.report = report;
+      this.file = null;
+      this.statusBytes = 0;
+      this.reportChars = 0;
+      this.sequence = 0;
+    }
+
+    public Entry(String jobUUID, JobReportFile file, long statusBytes, long reportChars, long sequence) {
+      this.jobUUID = jobUUID;
+      this.data = null;
+      this.report = null;
+      this.file = file;
+      this.statusBytes = statusBytes;
+      this.reportChars = reportChars;
+      this.sequence = sequence;
+    }
+  }
+
+  /**
+   * Stream que mantém o conteúdo em memória enquanto o resultado couber no índice, e passa a gravar em um novo arquivo quando ultrapassar {@link JobResultStore#INLINE_MAX_BYTES}.
+   */
+  private static class ThresholdOutputStream extends OutputStream {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    /**
+     * Bytes que serão gravados depois deste conteúdo (o relatório), considerados no limite do índice.
+     */
+    private final long trailingBytes;
+
+    private File file = null;
+
+    private OutputStream out = null;
+
+    /**
+     * Quantidade de bytes escritos.
+     */
+    private long count = 0;
+
+    public ThresholdOutputStream(long trailingBytes, boolean forceFile) throws IOException {
+      this.trailingBytes = trailingBytes;
+      if (forceFile || trailingBytes > INLINE_MAX_BYTES) switchToFile();
+    }
+
+    private void switchToFile() throws IOException {
+      this.file = File.createTempFile("rfw-jobresult-", ".tmp", getDirectory());
+      this.out = new BufferedOutputStream(new FileOutputStream(this.file));
+      this.buffer.writeTo(this.out);
+      this.buffer.reset();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (this.out == null && this.count + len + this.trailingBytes > INLINE_MAX_BYTES) switchToFile();
+      if (this.out != null) {
+        this.out.write(b, off, len);
+      } else {
+        this.buffer.write(b, off, len);
+      }
+      this.count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (this.out != null) this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (this.out != null) this.out.close();
+    }
+  }
+}
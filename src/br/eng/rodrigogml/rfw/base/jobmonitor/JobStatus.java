@@ -1,25 +1,34 @@
 package br.eng.rodrigogml.rfw.base.jobmonitor;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.Writer;
 import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-import br.eng.rodrigogml.rfw.kernel.RFW;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobCheckerListener;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWRunTimeException;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWValidationException;
 
 /**
  * Description: Bean utilizado para recuperar o estatus de algum Job.<br>
+ * As alterações do JobStatus podem ser acompanhadas sem verificações periódicas, assinando suas notificações com o {@link #subscribe(JobCheckerListener, long)}.<br>
  *
  * @author Rodrigo GML
  * @since 10.0 (18 de mar de 2020)
  */
 public class JobStatus implements Serializable {
 
-  private static final long serialVersionUID = -2878331974459255672L;
+  private static final long serialVersionUID = 4062371557319140861L;
 
   public static enum JobStep {
     /**
-     * Indica que o JOB ainda não começou. Passo inicial do trabalho.
+     * Indica que o JOB ainda não começou, inclusive enquanto aguarda na fila de execução do {@link JobMonitor}. Passo inicial do trabalho.
      */
     IDLE,
     /**
@@ -41,7 +50,7 @@ public class JobStatus implements Serializable {
    * Este atributo é atualizado em todo método "set()" com o valor de {@link System#currentTimeMillis()}.<br>
    * Depois que a tarefa é terminada, o lastChange é atualizado pela última vez ao definir o {@link JobStep#FINISHED}. Em outras palavras, depois que o status for finished, aqui ficará salvo o horário de termino de execução da tarefa.
    */
-  private long lastChange = 0;
+  private volatile long lastChange = 0;
 
   /**
    * Salva o valor de {@link System#currentTimeMillis()} quando a tarefa foi iniciada, permitindo assim calcular a quanto tempo a tarefa já está rodando.
@@ -63,9 +72,26 @@ public class JobStatus implements Serializable {
 
   /**
    * Informação de progresso da tarefa, sendo 0.0 = 0% e 1.0 = 100%.<br>
-   * O desenvolvedor pode definir este atributo diretamente, caso prefira realizar o cálculo do progresso dentro do próprio código, ou utilizar o conjunto de variáveis {@link #stepsTotal}, {@link #stepsCount}, {@link #tasksCount} e {@link #tasksTotal}.
+   * O desenvolvedor pode definir este atributo diretamente, caso prefira realizar o cálculo do progresso dentro do próprio código, ou utilizar o conjunto de variáveis {@link #stepsTotal}, {@link #stepsCount}, {@link #tasksCount} e {@link #tasksTotal}.<br>
+   * Quando as variáveis são utilizadas o progresso é calculado apenas quando lido, em {@link #getProgress()}, e este atributo é ignorado.
+   */
+  private volatile double progress = 0;
+
+  /**
+   * Indica que o progresso é calculado a partir de {@link #stepsTotal}, {@link #stepsCount}, {@link #tasksCount} e {@link #tasksTotal}, e não definido diretamente em {@link #progress}.
+   */
+  private volatile boolean progressCalculated = false;
+
+  /**
+   * Indica que os contadores de progresso foram alterados e a alteração ainda não foi registrada na versão do JobStatus. O registro é feito apenas quando a versão ou o {@link #lastChange} são lidos ({@link #publishProgress()}), evitando que cada incremento feito pelas tarefas concorra pelo lock da
+   * versão.
+   */
+  private transient volatile boolean progressPending = false;
+
+  /**
+   * Momento ({@link System#currentTimeMillis()}) da primeira alteração dos contadores de progresso ainda não registrada na versão. Utilizado como {@link #lastChange} quando a alteração é registrada.
    */
-  private double progress = 0;
+  private transient volatile long progressPendingTime = 0;
 
   /**
    * Define a quantidade de passos a serem processados. No mínimo deve ter o valor 1.
@@ -92,11 +118,11 @@ public class JobStatus implements Serializable {
    *
    * <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    */
-  private int stepsTotal = 1;
+  private volatile int stepsTotal = 1;
 
   /**
    * Passo atual sendo executado. Deve ser maior que zero, mas nunca maior que {@link #stepsTotal}
@@ -123,11 +149,11 @@ public class JobStatus implements Serializable {
    *
    * <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    */
-  private int stepsCount = 1;
+  private final AtomicInteger stepsCount = new AtomicInteger(1);
 
   /**
    * Define o total de tarefas que serão executadas neste passo.
@@ -154,11 +180,11 @@ public class JobStatus implements Serializable {
    *
    * <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    */
-  private int tasksTotal = 0;
+  private volatile int tasksTotal = 0;
 
   /**
    * Define a quantidade de tarefas já realizados.
@@ -185,11 +211,11 @@ public class JobStatus implements Serializable {
    *
    * <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    */
-  private int tasksCount = 0;
+  private final LongAdder tasksCount = new LongAdder();
 
   /**
    * A tarefa pode informar mensagens de progresso mesmo que não informe um percentual. Essas mensagens se destinam à informar ao usuário o que a tarefa está fazendo.<br>
@@ -230,11 +256,31 @@ public class JobStatus implements Serializable {
   private final String jobTitle;
 
   /**
-   * StringBuilder utilizado para registrar os eventos do relatório.<br>
+   * Relatório utilizado para registrar os eventos da tarefa. Apenas o final do relatório é mantido em memória, o restante é gravado em um arquivo temporário (veja {@link JobMonitor#setReportMemoryChars(int)}).<br>
    * Note que as entradas do relatório são livres para serem criadas pela tarefa em execução e serem interpretadas pelo cliente que chamou, assim o relatório pode serguir o formato especificado pela tarefa.<Br>
    * No entanto, para uma melhor "mutabilidade" de formatos, é recomendado utilizar o FWMarkdown
    */
-  private StringBuilder report = null;
+  private volatile JobReport report = null;
+
+  /**
+   * Assinaturas das notificações de alteração do JobStatus. Null enquanto não houver assinatura, e sempre null nas cópias serializadas do JobStatus (que não publicam suas alterações).
+   */
+  private transient volatile CopyOnWriteArrayList<Subscriber> subscriptions = null;
+
+  /**
+   * Versão do JobStatus, incrementada a cada alteração. Protegida pelo lock de {@link #fieldVersions}.
+   */
+  private long version = 0;
+
+  /**
+   * Versão da última alteração de cada atributo, indexada pelas constantes FIELD_* de {@link JobStatusDelta}. Utilizada para montar o {@link JobStatusDelta} apenas com os atributos alterados.
+   */
+  private final long[] fieldVersions = new long[JobStatusDelta.FIELDS];
+
+  /**
+   * Indica se este é o JobStatus original, criado pelo {@link Job}. Por ser transient, fica false nas cópias serializadas do JobStatus.
+   */
+  private final transient boolean original;
 
   /**
    * Cria um Novo JobStatus.
@@ -243,8 +289,20 @@ public class JobStatus implements Serializable {
    * @param jobTitle Título de identificação da Tarela. Utilizada para realizar Logs e identicar a Thread no Debug.
    */
   JobStatus(String uuid, String jobTitle) {
+    this(uuid, jobTitle, true);
+  }
+
+  /**
+   * Cria um Novo JobStatus.
+   *
+   * @param uuid Identificador único do Job.
+   * @param jobTitle Título de identificação da Tarela. Utilizada para realizar Logs e identicar a Thread no Debug.
+   * @param original Indica se é o JobStatus original do {@link Job} (true) ou uma cópia montada a partir de {@link JobStatusDelta} (false).
+   */
+  JobStatus(String uuid, String jobTitle, boolean original) {
     this.jobUUID = uuid;
     this.jobTitle = jobTitle;
+    this.original = original;
   }
 
   /**
@@ -265,8 +323,8 @@ public class JobStatus implements Serializable {
    */
   void setStep(JobStep step) {
     this.step = step;
-    this.lastChange = System.currentTimeMillis();
     if (step == JobStep.RUNNING && this.startTime == 0) this.startTime = System.currentTimeMillis();
+    changed(JobStatusDelta.FIELD_STEP);
   }
 
   /**
@@ -287,7 +345,7 @@ public class JobStatus implements Serializable {
    * @return the informação de progresso da tarefa, sendo 0
    */
   public double getProgress() {
-    return progress;
+    return this.progressCalculated ? calcProgress() : this.progress;
   }
 
   /**
@@ -309,7 +367,7 @@ public class JobStatus implements Serializable {
    */
   public void setIndeterminate(Boolean indeterminate) {
     this.indeterminate = indeterminate;
-    this.lastChange = System.currentTimeMillis();
+    changed(JobStatusDelta.FIELD_PROGRESS);
   }
 
   /**
@@ -319,9 +377,11 @@ public class JobStatus implements Serializable {
    * @param progress the new informação de progresso da tarefa, sendo 0
    */
   public void setProgress(double progress) {
-    this.setIndeterminate(false);
+    this.indeterminate = false;
     this.progress = progress;
-    this.lastChange = System.currentTimeMillis();
+    this.progressCalculated = false;
+    this.progressPending = false; // A próxima alteração dos contadores volta a calcular o progresso
+    changed(JobStatusDelta.FIELD_PROGRESS);
   }
 
   /**
@@ -332,7 +392,7 @@ public class JobStatus implements Serializable {
    */
   public void setProgressMessage(String progressMessage) {
     this.progressMessage = progressMessage;
-    this.lastChange = System.currentTimeMillis();
+    changed(JobStatusDelta.FIELD_MESSAGE);
   }
 
   /**
@@ -360,6 +420,7 @@ public class JobStatus implements Serializable {
    */
   protected void interrupt() {
     this.interruptResquested = Boolean.TRUE;
+    touch(JobStatusDelta.FIELD_INTERRUPT);
   }
 
   /**
@@ -367,8 +428,9 @@ public class JobStatus implements Serializable {
    */
   protected void interrupt(RFWException ex) {
     this.interruptResquested = Boolean.TRUE;
-    this.lastChange = System.currentTimeMillis();
     setException(ex);
+    touch(JobStatusDelta.FIELD_INTERRUPT);
+    changed(JobStatusDelta.FIELD_EXCEPTION);
   }
 
   /**
@@ -388,6 +450,7 @@ public class JobStatus implements Serializable {
    * @return the atributo que guarda quando a última alteração foi feita no JobStatus
    */
   public long getLastChange() {
+    publishProgress();
     return lastChange;
   }
 
@@ -406,7 +469,7 @@ public class JobStatus implements Serializable {
    */
   public void setParam(String param, Serializable value) {
     this.params.put(param, value);
-    this.lastChange = System.currentTimeMillis();
+    changed(JobStatusDelta.FIELD_PARAMS);
   }
 
   /**
@@ -423,7 +486,7 @@ public class JobStatus implements Serializable {
    */
   public void removeParam(String param) {
     this.params.remove(param);
-    this.lastChange = System.currentTimeMillis();
+    changed(JobStatusDelta.FIELD_PARAMS);
   }
 
   /**
@@ -451,6 +514,7 @@ public class JobStatus implements Serializable {
    */
   void setJobReturn(Object jobReturn) {
     this.jobReturn = jobReturn;
+    touch(JobStatusDelta.FIELD_RETURN);
   }
 
   /**
@@ -460,7 +524,10 @@ public class JobStatus implements Serializable {
    */
   void setException(Throwable exception) {
     // Só mantém a primeira exception recebida
-    if (this.exception == null) this.exception = exception;
+    if (this.exception == null) {
+      this.exception = exception;
+      touch(JobStatusDelta.FIELD_EXCEPTION);
+    }
   }
 
   /**
@@ -483,8 +550,7 @@ public class JobStatus implements Serializable {
    * @return O próprio JobStatus para conveniência de podermos chamar o .append() em sequência.
    */
   public JobStatus append(String content) {
-    if (this.report == null) this.report = new StringBuilder();
-    this.report.append(content);
+    getOrCreateReport().append(String.valueOf(content));
     return this;
   }
 
@@ -500,25 +566,72 @@ public class JobStatus implements Serializable {
    * @return O próprio JobStatus para conveniência de podermos chamar o .append() em sequência.
    */
   public JobStatus appendLn(String content) {
-    if (this.report == null) this.report = new StringBuilder();
-    this.report.append(content).append("\r\n");
+    getOrCreateReport().append(content + "\r\n"); // Em um único append, para que a linha não seja intercalada com o conteúdo de outra Thread
     return this;
   }
 
+  private JobReport getOrCreateReport() {
+    JobReport report = this.report;
+    if (report == null) {
+      synchronized (this) {
+        report = this.report;
+        if (report == null) this.report = report = new JobReport();
+      }
+    }
+    return report;
+  }
+
   /**
-   * # stringBuilder utilizado para registrar os eventos do relatório.<br>
+   * # relatório utilizado para registrar os eventos da tarefa.<br>
    * Note que as entradas do relatório são livres para serem criadas pela tarefa em execução e serem interpretadas pelo cliente que chamou, assim o relatório pode serguir o formato especificado pela tarefa.<Br>
-   * No entanto, para uma melhor "mutabilidade" de formatos, é recomendado utilizar o FWMarkdown.
+   * No entanto, para uma melhor "mutabilidade" de formatos, é recomendado utilizar o FWMarkdown.<br>
+   * <b>Atenção:</b> Este método monta o relatório inteiro em memória. Para relatórios grandes prefira ler o relatório em partes com {@link #getReport(long, int)} ou {@link #writeReport(Writer)}.<br>
+   * O início dos relatórios grandes fica em disco. O arquivo é mantido enquanto este JobStatus for alcançável, mesmo depois do Job ser removido do {@link JobMonitor}, assim o relatório pode ser lido a qualquer momento. Apenas uma falha de leitura do disco lança {@link RFWRunTimeException}.
    *
-   * @return the stringBuilder utilizado para registrar os eventos do relatório
+   * @return the relatório utilizado para registrar os eventos da tarefa
    */
   public String getReport() {
-    if (this.report == null) return null;
-    return this.report.toString();
+    final JobReport report = this.report;
+    if (report == null) return null;
+    return report.toString();
+  }
+
+  /**
+   * Recupera um trecho do relatório da tarefa, sem montar o relatório inteiro em memória.
+   *
+   * @param offset Posição do primeiro caractere do trecho.
+   * @param length Quantidade máxima de caracteres do trecho. O trecho é limitado ao final do relatório.
+   * @return Trecho do relatório, vazio caso a posição esteja além do final do relatório, ou null caso não exista relatório.
+   * @throws RFWException Lançado caso a parte do relatório gravada em disco não possa ser lida (falha de leitura do disco).
+   */
+  public String getReport(long offset, int length) throws RFWException {
+    final JobReport report = this.report;
+    if (report == null) return null;
+    try {
+      return report.read(offset, length);
+    } catch (IOException e) {
+      throw new RFWCriticalException("Falha ao ler o relatório do Job '${0}'!", new String[] { this.jobUUID }, e);
+    }
+  }
+
+  /**
+   * Escreve o relatório da tarefa em um {@link Writer}, em partes, sem montar o relatório inteiro em memória. Conteúdo anexado durante a escrita não é considerado.
+   *
+   * @param writer Destino do relatório.
+   * @throws RFWException Lançado caso o relatório não possa ser lido ou o writer falhe.
+   */
+  public void writeReport(Writer writer) throws RFWException {
+    final JobReport report = this.report;
+    if (report == null) return;
+    try {
+      report.writeTo(writer);
+    } catch (IOException e) {
+      throw new RFWCriticalException("Falha ao escrever o relatório do Job '${0}'!", new String[] { this.jobUUID }, e);
+    }
   }
 
   /**
-   * Verifica se já tivemos alguma entrada de append no relatório ou não. Valida com menos custo a existência do relatório do que validar se .getReport() retorna nulo, pois não chama o .toString() do StringBuilder o tempo todo.
+   * Verifica se já tivemos alguma entrada de append no relatório ou não. Valida com menos custo a existência do relatório do que validar se .getReport() retorna nulo, pois não monta o relatório.
    *
    * @return indica se temos alguma entrada de relatório (true) ou não (false).
    */
@@ -527,18 +640,32 @@ public class JobStatus implements Serializable {
   }
 
   /**
-   * Permite recuperar o tamanho do Report sem forçar a montagem do {@link StringBuilder}
+   * Permite recuperar o tamanho do Report sem forçar a montagem do relatório.
    *
    * @return Retorna o tamanho do {@link #report}
    */
-  /*
-   * Permite recuperar o tamanho do Report sem forçar a montagem do {@link StringBuilder}
+  public int getReportSize() {
+    final JobReport report = this.report;
+    if (report == null) return 0;
+    return (int) Math.min(report.length(), Integer.MAX_VALUE);
+  }
+
+  /**
+   * # relatório utilizado para registrar os eventos da tarefa. Null enquanto nada for anexado ao relatório.
    *
-   * @return Retorna o tamanho do {@link #report}
+   * @return # relatório utilizado para registrar os eventos da tarefa
    */
-  public int getReportSize() {
-    if (this.report == null) return 0;
-    return this.report.length();
+  JobReport getReportBuffer() {
+    return this.report;
+  }
+
+  /**
+   * # relatório utilizado para registrar os eventos da tarefa. Utilizado para associar à cópia do JobStatus o relatório lido do {@link JobResultStore}.
+   *
+   * @param report # relatório utilizado para registrar os eventos da tarefa
+   */
+  void setReportBuffer(JobReport report) {
+    this.report = report;
   }
 
   /**
@@ -564,7 +691,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -598,7 +725,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -607,7 +734,7 @@ public class JobStatus implements Serializable {
    */
   public void setStepsTotal(int stepsTotal) {
     this.stepsTotal = stepsTotal;
-    calcProgress();
+    progressChanged();
   }
 
   /**
@@ -633,7 +760,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -641,7 +768,7 @@ public class JobStatus implements Serializable {
    * @return the passo atual sendo executado
    */
   public int getStepsCount() {
-    return stepsCount;
+    return this.stepsCount.get();
   }
 
   /**
@@ -667,7 +794,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -675,8 +802,8 @@ public class JobStatus implements Serializable {
    * @param stepsCount the new passo atual sendo executado
    */
   public void setStepsCount(int stepsCount) {
-    this.stepsCount = stepsCount;
-    calcProgress();
+    this.stepsCount.set(stepsCount);
+    progressChanged();
   }
 
   /**
@@ -702,7 +829,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -736,7 +863,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -745,7 +872,7 @@ public class JobStatus implements Serializable {
    */
   public void setTasksTotal(int tasksTotal) {
     this.tasksTotal = tasksTotal;
-    calcProgress();
+    progressChanged();
   }
 
   /**
@@ -771,7 +898,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -779,9 +906,9 @@ public class JobStatus implements Serializable {
    * @param tasksTotal the new define o total de tarefas que serão executadas neste passo
    */
   public void setTasks(int tasksCount, int tasksTotal) {
-    this.tasksCount = tasksCount;
     this.tasksTotal = tasksTotal;
-    calcProgress();
+    resetTasksCount(tasksCount);
+    progressChanged();
   }
 
   /**
@@ -807,7 +934,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -815,7 +942,7 @@ public class JobStatus implements Serializable {
    * @return the define a quantidade de tarefas já realizados
    */
   public int getTasksCount() {
-    return tasksCount;
+    return (int) this.tasksCount.sum();
   }
 
   /**
@@ -841,7 +968,7 @@ public class JobStatus implements Serializable {
    * <li><b>{@link #tasksTotal}</b> - define o total de registros X ou de Y que temos para processar a cada início de rotina.
    * <li><b>{@link #tasksCount}</b> - incrementa a cada registro X ou Y que foi processado dentro da rotina. <Br>
    * <br>
-   * Cada vez que uma dessas veriávies é alterada o {@link JobStatus} tentará recalcular o progresso geral e defini-lo em {@link #progress} atuomaticamente. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
+   * Quando uma dessas veriávies é alterada o {@link JobStatus} passa a calcular o progresso geral automaticamente, a cada leitura de {@link #getProgress()}. Ou seja, quando o desenvolvedor utilizar o sistema de cálculo interno, ele não deve definir o {@link #progress} manualmente.<Br>
    * <br>
    * O Cálculo será feito de maneira que o valor total da barra seja primeiro dividido na quantidade de passos definidos. Por exemplo, se tivermos 10 passos, cada passo completo será responsável por preencher a 10% da barra. E o proporcional das "tasks" completadas incrementa a barra entre a posição de um step e outro.<br>
    * .
@@ -849,42 +976,282 @@ public class JobStatus implements Serializable {
    * @param tasksCount the new define a quantidade de tarefas já realizados
    */
   public void setTasksCount(int tasksCount) {
-    this.tasksCount = tasksCount;
-    calcProgress();
+    resetTasksCount(tasksCount);
+    progressChanged();
   }
 
-  private void calcProgress() {
-    try {
-      double stepSize = 1 / stepsTotal; // Caso não tenhamos outros passos o valor é 1, e o cálculo do prograsso de tasks será distribuido em 100%.
+  /**
+   * Registra a alteração de um atributo na versão do JobStatus, sem atualizar o {@link #lastChange}.
+   *
+   * @param field Atributo alterado, conforme as constantes FIELD_* de {@link JobStatusDelta}.
+   */
+  private void touch(int field) {
+    synchronized (this.fieldVersions) {
+      this.fieldVersions[field] = ++this.version;
+    }
+  }
+
+  /**
+   * Registra a alteração do JobStatus, atualizando a versão, o {@link #lastChange} e agendando a notificação dos assinantes.
+   *
+   * @param field Atributo alterado, conforme as constantes FIELD_* de {@link JobStatusDelta}.
+   */
+  private void changed(int field) {
+    touch(field);
+    this.lastChange = System.currentTimeMillis();
+    signalSubscribers();
+  }
 
-      double stepProgress = stepSize * (tasksCount / tasksCount); // Progresso da tarefa escalonado para o tamanho de cada passo.
-      double fullProgress = (stepSize * (stepsCount - 1)) + stepProgress;
+  /**
+   * Agenda a notificação dos assinantes.
+   */
+  private void signalSubscribers() {
+    final CopyOnWriteArrayList<Subscriber> subscriptions = this.subscriptions;
+    if (subscriptions != null) {
+      for (Subscriber subscriber : subscriptions) {
+        if (subscriber.subscription.isClosed()) {
+          subscriptions.remove(subscriber); // Assinatura encerrada pela última notificação
+        } else {
+          subscriber.subscription.signal();
+        }
+      }
+    }
+  }
 
-      setProgress(fullProgress);
-    } catch (Exception e) {
-      // Em caso de erro só imprime para o desenvolvimento
-      if (RFW.isDevelopmentEnvironment()) e.printStackTrace();
+  /**
+   * Assina as notificações de alteração do JobStatus.<br>
+   * O listener é notificado logo após a assinatura, com o estado atual, e depois sempre que o JobStatus for alterado. As alterações são agrupadas: o listener recebe o JobStatus com o estado do momento da notificação, e não uma notificação para cada alteração. Entre duas notificações é respeitado o intervalo mínimo informado.<br>
+   * A última notificação é feita com o parâmetro lastCall = true, quando o Job termina ({@link JobStep#FINISHED} ou {@link JobStep#EXCEPTION}), e encerra a assinatura.<br>
+   * As notificações de todos os assinantes são feitas por uma única Thread do {@link JobMonitor}, por isso o listener deve ser rápido.<br>
+   * <b>Atenção:</b> Apenas o JobStatus original, da mesma JVM do {@link Job}, publica suas alterações. Para acompanhar um Job por um {@link br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobStatusSupplier} utilize o {@link JobChecker}.
+   *
+   * @param listener Listener que receberá as notificações.
+   * @param minIntervalMillis Intervalo mínimo em milisegundos entre duas notificações ao listener.
+   * @throws RFWException Lançado caso o JobStatus seja uma cópia serializada, que não publica suas alterações.
+   */
+  public void subscribe(JobCheckerListener listener, long minIntervalMillis) throws RFWException {
+    if (!this.original) throw new RFWCriticalException("O JobStatus '" + this.jobTitle + "' é uma cópia do JobStatus original e não publica suas alterações! Utilize o JobChecker.");
+    synchronized (this) {
+      if (this.subscriptions == null) this.subscriptions = new CopyOnWriteArrayList<Subscriber>();
     }
+    final JobNotifier.Subscription subscription = JobNotifier.subscribe(this, listener, minIntervalMillis);
+    this.subscriptions.add(new Subscriber(listener, subscription));
+    subscription.signal(); // Só agendamos a primeira notificação depois de incluir a assinatura, para que nenhuma alteração feita entre a primeira notificação e a inclusão seja perdida
+  }
+
+  /**
+   * Cancela a assinatura das notificações feita em {@link #subscribe(JobCheckerListener, long)}.
+   *
+   * @param listener Listener que não deve mais receber as notificações.
+   */
+  public void unsubscribe(JobCheckerListener listener) {
+    final CopyOnWriteArrayList<Subscriber> subscriptions = this.subscriptions;
+    if (subscriptions != null) {
+      for (Subscriber subscriber : subscriptions) {
+        if (subscriber.listener == listener) {
+          subscriber.subscription.close();
+          subscriptions.remove(subscriber);
+        }
+      }
+    }
+  }
+
+  /**
+   * Recupera a versão do JobStatus, incrementada a cada alteração. Diferente do {@link #getLastChange()}, duas alterações nunca têm a mesma versão.
+   *
+   * @return Versão atual do JobStatus.
+   */
+  public long getVersion() {
+    publishProgress();
+    synchronized (this.fieldVersions) {
+      return this.version;
+    }
+  }
+
+  /**
+   * Monta o {@link JobStatusDelta} com os atributos alterados depois de uma versão e o conteúdo do relatório a partir de uma posição.<br>
+   * Utilizado para acompanhar o Job de outra JVM sem transferir o JobStatus completo a cada verificação. Veja {@link JobStatusDelta}.
+   *
+   * @param sinceVersion Versão da cópia do cliente ({@link #getVersion()}), ou 0 para obter todos os atributos.
+   * @param reportOffset Tamanho do relatório que o cliente já possui ({@link #getReportSize()}), ou 0 para obter o relatório completo.
+   * @return Delta com as alterações.
+   * @throws RFWException Lançado caso a parte do relatório gravada em disco não possa ser lida.
+   */
+  public JobStatusDelta getDelta(long sinceVersion, int reportOffset) throws RFWException {
+    publishProgress();
+    final long version;
+    final long[] versions;
+    synchronized (this.fieldVersions) {
+      version = this.version;
+      versions = this.fieldVersions.clone();
+    }
+    if (sinceVersion > version) sinceVersion = 0; // Versão desconhecida, enviamos o JobStatus completo
+
+    final JobStatusDelta delta = new JobStatusDelta(this.jobUUID, this.jobTitle, sinceVersion, version, this.lastChange);
+    // Os valores são lidos depois das versões: um atributo alterado durante a leitura pode vir com o valor mais novo, e será enviado novamente no próximo delta, já que sua versão é maior que a versão deste delta
+    if (sinceVersion == 0 || versions[JobStatusDelta.FIELD_STEP] > sinceVersion) delta.setStep(this.step, this.startTime);
+    if (sinceVersion == 0 || versions[JobStatusDelta.FIELD_PROGRESS] > sinceVersion) delta.setProgress(this.indeterminate, getProgress(), this.stepsTotal, getStepsCount(), this.tasksTotal, getTasksCount());
+    if (sinceVersion == 0 || versions[JobStatusDelta.FIELD_MESSAGE] > sinceVersion) delta.setProgressMessage(this.progressMessage);
+    if (sinceVersion == 0 || versions[JobStatusDelta.FIELD_INTERRUPT] > sinceVersion) delta.setInterruptResquested(this.interruptResquested);
+    if (sinceVersion == 0 || versions[JobStatusDelta.FIELD_PARAMS] > sinceVersion) delta.setParams(new HashMap<String, Serializable>(this.params));
+    if (versions[JobStatusDelta.FIELD_RETURN] > sinceVersion) delta.setJobReturn(this.jobReturn);
+    if (versions[JobStatusDelta.FIELD_EXCEPTION] > sinceVersion) delta.setException(this.exception);
+
+    final JobReport report = this.report;
+    if (report != null) {
+      final int size = getReportSize();
+      if (reportOffset > size) reportOffset = 0; // O cliente tem um relatório maior que o nosso, enviamos o relatório completo
+      if (size > reportOffset) {
+        try {
+          delta.setReport(reportOffset, report.read(reportOffset, size - reportOffset));
+        } catch (IOException e) {
+          throw new RFWCriticalException("Falha ao ler o relatório do Job '${0}'!", new String[] { this.jobUUID }, e);
+        }
+      }
+    }
+    return delta;
+  }
+
+  /**
+   * Aplica as alterações de um {@link JobStatusDelta} nesta cópia do JobStatus. Veja {@link JobStatusDelta#applyTo(JobStatus)}.
+   *
+   * @param delta Alterações a serem aplicadas.
+   * @throws RFWException Lançado caso o delta não tenha sido calculado a partir da versão e do tamanho do relatório desta cópia.
+   */
+  void apply(JobStatusDelta delta) throws RFWException {
+    if (this.original) throw new RFWCriticalException("O delta não pode ser aplicado no JobStatus original do Job '${0}'!", new String[] { this.jobUUID });
+    synchronized (this.fieldVersions) {
+      if (delta.getBaseVersion() > this.version) throw new RFWCriticalException("O delta do Job '${0}' foi criado a partir da versão ${1}, mas a cópia do JobStatus está na versão ${2}!", new String[] { this.jobUUID, "" + delta.getBaseVersion(), "" + this.version });
+      if (delta.hasReport() && delta.getReportOffset() > getReportSize()) throw new RFWCriticalException("O delta do Job '${0}' contém o relatório a partir da posição ${1}, mas a cópia do JobStatus tem apenas ${2} caracteres!", new String[] { this.jobUUID, "" + delta.getReportOffset(), "" + getReportSize() });
+      this.version = delta.getVersion();
+    }
+    if (delta.has(JobStatusDelta.FIELD_STEP)) {
+      this.step = delta.getStep();
+      this.startTime = delta.getStartTime();
+    }
+    if (delta.has(JobStatusDelta.FIELD_PROGRESS)) {
+      this.indeterminate = delta.getIndeterminate();
+      this.progress = delta.getProgress();
+      this.progressCalculated = false; // A cópia utiliza o progresso calculado pelo JobStatus original
+      this.stepsTotal = delta.getStepsTotal();
+      this.stepsCount.set(delta.getStepsCount());
+      this.tasksTotal = delta.getTasksTotal();
+      resetTasksCount(delta.getTasksCount());
+    }
+    if (delta.has(JobStatusDelta.FIELD_MESSAGE)) this.progressMessage = delta.getProgressMessage();
+    if (delta.has(JobStatusDelta.FIELD_INTERRUPT)) this.interruptResquested = delta.getInterruptResquested();
+    if (delta.has(JobStatusDelta.FIELD_PARAMS)) {
+      this.params.clear();
+      this.params.putAll(delta.getParams());
+    }
+    if (delta.has(JobStatusDelta.FIELD_RETURN)) this.jobReturn = delta.getJobReturn();
+    if (delta.has(JobStatusDelta.FIELD_EXCEPTION)) this.exception = delta.getException();
+    if (delta.hasReport()) {
+      final JobReport report = getOrCreateReport();
+      try {
+        report.truncate(delta.getReportOffset()); // Descarta o que a cópia tiver além da posição do delta
+      } catch (IOException e) {
+        throw new RFWCriticalException("Falha ao atualizar o relatório da cópia do Job '${0}'!", new String[] { this.jobUUID }, e);
+      }
+      report.append(delta.getReportContent());
+    }
+    this.lastChange = delta.getLastChange();
+  }
+
+  /**
+   * Calcula o progresso a partir dos contadores de passos e tarefas, sem alocar objetos, permitindo que seja lido com frequência.<br>
+   * Cada passo completo vale 1/{@link #stepsTotal} do progresso, e as tarefas completas do passo atual preenchem proporcionalmente o espaço até o próximo passo. Valores fora dos limites (como mais tarefas que o total) são limitados, para que o progresso fique sempre entre 0.0 e 1.0.
+   *
+   * @return Progresso calculado, entre 0.0 e 1.0.
+   */
+  private double calcProgress() {
+    final int stepsTotal = Math.max(1, this.stepsTotal);
+    final int step = Math.min(Math.max(1, this.stepsCount.get()), stepsTotal);
+    final int tasksTotal = this.tasksTotal;
+    double stepProgress = 0; // Progresso das tarefas dentro do passo atual
+    if (tasksTotal > 0) stepProgress = Math.min(1d, Math.max(0d, (double) this.tasksCount.sum() / tasksTotal));
+    return (step - 1 + stepProgress) / stepsTotal;
+  }
+
+  /**
+   * Define o valor de {@link #tasksCount} com uma única operação no contador, para que as leituras concorrentes nunca vejam um valor intermediário.<br>
+   * Incrementos feitos por outras Threads durante esta operação podem ser descartados, já que o valor definido os substitui.
+   *
+   * @param tasksCount Novo valor do contador.
+   */
+  private void resetTasksCount(long tasksCount) {
+    this.tasksCount.add(tasksCount - this.tasksCount.sum());
+  }
+
+  /**
+   * Registra a alteração de um dos contadores de progresso.<br>
+   * A alteração não é registrada na versão imediatamente: apenas a primeira alteração depois de cada registro marca o progresso como pendente e agenda a notificação dos assinantes. Assim as tarefas que incrementam os contadores a partir de várias Threads não concorrem pelo lock da versão a cada
+   * incremento. O registro na versão e no {@link #lastChange} é feito em {@link #publishProgress()}, por quem lê a versão.
+   */
+  private void progressChanged() {
+    if (!this.progressPending) {
+      this.progressCalculated = true;
+      this.indeterminate = Boolean.FALSE;
+      this.progressPendingTime = System.currentTimeMillis();
+      this.progressPending = true;
+      signalSubscribers();
+    }
+  }
+
+  /**
+   * Registra na versão e no {@link #lastChange} as alterações pendentes dos contadores de progresso. Chamado antes de toda leitura da versão ({@link #getVersion()}, {@link #getLastChange()}, {@link #getDelta(long, int)}, serialização e notificação dos assinantes), e antes da leitura dos contadores:
+   * os incrementos que não estiverem na leitura voltam a marcar o progresso como pendente em {@link #progressChanged()}.
+   */
+  void publishProgress() {
+    if (this.progressPending) {
+      this.progressPending = false;
+      touch(JobStatusDelta.FIELD_PROGRESS);
+      final long pendingTime = this.progressPendingTime;
+      if (pendingTime > this.lastChange) this.lastChange = pendingTime;
+    }
+  }
+
+  /**
+   * Registra as alterações pendentes do progresso antes da serialização, para que a cópia tenha a versão correspondente aos contadores serializados.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    publishProgress();
+    out.defaultWriteObject();
   }
 
   /**
    * Incrementa a contagem de tarefas completas.<br>
-   * Equivalente à {@link #setTasksCount(int)} passando o parâmetro ({@link #getTasksCount()} + 1).
+   * Equivalente à {@link #setTasksCount(int)} passando o parâmetro ({@link #getTasksCount()} + 1), mas pode ser chamado por várias Threads ao mesmo tempo sem perder incrementos e sem que elas concorram entre si.
    */
   public void incTasksCount() {
-    this.tasksCount++;
-    calcProgress();
+    this.tasksCount.increment();
+    progressChanged();
   }
 
   /**
    * Incrementa a contagem de passos completos<br>
    * Equivalente à {@link #setStepsCount(int)} passando o parâmetro ({@link #getStepsCount()} + 1).<Br>
    * <Br>
-   * <b>JÁ ZERA O ATRIBUTO {@link #tasksCount}.</b> Faz isso para que o valor do progresso não "pule" considerando o tasksCount do passo anterior.
+   * <b>JÁ ZERA O ATRIBUTO {@link #tasksCount}.</b> Faz isso para que o valor do progresso não "pule" considerando o tasksCount do passo anterior. Tarefas do passo anterior incrementadas por outras Threads depois desta chamada são contadas no novo passo.
    */
   public void incStepsCount() {
-    this.stepsCount++;
-    this.tasksCount = 0;
-    calcProgress();
+    resetTasksCount(0);
+    this.stepsCount.incrementAndGet();
+    progressChanged();
+  }
+
+  /**
+   * Assinatura das notificações do JobStatus.
+   */
+  private static class Subscriber {
+
+    private final JobCheckerListener listener;
+
+    private final JobNotifier.Subscription subscription;
+
+    public Subscriber(JobCheckerListener listener, JobNotifier.Subscription subscription) {
+      this.listener = listener;
+      this.subscription = subscription;
+    }
   }
 }
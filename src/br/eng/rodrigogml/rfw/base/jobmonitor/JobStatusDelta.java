@@ -0,0 +1,493 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobStatusSupplier;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Alterações de um {@link JobStatus} a partir de uma versão, para o acompanhamento de Jobs em outra JVM ({@link JobStatusSupplier#getJobStatusDelta(String, long, int)}).<br>
+ * Ao invés de transferir o {@link JobStatus} completo a cada verificação (incluindo todo o relatório, os parâmetros, o retorno e a exception), o cliente mantém uma cópia local do {@link JobStatus} e solicita apenas os atributos alterados depois da versão da sua cópia, e o conteúdo do relatório a partir do tamanho que ele já tem. As alterações são aplicadas na cópia
+ * com o {@link #applyTo(JobStatus)}.<br>
+ * Cada alteração do {@link JobStatus} recebe uma nova versão ({@link JobStatus#getVersion()}), diferente do {@link JobStatus#getLastChange()} que pode se repetir em alterações no mesmo milisegundo.<br>
+ * <br>
+ * A serialização é feita em formato binário compacto ({@link Externalizable}): apenas os atributos alterados são escritos, identificados por um único byte de flags, e os textos são escritos em UTF-8. Quando não há alteração o delta ocupa poucas dezenas de bytes. Veja também {@link #toByteArray()} e {@link #fromByteArray(byte[])}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class JobStatusDelta implements Externalizable {
+
+  private static final long serialVersionUID = 1862471913946312745L;
+
+  /**
+   * Atributos {@link JobStatus#getStep()} e {@link JobStatus#getStartTime()}.
+   */
+  static final int FIELD_STEP = 0;
+
+  /**
+   * Atributos do progresso: {@link JobStatus#getIndeterminate()}, {@link JobStatus#getProgress()}, {@link JobStatus#getStepsTotal()}, {@link JobStatus#getStepsCount()}, {@link JobStatus#getTasksTotal()} e {@link JobStatus#getTasksCount()}.
+   */
+  static final int FIELD_PROGRESS = 1;
+
+  /**
+   * Atributo {@link JobStatus#getProgressMessage()}.
+   */
+  static final int FIELD_MESSAGE = 2;
+
+  /**
+   * Atributo {@link JobStatus#getInterruptResquested()}.
+   */
+  static final int FIELD_INTERRUPT = 3;
+
+  /**
+   * Parâmetros do Job ({@link JobStatus#getParam(String)}). Quando alterados, todos os parâmetros são enviados, para que os parâmetros removidos também sejam refletidos na cópia.
+   */
+  static final int FIELD_PARAMS = 4;
+
+  /**
+   * Atributo {@link JobStatus#getJobReturn()}.
+   */
+  static final int FIELD_RETURN = 5;
+
+  /**
+   * Atributo {@link JobStatus#getException()}.
+   */
+  static final int FIELD_EXCEPTION = 6;
+
+  /**
+   * Quantidade de atributos controlados.
+   */
+  static final int FIELDS = 7;
+
+  /**
+   * Flag do conteúdo do relatório, escrito junto com as flags dos atributos.
+   */
+  private static final int FLAG_REPORT = 1 << FIELDS;
+
+  /**
+   * Versão da codificação binária, para permitir alterações futuras do formato.
+   */
+  private static final byte ENCODING_VERSION = 1;
+
+  private String jobUUID;
+
+  private String jobTitle;
+
+  /**
+   * Versão do {@link JobStatus} a partir da qual as alterações foram calculadas.
+   */
+  private long baseVersion;
+
+  /**
+   * Versão do {@link JobStatus} após a aplicação deste delta.
+   */
+  private long version;
+
+  private long lastChange;
+
+  /**
+   * Flags dos atributos presentes no delta, um bit para cada FIELD_*, e {@link #FLAG_REPORT} para o conteúdo do relatório.
+   */
+  private int flags;
+
+  private JobStep step;
+
+  private long startTime;
+
+  private Boolean indeterminate;
+
+  private double progress;
+
+  private int stepsTotal;
+
+  private int stepsCount;
+
+  private int tasksTotal;
+
+  private int tasksCount;
+
+  private String progressMessage;
+
+  private Boolean interruptResquested;
+
+  private HashMap<String, Serializable> params;
+
+  private Object jobReturn;
+
+  private Throwable exception;
+
+  /**
+   * Posição do relatório a partir da qual o {@link #reportContent} deve ser anexado.
+   */
+  private int reportOffset;
+
+  /**
+   * Conteúdo do relatório a partir de {@link #reportOffset}.
+   */
+  private String reportContent;
+
+  /**
+   * Construtor utilizado na desserialização.
+   */
+  public JobStatusDelta() {
+  }
+
+  /**
+   * Cria o delta de um {@link JobStatus}. Os atributos são preenchidos pelo próprio {@link JobStatus}.
+   */
+  JobStatusDelta(String jobUUID, String jobTitle, long baseVersion, long version, long lastChange) {
+    this.jobUUID = jobUUID;
+    this.jobTitle = jobTitle;
+    this.baseVersion = baseVersion;
+    this.version = version;
+    this.lastChange = lastChange;
+  }
+
+  /**
+   * Aplica as alterações na cópia local do {@link JobStatus}.
+   *
+   * @param jobStatus Cópia local do {@link JobStatus}, ou null para criar uma nova cópia. Neste caso o delta deve ter sido criado a partir da versão 0.
+   * @return A cópia com as alterações aplicadas.
+   * @throws RFWException Lançado caso o delta não tenha sido calculado a partir da versão e do tamanho do relatório da cópia.
+   */
+  public JobStatus applyTo(JobStatus jobStatus) throws RFWException {
+    if (jobStatus == null) {
+      if (this.baseVersion != 0) throw new RFWCriticalException("O delta do Job '${0}' foi criado a partir da versão ${1} e não pode criar uma nova cópia do JobStatus!", new String[] { this.jobUUID, "" + this.baseVersion });
+      jobStatus = new JobStatus(this.jobUUID, this.jobTitle, false);
+    } else if (!jobStatus.getJobUUID().equals(this.jobUUID)) {
+      throw new RFWCriticalException("O delta do Job '${0}' não pode ser aplicado no JobStatus do Job '${1}'!", new String[] { this.jobUUID, jobStatus.getJobUUID() });
+    }
+    jobStatus.apply(this);
+    return jobStatus;
+  }
+
+  /**
+   * Indica se o delta contém alguma alteração.
+   *
+   * @return true caso algum atributo ou o relatório tenha sido alterado.
+   */
+  public boolean hasChanges() {
+    return this.flags != 0;
+  }
+
+  /**
+   * Indica se um atributo está presente no delta.
+   */
+  boolean has(int field) {
+    return (this.flags & (1 << field)) != 0;
+  }
+
+  /**
+   * Marca um atributo como presente no delta.
+   */
+  void set(int field) {
+    this.flags |= 1 << field;
+  }
+
+  /**
+   * Codifica o delta no formato binário compacto.
+   *
+   * @return Bytes do delta.
+   * @throws RFWException
+   */
+  public byte[] toByteArray() throws RFWException {
+    try {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        writeExternal(out);
+      }
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new RFWCriticalException("Falha ao codificar o delta do Job '${0}'!", new String[] { this.jobUUID }, e);
+    }
+  }
+
+  /**
+   * Decodifica um delta criado com {@link #toByteArray()}.
+   *
+   * @param bytes Bytes do delta.
+   * @return Delta decodificado.
+   * @throws RFWException
+   */
+  public static JobStatusDelta fromByteArray(byte[] bytes) throws RFWException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      final JobStatusDelta delta = new JobStatusDelta();
+      delta.readExternal(in);
+      return delta;
+    } catch (IOException | ClassNotFoundException e) {
+      throw new RFWCriticalException("Falha ao decodificar o delta do Job!", e);
+    }
+  }
+
+  @Override
+  public void writeExternal(ObjectOutput out) throws IOException {
+    out.writeByte(ENCODING_VERSION);
+    out.writeUTF(this.jobUUID);
+    out.writeLong(this.baseVersion);
+    out.writeLong(this.version);
+    out.writeLong(this.lastChange);
+    out.writeShort(this.flags);
+    if (this.baseVersion == 0) writeString(out, this.jobTitle); // O título não muda, só é enviado na criação da cópia
+    if (has(FIELD_STEP)) {
+      out.writeByte(this.step.ordinal());
+      out.writeLong(this.startTime);
+    }
+    if (has(FIELD_PROGRESS)) {
+      out.writeByte(this.indeterminate == null ? -1 : this.indeterminate ? 1 : 0);
+      out.writeDouble(this.progress);
+      out.writeInt(this.stepsTotal);
+      out.writeInt(this.stepsCount);
+      out.writeInt(this.tasksTotal);
+      out.writeInt(this.tasksCount);
+    }
+    if (has(FIELD_MESSAGE)) writeString(out, this.progressMessage);
+    if (has(FIELD_INTERRUPT)) out.writeBoolean(Boolean.TRUE.equals(this.interruptResquested));
+    if (has(FIELD_PARAMS)) {
+      out.writeInt(this.params.size());
+      for (Entry<String, Serializable> entry : this.params.entrySet()) {
+        writeString(out, entry.getKey());
+        out.writeObject(entry.getValue());
+      }
+    }
+    if (has(FIELD_RETURN)) out.writeObject(this.jobReturn);
+    if (has(FIELD_EXCEPTION)) out.writeObject(this.exception);
+    if ((this.flags & FLAG_REPORT) != 0) {
+      out.writeInt(this.reportOffset);
+      writeString(out, this.reportContent);
+    }
+  }
+
+  @Override
+  public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+    final byte encoding = in.readByte();
+    if (encoding != ENCODING_VERSION) throw new IOException("Versão da codificação do delta do Job não suportada: " + encoding);
+    this.jobUUID = in.readUTF();
+    this.baseVersion = in.readLong();
+    this.version = in.readLong();
+    this.lastChange = in.readLong();
+    this.flags = in.readShort();
+    if (this.baseVersion == 0) this.jobTitle = readString(in);
+    if (has(FIELD_STEP)) {
+      this.step = JobStep.values()[in.readByte()];
+      this.startTime = in.readLong();
+    }
+    if (has(FIELD_PROGRESS)) {
+      final byte indeterminate = in.readByte();
+      this.indeterminate = indeterminate < 0 ? null : indeterminate == 1;
+      this.progress = in.readDouble();
+      this.stepsTotal = in.readInt();
+      this.stepsCount = in.readInt();
+      this.tasksTotal = in.readInt();
+      this.tasksCount = in.readInt();
+    }
+    if (has(FIELD_MESSAGE)) this.progressMessage = readString(in);
+    if (has(FIELD_INTERRUPT)) this.interruptResquested = in.readBoolean();
+    if (has(FIELD_PARAMS)) {
+      final int size = in.readInt();
+      this.params = new HashMap<String, Serializable>(size * 2);
+      for (int i = 0; i < size; i++) {
+        this.params.put(readString(in), (Serializable) in.readObject());
+      }
+    }
+    if (has(FIELD_RETURN)) this.jobReturn = in.readObject();
+    if (has(FIELD_EXCEPTION)) this.exception = (Throwable) in.readObject();
+    if ((this.flags & FLAG_REPORT) != 0) {
+      this.reportOffset = in.readInt();
+      this.reportContent = readString(in);
+    }
+  }
+
+  /**
+   * Escreve um texto em UTF-8, sem o limite de 64KB do {@link DataOutput#writeUTF(String)}.
+   */
+  private static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    final int length = in.readInt();
+    if (length < 0) return null;
+    final byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Define o conteúdo do relatório a partir de uma posição.
+   */
+  void setReport(int reportOffset, String reportContent) {
+    this.reportOffset = reportOffset;
+    this.reportContent = reportContent;
+    this.flags |= FLAG_REPORT;
+  }
+
+  /**
+   * Indica se o delta contém conteúdo do relatório.
+   */
+  boolean hasReport() {
+    return (this.flags & FLAG_REPORT) != 0;
+  }
+
+  /**
+   * # identificador único do Job.
+   *
+   * @return the identificador único do Job
+   */
+  public String getJobUUID() {
+    return jobUUID;
+  }
+
+  /**
+   * # versão do {@link JobStatus} a partir da qual as alterações foram calculadas.
+   *
+   * @return the versão do {@link JobStatus} a partir da qual as alterações foram calculadas
+   */
+  public long getBaseVersion() {
+    return baseVersion;
+  }
+
+  /**
+   * # versão do {@link JobStatus} após a aplicação deste delta. Deve ser utilizada na próxima solicitação de alterações.
+   *
+   * @return the versão do {@link JobStatus} após a aplicação deste delta
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * # posição do relatório a partir da qual o conteúdo do delta deve ser anexado.
+   *
+   * @return the posição do relatório a partir da qual o conteúdo do delta deve ser anexado
+   */
+  public int getReportOffset() {
+    return reportOffset;
+  }
+
+  String getJobTitle() {
+    return jobTitle;
+  }
+
+  long getLastChange() {
+    return lastChange;
+  }
+
+  JobStep getStep() {
+    return step;
+  }
+
+  void setStep(JobStep step, long startTime) {
+    this.step = step;
+    this.startTime = startTime;
+    set(FIELD_STEP);
+  }
+
+  long getStartTime() {
+    return startTime;
+  }
+
+  Boolean getIndeterminate() {
+    return indeterminate;
+  }
+
+  double getProgress() {
+    return progress;
+  }
+
+  int getStepsTotal() {
+    return stepsTotal;
+  }
+
+  int getStepsCount() {
+    return stepsCount;
+  }
+
+  int getTasksTotal() {
+    return tasksTotal;
+  }
+
+  int getTasksCount() {
+    return tasksCount;
+  }
+
+  void setProgress(Boolean indeterminate, double progress, int stepsTotal, int stepsCount, int tasksTotal, int tasksCount) {
+    this.indeterminate = indeterminate;
+    this.progress = progress;
+    this.stepsTotal = stepsTotal;
+    this.stepsCount = stepsCount;
+    this.tasksTotal = tasksTotal;
+    this.tasksCount = tasksCount;
+    set(FIELD_PROGRESS);
+  }
+
+  String getProgressMessage() {
+    return progressMessage;
+  }
+
+  void setProgressMessage(String progressMessage) {
+    this.progressMessage = progressMessage;
+    set(FIELD_MESSAGE);
+  }
+
+  Boolean getInterruptResquested() {
+    return interruptResquested;
+  }
+
+  void setInterruptResquested(Boolean interruptResquested) {
+    this.interruptResquested = interruptResquested;
+    set(FIELD_INTERRUPT);
+  }
+
+  HashMap<String, Serializable> getParams() {
+    return params;
+  }
+
+  void setParams(HashMap<String, Serializable> params) {
+    this.params = params;
+    set(FIELD_PARAMS);
+  }
+
+  Object getJobReturn() {
+    return jobReturn;
+  }
+
+  void setJobReturn(Object jobReturn) {
+    this.jobReturn = jobReturn;
+    set(FIELD_RETURN);
+  }
+
+  Throwable getException() {
+    return exception;
+  }
+
+  void setException(Throwable exception) {
+    this.exception = exception;
+    set(FIELD_EXCEPTION);
+  }
+
+  String getReportContent() {
+    return reportContent;
+  }
+}
@@ -0,0 +1,127 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Controle dos prazos dos Jobs do {@link JobMonitor} (limite de vida do Job e tempo de retenção depois de terminado).<br>
+ * Substitui os antigos Timers criados para cada Job (uma Thread por prazo). Os prazos de todos os Jobs ficam em uma única {@link DelayQueue}, verificada por uma única Thread.<br>
+ * Cada Job tem no máximo um prazo ativo. O cancelamento ou a substituição do prazo não retira o prazo antigo da fila (o que custaria percorrer a fila), apenas deixa de considerá-lo: ao vencer, o prazo antigo é descartado sem executar sua ação. Assim cada prazo custa apenas um pequeno objeto, e as operações custam O(log n).<br>
+ * Por isso as ações não devem guardar referência para o Job: um prazo cancelado permanece na fila até o seu vencimento original, e manteria o Job na memória durante todo esse tempo. As ações devem recuperar o Job pelo UUID no momento da execução.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class JobSweeper {
+
+  /**
+   * Fila dos prazos, ordenada pelo vencimento.
+   */
+  private static final DelayQueue<Expiry> queue = new DelayQueue<>();
+
+  /**
+   * Prazo ativo de cada Job. A chave é o UUID do Job.
+   */
+  private static final ConcurrentHashMap<String, Expiry> current = new ConcurrentHashMap<>();
+
+  /**
+   * Thread de verificação dos prazos.
+   */
+  private static Thread sweeper = null;
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private JobSweeper() {
+  }
+
+  /**
+   * Define o prazo de um Job, substituindo o prazo anterior (se houver).
+   *
+   * @param jobUUID Identificador do Job.
+   * @param delayMillis Tempo em milisegundos até o vencimento do prazo.
+   * @param action Ação executada no vencimento do prazo, na Thread de verificação. Deve ser rápida, pois atrasa a verificação dos prazos seguintes, e não deve guardar referência para o Job.
+   */
+  static void schedule(String jobUUID, long delayMillis, Runnable action) {
+    final Expiry expiry = new Expiry(jobUUID, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis), action);
+    current.put(jobUUID, expiry);
+    queue.add(expiry);
+    startSweeper();
+  }
+
+  /**
+   * Cancela o prazo ativo de um Job.
+   *
+   * @param jobUUID Identificador do Job.
+   */
+  static void cancel(String jobUUID) {
+    current.remove(jobUUID);
+  }
+
+  /**
+   * Recupera a quantidade de prazos ativos.
+   *
+   * @return Quantidade de Jobs com prazo ativo.
+   */
+  static int size() {
+    return current.size();
+  }
+
+  private static synchronized void startSweeper() {
+    if (sweeper == null) {
+      sweeper = new Thread("### JobMonitor Sweeper") {
+        @Override
+        public void run() {
+          while (true) {
+            try {
+              final Expiry expiry = queue.take();
+              // Só executamos a ação se o prazo ainda for o ativo do Job, prazos cancelados ou substituídos são apenas descartados
+              if (current.remove(expiry.jobUUID, expiry)) expiry.action.run();
+            } catch (InterruptedException e) {
+              // A Thread não deve ser interrompida, continuamos a verificação
+            } catch (Throwable e) {
+              RFWLogger.logException(e);
+            }
+          }
+        }
+      };
+      sweeper.setDaemon(true); // Assim como os antigos Timers, a verificação não impede a JVM de ser finalizada
+      sweeper.start();
+    }
+  }
+
+  /**
+   * Prazo de um Job.
+   */
+  private static class Expiry implements Delayed {
+
+    private final String jobUUID;
+
+    /**
+     * Vencimento em {@link System#nanoTime()}.
+     */
+    private final long deadline;
+
+    private final Runnable action;
+
+    public Expiry(String jobUUID, long deadline, Runnable action) {
+      this.jobUUID = jobUUID;
+      this.deadline = deadline;
+      this.action = action;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+      return Long.compare(this.deadline - ((Expiry) o).deadline, 0);
+    }
+  }
+}
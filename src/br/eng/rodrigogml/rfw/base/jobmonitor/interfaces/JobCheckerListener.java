@@ -5,7 +5,7 @@ import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus;
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
 
 /**
- * Description: Interface que define um Listener Utilizado pelo {@link JobChecker} para notificar sobre as alterações da tarefa.<br>
+ * Description: Interface que define um Listener Utilizado pelo {@link JobChecker} e pelo {@link JobStatus#subscribe(JobCheckerListener, long)} para notificar sobre as alterações da tarefa.<br>
  *
  * @author Rodrigo GML
  * @since 10.0 (31 de out de 2020)
@@ -13,8 +13,9 @@ import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
 public interface JobCheckerListener {
 
   /**
-   * Método que será chamado periodicamente com o status do Job.<br>
-   * Este método só será chamado quando o JobChecker notar alguma diferença entre os atributos do objeto.<br>
+   * Método que será chamado com o status do Job sempre que ele for alterado.<br>
+   * Este método só será chamado quando o JobChecker notar alguma diferença entre os atributos do objeto. Várias alterações próximas podem ser agrupadas em uma única chamada.<br>
+   * As chamadas são feitas por uma Thread compartilhada por todos os listeners, por isso este método deve ser rápido.<br>
    * É garantida a chamada do método updateStatus() depois do {@link #start()} pelo menos uma única vez depois que o set chegar em {@link JobStep#FINISHED}.
    *
    * @param status Objeto com os status do Job.
@@ -0,0 +1,24 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor.interfaces;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.Job;
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus;
+
+/**
+ * Description: Interface que define o processamento de cada item de um {@link Job#parallelFor(int, JobParallelTask)}.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public interface JobParallelTask {
+
+  /**
+   * Processa um item. Os itens são processados em paralelo por várias Threads, por isso o método deve ser thread-safe.<br>
+   * O progresso é atualizado pelo {@link Job#parallelFor(int, JobParallelTask)} ao fim de cada item, não sendo necessário atualizar os contadores de tarefas do {@link JobStatus}.
+   *
+   * @param index Índice do item, entre 0 e a quantidade de itens - 1.
+   * @param jobStatus Status do Job que chamou o parallelFor, para a verificação da interrupção ({@link JobStatus#checkInterrupt()}) e o registro de mensagens e relatório.
+   * @throws Throwable Qualquer exceção interrompe o processamento dos demais itens e é lançada pelo {@link Job#parallelFor(int, JobParallelTask)}.
+   */
+  public void run(int index, JobStatus jobStatus) throws Throwable;
+
+}
@@ -3,6 +3,7 @@ package br.eng.rodrigogml.rfw.base.jobmonitor.interfaces;
 import br.eng.rodrigogml.rfw.base.jobmonitor.Job;
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobMonitor;
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus;
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatusDelta;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
 
 /**
@@ -27,6 +28,23 @@ public interface JobStatusSupplier {
    */
   public JobStatus getJobStatus(String jobUUID) throws RFWException;
 
+  /**
+   * Recupera apenas as alterações do JobStatus depois de uma versão, e o relatório a partir de uma posição. Veja {@link JobStatus#getDelta(long, int)}.<br>
+   * A implementação padrão obtém o JobStatus completo pelo {@link #getJobStatus(String)}, e por isso não reduz o volume transferido. Os Suppliers que acessam o JobMonitor de outra JVM devem sobrescrever este método para chamar o {@link JobMonitor#getJobStatusDelta(String, long, int)} do outro lado da fachada, transferindo apenas o
+   * {@link JobStatusDelta}.
+   *
+   * @param jobUUID Identificador do Job.
+   * @param sinceVersion Versão da cópia local do JobStatus, ou 0 para obter todos os atributos.
+   * @param reportOffset Tamanho do relatório da cópia local, ou 0 para obter o relatório completo.
+   * @return Delta com as alterações, ou null caso a tarefa não exista.
+   * @throws RFWException
+   */
+  public default JobStatusDelta getJobStatusDelta(String jobUUID, long sinceVersion, int reportOffset) throws RFWException {
+    final JobStatus jobStatus = getJobStatus(jobUUID);
+    if (jobStatus == null) return null;
+    return jobStatus.getDelta(sinceVersion, reportOffset);
+  }
+
   /**
    * Deve chamar o método de limpeza {@link JobMonitor#cleanJob(String)} para liberar os recursos do sistema.
    *
@@ -2,6 +2,7 @@ package br.eng.rodrigogml.rfw.base.jobmonitor.interfaces;
 
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobMonitor;
 import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus;
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatusDelta;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
 
 /**
@@ -17,6 +18,11 @@ public class JobStatusSupplierDefault implements JobStatusSupplier {
     return JobMonitor.getJobStatus(jobUUID);
   }
 
+  @Override
+  public JobStatusDelta getJobStatusDelta(String jobUUID, long sinceVersion, int reportOffset) throws RFWException {
+    return JobMonitor.getJobStatusDelta(jobUUID, sinceVersion, reportOffset);
+  }
+
   @Override
   public boolean cleanJob(String jobUUID) throws RFWException {
     return JobMonitor.cleanJob(jobUUID);
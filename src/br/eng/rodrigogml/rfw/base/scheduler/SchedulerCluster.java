@@ -0,0 +1,224 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerLeaseProvider;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Configuração do Scheduler em cluster, definida em {@link SchedulerController#setCluster(SchedulerCluster)}.<br>
+ * Todos os nós carregam as mesmas tarefas, mas cada tarefa só é executada pelo nó responsável por ela. O responsável é definido por hash consistente do {@link SchedulerTask#getId()} entre os nós do cluster: as tarefas são distribuídas igualmente entre os nós, e quando um nó entra ou sai do cluster apenas as tarefas dele mudam de responsável.<br>
+ * Além disso, antes de cada execução o nó responsável obtém o lease da execução no {@link SchedulerLeaseProvider}. Assim, enquanto os nós não concordam sobre a lista de nós do cluster (durante a entrada ou saída de um nó) a tarefa continua sem ser executada em duplicidade.<br>
+ * <br>
+ * A lista de nós não é descoberta automaticamente, ela deve ser informada (e atualizada em {@link #setNodes(Collection)}) igualmente em todos os nós.<br>
+ * As execuções forçadas com {@link SchedulerController#executeTaskNow(Long)} não passam pelo cluster, são executadas no nó onde foram solicitadas.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerCluster {
+
+  /**
+   * Quantidade de pontos de cada nó no anel do hash consistente. Quanto mais pontos, mais uniforme a distribuição das tarefas entre os nós.
+   */
+  private static final int VIRTUAL_NODES = 160;
+
+  /**
+   * Identificação deste nó.
+   */
+  private final String localNode;
+
+  /**
+   * Provedor dos leases de execução.
+   */
+  private final SchedulerLeaseProvider leaseProvider;
+
+  /**
+   * Validade do lease de execução em milisegundos. Deve ser maior que o tempo de execução das tarefas.
+   */
+  private volatile long leaseMillis = 10 * 60 * 1000;
+
+  /**
+   * Anel do hash consistente: posição no anel -> nó. Substituído por inteiro a cada alteração dos nós, assim a leitura não precisa de sincronização.
+   */
+  private volatile TreeMap<Long, String> ring;
+
+  /**
+   * Lista dos nós do cluster, na mesma instância do {@link #ring}.
+   */
+  private volatile List<String> nodes;
+
+  /**
+   * Cria a configuração do cluster.
+   *
+   * @param localNode Identificação deste nó. Deve constar na lista de nós.
+   * @param nodes Identificação de todos os nós do cluster. Deve ser a mesma em todos os nós.
+   * @param leaseProvider Provedor dos leases de execução, compartilhado entre os nós.
+   * @throws RFWException
+   */
+  public SchedulerCluster(String localNode, Collection<String> nodes, SchedulerLeaseProvider leaseProvider) throws RFWException {
+    if (localNode == null) throw new RFWCriticalException("A identificação do nó deve ser informada!");
+    if (leaseProvider == null) throw new RFWCriticalException("O provedor de leases do cluster deve ser informado!");
+    this.localNode = localNode;
+    this.leaseProvider = leaseProvider;
+    setNodes(nodes);
+  }
+
+  /**
+   * Atualiza a lista dos nós do cluster, redistribuindo as tarefas. Apenas as tarefas dos nós que entraram ou saíram mudam de responsável.
+   *
+   * @param nodes Identificação de todos os nós do cluster. Deve ser a mesma em todos os nós e conter este nó.
+   * @throws RFWException
+   */
+  public void setNodes(Collection<String> nodes) throws RFWException {
+    if (nodes == null || !nodes.contains(this.localNode)) throw new RFWCriticalException("A lista de nós do cluster deve conter o próprio nó '${0}'!", new String[] { this.localNode });
+    final TreeSet<String> sorted = new TreeSet<>(nodes);
+    final TreeMap<Long, String> ring = new TreeMap<>();
+    for (String node : sorted) {
+      for (int i = 0; i < VIRTUAL_NODES; i++) {
+        // Em caso de colisão de posições fica o primeiro em ordem alfabética, igual em todos os nós
+        ring.putIfAbsent(hash(node + "#" + i), node);
+      }
+    }
+    this.ring = ring;
+    this.nodes = Collections.unmodifiableList(new ArrayList<>(sorted));
+  }
+
+  /**
+   * Recupera a lista dos nós do cluster.
+   *
+   * @return Lista imutável com a identificação dos nós do cluster.
+   */
+  public List<String> getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Recupera o nó responsável pela execução de uma tarefa.
+   *
+   * @param taskID ID da tarefa ({@link SchedulerTask#getId()}).
+   * @return Identificação do nó responsável.
+   */
+  public String getOwner(Long taskID) {
+    final TreeMap<Long, String> ring = this.ring;
+    Entry<Long, String> entry = ring.ceilingEntry(mix(taskID));
+    if (entry == null) entry = ring.firstEntry(); // O anel é circular
+    return entry.getValue();
+  }
+
+  /**
+   * Verifica se este nó é o responsável pela execução de uma tarefa.
+   *
+   * @param taskID ID da tarefa ({@link SchedulerTask#getId()}).
+   * @return true caso este nó seja o responsável pela tarefa.
+   */
+  public boolean isLocalOwner(Long taskID) {
+    return this.localNode.equals(getOwner(taskID));
+  }
+
+  /**
+   * Verifica se este nó deve executar a tarefa: se é o responsável por ela e se obteve o lease da execução.<br>
+   * Falhas do provedor de leases são logadas e a execução é negada, evitando a execução duplicada.
+   *
+   * @param task Tarefa a ser executada.
+   * @param scheduleTime Horário agendado da execução.
+   * @return true caso a tarefa deva ser executada neste nó. Neste caso o lease deve ser liberado em {@link #release(SchedulerTask, LocalDateTime)} ao fim da execução.
+   */
+  boolean acquire(SchedulerTask task, LocalDateTime scheduleTime) {
+    if (!isLocalOwner(task.getId())) return false;
+    try {
+      return this.leaseProvider.acquire(task, scheduleTime, this.leaseMillis);
+    } catch (Throwable e) {
+      RFWLogger.logException(e, task.getTaskClass());
+      return false;
+    }
+  }
+
+  /**
+   * Libera o lease obtido em {@link #acquire(SchedulerTask, LocalDateTime)}.
+   *
+   * @param task Tarefa executada.
+   * @param scheduleTime Horário agendado da execução.
+   */
+  void release(SchedulerTask task, LocalDateTime scheduleTime) {
+    try {
+      this.leaseProvider.release(task, scheduleTime);
+    } catch (Throwable e) {
+      RFWLogger.logException(e, task.getTaskClass());
+    }
+  }
+
+  /**
+   * # identificação deste nó.
+   *
+   * @return the identificação deste nó
+   */
+  public String getLocalNode() {
+    return localNode;
+  }
+
+  /**
+   * # provedor dos leases de execução.
+   *
+   * @return the provedor dos leases de execução
+   */
+  public SchedulerLeaseProvider getLeaseProvider() {
+    return leaseProvider;
+  }
+
+  /**
+   * # validade do lease de execução em milisegundos. Deve ser maior que o tempo de execução das tarefas.
+   *
+   * @return the validade do lease de execução em milisegundos
+   */
+  public long getLeaseMillis() {
+    return leaseMillis;
+  }
+
+  /**
+   * # validade do lease de execução em milisegundos. Deve ser maior que o tempo de execução das tarefas. Padrão: 10 minutos.
+   *
+   * @param leaseMillis the new validade do lease de execução em milisegundos
+   */
+  public void setLeaseMillis(long leaseMillis) {
+    this.leaseMillis = leaseMillis;
+  }
+
+  /**
+   * Posição de um nó no anel. Utiliza o MD5 para que a posição seja a mesma em qualquer JVM.
+   */
+  private static long hash(String value) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+      long hash = 0;
+      for (int i = 0; i < 8; i++) {
+        hash = (hash << 8) | (digest[i] & 0xFF);
+      }
+      return hash;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e); // Toda JVM é obrigada a ter o MD5
+    }
+  }
+
+  /**
+   * Posição de uma tarefa no anel. Os IDs costumam ser sequenciais, por isso são espalhados pelo anel com a função de mistura do SplitMix64.
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+}
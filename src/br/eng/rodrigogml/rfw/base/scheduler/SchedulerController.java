@@ -1,56 +1,94 @@
 package br.eng.rodrigogml.rfw.base.scheduler;
 
+import java.lang.management.ManagementFactory;
+import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.GregorianCalendar;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerBatchListener;
 import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerListener;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerStore;
 import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask.RepeatFrequency;
 import br.eng.rodrigogml.rfw.kernel.RFW;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
 import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
-import br.eng.rodrigogml.rfw.kernel.utils.RUTypes;
 
 /**
  * Description: Classe de controle das tarefas agendadas do sistema. Reponsável por carrega-las, inicial-las e executa-las conforme suas regras.<br>
- * O SchedulerController é único para todas as empresas do sistema
+ * O SchedulerController é único para todas as empresas do sistema<br>
+ * <br>
+ * Os métodos desta classe podem ser chamados simultaneamente por qualquer Thread (inclusive pelas próprias tarefas em execução). Toda troca de agendamento de uma tarefa (reagendamento, cancelamento e execução imediata) é feita de forma atômica no registro das tarefas.
  *
  * @author Rodrigo Leitão
  * @since 7.1.0 (27 de set de 2018)
  */
 public class SchedulerController {
 
+  /**
+   * Nome das métricas do Scheduler no servidor JMX, veja {@link #registerMBean()}.
+   */
+  public static final String MBEAN_NAME = "br.eng.rodrigogml.rfw:type=Scheduler";
+
   /**
    * Instância do Singleton.
    */
-  private static SchedulerController instance = null;
+  private static final SchedulerController instance = new SchedulerController();
 
   /**
    * Controlador da geração de IDs automáticos.
    */
-  private static long lastID = 0;
+  private static final AtomicLong lastID = new AtomicLong(0);
+
+  /**
+   * Lista de Listeners de Eventos do SchedulerController.<br>
+   * Os eventos são disparados pelas Threads de execução das tarefas, por isso utilizamos uma lista que permite a iteração enquanto outra Thread adiciona ou remove listeners.
+   */
+  private static final List<SchedulerListener> listeners = new CopyOnWriteArrayList<SchedulerListener>();
+
+  /**
+   * Lista de Listeners de Eventos em lote do SchedulerController.
+   */
+  private static final List<SchedulerBatchListener> batchListeners = new CopyOnWriteArrayList<SchedulerBatchListener>();
+
+  /**
+   * Responsável por entregar os eventos aos listeners fora das Threads de execução das tarefas.
+   */
+  private static final SchedulerEventDispatcher eventDispatcher = new SchedulerEventDispatcher(listeners, batchListeners);
 
   /**
-   * Lista de Listeners de Eventos do SchedulerController
+   * Store onde as transições das tarefas são registradas para a recuperação depois de uma queda da JVM. Null caso não seja utilizado.
    */
-  private static List<SchedulerListener> listeners = new LinkedList<SchedulerListener>();
+  private static volatile SchedulerStore store = null;
 
   /**
-   * Mantém os agendamentos das tarefas em uma hash de acordo com o ID do SchedulingVO.
+   * Configuração do cluster. Null quando o Scheduler não está em cluster e executa todas as tarefas carregadas.
    */
-  private final HashMap<Long, SchedulerTaskTiming> taskTimingHash = new HashMap<>();
+  private static volatile SchedulerCluster cluster = null;
+
+  /**
+   * Mantém os agendamentos das tarefas em uma hash de acordo com o ID do SchedulingVO.<br>
+   * Toda alteração de um agendamento existente deve ser feita pelos métodos atômicos da hash ({@link ConcurrentHashMap#compute(Object, java.util.function.BiFunction)}, {@link ConcurrentHashMap#remove(Object)}), nunca com um get() seguido de put()/remove().
+   */
+  private final ConcurrentHashMap<Long, SchedulerTaskTiming> taskTimingHash = new ConcurrentHashMap<>();
 
   private SchedulerController() {
   }
 
   private static SchedulerController getInstance() {
-    if (SchedulerController.instance == null) SchedulerController.instance = new SchedulerController();
     return SchedulerController.instance;
   }
 
@@ -66,31 +104,86 @@ public class SchedulerController {
     }
   }
 
+  /**
+   * Carrega uma ou mais tarefas no agendador do Scheduler, aplicando antes o último estado de cada tarefa registrado no {@link SchedulerStore} definido em {@link #setStore(SchedulerStore)}.<br>
+   * Deve ser utilizado no lugar do {@link #loadTasks(SchedulerTask...)} na inicialização do sistema, para que as execuções feitas antes de uma queda da JVM (e que a aplicação pode não ter persistido) sejam consideradas no cálculo da próxima execução e nas regras de execução atrasada.<br>
+   * O estado do Store só é aplicado quando a sua última execução é mais recente que a informada pela tarefa.
+   *
+   * @param tasks Implementações do {@link SchedulerTask}.
+   * @throws RFWException
+   */
+  public static void recoverTasks(SchedulerTask... tasks) throws RFWException {
+    final SchedulerStore store = SchedulerController.store;
+    if (store != null) {
+      final Map<Long, SchedulerTaskState> states = store.recover();
+      for (SchedulerTask task : tasks) {
+        final SchedulerTaskState state = states.get(task.getId());
+        if (state == null) continue;
+        if (state.isRunning()) RFWLogger.logImprovement("A execução da tarefa ID: " + task.getId() + " iniciada em " + state.getLastStartTime() + " foi interrompida pela queda do sistema.", task.getTaskClass());
+        if (state.getLastExecution() != null && (task.getLastExecution() == null || state.getLastExecution().isAfter(task.getLastExecution()))) {
+          task.setLastExecution(state.getLastExecution());
+          task.setScheduleTime(state.getLastExecutionScheduleTime());
+          if (state.getProperties() != null) task.setProperties(state.getProperties());
+        }
+      }
+    }
+    loadTasks(tasks);
+  }
+
   protected static void processTask(SchedulerTask task, boolean runNow) {
-    RFWLogger.logDebug("Processando Tarefa: " + task.getTaskClass(), task.getTaskClass());
+    scheduleTask(task, runNow, null);
+  }
 
-    // Verifica se esta task já está no controller
-    SchedulerTaskTiming taskTiming = getInstance().taskTimingHash.get(task.getId());
-    if (taskTiming != null) {
-      // Se encontrou criamos um novo tasktiming pois este não pode ser usado duas vezes, e por garantia de que não estamos reprocessando algo qua ainda não ocorreu, cancelamos a primeira...
-      taskTiming.cancelTimer();
-      getInstance().taskTimingHash.remove(task.getId());
-    }
+  /**
+   * Chamado pelo {@link SchedulerTaskTiming} ao fim da execução da tarefa para que seja reagendada, caso tenha repetição.<br>
+   * A tarefa só é reagendada se o registro ainda apontar para o mesmo {@link SchedulerTaskTiming} que terminou. Se durante a execução a tarefa foi cancelada ou substituída (por um novo {@link #loadTasks(SchedulerTask...)} ou {@link #executeTaskNow(Long)}), o reagendamento é descartado.
+   *
+   * @param taskTiming Agendamento que acabou de ser executado.
+   */
+  static void rescheduleTask(SchedulerTaskTiming taskTiming) {
+    scheduleTask(taskTiming.getSchedulerTask(), false, taskTiming);
+  }
 
+  /**
+   * Calcula a próxima execução da tarefa e substitui, de forma atômica, o agendamento atual no registro.
+   *
+   * @param task Tarefa a ser agendada.
+   * @param runNow Se true a tarefa é executada imediatamente, veja {@link SchedulerTaskTiming#schedule(LocalDateTime, boolean)}.
+   * @param expected Agendamento que se espera estar no registro. Se diferente de nulo e o registro tiver sido alterado por outra Thread, nada é feito.
+   */
+  private static void scheduleTask(final SchedulerTask task, final boolean runNow, final SchedulerTaskTiming expected) {
+    RFWLogger.logDebug("Processando Tarefa: " + task.getTaskClass(), task.getTaskClass());
+
+    // Calculamos a próxima execução fora da operação atômica, para manter o registro bloqueado o menor tempo possível
+    LocalDateTime calculated = null;
     try {
-      LocalDateTime nextExecution = calcTaskNextExecution(task);
-      if (nextExecution != null) {
-        RFWLogger.logDebug("Tarefa '" + task.getTaskClass() + "' próxima execução agendada para " + RFW.getDateTimeFormattter().format(nextExecution), task.getTaskClass());
-        // se temos uma nova execução, criamos o SchedulerTaskTiming
-        // CUIDADO: Se criar o SchedulerTaskTiming ele automaticamente já cria a Thread e mantém ela em memória com o Timer dentro dela, mesmo sem agendar (chamar o método .schedule())
-        taskTiming = new SchedulerTaskTiming(task);
-        // Se tem a data de próxima execução, criamos o agendamento e colocamos na Hash
-        getInstance().taskTimingHash.put(task.getId(), taskTiming);
-        taskTiming.schedule(nextExecution, runNow);
-      }
+      calculated = calcTaskNextExecution(task);
     } catch (RFWException e) {
       RFWLogger.logException(e, task.getTaskClass());
     }
+    final LocalDateTime nextExecution = calculated;
+
+    final SchedulerTaskTiming[] created = new SchedulerTaskTiming[1];
+    getInstance().taskTimingHash.compute(task.getId(), (id, taskTiming) -> {
+      // Se o registro foi alterado enquanto a tarefa executava (cancelada ou reagendada por outra Thread), mantemos a alteração feita
+      if (expected != null && taskTiming != expected) return taskTiming;
+
+      if (taskTiming != null) {
+        // Se encontrou criamos um novo tasktiming pois este não pode ser usado duas vezes, e por garantia de que não estamos reprocessando algo qua ainda não ocorreu, cancelamos a primeira...
+        taskTiming.cancelTimer();
+      }
+      if (nextExecution == null) return null; // Sem próxima execução a tarefa sai do registro
+
+      RFWLogger.logDebug("Tarefa '" + task.getTaskClass() + "' próxima execução agendada para " + RFW.getDateTimeFormattter().format(nextExecution), task.getTaskClass());
+      // se temos uma nova execução, criamos o SchedulerTaskTiming
+      // O SchedulerTaskTiming não cria mais Thread própria, o disparo é feito pelo SchedulerEngine compartilhado entre todas as tarefas
+      SchedulerTaskTiming newTaskTiming = new SchedulerTaskTiming(task);
+      newTaskTiming.schedule(nextExecution, runNow);
+      created[0] = newTaskTiming;
+      return newTaskTiming;
+    });
+    // O registro no Store é feito fora da operação atômica para não bloquear o registro das tarefas durante a escrita
+    if (created[0] != null) storeScheduled(task, nextExecution);
   }
 
   /**
@@ -100,13 +193,35 @@ public class SchedulerController {
    * @return Date com a hora da próxima execução, ou null caso a tarefa não deva mais ser executada.
    */
   public static LocalDateTime calcTaskNextExecution(SchedulerTask task) throws RFWException {
+    // Fixamos a hora atual pois mesmo que esse processamento demore, a hora será contabilizada a partir dessa variável, e não uma que fique mudando de linha em linha ;) - Sistema lento eim?
+    return calcTaskNextExecution(task, RFW.getDateTime());
+  }
+
+  /**
+   * Recupera a expressão compilada de uma tarefa {@link RepeatFrequency#CRON}.
+   */
+  private static SchedulerCronExpression getCronExpression(SchedulerTask task) throws RFWException {
+    if (task.getCronExpression() == null) throw new RFWCriticalException("A tarefa ID: ${0} tem repetição CRON mas não define a expressão CRON!", new String[] { "" + task.getId() });
+    return SchedulerCronExpression.compile(task.getCronExpression());
+  }
+
+  /**
+   * Este método calcula o tempo da próxima execução de um determinado agendamento em relação a um momento informado.<br>
+   * O cálculo não itera as recorrências passadas, seu custo é constante independente de quão antiga seja a data de agendamento da tarefa.
+   *
+   * @param task
+   * @param now Momento considerado como "agora" para o cálculo.
+   * @return Date com a hora da próxima execução, ou null caso a tarefa não deva mais ser executada.
+   */
+  static LocalDateTime calcTaskNextExecution(SchedulerTask task, final LocalDateTime now) throws RFWException {
     LocalDateTime execdate = null;
-    final LocalDateTime now = RFW.getDateTime(); // Fixamos a hora atual pois mesmo que esse processamento demore, a hora será contabilizada a partir dessa variável, e não uma que fique mudando de linha em linha ;) - Sistema lento eim?
     LocalDateTime scheduleTime = task.getScheduleTime();
 
     if (scheduleTime.compareTo(now) > 0) {
       // Se a data de agendamento inicial é futura, retornamos essa própria data, pois se ela ainda não aconteceu nem temos que verificar lógica de repetição!
       execdate = task.getScheduleTime();
+      // No CRON a data de agendamento é apenas o início das execuções, a primeira execução é o primeiro horário da expressão a partir dela
+      if (task.getRepeatFrequency() == RepeatFrequency.CRON) execdate = getCronExpression(task).next(scheduleTime.minusNanos(1));
     } else {
       if (task.getRepeatFrequency() == null) {
         // Se a tarefa não tem repetição, vamos verificar a questão da execução atrasada.
@@ -115,9 +230,9 @@ public class SchedulerController {
           if (task.getLastExecution() == null || task.getScheduleTime().compareTo(task.getLastExecution()) > 0) {
             // Garantimos aqui (no IF acima) que a execução atrasada só vai executar se realmente o agendamento ainda não foi executado. Ou seja, se a tarefa ainda não foi executada nenhuma vez (data da última execução é nula), ou se a data programada para execução for maior do que da última execução.
             if (task.getLateExecution().longValue() == -1) { // Se for como -1 (qualquer atraso), executamos agora mesmo
-              execdate = RFW.getDateTime(); // Jogamos a data de "agora" para que depois o reagendamento já seja futuro (se houver)!
+              execdate = now; // Jogamos a data de "agora" para que depois o reagendamento já seja futuro (se houver)!
             } else if (scheduleTime.plus(task.getLateExecution().longValue(), ChronoUnit.MILLIS).compareTo(now) > 0) { // Se o tempo do agendamento + regra de atraso forem maior que a data atual, ainda executamos essa tarefa.
-              execdate = RFW.getDateTime(); // Jogamos a data de "agora" para que depois o reagendamento já seja futuro (se houver)!
+              execdate = now; // Jogamos a data de "agora" para que depois o reagendamento já seja futuro (se houver)!
             }
           }
         }
@@ -144,13 +259,10 @@ public class SchedulerController {
           }
             break;
           case MONTHLY: {
-            // Se é mensal temos que verificar o tempo da próxima execução de acordo com os parametros definidos
-            LocalDateTime lastPastExecutionTime = null;
-            LocalDateTime nextExecution = scheduleTime;
-            do {
-              lastPastExecutionTime = nextExecution; // Salvamos a última referência como lastPastExecutionTime
-              nextExecution = getNextExecutionMonthly(task, nextExecution);
-            } while (nextExecution.compareTo(now) < 0);
+            // Se é mensal calculamos diretamente quantas recorrências já se passaram desde a data de agendamento, sem iterar mês a mês.
+            long occurrence = findNextOccurrenceMonthly(task, now);
+            LocalDateTime lastPastExecutionTime = getExecutionMonthly(task, occurrence - 1);
+            LocalDateTime nextExecution = getExecutionMonthly(task, occurrence);
             // Se temos uma data de execução entre "a última execução" e a "próxima futura execução", verificamos se ela ainda é habil de ser executada de acordo com as regras de execução atrasada
             if (lastPastExecutionTime != null && task.getLateExecution() != null && (task.getLastExecution() == null || task.getLastExecution().compareTo(lastPastExecutionTime) < 0) && (task.getLateExecution() == -1 || lastPastExecutionTime.plus(task.getLateExecution(), ChronoUnit.MILLIS).compareTo(now) > 0)) {
               execdate = lastPastExecutionTime;
@@ -160,13 +272,13 @@ public class SchedulerController {
           }
             break;
           case DAILY: {
-            LocalDateTime lastPastExecutionTime = null;
-            LocalDateTime nextExecution = scheduleTime;
-            // Este loop fará uma iteração até que tenhamos em nextExecution uma data furuta em relação da data atual. E no lastPastExecutionTime teremos o momento da execução da última passada em relação ao momento atual.
-            do {
-              lastPastExecutionTime = nextExecution; // Salvamos a última referência como lastPastExecutionTime
-              nextExecution = getNextExecutionDaily(task, nextExecution);
-            } while (nextExecution.compareTo(now) < 0);
+            // Calculamos diretamente quantas recorrências já se passaram desde a data de agendamento, sem iterar dia a dia. Ao final teremos em nextExecution a primeira execução que não é anterior ao momento atual, e no lastPastExecutionTime a execução imediatamente anterior a ela.
+            final long skipRecurrence = getRecurrence(task);
+            long occurrence = Math.max(1, ChronoUnit.DAYS.between(scheduleTime, now) / skipRecurrence);
+            // Como DAYS.between considera apenas dias completos, no máximo uma recorrência a mais é necessária para passar do momento atual
+            if (scheduleTime.plusDays(occurrence * skipRecurrence).compareTo(now) < 0) occurrence++;
+            LocalDateTime lastPastExecutionTime = scheduleTime.plusDays((occurrence - 1) * skipRecurrence);
+            LocalDateTime nextExecution = scheduleTime.plusDays(occurrence * skipRecurrence);
 
             // Se temos uma data de execução entre "a última execução" e a "próxima futura execução", verificamos se ela ainda é habil de ser executada de acordo com as regras de execução atrasada
             if (lastPastExecutionTime != null && task.getLateExecution() != null && (task.getLastExecution() == null || task.getLastExecution().compareTo(lastPastExecutionTime) < 0) && (task.getLateExecution() == -1 || lastPastExecutionTime.plus(task.getLateExecution(), ChronoUnit.MILLIS).compareTo(now) > 0)) {
@@ -176,77 +288,88 @@ public class SchedulerController {
             }
           }
             break;
+          case CRON: {
+            // O último horário da expressão até agora, e o próximo, são localizados diretamente pelos campos pré-compilados da expressão
+            final SchedulerCronExpression cron = getCronExpression(task);
+            LocalDateTime lastPastExecutionTime = cron.previous(now);
+            if (lastPastExecutionTime != null && lastPastExecutionTime.compareTo(scheduleTime) < 0) lastPastExecutionTime = null; // Horários anteriores ao início não são executados nem em atraso
+
+            // Se temos uma data de execução entre "a última execução" e a "próxima futura execução", verificamos se ela ainda é habil de ser executada de acordo com as regras de execução atrasada
+            if (lastPastExecutionTime != null && task.getLateExecution() != null && (task.getLastExecution() == null || task.getLastExecution().compareTo(lastPastExecutionTime) < 0) && (task.getLateExecution() == -1 || lastPastExecutionTime.plus(task.getLateExecution(), ChronoUnit.MILLIS).compareTo(now) > 0)) {
+              execdate = lastPastExecutionTime;
+            } else {
+              execdate = cron.next(now);
+            }
+          }
+            break;
         }
       }
     }
 
     // Por fim verificamos, se é uma data futura (indica que não é uma execução em atraso) garantimos que não é maior que a data de fim de execução. Se for anulamos o resultado para não executar a terefa
-    if (task.getStopDate() != null && execdate.compareTo(task.getStopDate()) > 0) execdate = null;
+    if (task.getStopDate() != null && execdate != null && execdate.compareTo(task.getStopDate()) > 0) execdate = null;
 
     return execdate;
   }
 
   /**
-   * Método auxiliar usado para calcular qual é a data da próxima execução para frequencia de repetição mensal. Note que é a próxima execução em ralação a última (se houver) ou em relação a data do agendamento. Não necessariamente este método retornará a próxima execução futura!<br>
+   * Método auxiliar usado para encontrar qual a primeira recorrência mensal da tarefa que não é anterior ao momento informado.<br>
+   * A recorrência é estimada pela diferença de meses entre a data de agendamento e o momento atual, e depois apenas ajustada (no máximo uma ou duas recorrências) por conta dos dias de cada mês e do ajuste para o dia da semana.
+   *
+   * @param task Objeto do agendamento
+   * @param now Momento atual.
+   * @return Número da recorrência (sempre maior ou igual a 1) cuja data de execução é posterior ou igual ao momento atual.
+   */
+  private static long findNextOccurrenceMonthly(SchedulerTask task, LocalDateTime now) {
+    final long skipRecurrence = getRecurrence(task);
+    long occurrence = Math.max(1, ChronoUnit.MONTHS.between(task.getScheduleTime(), now) / skipRecurrence);
+    while (occurrence > 1 && getExecutionMonthly(task, occurrence - 1).compareTo(now) >= 0) {
+      occurrence--;
+    }
+    while (getExecutionMonthly(task, occurrence).compareTo(now) < 0) {
+      occurrence++;
+    }
+    return occurrence;
+  }
+
+  /**
+   * Método auxiliar usado para calcular a data de uma determinada recorrência da frequencia de repetição mensal.<br>
+   * Para o agendamento mensal partimos sempre da data de agendamento, assim não perdemos a precisão do dia/horas/minutos/etc. Por exemplo, um agendamento do dia 31 continua no dia 31 nos meses que o tem, mesmo depois de passar por fevereiro.<br>
    * Este método não faz validações no VO, apenas espera que seus dados estejam preenchidos corretamente.
    *
-   * @param task
-   * @param baseTime Permite informar uma data de referência para calcular a próxima execução a partir desta data. Caso nula será usada a data original do agendamento do VO (getScheduleTime())..
-   * @return
-   */
-  private static LocalDateTime getNextExecutionMonthly(SchedulerTask task, LocalDateTime baseTime) {
-    LocalDateTime nextExecution = null;
-    // Para o agendamento mensal, partimos sempre da data de agendamento para não perder a precisão do dia/horas/minutos/etc. que o LastExecution do VO atrasa a cada execução.
-    if (baseTime == null) baseTime = task.getScheduleTime();// baseTime = LocalDateTime.of(2020, Month.OCTOBER, 15, 0, 0, 0)
-    // Verificamos de quantos em quantos meses a repetição acontece
-    int skipRecurrence = (task.getRecurrence() != null ? task.getRecurrence() : 1);
+   * @param task Objeto do agendamento
+   * @param occurrence Número da recorrência a partir da data de agendamento. Sendo 0 a própria data de agendamento.
+   * @return Data/Hora de execução da recorrência.
+   */
+  private static LocalDateTime getExecutionMonthly(SchedulerTask task, long occurrence) {
+    final LocalDateTime scheduleTime = task.getScheduleTime();
+    if (occurrence == 0) return scheduleTime;
+
+    // Avançamos quantos meses forem solicitados
+    final LocalDateTime baseTime = scheduleTime.plusMonths(occurrence * getRecurrence(task));
+    LocalDateTime nextExecution = baseTime;
     // Verificamos se o avanço terá de ser de acordo com o dia do mês, ou de acordo com a contagem do dia da semana (Ex: 2° quinta feita)
-    if (task.getMonthlyRepeatByDayOfMonth() == null || task.getMonthlyRepeatByDayOfMonth()) {
-      nextExecution = baseTime.plus(skipRecurrence, ChronoUnit.MONTHS);
-    } else {
-      // TODO corrigir esse código para trabalhar só com LocalDateTime, sem o GregorianCalendar e as conversões de objetos temporais (Date e LocalDateTime)
-      // Antes de incrementar salvamos o dia da semana, e quantas vezes esse dia da semana apareceu. Uma indica o dia da semana e a outra quantas vezes esse dia da semana já apareceu dentro do mês.
-      // NOTE: que obtemos esse valor da data de agendamento original e não da última execução. Isso porque a data original pode representar a "quinta" semana, e a última execução pode indicar apenas a "quarta" caso aquele mês não tenha a quinta. Para manter sempre o dia definido no início temos que usar a data original.
-      GregorianCalendar gc2 = new GregorianCalendar();
-      gc2.setTime(RUTypes.parseDate(task.getScheduleTime()));
-      int dwm = gc2.get(GregorianCalendar.DAY_OF_WEEK_IN_MONTH); // A "semana do mês", que indica sempre o valor de "dia do mês" / 7 - só a parte inteira. O que junto com o Day_OF_Week ajuda a indicar qual é a ocorrencia daquele dia da semana dentro do mês.
-      int dw = gc2.get(GregorianCalendar.DAY_OF_WEEK);
-      // Avançamos quantos meses forem solicitados
-      GregorianCalendar gc = new GregorianCalendar();
-      gc.setTime(RUTypes.parseDate(baseTime));
-      gc.add(GregorianCalendar.MONTH, skipRecurrence);
-      // Salvamos o mês antes de acertar o dia da semana / mês
-      int month = gc.get(GregorianCalendar.MONTH);
-      // Definimos a semana do mês e o dia da semana desejados
-      gc.set(GregorianCalendar.DAY_OF_WEEK_IN_MONTH, dwm);
-      gc.set(GregorianCalendar.DAY_OF_WEEK, dw);
-      // Pode ocorrer do mês "pular". Por exemplo se marcamos "a quinta sexta feira" só que o mês só tem 4. Neste caso o GC pula para o próximo mes. Quando isso ocorrer voltamos as semanas até que chegue na última semana do mês esperado
-      while (month != gc.get(GregorianCalendar.MONTH)) {
-        gc.add(GregorianCalendar.WEEK_OF_YEAR, -1);
+    if (task.getMonthlyRepeatByDayOfMonth() != null && !task.getMonthlyRepeatByDayOfMonth()) {
+      // Obtemos da data de agendamento o dia da semana, e quantas vezes esse dia da semana já apareceu dentro do mês (a "semana do mês", que é sempre o valor de ("dia do mês" - 1) / 7 + 1).
+      final DayOfWeek dayOfWeek = scheduleTime.getDayOfWeek();
+      final int dayOfWeekInMonth = (scheduleTime.getDayOfMonth() - 1) / 7 + 1;
+      nextExecution = baseTime.with(TemporalAdjusters.dayOfWeekInMonth(dayOfWeekInMonth, dayOfWeek));
+      // Pode ocorrer do mês "pular". Por exemplo se marcamos "a quinta sexta feira" só que o mês só tem 4. Neste caso usamos a última ocorrência do dia da semana no mês esperado
+      if (nextExecution.getMonth() != baseTime.getMonth()) {
+        nextExecution = baseTime.with(TemporalAdjusters.lastInMonth(dayOfWeek));
       }
-      nextExecution = RUTypes.parseLocalDateTime(gc.getTime());
     }
     return nextExecution;
   }
 
   /**
-   * Método auxiliar usado para calcular qual é a data da próxima execução para frequencia de repetição diária.<br>
-   * Note que é a próxima execução em ralação a última execução (se já houver), ou em relação a data do agendamento inicial. Não necessariamente este método retornará a próxima execução futura!<br>
-   * Este método não faz validações no VO, apenas espera que seus dados estejam preenchidos corretamente.
+   * Método auxiliar para recuperar de quantos em quantos dias/meses a repetição acontece.
    *
    * @param task Objeto do agendamento
-   * @param baseTime Permite informar uma data de referência para calcular a próxima execução a partir desta data. Caso nula será usada a data original do agendamento do VO (getScheduleTime())..
-   * @return
-   */
-  private static LocalDateTime getNextExecutionDaily(SchedulerTask task, LocalDateTime baseTime) {
-    LocalDateTime nextExecution = null;
-    // Se não recebermos uma data como base, pegamos a data de agendamento do próprio VO
-    if (baseTime == null) baseTime = task.getScheduleTime();// baseTime = LocalDateTime.of(2020, Month.OCTOBER, 15, 0, 0, 0)
-    // Verificamos de quantos em quantos dias a repetição acontece
-    int skipRecurrence = (task.getRecurrence() != null ? task.getRecurrence() : 1);
-    // Verificamos se o avanço terá de ser de acordo com o dia do mês, ou de acordo com a contagem do dia da semana (Ex: 2° quinta feita)
-    nextExecution = baseTime.plus(skipRecurrence, ChronoUnit.DAYS);
-    return nextExecution;
+   * @return Valor de {@link SchedulerTask#getRecurrence()}, ou 1 caso não tenha sido definido.
+   */
+  private static long getRecurrence(SchedulerTask task) {
+    return (task.getRecurrence() != null ? Math.max(1, task.getRecurrence()) : 1);
   }
 
   /**
@@ -254,25 +377,29 @@ public class SchedulerController {
    */
   public static void cancelAllTaks() {
     final SchedulerController i = SchedulerController.getInstance();
-    final LinkedList<Long> keyset = new LinkedList<>(i.taskTimingHash.keySet());
-    for (Long id : keyset) {
-      SchedulerTaskTiming tasktiming = i.taskTimingHash.get(id);
-      tasktiming.cancelTimer();
-      i.taskTimingHash.remove(id);
+    for (Long id : i.taskTimingHash.keySet()) {
+      cancelTak(id);
     }
   }
 
   /**
-   * Este método é chamado para cancelar o agendamento de uma tarefa pelo seu ID;
+   * Este método é chamado para cancelar o agendamento de uma tarefa pelo seu ID;<br>
+   * Se a tarefa estiver em execução ela não é interrompida, mas não será reagendada ao terminar.
    */
   public static void cancelTak(Long id) {
     final SchedulerController i = SchedulerController.getInstance();
 
-    SchedulerTaskTiming tasktiming = i.taskTimingHash.get(id);
-    tasktiming.cancelTimer();
-    i.taskTimingHash.remove(id);
+    SchedulerTaskTiming tasktiming = i.taskTimingHash.remove(id);
+    if (tasktiming != null) tasktiming.cancelTimer();
   }
 
+  /**
+   * Adiciona um listener para receber os eventos de execução das tarefas.<br>
+   * Os eventos são entregues de forma assíncrona, por uma Thread própria do Scheduler, e não pela Thread que executou a tarefa. Assim um listener lento não atrasa a execução nem o reagendamento das tarefas. Por outro lado, quando o listener for chamado a tarefa já pode ter sido reagendada (ou até executada novamente). Para obter os horários exatos de cada execução
+   * utilize um {@link SchedulerBatchListener}.
+   *
+   * @param listener Listener a ser adicionado.
+   */
   public static void addListener(SchedulerListener listener) {
     listeners.add(listener);
   }
@@ -281,34 +408,280 @@ public class SchedulerController {
     listeners.remove(listener);
   }
 
-  protected static void fireFailEvent(SchedulerTask task, RFWException e) {
-    for (SchedulerListener listener : listeners) {
+  /**
+   * Adiciona um listener para receber os resultados das execuções das tarefas em lote.<br>
+   * Assim como o {@link #addListener(SchedulerListener)} os eventos são entregues de forma assíncrona.
+   *
+   * @param listener Listener a ser adicionado.
+   */
+  public static void addBatchListener(SchedulerBatchListener listener) {
+    batchListeners.add(listener);
+  }
+
+  public static void removeBatchListener(SchedulerBatchListener listener) {
+    batchListeners.remove(listener);
+  }
+
+  /**
+   * Aguarda até que todos os eventos de execução gerados até o momento tenham sido entregues aos listeners.<br>
+   * Útil antes de finalizar o sistema, para que o histórico das últimas execuções não seja perdido.
+   *
+   * @param timeout Tempo máximo de espera em milisegundos.
+   * @return true caso todos os eventos tenham sido entregues, false caso o tempo tenha se esgotado antes.
+   * @throws RFWException
+   */
+  public static boolean flushEvents(long timeout) throws RFWException {
+    try {
+      return eventDispatcher.flush(timeout);
+    } catch (InterruptedException e) {
+      throw new RFWCriticalException("Interrompido enquanto aguardava a entrega dos eventos do Scheduler.", e);
+    }
+  }
+
+  /**
+   * Encaminha o resultado da execução de uma tarefa para entrega aos listeners.
+   *
+   * @param result Resultado da execução.
+   */
+  static void fireExecutionEvent(SchedulerExecutionResult result) {
+    eventDispatcher.dispatch(result);
+  }
+
+  /**
+   * Gera um ID negativo sequencial para que as tarefas que não tenham seus próprios IDs únicos possam garantir um ID único.<br>
+   * É importante que todas as tarefas do sistema tenham um ID único. Esse método gerará IDs sempre negativos para evitar conflitos com tarefas que tenham ID por serem persistidas em banco de dados.
+   *
+   * @return Próximo ID negativo sequencial.
+   */
+  public static long generateID() {
+    return SchedulerController.lastID.decrementAndGet();
+  }
+
+  /**
+   * Define o Store onde as transições das tarefas (agendada, iniciada e finalizada) são registradas, permitindo recuperar o estado das tarefas com {@link #recoverTasks(SchedulerTask...)} depois de uma queda da JVM.<br>
+   * Falhas no registro são apenas logadas, não impedem a execução das tarefas.
+   *
+   * @param store Store a ser utilizado, como o {@link SchedulerJournalStore}. Null para deixar de registrar as transições.
+   */
+  public static void setStore(SchedulerStore store) {
+    SchedulerController.store = store;
+  }
+
+  /**
+   * Recupera o Store onde as transições das tarefas são registradas.
+   *
+   * @return Store definido em {@link #setStore(SchedulerStore)}, ou null caso não tenha sido definido.
+   */
+  public static SchedulerStore getStore() {
+    return SchedulerController.store;
+  }
+
+  /**
+   * Coloca o Scheduler em modo cluster: as tarefas carregadas só são executadas neste nó se ele for o responsável pela tarefa e obtiver o lease da execução. Veja mais detalhes em {@link SchedulerCluster}.
+   *
+   * @param cluster Configuração do cluster. Null para sair do modo cluster e voltar a executar todas as tarefas carregadas.
+   */
+  public static void setCluster(SchedulerCluster cluster) {
+    SchedulerController.cluster = cluster;
+  }
+
+  /**
+   * Recupera a configuração do cluster.
+   *
+   * @return Configuração definida em {@link #setCluster(SchedulerCluster)}, ou null caso o Scheduler não esteja em cluster.
+   */
+  public static SchedulerCluster getCluster() {
+    return SchedulerController.cluster;
+  }
+
+  /**
+   * Registra no Store o agendamento da tarefa, caso um Store tenha sido definido.
+   */
+  static void storeScheduled(SchedulerTask task, LocalDateTime scheduleTime) {
+    final SchedulerStore store = SchedulerController.store;
+    if (store != null) {
       try {
-        listener.fail(task, e);
-      } catch (Throwable t) {
-        RFWLogger.logException(t, task.getTaskClass()); // Loga, mas não deixa o listener estragar o funcionamento do Scheduler
+        store.scheduled(task, scheduleTime);
+      } catch (Throwable e) {
+        RFWLogger.logException(e, task.getTaskClass());
       }
     }
   }
 
-  protected static void fireSuccessEvent(SchedulerTask task) {
-    for (SchedulerListener listener : listeners) {
+  /**
+   * Registra no Store o início da execução da tarefa, caso um Store tenha sido definido.
+   */
+  static void storeStarted(SchedulerTask task, LocalDateTime scheduleTime, LocalDateTime startTime) {
+    final SchedulerStore store = SchedulerController.store;
+    if (store != null) {
       try {
-        listener.success(task);
-      } catch (Throwable t) {
-        RFWLogger.logException(t, task.getTaskClass()); // Loga, mas não deixa o listener estragar o funcionamento do Scheduler
+        store.started(task, scheduleTime, startTime);
+      } catch (Throwable e) {
+        RFWLogger.logException(e, task.getTaskClass());
       }
     }
   }
 
   /**
-   * Gera um ID negativo sequencial para que as tarefas que não tenham seus próprios IDs únicos possam garantir um ID único.<br>
-   * É importante que todas as tarefas do sistema tenham um ID único. Esse método gerará IDs sempre negativos para evitar conflitos com tarefas que tenham ID por serem persistidas em banco de dados.
+   * Registra no Store o fim da execução da tarefa, caso um Store tenha sido definido.
+   */
+  static void storeFinished(SchedulerTask task, LocalDateTime scheduleTime, LocalDateTime endTime, Map<String, String> properties) {
+    final SchedulerStore store = SchedulerController.store;
+    if (store != null) {
+      try {
+        store.finished(task, scheduleTime, endTime, properties);
+      } catch (Throwable e) {
+        RFWLogger.logException(e, task.getTaskClass());
+      }
+    }
+  }
+
+  /**
+   * Define a quantidade máxima de tarefas executando simultaneamente no Scheduler.<br>
+   * Todas as tarefas compartilham o mesmo pool de Threads de execução. Tarefas que chegarem no seu horário com todas as Threads ocupadas aguardam em fila até que uma Thread seja liberada.<br>
+   * Valor padrão: o dobro de processadores disponíveis, no mínimo 4.
    *
-   * @return Próximo ID negativo sequencial.
+   * @param maxWorkerThreads Quantidade máxima de Threads de execução. Deve ser maior que zero.
+   * @throws RFWException
    */
-  public static long generateID() {
-    return --SchedulerController.lastID;
+  public static void setMaxWorkerThreads(int maxWorkerThreads) throws RFWException {
+    if (maxWorkerThreads <= 0) throw new RFWCriticalException("A quantidade de Threads do Scheduler deve ser maior que zero!");
+    SchedulerEngine.setMaxWorkerThreads(maxWorkerThreads);
+  }
+
+  /**
+   * Recupera a quantidade máxima de tarefas executando simultaneamente no Scheduler.
+   *
+   * @return Quantidade máxima de Threads de execução.
+   */
+  public static int getMaxWorkerThreads() {
+    return SchedulerEngine.getMaxWorkerThreads();
+  }
+
+  /**
+   * Define a quantidade máxima de execuções simultâneas das tarefas de uma determinada classe.<br>
+   * Quando várias tarefas da classe vencem ao mesmo tempo, apenas a quantidade definida é executada simultaneamente, as demais aguardam na fila de execução (por ordem de {@link SchedulerTask#getPriority()}) sem ocupar as Threads de execução.<br>
+   * Este limite é aplicado em conjunto com o limite global definido em {@link #setMaxWorkerThreads(int)}.
+   *
+   * @param taskClass Classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   * @param maxConcurrentExecutions Quantidade máxima de execuções simultâneas, deve ser maior que zero. Null para remover o limite da classe.
+   * @throws RFWException
+   */
+  public static void setMaxConcurrentExecutions(String taskClass, Integer maxConcurrentExecutions) throws RFWException {
+    if (taskClass == null) throw new RFWCriticalException("A classe da tarefa deve ser informada!");
+    if (maxConcurrentExecutions != null && maxConcurrentExecutions <= 0) throw new RFWCriticalException("A quantidade de execuções simultâneas da classe '${0}' deve ser maior que zero!", new String[] { taskClass });
+    SchedulerEngine.setMaxConcurrentExecutions(taskClass, maxConcurrentExecutions);
+  }
+
+  /**
+   * Recupera a quantidade máxima de execuções simultâneas das tarefas de uma determinada classe.
+   *
+   * @param taskClass Classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   * @return Quantidade máxima de execuções simultâneas, ou null caso a classe não tenha limite próprio.
+   */
+  public static Integer getMaxConcurrentExecutions(String taskClass) {
+    return SchedulerEngine.getMaxConcurrentExecutions(taskClass);
+  }
+
+  /**
+   * Recupera as métricas da fila de execução, separadas por classe de tarefa.<br>
+   * Permite acompanhar quanto tempo as tarefas aguardam entre o seu horário e o início da execução, indicando se os limites de execuções simultâneas estão adequados.
+   *
+   * @return Lista com uma cópia das métricas de cada classe de tarefa que já foi executada ou que tenha limite de execuções simultâneas definido.
+   */
+  public static List<SchedulerQueueStatistics> getQueueStatistics() {
+    return SchedulerEngine.getQueueStatistics();
+  }
+
+  /**
+   * Recupera as métricas de execução, separadas por classe de tarefa: quantidade de execuções e falhas, o atraso entre o horário agendado e o início real de cada execução, e o tempo de execução (com média, percentis e máximo).<br>
+   * As métricas são acumuladas desde o início da aplicação ou desde a última chamada de {@link #resetTaskStatistics()}.
+   *
+   * @return Lista com uma cópia das métricas de cada classe de tarefa que já foi executada.
+   */
+  public static List<SchedulerTaskStatistics> getTaskStatistics() {
+    return SchedulerMetrics.getStatistics();
+  }
+
+  /**
+   * Descarta as métricas de execução acumuladas, reiniciando a contagem de {@link #getTaskStatistics()}.
+   */
+  public static void resetTaskStatistics() {
+    SchedulerMetrics.reset();
+  }
+
+  /**
+   * Registra as métricas do Scheduler no servidor JMX da plataforma, com o nome {@value #MBEAN_NAME}. Veja {@link SchedulerMetricsMXBean}.<br>
+   * Caso já esteja registrado, nada é feito.
+   *
+   * @throws RFWException Lançado caso não seja possível registrar o MBean.
+   */
+  public static void registerMBean() throws RFWException {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(MBEAN_NAME);
+      synchronized (SchedulerController.class) {
+        if (server.isRegistered(name)) return;
+        server.registerMBean(new StandardMBean(new SchedulerMetricsMXBean() {
+          @Override
+          public int getScheduledTasks() {
+            return getInstance().taskTimingHash.size();
+          }
+
+          @Override
+          public long getExecutions() {
+            long executions = 0;
+            for (SchedulerTaskStatistics statistics : SchedulerMetrics.getStatistics()) {
+              executions += statistics.getExecutions();
+            }
+            return executions;
+          }
+
+          @Override
+          public long getFailures() {
+            long failures = 0;
+            for (SchedulerTaskStatistics statistics : SchedulerMetrics.getStatistics()) {
+              failures += statistics.getFailures();
+            }
+            return failures;
+          }
+
+          @Override
+          public List<SchedulerTaskStatistics> getTaskStatistics() {
+            return SchedulerController.getTaskStatistics();
+          }
+
+          @Override
+          public List<SchedulerQueueStatistics> getQueueStatistics() {
+            return SchedulerController.getQueueStatistics();
+          }
+
+          @Override
+          public void resetTaskStatistics() {
+            SchedulerController.resetTaskStatistics();
+          }
+        }, SchedulerMetricsMXBean.class, true), name);
+      }
+    } catch (Exception e) {
+      throw new RFWCriticalException("Falha ao registrar as métricas do Scheduler no JMX.", e);
+    }
+  }
+
+  /**
+   * Remove do servidor JMX da plataforma as métricas registradas em {@link #registerMBean()}.
+   *
+   * @throws RFWException Lançado caso não seja possível remover o MBean.
+   */
+  public static void unregisterMBean() throws RFWException {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(MBEAN_NAME);
+      synchronized (SchedulerController.class) {
+        if (server.isRegistered(name)) server.unregisterMBean(name);
+      }
+    } catch (Exception e) {
+      throw new RFWCriticalException("Falha ao remover as métricas do Scheduler do JMX.", e);
+    }
   }
 
   /**
@@ -318,7 +691,7 @@ public class SchedulerController {
    * @return Lista com os objetos {@link SchedulerTaskTiming} representando cada tarefa agendada.
    */
   public static ArrayList<SchedulerTaskTiming> getTasks() {
-    return new ArrayList<SchedulerTaskTiming>(SchedulerController.instance.taskTimingHash.values());
+    return new ArrayList<SchedulerTaskTiming>(getInstance().taskTimingHash.values());
   }
 
   /**
@@ -332,8 +705,7 @@ public class SchedulerController {
     if (tTiming == null) throw new RFWCriticalException("Tarefa não encontrada no SchedulerController! ID: ${0}", new String[] { "" + id });
     SchedulerTask task = tTiming.getSchedulerTask();
 
-    cancelTak(id);
-
+    // O processTask já cancela o agendamento atual e o substitui pela execução imediata em uma única operação, sem que a tarefa fique fora do registro
     processTask(task, true);
   }
 }
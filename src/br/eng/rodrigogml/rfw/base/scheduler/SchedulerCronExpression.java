@@ -0,0 +1,433 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask.RepeatFrequency;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Expressão CRON compilada, utilizada pela frequência {@link RepeatFrequency#CRON}.<br>
+ * A expressão é compilada uma única vez em um conjunto de bits por campo (segundos, minutos, horas, dias do mês, meses e dias da semana). O cálculo da próxima execução busca diretamente o próximo bit ligado de cada campo, sem testar instante por instante.<br>
+ * <br>
+ * Formato aceito, com os campos separados por espaço:
+ * <ul>
+ * <li>5 campos: minuto hora dia-do-mês mês dia-da-semana (executa no segundo zero);</li>
+ * <li>6 campos: segundo minuto hora dia-do-mês mês dia-da-semana.</li>
+ * </ul>
+ * Cada campo aceita: '*' (ou '?' nos dias), valores, intervalos (a-b), listas (a,b,c) e passos (* /n, a/n, a-b/n). Meses aceitam JAN-DEC e dias da semana SUN-SAT, 0 ou 7 para domingo. Também são aceitas as abreviações @yearly, @annually, @monthly, @weekly, @daily, @midnight e @hourly.<br>
+ * Como no CRON tradicional, se o dia do mês e o dia da semana forem ambos restritos, a tarefa executa quando qualquer um dos dois coincidir.<br>
+ * <br>
+ * A expressão é avaliada no horário local (de parede), assim como todo o Scheduler. Cada horário local executa no máximo uma vez: no fim do horário de verão o horário repetido não executa de novo, e no início do horário de verão os horários que não existem são executados no instante equivalente após o ajuste, veja {@link #next(ZonedDateTime)}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public final class SchedulerCronExpression implements Serializable {
+
+  private static final long serialVersionUID = 6150434563716880302L;
+
+  /**
+   * Quantidade máxima de anos pesquisados à frente ou para trás. 28 anos cobrem todas as combinações de ano bissexto e dia da semana em que cada dia começa.
+   */
+  private static final int MAX_YEARS = 28;
+
+  private static final String[] MONTH_NAMES = { "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC" };
+
+  private static final String[] DAY_NAMES = { "SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT" };
+
+  /**
+   * Cache das expressões já compiladas.
+   */
+  private static final ConcurrentHashMap<String, SchedulerCronExpression> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Expressão original.
+   */
+  private final String expression;
+
+  private final long seconds;
+
+  private final long minutes;
+
+  private final long hours;
+
+  /**
+   * Dias do mês, bits 1 a 31.
+   */
+  private final long daysOfMonth;
+
+  /**
+   * Meses, bits 1 a 12.
+   */
+  private final long months;
+
+  /**
+   * Dias da semana, bits 0 (domingo) a 6 (sábado).
+   */
+  private final long daysOfWeek;
+
+  private final boolean daysOfMonthRestricted;
+
+  private final boolean daysOfWeekRestricted;
+
+  /**
+   * Recupera a expressão compilada. As expressões são compiladas uma única vez e mantidas em cache.
+   *
+   * @param expression Expressão CRON.
+   * @return Expressão compilada.
+   * @throws RFWException Lançado caso a expressão seja inválida ou nunca possa ocorrer.
+   */
+  public static SchedulerCronExpression compile(String expression) throws RFWException {
+    if (expression == null) throw new RFWCriticalException("A expressão CRON não foi informada!");
+    SchedulerCronExpression cron = cache.get(expression);
+    if (cron == null) {
+      cron = new SchedulerCronExpression(expression);
+      cache.putIfAbsent(expression, cron);
+    }
+    return cron;
+  }
+
+  private SchedulerCronExpression(String expression) throws RFWException {
+    this.expression = expression;
+    String[] fields = expandMacro(expression.trim()).split("\\s+");
+    if (fields.length == 5) {
+      fields = new String[] { "0", fields[0], fields[1], fields[2], fields[3], fields[4] };
+    } else if (fields.length != 6) {
+      throw new RFWCriticalException("Expressão CRON inválida: '${0}'. São esperados 5 ou 6 campos.", new String[] { expression });
+    }
+    this.seconds = parseField(fields[0], 0, 59, null);
+    this.minutes = parseField(fields[1], 0, 59, null);
+    this.hours = parseField(fields[2], 0, 23, null);
+    this.daysOfMonthRestricted = !isWildcard(fields[3]);
+    this.daysOfMonth = parseField(fields[3], 1, 31, null);
+    this.months = parseField(fields[4], 1, 12, MONTH_NAMES);
+    this.daysOfWeekRestricted = !isWildcard(fields[5]);
+    long dow = parseField(fields[5], 0, 7, DAY_NAMES);
+    if ((dow & (1L << 7)) != 0) dow = (dow | 1L) & ~(1L << 7); // 7 também é domingo
+    this.daysOfWeek = dow;
+
+    // Sem restrição de dia da semana, o dia do mês precisa existir em algum dos meses (ex: 30 de fevereiro nunca ocorre)
+    if (this.daysOfMonthRestricted && !this.daysOfWeekRestricted) {
+      boolean possible = false;
+      for (int month = 1; month <= 12 && !possible; month++) {
+        if ((this.months & (1L << month)) != 0) possible = (this.daysOfMonth & lengthMask(month == 2 ? 29 : java.time.Month.of(month).maxLength())) != 0;
+      }
+      if (!possible) throw new RFWCriticalException("Expressão CRON inválida: '${0}'. A data nunca ocorre.", new String[] { expression });
+    }
+  }
+
+  /**
+   * Calcula o próximo horário da expressão, estritamente posterior ao horário informado.
+   *
+   * @param after Horário de referência.
+   * @return Próximo horário da expressão, ou null caso não ocorra nos próximos {@value #MAX_YEARS} anos.
+   */
+  public LocalDateTime next(LocalDateTime after) {
+    final LocalDateTime start = after.withNano(0).plusSeconds(1);
+    final int maxYear = start.getYear() + MAX_YEARS;
+    int year = start.getYear();
+    int month = start.getMonthValue();
+    int day = start.getDayOfMonth();
+    int hour = start.getHour();
+    int minute = start.getMinute();
+    int second = start.getSecond();
+
+    // A cada volta um campo que não coincide é avançado para o próximo valor válido (ou estoura para o campo superior), zerando os campos inferiores
+    while (year <= maxYear) {
+      final int m = nextBit(this.months, month);
+      if (m < 0) {
+        year++;
+        month = 1;
+        day = 1;
+        hour = minute = second = 0;
+        continue;
+      }
+      if (m != month) {
+        month = m;
+        day = 1;
+        hour = minute = second = 0;
+      }
+      final int d = nextBit(dayMask(year, month), day);
+      if (d < 0) {
+        month++;
+        day = 1;
+        hour = minute = second = 0;
+        continue;
+      }
+      if (d != day) {
+        day = d;
+        hour = minute = second = 0;
+      }
+      final int h = nextBit(this.hours, hour);
+      if (h < 0) {
+        day++;
+        hour = minute = second = 0;
+        continue;
+      }
+      if (h != hour) {
+        hour = h;
+        minute = second = 0;
+      }
+      final int mi = nextBit(this.minutes, minute);
+      if (mi < 0) {
+        hour++;
+        minute = second = 0;
+        continue;
+      }
+      if (mi != minute) {
+        minute = mi;
+        second = 0;
+      }
+      final int s = nextBit(this.seconds, second);
+      if (s < 0) {
+        minute++;
+        second = 0;
+        continue;
+      }
+      return LocalDateTime.of(year, month, day, hour, minute, s);
+    }
+    return null;
+  }
+
+  /**
+   * Calcula o último horário da expressão que não seja posterior ao horário informado.
+   *
+   * @param before Horário de referência.
+   * @return Último horário da expressão até o horário informado (inclusive), ou null caso não tenha ocorrido nos últimos {@value #MAX_YEARS} anos.
+   */
+  public LocalDateTime previous(LocalDateTime before) {
+    final int minYear = before.getYear() - MAX_YEARS;
+    int year = before.getYear();
+    int month = before.getMonthValue();
+    int day = before.getDayOfMonth();
+    int hour = before.getHour();
+    int minute = before.getMinute();
+    int second = before.getSecond();
+
+    // Mesmo algoritmo do next(), mas recuando: o campo que não coincide recua para o valor válido anterior e os campos inferiores vão para o máximo
+    while (year >= minYear) {
+      final int m = previousBit(this.months, month);
+      if (m < 0) {
+        year--;
+        month = 12;
+        day = 31;
+        hour = 23;
+        minute = second = 59;
+        continue;
+      }
+      if (m != month) {
+        month = m;
+        day = 31;
+        hour = 23;
+        minute = second = 59;
+      }
+      final int d = previousBit(dayMask(year, month), day);
+      if (d < 0) {
+        month--;
+        day = 31;
+        hour = 23;
+        minute = second = 59;
+        continue;
+      }
+      if (d != day) {
+        day = d;
+        hour = 23;
+        minute = second = 59;
+      }
+      final int h = previousBit(this.hours, hour);
+      if (h < 0) {
+        day--;
+        hour = 23;
+        minute = second = 59;
+        continue;
+      }
+      if (h != hour) {
+        hour = h;
+        minute = second = 59;
+      }
+      final int mi = previousBit(this.minutes, minute);
+      if (mi < 0) {
+        hour--;
+        minute = second = 59;
+        continue;
+      }
+      if (mi != minute) {
+        minute = mi;
+        second = 59;
+      }
+      final int s = previousBit(this.seconds, second);
+      if (s < 0) {
+        minute--;
+        second = 59;
+        continue;
+      }
+      return LocalDateTime.of(year, month, day, hour, minute, s);
+    }
+    return null;
+  }
+
+  /**
+   * Calcula o próximo instante da expressão, estritamente posterior ao instante informado, considerando as mudanças de horário do fuso.<br>
+   * <ul>
+   * <li>Horários que não existem no dia de início do horário de verão são executados no instante equivalente após o ajuste (ex: 00:30 em um dia em que o relógio pula de 00:00 para 01:00 executa às 01:30);</li>
+   * <li>Horários que se repetem no fim do horário de verão são executados apenas uma vez, na primeira ocorrência.</li>
+   * </ul>
+   *
+   * @param after Instante de referência.
+   * @return Próximo instante da expressão, no mesmo fuso do instante informado, ou null caso não ocorra nos próximos {@value #MAX_YEARS} anos.
+   */
+  public ZonedDateTime next(ZonedDateTime after) {
+    LocalDateTime local = after.toLocalDateTime();
+    while (true) {
+      local = next(local);
+      if (local == null) return null;
+      // Na sobreposição (fim do horário de verão) preferimos o primeiro offset, assim o horário não é repetido
+      final ZonedDateTime candidate = ZonedDateTime.ofLocal(local, after.getZone(), null).withEarlierOffsetAtOverlap();
+      if (candidate.isAfter(after)) return candidate;
+    }
+  }
+
+  /**
+   * Verifica se um horário coincide com a expressão.
+   *
+   * @param time Horário a ser verificado. Frações de segundo são ignoradas.
+   * @return true caso o horário coincida com a expressão.
+   */
+  public boolean matches(LocalDateTime time) {
+    return time.withNano(0).equals(next(time.withNano(0).minusSeconds(1)));
+  }
+
+  /**
+   * # expressão original.
+   *
+   * @return the expressão original
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  @Override
+  public String toString() {
+    return this.expression;
+  }
+
+  /**
+   * Monta os bits dos dias válidos de um mês, combinando os dias do mês e os dias da semana da expressão.
+   */
+  private long dayMask(int year, int month) {
+    final int length = java.time.Month.of(month).length(Year.isLeap(year));
+    final long valid = lengthMask(length);
+    if (this.daysOfWeekRestricted) {
+      // Gira o padrão semanal para que o bit 0 seja o dia da semana do dia 1º, e repete o padrão pelas 5 semanas do mês
+      final int first = LocalDateTime.of(year, month, 1, 0, 0).getDayOfWeek().getValue() % 7; // Domingo = 0
+      final long week = ((this.daysOfWeek >>> first) | (this.daysOfWeek << (7 - first))) & 0x7F;
+      final long weekDays = (week | (week << 7) | (week << 14) | (week << 21) | (week << 28)) << 1;
+      if (this.daysOfMonthRestricted) return (this.daysOfMonth | weekDays) & valid;
+      return weekDays & valid;
+    }
+    return this.daysOfMonth & valid;
+  }
+
+  /**
+   * Bits 1 até o tamanho do mês ligados.
+   */
+  private static long lengthMask(int length) {
+    return ((1L << (length + 1)) - 1) & ~1L;
+  }
+
+  /**
+   * Próximo bit ligado a partir do índice informado (inclusive), ou -1 caso não exista.
+   */
+  private static int nextBit(long bits, int from) {
+    if (from > 63) return -1;
+    final long masked = bits & (-1L << from);
+    return masked == 0 ? -1 : Long.numberOfTrailingZeros(masked);
+  }
+
+  /**
+   * Bit ligado anterior ao índice informado (inclusive), ou -1 caso não exista.
+   */
+  private static int previousBit(long bits, int from) {
+    if (from < 0) return -1;
+    final long masked = from >= 63 ? bits : bits & ((1L << (from + 1)) - 1);
+    return masked == 0 ? -1 : 63 - Long.numberOfLeadingZeros(masked);
+  }
+
+  private static boolean isWildcard(String field) {
+    return "*".equals(field) || "?".equals(field);
+  }
+
+  private static String expandMacro(String expression) throws RFWException {
+    if (!expression.startsWith("@")) return expression;
+    switch (expression.toLowerCase()) {
+      case "@yearly":
+      case "@annually":
+        return "0 0 1 1 *";
+      case "@monthly":
+        return "0 0 1 * *";
+      case "@weekly":
+        return "0 0 * * 0";
+      case "@daily":
+      case "@midnight":
+        return "0 0 * * *";
+      case "@hourly":
+        return "0 * * * *";
+    }
+    throw new RFWCriticalException("Expressão CRON inválida: '${0}'.", new String[] { expression });
+  }
+
+  /**
+   * Converte um campo da expressão nos bits dos valores aceitos.
+   */
+  private static long parseField(String field, int min, int max, String[] names) throws RFWException {
+    long bits = 0;
+    for (String part : field.split(",")) {
+      int step = 1;
+      final int slash = part.indexOf('/');
+      if (slash >= 0) {
+        step = parseNumber(part.substring(slash + 1), 1, max, null, field);
+        part = part.substring(0, slash);
+      }
+      int from;
+      int to;
+      if (isWildcard(part)) {
+        from = min;
+        to = max;
+      } else {
+        final int dash = part.indexOf('-');
+        if (dash > 0) {
+          from = parseNumber(part.substring(0, dash), min, max, names, field);
+          to = parseNumber(part.substring(dash + 1), min, max, names, field);
+          if (to < from) throw new RFWCriticalException("Expressão CRON inválida. Intervalo invertido no campo '${0}'.", new String[] { field });
+        } else {
+          from = parseNumber(part, min, max, names, field);
+          to = slash >= 0 ? max : from; // "a/n" equivale a "a-max/n"
+        }
+      }
+      for (int i = from; i <= to; i += step) {
+        bits |= 1L << i;
+      }
+    }
+    return bits;
+  }
+
+  private static int parseNumber(String value, int min, int max, String[] names, String field) throws RFWException {
+    if (names != null) {
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].equalsIgnoreCase(value)) return names == MONTH_NAMES ? i + 1 : i;
+      }
+    }
+    try {
+      final int number = Integer.parseInt(value);
+      if (number < min || number > max) throw new RFWCriticalException("Expressão CRON inválida. Valor '${0}' fora do intervalo permitido (${1}-${2}) no campo '${3}'.", new String[] { value, "" + min, "" + max, field });
+      return number;
+    } catch (NumberFormatException e) {
+      throw new RFWCriticalException("Expressão CRON inválida. Valor '${0}' não reconhecido no campo '${1}'.", new String[] { value, field });
+    }
+  }
+}
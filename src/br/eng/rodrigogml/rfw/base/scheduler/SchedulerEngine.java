@@ -0,0 +1,339 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+
+/**
+ * Description: Motor de disparo das tarefas do {@link SchedulerController}.<br>
+ * Substitui o antigo modelo de um {@link java.util.Timer} (uma Thread) por tarefa. Todas as tarefas agendadas compartilham uma única Thread de disparo ({@link ScheduledThreadPoolExecutor}), que apenas entrega a tarefa no momento certo para um pool limitado de Threads de execução.<br>
+ * Assim a quantidade de Threads do Scheduler é proporcional à quantidade de processadores, e não à quantidade de tarefas agendadas.<br>
+ * <br>
+ * As Threads são criadas sob demanda e finalizadas depois de {@link #KEEPALIVE_SECONDS} ociosas, de forma que sem tarefas agendadas o motor não mantém nenhuma Thread viva.<br>
+ * <br>
+ * Tarefas que chegam no seu horário não são entregues diretamente ao pool, e sim a uma fila por classe de tarefa ({@link SchedulerTask#getTaskClass()}). As tarefas só saem da fila quando há uma Thread livre e a sua classe não atingiu o limite de execuções simultâneas definido em {@link #setMaxConcurrentExecutions(String, Integer)}. Entre as tarefas liberadas para execução, sai primeiro a de maior prioridade ({@link SchedulerTask#getPriority()}) e, entre as de mesma prioridade, a que chegou primeiro.<br>
+ * Assim quando centenas de tarefas vencem no mesmo horário elas aguardam em fila ao invés de competirem todas ao mesmo tempo pelos recursos (como o banco de dados).
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SchedulerEngine {
+
+  /**
+   * Tempo em segundos que uma Thread do motor pode ficar ociosa antes de ser finalizada.
+   */
+  private static final long KEEPALIVE_SECONDS = 60;
+
+  /**
+   * Quantidade máxima de Threads executando tarefas simultaneamente. Padrão: o dobro de processadores disponíveis, no mínimo 4.
+   */
+  private static int maxWorkerThreads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  /**
+   * Executor responsável apenas por aguardar o momento de cada tarefa e entrega-la ao {@link #workerExecutor}.
+   */
+  private static ScheduledThreadPoolExecutor triggerExecutor = null;
+
+  /**
+   * Pool de Threads que de fato executam as tarefas.
+   */
+  private static ThreadPoolExecutor workerExecutor = null;
+
+  /**
+   * Filas de tarefas aguardando execução, separadas por classe da tarefa. Protegidas pelo lock da classe {@link SchedulerEngine}.
+   */
+  private static final HashMap<String, TaskClassQueue> classQueues = new HashMap<>();
+
+  /**
+   * Quantidade de tarefas entregues ao pool de execução e ainda não terminadas.
+   */
+  private static int runningCount = 0;
+
+  /**
+   * Contador da ordem de chegada das tarefas na fila, para desempatar tarefas de mesma prioridade.
+   */
+  private static long sequence = 0;
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private SchedulerEngine() {
+  }
+
+  /**
+   * Agenda a execução de uma tarefa.
+   *
+   * @param command Tarefa a ser executada. Ao chegar o momento ela é colocada na fila de execução da sua classe, não sendo executada na Thread de disparo.
+   * @param taskClass Classe da tarefa, utilizada para aplicar o limite de execuções simultâneas e agrupar as métricas de espera.
+   * @param priority Prioridade da tarefa na fila de execução. Valores maiores são executados primeiro.
+   * @param delay Tempo em milisegundos a aguardar antes de executar a tarefa. Valores negativos são tratados como zero.
+   * @return {@link ScheduledFuture} do disparo, que permite cancelar a tarefa antes que seja colocada na fila de execução.
+   */
+  static ScheduledFuture<?> schedule(final Runnable command, final String taskClass, final int priority, long delay) {
+    return getTriggerExecutor().schedule(new Runnable() {
+      @Override
+      public void run() {
+        enqueue(command, taskClass, priority);
+      }
+    }, Math.max(0, delay), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Coloca a tarefa na fila da sua classe e libera para execução as tarefas que puderem ser executadas.
+   */
+  private static synchronized void enqueue(Runnable command, String taskClass, int priority) {
+    TaskClassQueue classQueue = classQueues.get(taskClass);
+    if (classQueue == null) {
+      classQueue = new TaskClassQueue(taskClass);
+      classQueues.put(taskClass, classQueue);
+    }
+    classQueue.queue.add(new QueuedTask(command, classQueue, priority, sequence++, System.nanoTime()));
+    dispatch();
+  }
+
+  /**
+   * Entrega ao pool de execução as tarefas da fila enquanto houverem Threads livres.<br>
+   * Deve ser chamado com o lock da classe.
+   */
+  private static void dispatch() {
+    final ThreadPoolExecutor workers = getWorkerExecutor();
+    while (runningCount < maxWorkerThreads) {
+      // Procura, entre as classes que não atingiram seu limite, a tarefa de maior prioridade. A quantidade de classes de tarefas é pequena, e só as cabeças de cada fila são comparadas.
+      QueuedTask next = null;
+      for (TaskClassQueue classQueue : classQueues.values()) {
+        final QueuedTask head = classQueue.queue.peek();
+        if (head != null && (classQueue.maxConcurrentExecutions == null || classQueue.running < classQueue.maxConcurrentExecutions) && (next == null || head.compareTo(next) < 0)) next = head;
+      }
+      if (next == null) break;
+
+      final TaskClassQueue classQueue = next.classQueue;
+      classQueue.queue.poll();
+      classQueue.running++;
+      runningCount++;
+      final long wait = System.nanoTime() - next.enqueuedNanos;
+      classQueue.executions++;
+      classQueue.totalWaitNanos += wait;
+      if (wait > classQueue.maxWaitNanos) classQueue.maxWaitNanos = wait;
+
+      final Runnable command = next.command;
+      try {
+        workers.execute(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              command.run();
+            } finally {
+              release(classQueue);
+            }
+          }
+        });
+      } catch (RuntimeException e) {
+        classQueue.running--;
+        runningCount--;
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Chamado ao fim de cada execução para liberar o espaço da tarefa e entregar ao pool a próxima tarefa da fila.
+   */
+  private static synchronized void release(TaskClassQueue classQueue) {
+    classQueue.running--;
+    runningCount--;
+    dispatch();
+  }
+
+  /**
+   * Define a quantidade máxima de execuções simultâneas das tarefas de uma determinada classe.<br>
+   * Útil para as tarefas que disputam um mesmo recurso: mesmo que várias vençam no mesmo horário, apenas a quantidade definida executará ao mesmo tempo, as demais aguardam na fila sem ocupar as Threads de execução.
+   *
+   * @param taskClass Classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   * @param maxConcurrentExecutions Quantidade máxima de execuções simultâneas, deve ser maior que zero. Null para remover o limite, ficando a classe limitada apenas pela quantidade de Threads de execução.
+   */
+  static synchronized void setMaxConcurrentExecutions(String taskClass, Integer maxConcurrentExecutions) {
+    if (maxConcurrentExecutions != null && maxConcurrentExecutions <= 0) throw new IllegalArgumentException("A quantidade de execuções simultâneas deve ser maior que zero!");
+    TaskClassQueue classQueue = classQueues.get(taskClass);
+    if (classQueue == null) {
+      classQueue = new TaskClassQueue(taskClass);
+      classQueues.put(taskClass, classQueue);
+    }
+    classQueue.maxConcurrentExecutions = maxConcurrentExecutions;
+    dispatch(); // Caso o limite tenha aumentado, tarefas em espera podem ser liberadas
+  }
+
+  /**
+   * Recupera a quantidade máxima de execuções simultâneas das tarefas de uma determinada classe.
+   *
+   * @param taskClass Classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   * @return Quantidade máxima de execuções simultâneas, ou null caso a classe não tenha limite próprio.
+   */
+  static synchronized Integer getMaxConcurrentExecutions(String taskClass) {
+    final TaskClassQueue classQueue = classQueues.get(taskClass);
+    return classQueue == null ? null : classQueue.maxConcurrentExecutions;
+  }
+
+  /**
+   * Recupera uma cópia das métricas da fila de execução de cada classe de tarefa que já passou pelo motor.
+   *
+   * @return Lista com as métricas de cada classe de tarefa.
+   */
+  static synchronized List<SchedulerQueueStatistics> getQueueStatistics() {
+    final ArrayList<SchedulerQueueStatistics> list = new ArrayList<>(classQueues.size());
+    for (TaskClassQueue classQueue : classQueues.values()) {
+      list.add(new SchedulerQueueStatistics(classQueue.taskClass, classQueue.maxConcurrentExecutions, classQueue.queue.size(), classQueue.running, classQueue.executions, classQueue.totalWaitNanos, classQueue.maxWaitNanos));
+    }
+    return list;
+  }
+
+  /**
+   * Define a quantidade máxima de Threads executando tarefas simultaneamente.<br>
+   * Tarefas que chegarem no seu horário com todas as Threads ocupadas aguardam em fila a liberação de uma Thread.
+   *
+   * @param maxWorkerThreads Quantidade máxima de Threads de execução. Deve ser maior que zero.
+   */
+  static synchronized void setMaxWorkerThreads(int maxWorkerThreads) {
+    if (maxWorkerThreads <= 0) throw new IllegalArgumentException("A quantidade de Threads do Scheduler deve ser maior que zero!");
+    SchedulerEngine.maxWorkerThreads = maxWorkerThreads;
+    if (workerExecutor != null) {
+      // A ordem importa: o ThreadPoolExecutor não aceita um core maior que o máximo
+      if (maxWorkerThreads > workerExecutor.getMaximumPoolSize()) {
+        workerExecutor.setMaximumPoolSize(maxWorkerThreads);
+        workerExecutor.setCorePoolSize(maxWorkerThreads);
+      } else {
+        workerExecutor.setCorePoolSize(maxWorkerThreads);
+        workerExecutor.setMaximumPoolSize(maxWorkerThreads);
+      }
+      dispatch(); // Caso o limite tenha aumentado, tarefas em espera podem ser liberadas
+    }
+  }
+
+  /**
+   * Recupera a quantidade máxima de Threads executando tarefas simultaneamente.
+   *
+   * @return Quantidade máxima de Threads de execução.
+   */
+  static int getMaxWorkerThreads() {
+    return maxWorkerThreads;
+  }
+
+  private static synchronized ScheduledThreadPoolExecutor getTriggerExecutor() {
+    if (triggerExecutor == null) {
+      // Uma única Thread é suficiente para o disparo, já que ela não executa as tarefas, apenas as entrega para o pool de execução
+      triggerExecutor = new ScheduledThreadPoolExecutor(1, new SchedulerThreadFactory("### SchedulerEngine Trigger"));
+      triggerExecutor.setRemoveOnCancelPolicy(true); // Sem isso os agendamentos cancelados (a cada reagendamento) ficariam na fila até o horário original
+      triggerExecutor.setKeepAliveTime(KEEPALIVE_SECONDS, TimeUnit.SECONDS);
+      triggerExecutor.allowCoreThreadTimeOut(true);
+    }
+    return triggerExecutor;
+  }
+
+  private static synchronized ThreadPoolExecutor getWorkerExecutor() {
+    if (workerExecutor == null) {
+      workerExecutor = new ThreadPoolExecutor(maxWorkerThreads, maxWorkerThreads, KEEPALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new SchedulerThreadFactory("### SchedulerEngine Worker"));
+      workerExecutor.allowCoreThreadTimeOut(true);
+    }
+    return workerExecutor;
+  }
+
+  /**
+   * Fila de tarefas de uma mesma classe aguardando execução, com o seu limite de execuções simultâneas e métricas de espera.
+   */
+  private static class TaskClassQueue {
+
+    private final String taskClass;
+
+    private final PriorityQueue<QueuedTask> queue = new PriorityQueue<>();
+
+    /**
+     * Limite de execuções simultâneas da classe. Null se não houver limite próprio.
+     */
+    private Integer maxConcurrentExecutions = null;
+
+    /**
+     * Quantidade de tarefas da classe em execução.
+     */
+    private int running = 0;
+
+    /**
+     * Quantidade de tarefas da classe que já saíram da fila para execução.
+     */
+    private long executions = 0;
+
+    /**
+     * Soma do tempo de espera na fila, em nanosegundos, de todas as tarefas que já saíram da fila.
+     */
+    private long totalWaitNanos = 0;
+
+    /**
+     * Maior tempo de espera na fila, em nanosegundos.
+     */
+    private long maxWaitNanos = 0;
+
+    public TaskClassQueue(String taskClass) {
+      this.taskClass = taskClass;
+    }
+  }
+
+  /**
+   * Tarefa aguardando na fila de execução. Ordenada pela maior prioridade e, em caso de empate, pela ordem de chegada.
+   */
+  private static class QueuedTask implements Comparable<QueuedTask> {
+
+    private final Runnable command;
+
+    private final TaskClassQueue classQueue;
+
+    private final int priority;
+
+    private final long sequence;
+
+    private final long enqueuedNanos;
+
+    public QueuedTask(Runnable command, TaskClassQueue classQueue, int priority, long sequence, long enqueuedNanos) {
+      this.command = command;
+      this.classQueue = classQueue;
+      this.priority = priority;
+      this.sequence = sequence;
+      this.enqueuedNanos = enqueuedNanos;
+    }
+
+    @Override
+    public int compareTo(QueuedTask o) {
+      if (this.priority != o.priority) return this.priority > o.priority ? -1 : 1;
+      return Long.compare(this.sequence, o.sequence);
+    }
+  }
+
+  /**
+   * Fábrica das Threads do motor, apenas para que sejam facilmente identificadas no Debug.<br>
+   * As Threads não são daemon para manter o mesmo comportamento dos antigos Timers: enquanto houver tarefa agendada a JVM não é finalizada.
+   */
+  private static class SchedulerThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public SchedulerThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, this.prefix + " #" + this.counter.incrementAndGet());
+      t.setDaemon(false);
+      return t;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerBatchListener;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerListener;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Responsável por entregar os eventos de execução das tarefas aos listeners do {@link SchedulerController}.<br>
+ * Os resultados são colocados em uma fila limitada pelas Threads de execução das tarefas e entregues por uma Thread própria, assim um listener lento (como um que persiste o histórico no banco de dados) não atrasa a execução e o reagendamento das tarefas.<br>
+ * Caso a fila esteja cheia, o evento é entregue na própria Thread que o gerou. Desta forma nenhum evento é descartado e o Scheduler desacelera até que os listeners consigam acompanhar.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SchedulerEventDispatcher {
+
+  /**
+   * Quantidade máxima de eventos aguardando entrega.
+   */
+  private static final int QUEUE_CAPACITY = 10000;
+
+  /**
+   * Quantidade máxima de resultados entregues em uma única chamada do {@link SchedulerBatchListener}.
+   */
+  private static final int MAX_BATCH_SIZE = 500;
+
+  /**
+   * Fila de eventos aguardando entrega.
+   */
+  private final ArrayBlockingQueue<SchedulerExecutionResult> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+  /**
+   * Quantidade de eventos recebidos e ainda não entregues (na fila ou em entrega).
+   */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final List<SchedulerListener> listeners;
+
+  private final List<SchedulerBatchListener> batchListeners;
+
+  /**
+   * Thread de entrega dos eventos. Criada no primeiro evento.
+   */
+  private Thread dispatcherThread = null;
+
+  /**
+   * Cria o dispatcher.
+   *
+   * @param listeners Lista de listeners de eventos individuais. Deve permitir a iteração concorrente com alterações.
+   * @param batchListeners Lista de listeners de eventos em lote. Deve permitir a iteração concorrente com alterações.
+   */
+  SchedulerEventDispatcher(List<SchedulerListener> listeners, List<SchedulerBatchListener> batchListeners) {
+    this.listeners = listeners;
+    this.batchListeners = batchListeners;
+  }
+
+  /**
+   * Coloca o resultado de uma execução na fila de entrega.
+   *
+   * @param result Resultado da execução.
+   */
+  void dispatch(SchedulerExecutionResult result) {
+    if (this.listeners.isEmpty() && this.batchListeners.isEmpty()) return; // Ninguém para receber, não há porque enfileirar
+
+    this.pending.incrementAndGet();
+    ensureDispatcherThread();
+    if (!this.queue.offer(result)) {
+      RFWLogger.logImprovement("A fila de eventos do Scheduler está cheia! Os listeners não estão conseguindo acompanhar as execuções, o evento será entregue na Thread da tarefa.");
+      try {
+        deliver(Collections.singletonList(result));
+      } finally {
+        finished(1);
+      }
+    }
+  }
+
+  /**
+   * Aguarda até que todos os eventos recebidos até o momento tenham sido entregues.
+   *
+   * @param timeout Tempo máximo de espera em milisegundos.
+   * @return true caso todos os eventos tenham sido entregues, false caso o tempo tenha se esgotado antes.
+   * @throws InterruptedException
+   */
+  boolean flush(long timeout) throws InterruptedException {
+    final long limit = System.currentTimeMillis() + timeout;
+    synchronized (this.pending) {
+      while (this.pending.get() > 0) {
+        long wait = limit - System.currentTimeMillis();
+        if (wait <= 0) return false;
+        this.pending.wait(wait);
+      }
+    }
+    return true;
+  }
+
+  private synchronized void ensureDispatcherThread() {
+    if (this.dispatcherThread == null) {
+      this.dispatcherThread = new Thread("### SchedulerEventDispatcher") {
+        @Override
+        public void run() {
+          final ArrayList<SchedulerExecutionResult> batch = new ArrayList<>(MAX_BATCH_SIZE);
+          while (true) {
+            try {
+              batch.add(queue.take());
+              queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+              try {
+                deliver(batch);
+              } finally {
+                finished(batch.size());
+                batch.clear();
+              }
+            } catch (InterruptedException e) {
+              // Thread de vida infinita, ignoramos interrupções
+            } catch (Throwable t) {
+              RFWLogger.logException(t);
+            }
+          }
+        }
+      };
+      this.dispatcherThread.setDaemon(true);
+      this.dispatcherThread.setPriority(Thread.MIN_PRIORITY); // A entrega dos eventos não deve competir com a execução das tarefas
+      this.dispatcherThread.start();
+    }
+  }
+
+  private void finished(int count) {
+    if (this.pending.addAndGet(-count) == 0) {
+      synchronized (this.pending) {
+        this.pending.notifyAll();
+      }
+    }
+  }
+
+  private void deliver(List<SchedulerExecutionResult> results) {
+    for (SchedulerExecutionResult result : results) {
+      for (SchedulerListener listener : this.listeners) {
+        try {
+          if (result.isSuccess()) {
+            listener.success(result.getTask());
+          } else {
+            listener.fail(result.getTask(), result.getException());
+          }
+        } catch (Throwable t) {
+          RFWLogger.logException(t, result.getTask().getTaskClass()); // Loga, mas não deixa o listener estragar o funcionamento do Scheduler
+        }
+      }
+    }
+    if (!this.batchListeners.isEmpty()) {
+      final List<SchedulerExecutionResult> unmodifiable = Collections.unmodifiableList(new ArrayList<>(results));
+      for (SchedulerBatchListener listener : this.batchListeners) {
+        try {
+          listener.executed(unmodifiable);
+        } catch (Throwable t) {
+          RFWLogger.logException(t); // Loga, mas não deixa o listener estragar o funcionamento do Scheduler
+        }
+      }
+    }
+  }
+}
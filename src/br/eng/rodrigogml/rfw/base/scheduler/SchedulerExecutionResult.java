@@ -0,0 +1,107 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerBatchListener;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Bean com o resultado de uma execução de tarefa do Scheduler. Entregue aos {@link SchedulerBatchListener} para a persistência em lote do histórico de execuções.<br>
+ * Como os eventos são entregues de forma assíncrona, quando o listener receber o resultado a tarefa pode até já ter sido executada novamente. Por isso os horários da execução são copiados para este objeto no momento em que a execução termina, e não devem ser lidos da {@link SchedulerTask}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerExecutionResult implements Serializable {
+
+  private static final long serialVersionUID = 4385914706612830713L;
+
+  /**
+   * Tarefa executada.
+   */
+  private final SchedulerTask task;
+
+  /**
+   * Horário para o qual a execução estava agendada.
+   */
+  private final LocalDateTime scheduledTime;
+
+  /**
+   * Horário em que a execução de fato começou.
+   */
+  private final LocalDateTime startTime;
+
+  /**
+   * Horário em que a execução terminou.
+   */
+  private final LocalDateTime endTime;
+
+  /**
+   * Exception com a descrição do problema, caso a execução tenha falhado. Nulo em caso de sucesso.
+   */
+  private final RFWException exception;
+
+  SchedulerExecutionResult(SchedulerTask task, LocalDateTime scheduledTime, LocalDateTime startTime, LocalDateTime endTime, RFWException exception) {
+    this.task = task;
+    this.scheduledTime = scheduledTime;
+    this.startTime = startTime;
+    this.endTime = endTime;
+    this.exception = exception;
+  }
+
+  /**
+   * Indica se a tarefa foi executada com sucesso.
+   *
+   * @return true caso a tarefa tenha terminado sem exception, false caso contrário.
+   */
+  public boolean isSuccess() {
+    return this.exception == null;
+  }
+
+  /**
+   * # tarefa executada.
+   *
+   * @return the tarefa executada
+   */
+  public SchedulerTask getTask() {
+    return task;
+  }
+
+  /**
+   * # horário para o qual a execução estava agendada.
+   *
+   * @return the horário para o qual a execução estava agendada
+   */
+  public LocalDateTime getScheduledTime() {
+    return scheduledTime;
+  }
+
+  /**
+   * # horário em que a execução de fato começou.
+   *
+   * @return the horário em que a execução de fato começou
+   */
+  public LocalDateTime getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * # horário em que a execução terminou.
+   *
+   * @return the horário em que a execução terminou
+   */
+  public LocalDateTime getEndTime() {
+    return endTime;
+  }
+
+  /**
+   * # exception com a descrição do problema, caso a execução tenha falhado. Nulo em caso de sucesso.
+   *
+   * @return the exception com a descrição do problema, caso a execução tenha falhado
+   */
+  public RFWException getException() {
+    return exception;
+  }
+}
@@ -0,0 +1,201 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerLeaseProvider;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Implementação do {@link SchedulerLeaseProvider} com travas de arquivo ({@link FileLock}).<br>
+ * Cada tarefa tem um pequeno arquivo no diretório informado, onde é registrado o horário agendado da última execução obtida, o nó que a obteve, a validade do lease e se a execução já foi concluída. A leitura e alteração do arquivo são feitas com a trava exclusiva de um arquivo ".lock" da tarefa, que é respeitada entre processos e máquinas.<br>
+ * O lease nunca é alterado no próprio arquivo: o novo conteúdo é gravado em um arquivo temporário e substitui o anterior com um move atômico. Assim a queda de um nó durante a gravação não deixa um lease vazio ou incompleto para os demais nós.<br>
+ * Para uso em cluster o diretório deve estar em um sistema de arquivos compartilhado entre os nós que suporte travas (como NFSv4). Também pode ser utilizado para evitar execuções duplicadas entre várias JVMs em uma mesma máquina.<br>
+ * <br>
+ * A validade dos leases é calculada com o relógio de cada nó, por isso os relógios dos nós devem estar sincronizados.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerFileLeaseProvider implements SchedulerLeaseProvider {
+
+  /**
+   * Quantidade de travas internas. As travas de arquivo não podem ser obtidas duas vezes pela mesma JVM, por isso as Threads da JVM são coordenadas antes por estas travas, distribuídas pelo ID da tarefa.
+   */
+  private static final int LOCK_STRIPES = 64;
+
+  /**
+   * Travas compartilhadas por todas as instâncias da JVM, já que duas instâncias podem utilizar o mesmo diretório.
+   */
+  private static final Object[] locks = new Object[LOCK_STRIPES];
+
+  static {
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * Diretório dos arquivos de lease.
+   */
+  private final File directory;
+
+  /**
+   * Identificação deste nó, registrada nos leases obtidos.
+   */
+  private final String nodeID;
+
+  /**
+   * Cria o provedor de leases.
+   *
+   * @param directory Diretório dos arquivos de lease, compartilhado entre os nós. É criado caso não exista.
+   * @param nodeID Identificação deste nó.
+   * @throws RFWException
+   */
+  public SchedulerFileLeaseProvider(File directory, String nodeID) throws RFWException {
+    if (nodeID == null) throw new RFWCriticalException("A identificação do nó deve ser informada!");
+    if (!directory.isDirectory() && !directory.mkdirs()) throw new RFWCriticalException("Não foi possível criar o diretório de leases do Scheduler '${0}'.", new String[] { directory.getPath() });
+    this.directory = directory;
+    this.nodeID = nodeID;
+  }
+
+  @Override
+  public boolean acquire(SchedulerTask task, LocalDateTime scheduleTime, long leaseMillis) throws RFWException {
+    final long slot = toNumber(scheduleTime);
+    synchronized (getLock(task.getId())) {
+      try (FileChannel channel = openLockChannel(task.getId())) {
+        final FileLock lock = channel.lock();
+        try {
+          final Lease lease = read(task.getId());
+          if (lease != null) {
+            if (lease.slot > slot) return false; // Outro nó já está em uma execução posterior
+            if (lease.slot == slot && (lease.completed || lease.expiration > System.currentTimeMillis())) return false; // Execução concluída ou em andamento em outro nó
+          }
+          write(task.getId(), new Lease(slot, System.currentTimeMillis() + leaseMillis, false, this.nodeID));
+          return true;
+        } finally {
+          lock.release();
+        }
+      } catch (IOException e) {
+        throw new RFWCriticalException("Falha ao obter o lease da tarefa ID: ${0}.", new String[] { "" + task.getId() }, e);
+      }
+    }
+  }
+
+  @Override
+  public void release(SchedulerTask task, LocalDateTime scheduleTime) throws RFWException {
+    final long slot = toNumber(scheduleTime);
+    synchronized (getLock(task.getId())) {
+      try (FileChannel channel = openLockChannel(task.getId())) {
+        final FileLock lock = channel.lock();
+        try {
+          final Lease lease = read(task.getId());
+          // Só marcamos como concluída se o lease ainda for nosso. Se expirou e outro nó já obteve, não interferimos.
+          if (lease != null && lease.slot == slot && this.nodeID.equals(lease.nodeID)) {
+            write(task.getId(), new Lease(slot, lease.expiration, true, this.nodeID));
+          }
+        } finally {
+          lock.release();
+        }
+      } catch (IOException e) {
+        throw new RFWCriticalException("Falha ao liberar o lease da tarefa ID: ${0}.", new String[] { "" + task.getId() }, e);
+      }
+    }
+  }
+
+  /**
+   * Abre o arquivo de trava da tarefa. A trava fica em um arquivo separado do lease pois o arquivo do lease é substituído a cada gravação, e a trava de um arquivo substituído não seria vista pelos outros nós.
+   */
+  private FileChannel openLockChannel(Long id) throws IOException {
+    return FileChannel.open(new File(this.directory, "task-" + id + ".lock").toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private File getLeaseFile(Long id) {
+    return new File(this.directory, "task-" + id + ".lease");
+  }
+
+  private static Object getLock(Long id) {
+    return locks[(int) (id & (LOCK_STRIPES - 1))];
+  }
+
+  /**
+   * Lê o lease da tarefa. Deve ser chamado com a trava da tarefa.
+   */
+  private Lease read(Long id) throws IOException {
+    final File file = getLeaseFile(id);
+    if (!file.exists()) return null; // Nenhuma execução obtida ainda
+    final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    if (buffer.remaining() < 17) return null; // Arquivo de versões anteriores interrompido durante a gravação, não há lease
+    final long slot = buffer.getLong();
+    final long expiration = buffer.getLong();
+    final boolean completed = buffer.get() != 0;
+    final byte[] node = new byte[buffer.remaining()];
+    buffer.get(node);
+    return new Lease(slot, expiration, completed, new String(node, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Grava o lease da tarefa em um arquivo temporário e substitui o arquivo do lease com um move atômico. Deve ser chamado com a trava da tarefa, que garante que apenas um nó utiliza o arquivo temporário.
+   */
+  private void write(Long id, Lease lease) throws IOException {
+    final byte[] node = lease.nodeID.getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer buffer = ByteBuffer.allocate(17 + node.length);
+    buffer.putLong(lease.slot).putLong(lease.expiration).put((byte) (lease.completed ? 1 : 0)).put(node).flip();
+    final File tmp = new File(this.directory, "task-" + id + ".lease.tmp");
+    try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(tmp.toPath(), getLeaseFile(id).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static long toNumber(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC) * 1000000000L + time.getNano();
+  }
+
+  /**
+   * Conteúdo do arquivo de lease de uma tarefa.
+   */
+  private static class Lease {
+
+    /**
+     * Horário agendado da execução (convertido em número).
+     */
+    private final long slot;
+
+    /**
+     * Validade do lease em milisegundos ({@link System#currentTimeMillis()}).
+     */
+    private final long expiration;
+
+    /**
+     * Indica se a execução foi concluída.
+     */
+    private final boolean completed;
+
+    /**
+     * Nó que obteve o lease.
+     */
+    private final String nodeID;
+
+    public Lease(long slot, long expiration, boolean completed, String nodeID) {
+      this.slot = slot;
+      this.expiration = expiration;
+      this.completed = completed;
+      this.nodeID = nodeID;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Description: Histograma de tempos (em nanosegundos) utilizado nas métricas do Scheduler.<br>
+ * Segue a ideia do HdrHistogram: os valores são contados em faixas de largura proporcional ao próprio valor (32 faixas por potência de 2), o que limita o erro dos percentis a cerca de 3% com um vetor fixo, que cobre de 1 nanosegundo a centenas de anos.<br>
+ * O registro de um valor não aloca objetos nem utiliza travas, apenas incrementos atômicos, e pode ser feito por várias Threads ao mesmo tempo.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SchedulerHistogram {
+
+  /**
+   * Bits de precisão de cada potência de 2: 2^5 = 32 faixas.
+   */
+  private static final int SUB_BUCKET_BITS = 5;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Valores abaixo deste limite são contados individualmente (faixas de largura 1).
+   */
+  private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+  /**
+   * Quantidade de faixas necessárias para cobrir todos os valores positivos de um long.
+   */
+  private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAdder sum = new LongAdder();
+
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Registra um valor no histograma. Valores negativos são registrados como zero.
+   *
+   * @param value Valor em nanosegundos.
+   */
+  public void record(long value) {
+    if (value < 0) value = 0;
+    this.counts.incrementAndGet(index(value));
+    this.total.increment();
+    this.sum.add(value);
+    long current;
+    while (value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+    }
+  }
+
+  /**
+   * Zera o histograma. Registros feitos durante o reset podem ser perdidos.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      this.counts.set(i, 0);
+    }
+    this.total.reset();
+    this.sum.reset();
+    this.max.set(0);
+  }
+
+  /**
+   * Cria uma cópia dos valores do histograma, com os percentis já calculados.<br>
+   * Como os registros não param durante a cópia, os valores podem ter pequenas diferenças entre si (como a contagem não bater exatamente com a soma das faixas).
+   *
+   * @return Cópia dos valores do histograma.
+   */
+  public SchedulerHistogramSnapshot snapshot() {
+    final long[] copy = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = this.counts.get(i);
+      count += copy[i];
+    }
+    final long max = this.max.get();
+    final double mean = count == 0 ? 0 : this.sum.sum() / (double) count;
+    return new SchedulerHistogramSnapshot(count, mean, max, percentile(copy, count, max, 50), percentile(copy, count, max, 90), percentile(copy, count, max, 99), percentile(copy, count, max, 99.9));
+  }
+
+  /**
+   * Calcula o valor de um percentil: o maior valor da faixa onde o percentil se encontra, limitado ao maior valor registrado.
+   */
+  private static long percentile(long[] counts, long count, long max, double percentile) {
+    if (count == 0) return 0;
+    final long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+    long accumulated = 0;
+    for (int i = 0; i < counts.length; i++) {
+      accumulated += counts[i];
+      if (accumulated >= target) return Math.min(max, highestValue(i));
+    }
+    return max;
+  }
+
+  /**
+   * Faixa de um valor. Abaixo do {@link #LINEAR_LIMIT} cada valor tem sua faixa. Acima, os {@link #SUB_BUCKET_BITS} bits mais significativos do valor (após o primeiro bit ligado) definem a faixa dentro da sua potência de 2.
+   */
+  static int index(long value) {
+    if (value < LINEAR_LIMIT) return (int) value;
+    final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    final int shift = magnitude - SUB_BUCKET_BITS;
+    return LINEAR_LIMIT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /**
+   * Maior valor contado em uma faixa.
+   */
+  static long highestValue(int index) {
+    if (index < LINEAR_LIMIT) return index;
+    final int offset = index - LINEAR_LIMIT;
+    final int shift = offset / SUB_BUCKETS + 1;
+    final long lowest = (long) (SUB_BUCKETS + offset % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
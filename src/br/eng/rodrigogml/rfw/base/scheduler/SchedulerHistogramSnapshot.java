@@ -0,0 +1,155 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.Serializable;
+
+/**
+ * Description: Bean com a cópia de um histograma de tempos das métricas do Scheduler, veja {@link SchedulerTaskStatistics}.<br>
+ * Os percentis têm precisão de cerca de 3%, sendo o valor informado sempre o limite superior da faixa em que o percentil se encontra.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerHistogramSnapshot implements Serializable {
+
+  private static final long serialVersionUID = 4379521089716526201L;
+
+  /**
+   * Quantidade de valores registrados.
+   */
+  private final long count;
+
+  /**
+   * Média dos valores registrados, em nanosegundos.
+   */
+  private final double meanNanos;
+
+  /**
+   * Maior valor registrado, em nanosegundos.
+   */
+  private final long maxNanos;
+
+  /**
+   * Mediana dos valores registrados, em nanosegundos.
+   */
+  private final long p50Nanos;
+
+  /**
+   * Percentil 90 dos valores registrados, em nanosegundos.
+   */
+  private final long p90Nanos;
+
+  /**
+   * Percentil 99 dos valores registrados, em nanosegundos.
+   */
+  private final long p99Nanos;
+
+  /**
+   * Percentil 99,9 dos valores registrados, em nanosegundos.
+   */
+  private final long p999Nanos;
+
+  SchedulerHistogramSnapshot(long count, double meanNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos) {
+    this.count = count;
+    this.meanNanos = meanNanos;
+    this.maxNanos = maxNanos;
+    this.p50Nanos = p50Nanos;
+    this.p90Nanos = p90Nanos;
+    this.p99Nanos = p99Nanos;
+    this.p999Nanos = p999Nanos;
+  }
+
+  /**
+   * # quantidade de valores registrados.
+   *
+   * @return the quantidade de valores registrados
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Recupera a média dos valores registrados.
+   *
+   * @return Média em milisegundos, ou zero caso nenhum valor tenha sido registrado.
+   */
+  public double getMeanMillis() {
+    return this.meanNanos / 1000000d;
+  }
+
+  /**
+   * Recupera o maior valor registrado.
+   *
+   * @return Maior valor em milisegundos.
+   */
+  public double getMaxMillis() {
+    return this.maxNanos / 1000000d;
+  }
+
+  /**
+   * Recupera a mediana dos valores registrados.
+   *
+   * @return Mediana em milisegundos.
+   */
+  public double getP50Millis() {
+    return this.p50Nanos / 1000000d;
+  }
+
+  /**
+   * Recupera o percentil 90 dos valores registrados.
+   *
+   * @return Percentil 90 em milisegundos.
+   */
+  public double getP90Millis() {
+    return this.p90Nanos / 1000000d;
+  }
+
+  /**
+   * Recupera o percentil 99 dos valores registrados.
+   *
+   * @return Percentil 99 em milisegundos.
+   */
+  public double getP99Millis() {
+    return this.p99Nanos / 1000000d;
+  }
+
+  /**
+   * Recupera o percentil 99,9 dos valores registrados.
+   *
+   * @return Percentil 99,9 em milisegundos.
+   */
+  public double getP999Millis() {
+    return this.p999Nanos / 1000000d;
+  }
+
+  /**
+   * # maior valor registrado, em nanosegundos.
+   *
+   * @return the maior valor registrado, em nanosegundos
+   */
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * # mediana dos valores registrados, em nanosegundos.
+   *
+   * @return the mediana dos valores registrados, em nanosegundos
+   */
+  public long getP50Nanos() {
+    return p50Nanos;
+  }
+
+  /**
+   * # percentil 99 dos valores registrados, em nanosegundos.
+   *
+   * @return the percentil 99 dos valores registrados, em nanosegundos
+   */
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms", this.count, getMeanMillis(), getP50Millis(), getP90Millis(), getP99Millis(), getP999Millis(), getMaxMillis());
+  }
+}
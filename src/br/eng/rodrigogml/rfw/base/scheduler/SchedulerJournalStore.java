@@ -0,0 +1,526 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerStore;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Implementação padrão do {@link SchedulerStore}, que registra as transições das tarefas em um arquivo local de journal (somente escrita no fim do arquivo).<br>
+ * O arquivo é mapeado em memória ({@link MappedByteBuffer}), de forma que cada registro é apenas uma cópia de bytes para a memória, sem chamada de sistema. Os dados escritos no mapeamento pertencem ao sistema operacional e sobrevivem à queda da JVM. Para sobreviver também à queda do sistema operacional utilize o {@link #force()}.<br>
+ * <br>
+ * Cada registro é gravado com seu tamanho e CRC, e o tamanho é escrito por último. Desta forma um registro interrompido pela queda da JVM é identificado na abertura do arquivo e descartado, junto com o que houver depois dele.<br>
+ * O estado de todas as tarefas é mantido também em memória, e quando o arquivo ultrapassa o limite definido ele é compactado: reescrito com apenas o último estado de cada tarefa.<br>
+ * <br>
+ * A recuperação é uma única leitura sequencial do arquivo feita na abertura, independente da quantidade de tarefas e execuções registradas.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerJournalStore implements SchedulerStore {
+
+  /**
+   * Identificador do arquivo de journal do Scheduler ("RFWS").
+   */
+  private static final int MAGIC = 0x52465753;
+
+  /**
+   * Versão do formato do arquivo.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * Tamanho do cabeçalho do arquivo: MAGIC + VERSION.
+   */
+  private static final int HEADER_SIZE = 8;
+
+  /**
+   * Tamanho do cabeçalho de cada registro: tamanho + CRC.
+   */
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  /**
+   * Tamanho inicial do mapeamento do arquivo. O mapeamento é dobrado sempre que o espaço acaba.
+   */
+  private static final int INITIAL_CAPACITY = 1024 * 1024;
+
+  /**
+   * Limite padrão do tamanho do arquivo antes da compactação.
+   */
+  private static final long DEFAULT_COMPACT_THRESHOLD = 64 * 1024 * 1024;
+
+  /**
+   * Valor gravado no lugar das datas nulas.
+   */
+  private static final long NULL_TIME = Long.MIN_VALUE;
+
+  private static final byte TYPE_SCHEDULED = 1;
+
+  private static final byte TYPE_STARTED = 2;
+
+  private static final byte TYPE_FINISHED = 3;
+
+  /**
+   * Arquivo do journal.
+   */
+  private final File file;
+
+  /**
+   * Tamanho do arquivo que dispara a compactação.
+   */
+  private long compactThreshold;
+
+  /**
+   * Último estado de cada tarefa, indexado pelo ID da tarefa.
+   */
+  private final HashMap<Long, SchedulerTaskState> states = new HashMap<>();
+
+  private FileChannel channel = null;
+
+  private MappedByteBuffer mapped = null;
+
+  /**
+   * Posição no arquivo onde o próximo registro será escrito.
+   */
+  private int position = 0;
+
+  /**
+   * Buffer reutilizado para montar os registros antes de copia-los para o arquivo.
+   */
+  private ByteBuffer recordBuffer = ByteBuffer.allocate(1024);
+
+  private final CRC32 crc = new CRC32();
+
+  /**
+   * Abre (ou cria) o journal no arquivo informado, recuperando o estado das tarefas nele registrado.
+   *
+   * @param file Arquivo do journal.
+   * @throws RFWException
+   */
+  public SchedulerJournalStore(File file) throws RFWException {
+    this(file, DEFAULT_COMPACT_THRESHOLD);
+  }
+
+  /**
+   * Abre (ou cria) o journal no arquivo informado, recuperando o estado das tarefas nele registrado.
+   *
+   * @param file Arquivo do journal.
+   * @param compactThreshold Tamanho em bytes do arquivo a partir do qual ele é compactado.
+   * @throws RFWException
+   */
+  public SchedulerJournalStore(File file, long compactThreshold) throws RFWException {
+    if (compactThreshold <= 0 || compactThreshold > Integer.MAX_VALUE) throw new RFWCriticalException("O limite de compactação do journal do Scheduler deve ser maior que zero e menor que 2GB!");
+    this.file = file;
+    this.compactThreshold = compactThreshold;
+    open();
+  }
+
+  @Override
+  public synchronized void scheduled(SchedulerTask task, LocalDateTime scheduleTime) throws RFWException {
+    append(TYPE_SCHEDULED, task.getId(), scheduleTime, null, null);
+  }
+
+  @Override
+  public synchronized void started(SchedulerTask task, LocalDateTime scheduleTime, LocalDateTime startTime) throws RFWException {
+    append(TYPE_STARTED, task.getId(), scheduleTime, startTime, null);
+  }
+
+  @Override
+  public synchronized void finished(SchedulerTask task, LocalDateTime scheduleTime, LocalDateTime endTime, Map<String, String> properties) throws RFWException {
+    append(TYPE_FINISHED, task.getId(), scheduleTime, endTime, properties);
+  }
+
+  @Override
+  public synchronized Map<Long, SchedulerTaskState> recover() throws RFWException {
+    final HashMap<Long, SchedulerTaskState> copy = new HashMap<>(this.states.size() * 4 / 3 + 1);
+    for (SchedulerTaskState state : this.states.values()) {
+      copy.put(state.getId(), copyState(state));
+    }
+    return copy;
+  }
+
+  /**
+   * Força a gravação em disco de todos os registros feitos até o momento, garantindo que sobrevivam também à queda do sistema operacional.
+   *
+   * @throws RFWException
+   */
+  public synchronized void force() throws RFWException {
+    checkOpen();
+    this.mapped.force();
+  }
+
+  /**
+   * Reescreve o arquivo com apenas o último estado de cada tarefa, descartando o histórico de transições.<br>
+   * Chamado automaticamente quando o arquivo ultrapassa o limite de compactação.<br>
+   * <br>
+   * A compactação é feita no próprio arquivo, sem substitui-lo, pois o arquivo mapeado não pode ser substituído em alguns sistemas (como o Windows) enquanto o mapeamento existir. Para sobreviver à queda durante a
+   * cópia, o conteúdo compactado é antes gravado no arquivo {@link #getCompactFile()}, que é refeito na próxima abertura caso a cópia não tenha sido concluída.<br>
+   * Em caso de falha o limite de compactação é aumentado, para que a compactação não seja tentada novamente a cada registro.
+   *
+   * @throws RFWException
+   */
+  public synchronized void compact() throws RFWException {
+    checkOpen();
+    final byte[] image;
+    try {
+      image = buildCompactImage();
+      ensureCapacity(image.length + RECORD_HEADER_SIZE);
+      final File tmp = new File(this.file.getPath() + ".compact.tmp");
+      try {
+        try (FileChannel out = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+          final ByteBuffer buffer = ByteBuffer.wrap(image);
+          while (buffer.hasRemaining()) {
+            out.write(buffer);
+          }
+          out.force(true);
+        }
+        // A partir daqui a compactação está confirmada: se a cópia abaixo for interrompida ela é refeita na abertura
+        Files.move(tmp.toPath(), getCompactFile().toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+        tmp.delete();
+        throw new RFWCriticalException("Falha ao compactar o journal do Scheduler '${0}'.", new String[] { this.file.getPath() }, e);
+      }
+    } catch (RFWException e) {
+      this.compactThreshold = Math.min(Integer.MAX_VALUE, this.compactThreshold * 2);
+      throw e;
+    }
+
+    copyCompactImage(image, this.position);
+    this.mapped.force();
+    this.position = image.length;
+    if (!getCompactFile().delete()) RFWLogger.logImprovement("Não foi possível apagar o arquivo '" + getCompactFile().getPath() + "'. Ele será descartado na próxima abertura do journal.");
+
+    // Se mesmo compactado o arquivo continua perto do limite, aumentamos o limite para não compactar a cada novo registro
+    if (this.position > this.compactThreshold / 2) this.compactThreshold = Math.min(Integer.MAX_VALUE, this.compactThreshold * 2);
+  }
+
+  /**
+   * Monta o conteúdo do arquivo compactado: o cabeçalho e, para cada tarefa, a sequência de registros que reproduz o seu estado na leitura.
+   */
+  private byte[] buildCompactImage() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(HEADER_SIZE, this.position / 2));
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(VERSION);
+    out.write(header.array(), 0, HEADER_SIZE);
+    for (SchedulerTaskState state : this.states.values()) {
+      if (state.getLastExecution() != null || state.getProperties() != null) writeRecord(out, TYPE_FINISHED, state.getId(), state.getLastExecutionScheduleTime(), state.getLastExecution(), state.getProperties());
+      if (state.getScheduleTime() != null) writeRecord(out, TYPE_SCHEDULED, state.getId(), state.getScheduleTime(), null, null);
+      if (state.isRunning()) writeRecord(out, TYPE_STARTED, state.getId(), state.getScheduleTime(), state.getLastStartTime(), null);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Copia o conteúdo compactado para o início do arquivo mapeado e zera o restante dos registros antigos, até a posição informada.<br>
+   * O restante é zerado antes da cópia: se o início do arquivo já é igual ao conteúdo compactado não há registros antigos depois dele.
+   */
+  private void copyCompactImage(byte[] image, int end) {
+    for (int i = image.length; i < end; i++) {
+      this.mapped.put(i, (byte) 0);
+    }
+    final ByteBuffer target = this.mapped.duplicate();
+    target.position(0);
+    target.put(image);
+  }
+
+  /**
+   * Refaz a compactação interrompida: caso exista o arquivo da compactação e o journal ainda não comece pelo seu conteúdo, a cópia não foi concluída e é refeita.
+   */
+  private void recoverCompaction() throws IOException, RFWException {
+    final File compactFile = getCompactFile();
+    new File(this.file.getPath() + ".compact.tmp").delete(); // Compactação não confirmada, o journal original continua válido
+    if (!compactFile.exists()) return;
+
+    final byte[] image = Files.readAllBytes(compactFile.toPath());
+    ensureCapacity(image.length + RECORD_HEADER_SIZE);
+    boolean copied = true;
+    for (int i = 0; i < image.length && copied; i++) {
+      copied = this.mapped.get(i) == image[i];
+    }
+    if (!copied) {
+      RFWLogger.logImprovement("A compactação do journal do Scheduler '" + this.file.getPath() + "' foi interrompida e foi refeita na abertura.");
+      copyCompactImage(image, this.mapped.capacity());
+      this.mapped.force();
+    }
+    if (!compactFile.delete()) RFWLogger.logImprovement("Não foi possível apagar o arquivo '" + compactFile.getPath() + "'.");
+  }
+
+  /**
+   * # arquivo com o conteúdo da compactação confirmada, mantido até que a cópia para o journal seja concluída.
+   *
+   * @return the arquivo com o conteúdo da compactação
+   */
+  private File getCompactFile() {
+    return new File(this.file.getPath() + ".compact");
+  }
+
+  /**
+   * Fecha o arquivo do journal. Depois de fechado nenhum registro é aceito.
+   *
+   * @throws RFWException
+   */
+  public synchronized void close() throws RFWException {
+    if (this.channel != null) {
+      try {
+        this.mapped.force();
+        this.channel.close();
+      } catch (IOException e) {
+        throw new RFWCriticalException("Falha ao fechar o journal do Scheduler '${0}'.", new String[] { this.file.getPath() }, e);
+      } finally {
+        this.channel = null;
+        this.mapped = null;
+      }
+    }
+  }
+
+  /**
+   * Abre e mapeia o arquivo, lendo todos os registros válidos para reconstruir o estado das tarefas.
+   */
+  private void open() throws RFWException {
+    try {
+      this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      final long size = this.channel.size();
+      if (size > Integer.MAX_VALUE) throw new RFWCriticalException("O journal do Scheduler '${0}' é maior que 2GB!", new String[] { this.file.getPath() });
+      this.mapped = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(INITIAL_CAPACITY, size));
+      this.states.clear();
+      recoverCompaction();
+
+      if (size < HEADER_SIZE || this.mapped.getInt(0) == 0) {
+        this.mapped.putInt(0, MAGIC);
+        this.mapped.putInt(4, VERSION);
+        this.position = HEADER_SIZE;
+      } else {
+        if (this.mapped.getInt(0) != MAGIC || this.mapped.getInt(4) != VERSION) throw new RFWCriticalException("O arquivo '${0}' não é um journal do Scheduler válido!", new String[] { this.file.getPath() });
+        this.position = scan();
+      }
+    } catch (IOException e) {
+      throw new RFWCriticalException("Falha ao abrir o journal do Scheduler '${0}'.", new String[] { this.file.getPath() }, e);
+    }
+  }
+
+  /**
+   * Lê os registros a partir do cabeçalho até encontrar o fim do arquivo, ou um registro incompleto ou corrompido.
+   *
+   * @return Posição do fim dos registros válidos.
+   */
+  private int scan() {
+    final ByteBuffer buffer = this.mapped.duplicate();
+    final int limit = buffer.capacity();
+    int pos = HEADER_SIZE;
+    while (pos + RECORD_HEADER_SIZE <= limit) {
+      final int length = buffer.getInt(pos);
+      if (length == 0) return pos; // Fim normal dos registros
+      if (length < 0 || length > limit - pos - RECORD_HEADER_SIZE) break;
+
+      buffer.limit(pos + RECORD_HEADER_SIZE + length).position(pos + RECORD_HEADER_SIZE);
+      this.crc.reset();
+      this.crc.update(buffer);
+      buffer.limit(limit);
+      if ((int) this.crc.getValue() != buffer.getInt(pos + 4)) break;
+
+      buffer.position(pos + RECORD_HEADER_SIZE);
+      final byte type = buffer.get();
+      final long id = buffer.getLong();
+      final LocalDateTime time1 = readTime(buffer.getLong());
+      final LocalDateTime time2 = readTime(buffer.getLong());
+      final Map<String, String> properties = readProperties(buffer);
+      apply(type, id, time1, time2, properties);
+      pos += RECORD_HEADER_SIZE + length;
+    }
+    if (pos + RECORD_HEADER_SIZE > limit) return pos; // Registros até o fim do arquivo, não há nada corrompido
+    // Registro interrompido ou corrompido: descartamos o restante do arquivo para que os próximos registros não fiquem misturados com os restos dele
+    RFWLogger.logImprovement("O journal do Scheduler '" + this.file.getPath() + "' tem um registro incompleto na posição " + pos + ". Os registros a partir dele foram descartados.");
+    for (int i = pos; i < limit; i++) {
+      this.mapped.put(i, (byte) 0);
+    }
+    return pos;
+  }
+
+  private void append(byte type, Long id, LocalDateTime time1, LocalDateTime time2, Map<String, String> properties) throws RFWException {
+    checkOpen();
+    final ByteBuffer record = encode(type, id, time1, time2, properties);
+    final int length = record.remaining() - RECORD_HEADER_SIZE;
+    ensureCapacity(this.position + record.remaining() + RECORD_HEADER_SIZE); // Sempre deixamos espaço para o tamanho zerado que marca o fim dos registros
+
+    // O tamanho é escrito por último: até que seja escrito o registro não existe para a leitura
+    record.position(4);
+    final ByteBuffer target = this.mapped.duplicate();
+    target.position(this.position + 4);
+    target.put(record);
+    this.mapped.putInt(this.position, length);
+    this.position += RECORD_HEADER_SIZE + length;
+
+    apply(type, id, time1, time2, properties);
+    if (this.position > this.compactThreshold) {
+      try {
+        compact();
+      } catch (RFWException e) {
+        // O registro já foi gravado, a falha da compactação não deve ser informada como falha do registro
+        RFWLogger.logException(e);
+      }
+    }
+  }
+
+  /**
+   * Monta o registro completo (tamanho, CRC e conteúdo) no {@link #recordBuffer}.
+   */
+  private ByteBuffer encode(byte type, Long id, LocalDateTime time1, LocalDateTime time2, Map<String, String> properties) {
+    int size = RECORD_HEADER_SIZE + 1 + 8 + 8 + 8 + 4;
+    byte[][] encoded = null;
+    if (properties != null) {
+      encoded = new byte[properties.size() * 2][];
+      int i = 0;
+      for (Entry<String, String> entry : properties.entrySet()) {
+        encoded[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        encoded[i + 1] = entry.getValue() == null ? null : entry.getValue().getBytes(StandardCharsets.UTF_8);
+        size += 8 + encoded[i].length + (encoded[i + 1] == null ? 0 : encoded[i + 1].length);
+        i += 2;
+      }
+    }
+    if (this.recordBuffer.capacity() < size) this.recordBuffer = ByteBuffer.allocate(Math.max(size, this.recordBuffer.capacity() * 2));
+
+    final ByteBuffer buffer = this.recordBuffer;
+    buffer.clear();
+    buffer.putInt(size - RECORD_HEADER_SIZE);
+    buffer.putInt(0); // CRC, preenchido depois do conteúdo
+    buffer.put(type);
+    buffer.putLong(id);
+    buffer.putLong(writeTime(time1));
+    buffer.putLong(writeTime(time2));
+    if (encoded == null) {
+      buffer.putInt(-1);
+    } else {
+      buffer.putInt(encoded.length / 2);
+      for (byte[] bytes : encoded) {
+        if (bytes == null) {
+          buffer.putInt(-1);
+        } else {
+          buffer.putInt(bytes.length);
+          buffer.put(bytes);
+        }
+      }
+    }
+    buffer.flip();
+
+    buffer.position(RECORD_HEADER_SIZE);
+    this.crc.reset();
+    this.crc.update(buffer);
+    buffer.putInt(4, (int) this.crc.getValue());
+    buffer.position(0);
+    return buffer;
+  }
+
+  private void writeRecord(ByteArrayOutputStream out, byte type, Long id, LocalDateTime time1, LocalDateTime time2, Map<String, String> properties) {
+    final ByteBuffer record = encode(type, id, time1, time2, properties);
+    out.write(record.array(), 0, record.remaining());
+  }
+
+  /**
+   * Aplica um registro ao estado em memória da tarefa.
+   */
+  private void apply(byte type, long id, LocalDateTime time1, LocalDateTime time2, Map<String, String> properties) {
+    SchedulerTaskState state = this.states.get(id);
+    if (state == null) {
+      state = new SchedulerTaskState();
+      state.setId(id);
+      this.states.put(id, state);
+    }
+    switch (type) {
+      case TYPE_SCHEDULED:
+        state.setScheduleTime(time1);
+        break;
+      case TYPE_STARTED:
+        state.setScheduleTime(time1);
+        state.setLastStartTime(time2);
+        state.setRunning(true);
+        break;
+      case TYPE_FINISHED:
+        state.setLastExecutionScheduleTime(time1);
+        state.setLastExecution(time2);
+        state.setRunning(false);
+        // Copiamos as propriedades pois o Map recebido é o mesmo objeto que a tarefa continua utilizando
+        if (properties != null) state.setProperties(new LinkedHashMap<>(properties));
+        break;
+    }
+  }
+
+  private void ensureCapacity(int required) throws RFWException {
+    if (required > this.mapped.capacity()) {
+      long capacity = this.mapped.capacity();
+      while (capacity < required) {
+        capacity *= 2;
+      }
+      capacity = Math.min(capacity, Integer.MAX_VALUE);
+      if (capacity < required) throw new RFWCriticalException("O journal do Scheduler '${0}' atingiu o tamanho máximo!", new String[] { this.file.getPath() });
+      try {
+        this.mapped = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+      } catch (IOException e) {
+        throw new RFWCriticalException("Falha ao aumentar o journal do Scheduler '${0}'.", new String[] { this.file.getPath() }, e);
+      }
+    }
+  }
+
+  private void checkOpen() throws RFWException {
+    if (this.channel == null) throw new RFWCriticalException("O journal do Scheduler '${0}' está fechado!", new String[] { this.file.getPath() });
+  }
+
+  private static Map<String, String> readProperties(ByteBuffer buffer) {
+    final int count = buffer.getInt();
+    if (count < 0) return null;
+    final LinkedHashMap<String, String> properties = new LinkedHashMap<>(count * 4 / 3 + 1);
+    for (int i = 0; i < count; i++) {
+      properties.put(readString(buffer), readString(buffer));
+    }
+    return properties;
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    final int length = buffer.getInt();
+    if (length < 0) return null;
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static long writeTime(LocalDateTime time) {
+    if (time == null) return NULL_TIME;
+    // O fuso é irrelevante, apenas converte a data em um número para gravação
+    return time.toEpochSecond(ZoneOffset.UTC) * 1000000000L + time.getNano();
+  }
+
+  private static LocalDateTime readTime(long value) {
+    if (value == NULL_TIME) return null;
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1000000000L), (int) Math.floorMod(value, 1000000000L), ZoneOffset.UTC);
+  }
+
+  private static SchedulerTaskState copyState(SchedulerTaskState state) {
+    final SchedulerTaskState copy = new SchedulerTaskState();
+    copy.setId(state.getId());
+    copy.setScheduleTime(state.getScheduleTime());
+    copy.setLastStartTime(state.getLastStartTime());
+    copy.setRunning(state.isRunning());
+    copy.setLastExecution(state.getLastExecution());
+    copy.setLastExecutionScheduleTime(state.getLastExecutionScheduleTime());
+    if (state.getProperties() != null) copy.setProperties(new LinkedHashMap<>(state.getProperties()));
+    return copy;
+  }
+}
@@ -0,0 +1,93 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+
+/**
+ * Description: Métricas de execução das tarefas do Scheduler, separadas por classe de tarefa ({@link SchedulerTask#getTaskClass()}).<br>
+ * Para cada classe são registrados o atraso entre o horário agendado e o início real da execução, o tempo de execução e a quantidade de execuções e falhas. O registro é feito pelo {@link SchedulerTaskTiming} ao fim de cada execução e não aloca objetos depois que a classe já tem suas métricas criadas.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SchedulerMetrics {
+
+  /**
+   * Métricas de cada classe de tarefa.
+   */
+  private static final ConcurrentHashMap<String, TaskClassMetrics> classMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private SchedulerMetrics() {
+  }
+
+  /**
+   * Registra uma execução de tarefa.
+   *
+   * @param taskClass Classe da tarefa.
+   * @param scheduleTime Horário agendado da execução, ou null caso seja uma execução forçada (o atraso não é registrado).
+   * @param startTime Horário de início da execução.
+   * @param durationNanos Tempo de execução em nanosegundos.
+   * @param failed Indica se a execução terminou com erro.
+   */
+  static void record(String taskClass, LocalDateTime scheduleTime, LocalDateTime startTime, long durationNanos, boolean failed) {
+    TaskClassMetrics metrics = classMetrics.get(taskClass);
+    if (metrics == null) metrics = classMetrics.computeIfAbsent(taskClass, k -> new TaskClassMetrics());
+    metrics.executions.increment();
+    if (failed) metrics.failures.increment();
+    if (scheduleTime != null) metrics.lag.record(nanosBetween(scheduleTime, startTime));
+    metrics.duration.record(durationNanos);
+  }
+
+  /**
+   * Cria uma cópia das métricas de todas as classes de tarefa já executadas.
+   *
+   * @return Lista com as métricas de cada classe.
+   */
+  static List<SchedulerTaskStatistics> getStatistics() {
+    final ArrayList<SchedulerTaskStatistics> list = new ArrayList<>();
+    for (Entry<String, TaskClassMetrics> entry : classMetrics.entrySet()) {
+      final TaskClassMetrics metrics = entry.getValue();
+      list.add(new SchedulerTaskStatistics(entry.getKey(), metrics.executions.sum(), metrics.failures.sum(), metrics.lag.snapshot(), metrics.duration.snapshot()));
+    }
+    return list;
+  }
+
+  /**
+   * Descarta as métricas de todas as classes.
+   */
+  static void reset() {
+    classMetrics.clear();
+  }
+
+  /**
+   * Diferença em nanosegundos entre dois horários, sem a criação de objetos intermediários como o {@link java.time.Duration}.
+   */
+  private static long nanosBetween(LocalDateTime from, LocalDateTime to) {
+    return (to.toEpochSecond(ZoneOffset.UTC) - from.toEpochSecond(ZoneOffset.UTC)) * 1000000000L + (to.getNano() - from.getNano());
+  }
+
+  /**
+   * Métricas de uma classe de tarefa.
+   */
+  private static class TaskClassMetrics {
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final SchedulerHistogram lag = new SchedulerHistogram();
+
+    private final SchedulerHistogram duration = new SchedulerHistogram();
+
+  }
+}
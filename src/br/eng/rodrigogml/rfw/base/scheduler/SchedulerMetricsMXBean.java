@@ -0,0 +1,54 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.util.List;
+
+/**
+ * Description: Interface JMX das métricas do Scheduler, registrada em {@link SchedulerController#registerMBean()}.<br>
+ * Permite acompanhar as execuções por ferramentas como o JConsole e o VisualVM, sem alterar a aplicação.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public interface SchedulerMetricsMXBean {
+
+  /**
+   * Recupera a quantidade de tarefas atualmente agendadas.
+   *
+   * @return Quantidade de tarefas agendadas.
+   */
+  public int getScheduledTasks();
+
+  /**
+   * Recupera a quantidade total de execuções de todas as classes de tarefa.
+   *
+   * @return Quantidade total de execuções.
+   */
+  public long getExecutions();
+
+  /**
+   * Recupera a quantidade total de execuções que terminaram com erro.
+   *
+   * @return Quantidade total de falhas.
+   */
+  public long getFailures();
+
+  /**
+   * Recupera as métricas de execução de cada classe de tarefa. Veja {@link SchedulerController#getTaskStatistics()}.
+   *
+   * @return Métricas de cada classe de tarefa.
+   */
+  public List<SchedulerTaskStatistics> getTaskStatistics();
+
+  /**
+   * Recupera as métricas da fila de execução de cada classe de tarefa. Veja {@link SchedulerController#getQueueStatistics()}.
+   *
+   * @return Métricas da fila de cada classe de tarefa.
+   */
+  public List<SchedulerQueueStatistics> getQueueStatistics();
+
+  /**
+   * Descarta as métricas de execução acumuladas. Veja {@link SchedulerController#resetTaskStatistics()}.
+   */
+  public void resetTaskStatistics();
+
+}
@@ -0,0 +1,143 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.Serializable;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+
+/**
+ * Description: Bean com as métricas da fila de execução de uma classe de tarefa do Scheduler.<br>
+ * É uma cópia dos valores no momento em que foi solicitada em {@link SchedulerController#getQueueStatistics()}, não é atualizada com as execuções seguintes.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerQueueStatistics implements Serializable {
+
+  private static final long serialVersionUID = -2208613386327416425L;
+
+  /**
+   * Classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   */
+  private final String taskClass;
+
+  /**
+   * Limite de execuções simultâneas da classe. Null se a classe não tiver limite próprio.
+   */
+  private final Integer maxConcurrentExecutions;
+
+  /**
+   * Quantidade de tarefas aguardando na fila.
+   */
+  private final int queued;
+
+  /**
+   * Quantidade de tarefas em execução.
+   */
+  private final int running;
+
+  /**
+   * Quantidade de tarefas que já saíram da fila para execução.
+   */
+  private final long executions;
+
+  /**
+   * Soma do tempo de espera na fila, em nanosegundos, de todas as tarefas que já saíram da fila.
+   */
+  private final long totalQueueWaitNanos;
+
+  /**
+   * Maior tempo de espera na fila, em nanosegundos.
+   */
+  private final long maxQueueWaitNanos;
+
+  SchedulerQueueStatistics(String taskClass, Integer maxConcurrentExecutions, int queued, int running, long executions, long totalQueueWaitNanos, long maxQueueWaitNanos) {
+    this.taskClass = taskClass;
+    this.maxConcurrentExecutions = maxConcurrentExecutions;
+    this.queued = queued;
+    this.running = running;
+    this.executions = executions;
+    this.totalQueueWaitNanos = totalQueueWaitNanos;
+    this.maxQueueWaitNanos = maxQueueWaitNanos;
+  }
+
+  /**
+   * Calcula o tempo médio de espera na fila.
+   *
+   * @return Tempo médio de espera na fila em milisegundos, ou zero caso nenhuma tarefa tenha saído da fila.
+   */
+  public double getAverageQueueWaitMillis() {
+    return this.executions == 0 ? 0 : this.totalQueueWaitNanos / 1000000d / this.executions;
+  }
+
+  /**
+   * Recupera o maior tempo de espera na fila.
+   *
+   * @return Maior tempo de espera na fila em milisegundos.
+   */
+  public double getMaxQueueWaitMillis() {
+    return this.maxQueueWaitNanos / 1000000d;
+  }
+
+  /**
+   * # classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   *
+   * @return the classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}
+   */
+  public String getTaskClass() {
+    return taskClass;
+  }
+
+  /**
+   * # limite de execuções simultâneas da classe. Null se a classe não tiver limite próprio.
+   *
+   * @return the limite de execuções simultâneas da classe
+   */
+  public Integer getMaxConcurrentExecutions() {
+    return maxConcurrentExecutions;
+  }
+
+  /**
+   * # quantidade de tarefas aguardando na fila.
+   *
+   * @return the quantidade de tarefas aguardando na fila
+   */
+  public int getQueued() {
+    return queued;
+  }
+
+  /**
+   * # quantidade de tarefas em execução.
+   *
+   * @return the quantidade de tarefas em execução
+   */
+  public int getRunning() {
+    return running;
+  }
+
+  /**
+   * # quantidade de tarefas que já saíram da fila para execução.
+   *
+   * @return the quantidade de tarefas que já saíram da fila para execução
+   */
+  public long getExecutions() {
+    return executions;
+  }
+
+  /**
+   * # soma do tempo de espera na fila, em nanosegundos, de todas as tarefas que já saíram da fila.
+   *
+   * @return the soma do tempo de espera na fila, em nanosegundos
+   */
+  public long getTotalQueueWaitNanos() {
+    return totalQueueWaitNanos;
+  }
+
+  /**
+   * # maior tempo de espera na fila, em nanosegundos.
+   *
+   * @return the maior tempo de espera na fila, em nanosegundos
+   */
+  public long getMaxQueueWaitNanos() {
+    return maxQueueWaitNanos;
+  }
+}
@@ -0,0 +1,122 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import br.eng.rodrigogml.rfw.base.scheduler.annotations.SchedulerSingleton;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerRunnable;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+
+/**
+ * Description: Fábrica das instâncias de {@link SchedulerRunnable} executadas pelo Scheduler.<br>
+ * Como a cada execução um novo {@link SchedulerTaskTiming} é criado, antes a classe da tarefa era carregada e instanciada por reflexão em todas as execuções. Esta fábrica resolve cada classe uma única vez e mantém em cache um {@link MethodHandle} para o seu construtor, ou a própria instância no caso das classes marcadas com {@link SchedulerSingleton}.<br>
+ * O cache fica associado à própria classe da tarefa ({@link ClassValue}), assim não impede que as classes e o seu ClassLoader sejam descarregados em um redeploy.<br>
+ * <br>
+ * Falhas ao carregar a classe ou ao criar a instância única não são mantidas em cache, assim uma classe disponibilizada depois é resolvida na próxima execução.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SchedulerRunnableFactory {
+
+  /**
+   * Tipo do construtor sem argumentos, já adaptado para retornar a interface. Permite o uso do {@link MethodHandle#invokeExact(Object...)}.
+   */
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(SchedulerRunnable.class);
+
+  /**
+   * Cache das fábricas, associadas à classe da tarefa.<br>
+   * O {@link ClassValue#computeValue(Class)} não é chamado com lock, no pior caso duas Threads resolvem a mesma classe e apenas um dos resultados é mantido. Por isso a instância das classes {@link SchedulerSingleton} é criada apenas no primeiro uso da fábrica já armazenada.
+   */
+  private static final ClassValue<Factory> factories = new ClassValue<Factory>() {
+    @Override
+    protected Factory computeValue(Class<?> type) {
+      return createFactory(type);
+    }
+  };
+
+  /**
+   * Construtor privado para classe estática.
+   */
+  private SchedulerRunnableFactory() {
+  }
+
+  /**
+   * Recupera a instância a ser executada de uma classe de tarefa.
+   *
+   * @param taskClass Nome da classe que implementa {@link SchedulerRunnable}, conforme {@link SchedulerTask#getTaskClass()}.
+   * @return Nova instância da classe, ou a instância única caso a classe seja marcada com {@link SchedulerSingleton}.
+   * @throws RFWCriticalException Lançado caso a classe não seja encontrada, não implemente {@link SchedulerRunnable}, não tenha um construtor público sem argumentos ou falhe ao ser instanciada.
+   */
+  static SchedulerRunnable getInstance(String taskClass) throws RFWCriticalException {
+    final Class<?> clazz;
+    try {
+      clazz = SchedulerRunnableFactory.class.getClassLoader().loadClass(taskClass);
+    } catch (Throwable e) {
+      throw new RFWCriticalException("Erro ao executar tarefa agendada. Classe '${0}' não encontrada.", new String[] { taskClass }, e);
+    }
+    if (!SchedulerRunnable.class.isAssignableFrom(clazz)) throw new RFWCriticalException("Erro ao executar tarefa agendada. A classe '${0}' não implementa SchedulerRunnable.", new String[] { taskClass });
+    return factories.get(clazz).get();
+  }
+
+  private static Factory createFactory(Class<?> clazz) {
+    final String taskClass = clazz.getName();
+    final MethodHandle constructor;
+    try {
+      constructor = MethodHandles.publicLookup().findConstructor(clazz, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+    } catch (final Throwable e) {
+      // A classe não muda enquanto estiver carregada, então a falha é mantida junto com ela e informada a cada execução
+      return new Factory() {
+        @Override
+        public SchedulerRunnable get() throws RFWCriticalException {
+          throw new RFWCriticalException("Erro ao executar tarefa agendada. A classe '${0}' não tem um construtor público sem argumentos.", new String[] { taskClass }, e);
+        }
+      };
+    }
+
+    if (clazz.isAnnotationPresent(SchedulerSingleton.class)) {
+      return new Factory() {
+        private volatile SchedulerRunnable instance = null;
+
+        @Override
+        public SchedulerRunnable get() throws RFWCriticalException {
+          SchedulerRunnable runnable = this.instance;
+          if (runnable == null) {
+            synchronized (this) {
+              runnable = this.instance;
+              if (runnable == null) {
+                runnable = newInstance(constructor, taskClass);
+                this.instance = runnable;
+              }
+            }
+          }
+          return runnable;
+        }
+      };
+    } else {
+      return new Factory() {
+        @Override
+        public SchedulerRunnable get() throws RFWCriticalException {
+          return newInstance(constructor, taskClass);
+        }
+      };
+    }
+  }
+
+  private static SchedulerRunnable newInstance(MethodHandle constructor, String taskClass) throws RFWCriticalException {
+    try {
+      return (SchedulerRunnable) constructor.invokeExact();
+    } catch (Throwable e) {
+      throw new RFWCriticalException("Erro ao executar tarefa agendada. Falha ao instanciar a classe '${0}'.", new String[] { taskClass }, e);
+    }
+  }
+
+  /**
+   * Fábrica de instâncias de uma classe de tarefa já resolvida.
+   */
+  private static interface Factory {
+    SchedulerRunnable get() throws RFWCriticalException;
+  }
+}
@@ -0,0 +1,180 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerStore;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+
+/**
+ * Description: Último estado conhecido de uma tarefa do Scheduler, conforme registrado em um {@link SchedulerStore}.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerTaskState implements Serializable {
+
+  private static final long serialVersionUID = 2736520834011658245L;
+
+  /**
+   * ID da tarefa ({@link SchedulerTask#getId()}).
+   */
+  private Long id = null;
+
+  /**
+   * Último horário para o qual a tarefa foi agendada.
+   */
+  private LocalDateTime scheduleTime = null;
+
+  /**
+   * Horário em que a última execução começou.
+   */
+  private LocalDateTime lastStartTime = null;
+
+  /**
+   * Indica que a tarefa iniciou uma execução que não foi finalizada. Se verdadeiro na recuperação, a execução foi interrompida pela queda da JVM.
+   */
+  private boolean running = false;
+
+  /**
+   * Horário em que a última execução terminou.
+   */
+  private LocalDateTime lastExecution = null;
+
+  /**
+   * Horário para o qual a última execução terminada estava agendada.
+   */
+  private LocalDateTime lastExecutionScheduleTime = null;
+
+  /**
+   * Últimas propriedades retornadas pela execução da tarefa. Null caso a tarefa nunca tenha retornado propriedades.
+   */
+  private Map<String, String> properties = null;
+
+  /**
+   * # iD da tarefa ({@link SchedulerTask#getId()}).
+   *
+   * @return the iD da tarefa ({@link SchedulerTask#getId()})
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * # iD da tarefa ({@link SchedulerTask#getId()}).
+   *
+   * @param id the new iD da tarefa ({@link SchedulerTask#getId()})
+   */
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  /**
+   * # último horário para o qual a tarefa foi agendada.
+   *
+   * @return the último horário para o qual a tarefa foi agendada
+   */
+  public LocalDateTime getScheduleTime() {
+    return scheduleTime;
+  }
+
+  /**
+   * # último horário para o qual a tarefa foi agendada.
+   *
+   * @param scheduleTime the new último horário para o qual a tarefa foi agendada
+   */
+  public void setScheduleTime(LocalDateTime scheduleTime) {
+    this.scheduleTime = scheduleTime;
+  }
+
+  /**
+   * # horário em que a última execução começou.
+   *
+   * @return the horário em que a última execução começou
+   */
+  public LocalDateTime getLastStartTime() {
+    return lastStartTime;
+  }
+
+  /**
+   * # horário em que a última execução começou.
+   *
+   * @param lastStartTime the new horário em que a última execução começou
+   */
+  public void setLastStartTime(LocalDateTime lastStartTime) {
+    this.lastStartTime = lastStartTime;
+  }
+
+  /**
+   * # indica que a tarefa iniciou uma execução que não foi finalizada. Se verdadeiro na recuperação, a execução foi interrompida pela queda da JVM.
+   *
+   * @return the indica que a tarefa iniciou uma execução que não foi finalizada
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * # indica que a tarefa iniciou uma execução que não foi finalizada. Se verdadeiro na recuperação, a execução foi interrompida pela queda da JVM.
+   *
+   * @param running the new indica que a tarefa iniciou uma execução que não foi finalizada
+   */
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  /**
+   * # horário em que a última execução terminou.
+   *
+   * @return the horário em que a última execução terminou
+   */
+  public LocalDateTime getLastExecution() {
+    return lastExecution;
+  }
+
+  /**
+   * # horário em que a última execução terminou.
+   *
+   * @param lastExecution the new horário em que a última execução terminou
+   */
+  public void setLastExecution(LocalDateTime lastExecution) {
+    this.lastExecution = lastExecution;
+  }
+
+  /**
+   * # horário para o qual a última execução terminada estava agendada.
+   *
+   * @return the horário para o qual a última execução terminada estava agendada
+   */
+  public LocalDateTime getLastExecutionScheduleTime() {
+    return lastExecutionScheduleTime;
+  }
+
+  /**
+   * # horário para o qual a última execução terminada estava agendada.
+   *
+   * @param lastExecutionScheduleTime the new horário para o qual a última execução terminada estava agendada
+   */
+  public void setLastExecutionScheduleTime(LocalDateTime lastExecutionScheduleTime) {
+    this.lastExecutionScheduleTime = lastExecutionScheduleTime;
+  }
+
+  /**
+   * # últimas propriedades retornadas pela execução da tarefa. Null caso a tarefa nunca tenha retornado propriedades.
+   *
+   * @return the últimas propriedades retornadas pela execução da tarefa
+   */
+  public Map<String, String> getProperties() {
+    return properties;
+  }
+
+  /**
+   * # últimas propriedades retornadas pela execução da tarefa. Null caso a tarefa nunca tenha retornado propriedades.
+   *
+   * @param properties the new últimas propriedades retornadas pela execução da tarefa
+   */
+  public void setProperties(Map<String, String> properties) {
+    this.properties = properties;
+  }
+}
@@ -0,0 +1,100 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import java.io.Serializable;
+
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+
+/**
+ * Description: Bean com as métricas de execução de uma classe de tarefa do Scheduler.<br>
+ * É uma cópia dos valores no momento em que foi solicitada em {@link SchedulerController#getTaskStatistics()}, não é atualizada com as execuções seguintes.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public class SchedulerTaskStatistics implements Serializable {
+
+  private static final long serialVersionUID = -5518049512390877604L;
+
+  /**
+   * Classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   */
+  private final String taskClass;
+
+  /**
+   * Quantidade de execuções da classe, incluindo as que falharam.
+   */
+  private final long executions;
+
+  /**
+   * Quantidade de execuções que terminaram com erro.
+   */
+  private final long failures;
+
+  /**
+   * Atraso entre o horário agendado e o início real de cada execução. Inclui o tempo de espera na fila de execução. Execuções forçadas por {@link SchedulerController#executeTaskNow(Long)} não são consideradas.
+   */
+  private final SchedulerHistogramSnapshot lag;
+
+  /**
+   * Tempo de execução das tarefas.
+   */
+  private final SchedulerHistogramSnapshot duration;
+
+  SchedulerTaskStatistics(String taskClass, long executions, long failures, SchedulerHistogramSnapshot lag, SchedulerHistogramSnapshot duration) {
+    this.taskClass = taskClass;
+    this.executions = executions;
+    this.failures = failures;
+    this.lag = lag;
+    this.duration = duration;
+  }
+
+  /**
+   * # classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}.
+   *
+   * @return the classe da tarefa, conforme definido em {@link SchedulerTask#getTaskClass()}
+   */
+  public String getTaskClass() {
+    return taskClass;
+  }
+
+  /**
+   * # quantidade de execuções da classe, incluindo as que falharam.
+   *
+   * @return the quantidade de execuções da classe, incluindo as que falharam
+   */
+  public long getExecutions() {
+    return executions;
+  }
+
+  /**
+   * # quantidade de execuções que terminaram com erro.
+   *
+   * @return the quantidade de execuções que terminaram com erro
+   */
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * # atraso entre o horário agendado e o início real de cada execução. Inclui o tempo de espera na fila de execução. Execuções forçadas por {@link SchedulerController#executeTaskNow(Long)} não são consideradas.
+   *
+   * @return the atraso entre o horário agendado e o início real de cada execução
+   */
+  public SchedulerHistogramSnapshot getLag() {
+    return lag;
+  }
+
+  /**
+   * # tempo de execução das tarefas.
+   *
+   * @return the tempo de execução das tarefas
+   */
+  public SchedulerHistogramSnapshot getDuration() {
+    return duration;
+  }
+
+  @Override
+  public String toString() {
+    return this.taskClass + " executions=" + this.executions + " failures=" + this.failures + " lag=[" + this.lag + "] duration=[" + this.duration + "]";
+  }
+}
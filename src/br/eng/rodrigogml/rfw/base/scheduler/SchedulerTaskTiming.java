@@ -4,26 +4,26 @@
 package br.eng.rodrigogml.rfw.base.scheduler;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 
 import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerRunnable;
 import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
 import br.eng.rodrigogml.rfw.kernel.RFW;
 import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
 import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
-import br.eng.rodrigogml.rfw.kernel.utils.RUTypes;
 
 /**
- * Description: Esta classe serve para gerenciar execução da tarefa que está agendada pelo SchedulerController.
+ * Description: Esta classe serve para gerenciar execução da tarefa que está agendada pelo SchedulerController.<br>
+ * O disparo é feito pelo {@link SchedulerEngine}, compartilhado entre todas as tarefas, e não mais por um Timer (Thread) próprio. No horário da tarefa ela entra na fila de execução do motor, e é executada assim que houver uma Thread livre e o limite de execuções simultâneas da sua classe permitir.
  *
  * @author Rodrigo Leitão
  * @since 4.2.0 (27/10/2011)
  */
-public class SchedulerTaskTiming extends TimerTask implements Serializable {
+public class SchedulerTaskTiming implements Runnable, Serializable {
 
   private static final long serialVersionUID = -7972178243987860155L;
 
@@ -43,9 +43,9 @@ public class SchedulerTaskTiming extends TimerTask implements Serializable {
   }
 
   /**
-   * Timer criado para iniciar a tarefa no momento exato.
+   * Agendamento criado no {@link SchedulerEngine} para iniciar a tarefa no momento exato.
    */
-  private final Timer timer;
+  private transient ScheduledFuture<?> future = null;
 
   /**
    * Instância da task a ser executada.
@@ -60,17 +60,20 @@ public class SchedulerTaskTiming extends TimerTask implements Serializable {
   /**
    * Status atual da "operação".
    */
-  private TaskStatus status = TaskStatus.STOPED;
+  private volatile TaskStatus status = TaskStatus.STOPED;
 
   /**
    * Horário definido para próxima execução. Horário futuro enquanto o status for {@link TaskStatus#SCHEDULED}
    */
   private LocalDateTime lastScheduledTime = null;
 
+  /**
+   * Indica se a tarefa foi agendada para execução imediata, independente do {@link #lastScheduledTime}.
+   */
+  private boolean runNow = false;
+
   public SchedulerTaskTiming(SchedulerTask task) {
     this.schedulerTask = task;
-    String[] split = task.getTaskClass().split("\\.");
-    this.timer = new Timer("### SchedulerTaskTiming: " + split[split.length - 1]);
   }
 
   /**
@@ -100,19 +103,42 @@ public class SchedulerTaskTiming extends TimerTask implements Serializable {
   public synchronized void schedule(LocalDateTime time, boolean runNow) {
     this.status = TaskStatus.SCHEDULED;
     this.lastScheduledTime = time;
+    this.runNow = runNow;
     if (runNow) {
-      timer.schedule(this, 0);
+      this.future = scheduleOnEngine(0);
     } else {
-      timer.schedule(this, RUTypes.parseDate(time));
+      this.future = scheduleOnEngine(calcDelay(time));
     }
   }
 
   /**
-   * Este método só cancela o timer, não interrompe sua execução caso a atividade já esteja em execução.
+   * Agenda esta tarefa no {@link SchedulerEngine} com a classe e a prioridade da tarefa.
+   *
+   * @param delay tempo em milisegundos para esperar antes de colocar a tarefa na fila de execução.
+   * @return Agendamento criado no {@link SchedulerEngine}.
+   */
+  private ScheduledFuture<?> scheduleOnEngine(long delay) {
+    final Integer priority = this.schedulerTask.getPriority();
+    return SchedulerEngine.schedule(this, this.schedulerTask.getTaskClass(), priority == null ? 0 : priority, delay);
+  }
+
+  /**
+   * Calcula o tempo em milisegundos até o horário informado, arredondando para cima para que o disparo nunca ocorra antes do horário.
+   *
+   * @param time Data/Hora da execução.
+   * @return Tempo em milisegundos até o horário, ou um valor negativo/zero caso o horário já tenha passado.
+   */
+  private static long calcDelay(LocalDateTime time) {
+    long nanos = Duration.between(RFW.getDateTime(), time).toNanos();
+    return nanos <= 0 ? nanos : (nanos + 999999) / 1000000;
+  }
+
+  /**
+   * Este método só cancela o timer, não interrompe sua execução caso a atividade já esteja em execução.<br>
+   * Não aguarda a execução da tarefa terminar, a troca de status é imediata.
    */
   public synchronized void cancelTimer() {
-    this.cancel();
-    timer.cancel();
+    if (this.future != null) this.future.cancel(false);
     this.status = TaskStatus.STOPED;
   }
 
@@ -120,59 +146,93 @@ public class SchedulerTaskTiming extends TimerTask implements Serializable {
    * Método chamado quando chegar a hora da task ser executada.
    */
   @Override
-  public synchronized void run() {
+  public void run() {
     try {
-      if (TaskStatus.SCHEDULED.equals(this.status)) {
-        RFWLogger.logDebug("Executando tarefa do Scheduler ID:" + this.schedulerTask.getId() + " Class:" + this.schedulerTask.getTaskClass());
-        Throwable failEx = null;
-        try {
-          this.status = TaskStatus.RUNNING;
-          // Converte as propriedades para a interface da tarefa
-          Map<String, String> newProperties = getTask().runTask(this.schedulerTask.getProperties());
-          // Caso a Hash retornada não seja nula, significa que devemos salvar as novas propriedades
-          if (newProperties != null) {
-            this.schedulerTask.setProperties(newProperties);
+      // A troca de status é feita sincronizada, mas a execução da tarefa não. Assim o cancelamento/reagendamento por outras Threads não precisa aguardar a tarefa terminar.
+      synchronized (this) {
+        if (!TaskStatus.SCHEDULED.equals(this.status)) return;
+        // O disparo é contado pelo relógio monotônico do executor, que pode se adiantar alguns instantes em relação ao relógio do sistema. Se a tarefa executar antes do horário, ao recalcular a próxima execução o Scheduler encontraria o mesmo horário e executaria a tarefa de novo. Por isso aguardamos o restante do tempo.
+        if (!this.runNow) {
+          long delay = calcDelay(this.lastScheduledTime);
+          if (delay > 0) {
+            this.future = scheduleOnEngine(delay);
+            return;
           }
-        } catch (Throwable e) {
-          RFWLogger.logException(e);
-          failEx = e;
         }
+        this.status = TaskStatus.RUNNING;
+      }
 
+      // Em cluster, só executamos se este nó for o responsável pela tarefa e obtiver o lease da execução. As execuções forçadas (runNow) são sempre executadas no nó onde foram solicitadas.
+      final SchedulerCluster cluster = this.runNow ? null : SchedulerController.getCluster();
+      if (cluster != null && !cluster.acquire(this.schedulerTask, this.lastScheduledTime)) {
+        RFWLogger.logDebug("Tarefa do Scheduler ID:" + this.schedulerTask.getId() + " executada por outro nó do cluster.");
+        // Atualizamos a tarefa como se tivesse sido executada, a execução é responsabilidade de outro nó. Sem isso as regras de execução atrasada fariam o agendamento tentar executar a tarefa de novo.
+        this.schedulerTask.setLastExecution(RFW.getDateTime());
+        this.schedulerTask.setScheduleTime(this.lastScheduledTime);
+        SchedulerController.rescheduleTask(this);
         this.status = TaskStatus.STOPED;
-        this.schedulerTask.setLastExecution(RFW.getDateTime()); // SEMPRE salvamos a data em que a execução terminou, não confundir com a data de último agendamento (que não é salva em lugar nenhum). Dependendo do tipo de repetição (Se timed ou por periodo do calendário) será utilizada esta data ou a data original da primeira execução para o cálculo da repetição
-        this.schedulerTask.setScheduleTime(lastScheduledTime); // Atualiza a data de atualização (que agora é passada) para uma referência mais próxima. Caso contrário com o tempo a data ficará muito antiga e a cada processamento do agendamento teremos mais iterações para encontrar uma data futura (nas tarefas de repetição).
-
-        try {
-          if (failEx == null) {
-            SchedulerController.fireSuccessEvent(this.schedulerTask);
-          } else {
-            SchedulerController.fireFailEvent(this.schedulerTask, new RFWCriticalException("Erro ao executar a tarefa: '" + this.getSchedulerTask().getTaskClass() + "'", failEx));
-          }
-        } catch (Throwable e) {
-          // Se ocorrer algum erro logamos, mas deixamos a tarefa continuar sua programação
-          RFWLogger.logException(e);
+        return;
+      }
+
+      // Identificamos a Thread do pool com a tarefa enquanto ela executa, facilitando o Debug como era com os Timers nomeados
+      final Thread thread = Thread.currentThread();
+      final String threadName = thread.getName();
+      String[] split = this.schedulerTask.getTaskClass().split("\\.");
+      thread.setName(threadName + ": " + split[split.length - 1]);
+
+      RFWLogger.logDebug("Executando tarefa do Scheduler ID:" + this.schedulerTask.getId() + " Class:" + this.schedulerTask.getTaskClass());
+      final LocalDateTime startTime = RFW.getDateTime();
+      SchedulerController.storeStarted(this.schedulerTask, this.lastScheduledTime, startTime);
+      Throwable failEx = null;
+      Map<String, String> newProperties = null;
+      final long startNanos = System.nanoTime();
+      try {
+        // Converte as propriedades para a interface da tarefa
+        newProperties = getTask().runTask(this.schedulerTask.getProperties());
+        // Caso a Hash retornada não seja nula, significa que devemos salvar as novas propriedades
+        if (newProperties != null) {
+          this.schedulerTask.setProperties(newProperties);
         }
-        // Agora que a task terminou, processamos a task novamente, caso ela tenha repetição precisa ser reagendada
-        SchedulerController.processTask(this.schedulerTask, false);
+      } catch (Throwable e) {
+        RFWLogger.logException(e);
+        failEx = e;
+      } finally {
+        thread.setName(threadName);
       }
+      SchedulerMetrics.record(this.schedulerTask.getTaskClass(), this.runNow ? null : this.lastScheduledTime, startTime, System.nanoTime() - startNanos, failEx != null);
+
+      final LocalDateTime endTime = RFW.getDateTime();
+      this.schedulerTask.setLastExecution(endTime); // SEMPRE salvamos a data em que a execução terminou, não confundir com a data de último agendamento (que não é salva em lugar nenhum). Dependendo do tipo de repetição (Se timed ou por periodo do calendário) será utilizada esta data ou a data original da primeira execução para o cálculo da repetição
+      this.schedulerTask.setScheduleTime(lastScheduledTime); // Atualiza a data de atualização (que agora é passada) para uma referência mais próxima. Caso contrário com o tempo a data ficará muito antiga e a cada processamento do agendamento teremos mais iterações para encontrar uma data futura (nas tarefas de repetição).
+      SchedulerController.storeFinished(this.schedulerTask, this.lastScheduledTime, endTime, newProperties);
+      if (cluster != null) cluster.release(this.schedulerTask, this.lastScheduledTime);
+
+      try {
+        // Os listeners são chamados de forma assíncrona, aqui apenas enfileiramos o resultado para que a tarefa seja reagendada sem esperar por eles
+        RFWCriticalException resultEx = failEx == null ? null : new RFWCriticalException("Erro ao executar a tarefa: '" + this.getSchedulerTask().getTaskClass() + "'", failEx);
+        SchedulerController.fireExecutionEvent(new SchedulerExecutionResult(this.schedulerTask, this.lastScheduledTime, startTime, endTime, resultEx));
+      } catch (Throwable e) {
+        // Se ocorrer algum erro logamos, mas deixamos a tarefa continuar sua programação
+        RFWLogger.logException(e);
+      }
+      // Agora que a task terminou, processamos a task novamente, caso ela tenha repetição precisa ser reagendada. Se foi cancelada ou substituída durante a execução o SchedulerController descarta o reagendamento.
+      SchedulerController.rescheduleTask(this);
+      // Só trocamos o status depois do reagendamento, assim enquanto este agendamento estiver no registro do SchedulerController ele nunca aparece como parado
+      this.status = TaskStatus.STOPED;
     } catch (Throwable e) {
       RFWLogger.logException(e);
     }
   }
 
   /**
-   * # instância da task a ser executada.
+   * # instância da task a ser executada.<br>
+   * A instância é obtida pelo {@link SchedulerRunnableFactory}, que mantém em cache a resolução de cada classe de tarefa.
    *
    * @return the instância da task a ser executada
    */
   public SchedulerRunnable getTask() throws RFWCriticalException {
     if (this.task == null) {
-      try {
-        Class<?> clazz = SchedulerTaskTiming.class.getClassLoader().loadClass(this.schedulerTask.getTaskClass());
-        this.task = (SchedulerRunnable) clazz.getConstructor().newInstance();
-      } catch (Exception e) {
-        throw new RFWCriticalException("Erro ao executar tarefa agendada.", e);
-      }
+      this.task = SchedulerRunnableFactory.getInstance(this.schedulerTask.getTaskClass());
     }
     return this.task;
   }
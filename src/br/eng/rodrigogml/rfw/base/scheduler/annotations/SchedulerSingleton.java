@@ -0,0 +1,24 @@
+package br.eng.rodrigogml.rfw.base.scheduler.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerController;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerRunnable;
+
+/**
+ * Description: Annotation usada para declarar que uma implementação de {@link SchedulerRunnable} pode ser reutilizada entre as execuções.<br>
+ * Por padrão o Scheduler cria uma nova instância da classe a cada execução da tarefa. Classes com esta annotation são instanciadas uma única vez e a mesma instância é utilizada em todas as execuções, de todas as tarefas que a utilizem.<br>
+ * <br>
+ * <b>Atenção:</b> a mesma instância pode ser executada por várias Threads ao mesmo tempo (várias tarefas da mesma classe vencendo juntas). A classe não deve manter estado da execução em seus atributos, ou deve limitar suas execuções simultâneas a 1 em {@link SchedulerController#setMaxConcurrentExecutions(String, Integer)}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SchedulerSingleton {
+
+}
@@ -0,0 +1,24 @@
+package br.eng.rodrigogml.rfw.base.scheduler.interfaces;
+
+import java.util.List;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerExecutionResult;
+
+/**
+ * Description: Listener de eventos do Scheduler que recebe os resultados das execuções em lote.<br>
+ * Indicado para quem persiste o histórico de execuções, permitindo gravar vários resultados em uma única operação ao invés de uma operação por execução.<br>
+ * Assim como o {@link SchedulerListener}, é chamado fora da Thread de execução das tarefas, de forma que sua demora não atrasa a execução de nenhuma tarefa.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public interface SchedulerBatchListener {
+
+  /**
+   * Chamado com os resultados das execuções terminadas desde a última chamada, na ordem em que terminaram.
+   *
+   * @param results Lista com os resultados das execuções. Nunca vazia.
+   */
+  public void executed(List<SchedulerExecutionResult> results);
+
+}
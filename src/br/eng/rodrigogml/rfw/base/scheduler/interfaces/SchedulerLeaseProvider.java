@@ -0,0 +1,41 @@
+package br.eng.rodrigogml.rfw.base.scheduler.interfaces;
+
+import java.time.LocalDateTime;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerCluster;
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerFileLeaseProvider;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Interface do provedor de "leases" (concessões de execução) do Scheduler em cluster.<br>
+ * Antes de executar uma tarefa, o nó precisa obter o lease da execução (a tarefa em um determinado horário agendado). Só um nó do cluster pode obter o lease de cada execução, garantindo que a tarefa não seja executada em duplicidade mesmo que mais de um nó se considere responsável por ela (como durante a entrada ou saída de um nó do cluster).<br>
+ * Os leases devem ser compartilhados entre todos os nós do cluster. A implementação padrão é o {@link SchedulerFileLeaseProvider}, que utiliza travas de arquivos em um diretório compartilhado.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ * @see SchedulerCluster
+ */
+public interface SchedulerLeaseProvider {
+
+  /**
+   * Tenta obter o lease da execução da tarefa.<br>
+   * O lease deve ser negado se outro nó detém o lease desta execução ainda dentro da validade, ou se esta execução (ou uma execução de horário posterior) já foi obtida e liberada por qualquer nó.
+   *
+   * @param task Tarefa a ser executada.
+   * @param scheduleTime Horário agendado da execução. Identifica a execução junto com o ID da tarefa.
+   * @param leaseMillis Validade do lease em milisegundos. Se o nó não liberar o lease dentro deste tempo (por ter caído, por exemplo), a execução pode ser obtida por outro nó.
+   * @return true caso o lease tenha sido obtido e a tarefa deva ser executada por este nó, false caso contrário.
+   * @throws RFWException
+   */
+  public boolean acquire(SchedulerTask task, LocalDateTime scheduleTime, long leaseMillis) throws RFWException;
+
+  /**
+   * Libera o lease ao fim da execução, registrando que a execução foi concluída para que nenhum outro nó a execute novamente.
+   *
+   * @param task Tarefa executada.
+   * @param scheduleTime Horário agendado da execução, o mesmo passado em {@link #acquire(SchedulerTask, LocalDateTime, long)}.
+   * @throws RFWException
+   */
+  public void release(SchedulerTask task, LocalDateTime scheduleTime) throws RFWException;
+
+}
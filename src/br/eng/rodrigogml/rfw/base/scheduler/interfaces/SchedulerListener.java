@@ -4,6 +4,7 @@ import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
 
 /**
  * Description: Listener de eventos do Scheduler.<br>
+ * Os métodos são chamados de forma assíncrona, por uma Thread de entrega de eventos do Scheduler, e não pela Thread que executou a tarefa. Para receber os eventos em lote veja {@link SchedulerBatchListener}.
  *
  * @author Rodrigo GML
  * @since 10.0 (19 de out de 2020)
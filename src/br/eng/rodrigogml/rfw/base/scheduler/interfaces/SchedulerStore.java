@@ -0,0 +1,60 @@
+package br.eng.rodrigogml.rfw.base.scheduler.interfaces;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerController;
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerJournalStore;
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerTaskState;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Interface de armazenamento do estado das tarefas do Scheduler.<br>
+ * O Scheduler informa ao Store cada transição das tarefas (agendada, iniciada e finalizada), para que em caso de queda da JVM o último estado conhecido de cada tarefa possa ser recuperado em {@link SchedulerController#recoverTasks(SchedulerTask...)}, sem depender de que a aplicação tenha persistido as alterações feitas na {@link SchedulerTask}.<br>
+ * Os métodos de registro são chamados pelas Threads de execução das tarefas, e podem ser chamados simultaneamente. Devem ser rápidos, pois atrasam a execução e o reagendamento das tarefas.<br>
+ * A implementação padrão é o {@link SchedulerJournalStore}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+public interface SchedulerStore {
+
+  /**
+   * Chamado quando a tarefa é agendada.
+   *
+   * @param task Tarefa agendada.
+   * @param scheduleTime Horário para o qual a tarefa foi agendada.
+   * @throws RFWException
+   */
+  public void scheduled(SchedulerTask task, LocalDateTime scheduleTime) throws RFWException;
+
+  /**
+   * Chamado quando a tarefa inicia sua execução.
+   *
+   * @param task Tarefa iniciada.
+   * @param scheduleTime Horário para o qual a execução estava agendada.
+   * @param startTime Horário em que a execução começou.
+   * @throws RFWException
+   */
+  public void started(SchedulerTask task, LocalDateTime scheduleTime, LocalDateTime startTime) throws RFWException;
+
+  /**
+   * Chamado quando a tarefa termina sua execução, com sucesso ou falha.
+   *
+   * @param task Tarefa finalizada.
+   * @param scheduleTime Horário para o qual a execução estava agendada. Valor passado em {@link SchedulerTask#setScheduleTime(LocalDateTime)}.
+   * @param endTime Horário em que a execução terminou. Valor passado em {@link SchedulerTask#setLastExecution(LocalDateTime)}.
+   * @param properties Propriedades retornadas pela execução da tarefa, ou null caso a tarefa não tenha retornado propriedades.
+   * @throws RFWException
+   */
+  public void finished(SchedulerTask task, LocalDateTime scheduleTime, LocalDateTime endTime, Map<String, String> properties) throws RFWException;
+
+  /**
+   * Recupera o último estado registrado de cada tarefa.
+   *
+   * @return Mapa com o estado das tarefas, indexado pelo ID da tarefa ({@link SchedulerTask#getId()}).
+   * @throws RFWException
+   */
+  public Map<Long, SchedulerTaskState> recover() throws RFWException;
+
+}
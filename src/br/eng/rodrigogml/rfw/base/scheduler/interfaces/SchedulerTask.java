@@ -27,6 +27,11 @@ public interface SchedulerTask {
      * A frequência diária também permite criar a frequência semanal, bastando colocar a cada 7 dias a partir da data de início.
      */
     DAILY,
+    /**
+     * Executa a tarefa nos horários definidos pela expressão CRON retornada em {@link SchedulerTask#getCronExpression()}. A data de agendamento ({@link SchedulerTask#getScheduleTime()}) passa a ser a data de início das execuções.<br>
+     * Veja o formato aceito em {@link br.eng.rodrigogml.rfw.base.scheduler.SchedulerCronExpression}.
+     */
+    CRON,
   }
 
   /**
@@ -104,6 +109,25 @@ public interface SchedulerTask {
    */
   public Boolean getMonthlyRepeatByDayOfMonth();
 
+  /**
+   * Prioridade da tarefa na fila de execução do Scheduler. Quando várias tarefas vencem ao mesmo tempo e não há Threads de execução livres, as de maior prioridade são executadas primeiro.<br>
+   * Tarefas de mesma prioridade são executadas na ordem em que venceram.
+   *
+   * @return Prioridade da tarefa, quanto maior o valor mais cedo será executada. Null (padrão) é tratado como zero.
+   */
+  public default Integer getPriority() {
+    return null;
+  }
+
+  /**
+   * Para o {@link RepeatFrequency#CRON}: expressão CRON com os horários de execução da tarefa, como "0 8,18 * * MON-FRI" (dias úteis às 8h e às 18h). Veja o formato aceito em {@link br.eng.rodrigogml.rfw.base.scheduler.SchedulerCronExpression}.
+   *
+   * @return Expressão CRON da tarefa.
+   */
+  public default String getCronExpression() {
+    return null;
+  }
+
   /**
    * Mapa com as propriedades da tarefa. Essas propriedades são passadas como argumento da tarefa {@link SchedulerRunnable}, e podem ser retornadas no fim da sua execução. O retorno da execução da tarefa será passado pelo método {@link #setProperties(Map)}.
    *
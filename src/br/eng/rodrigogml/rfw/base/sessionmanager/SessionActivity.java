@@ -0,0 +1,185 @@
+package br.eng.rodrigogml.rfw.base.sessionmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import br.eng.rodrigogml.rfw.base.sessionmanager.SessionRegistry.SessionRecord;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionBackOperation;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionVO;
+import br.eng.rodrigogml.rfw.kernel.logger.RFWLogger;
+
+/**
+ * Description: Acumula as atividades das sessões e as envia em lotes para o {@link SessionBackOperation#updateSessionVOActivity(List)}.<br>
+ * O registro da atividade no login e em cada uso da sessão apenas marca a sessão como pendente, sem chamar o {@link SessionBackOperation}. Uma sessão já pendente não é incluída novamente, assim cada sessão é enviada no máximo uma vez por intervalo, independente de quantas vezes foi utilizada.<br>
+ * A Thread de atividades envia as sessões pendentes a cada {@link #getFlushInterval()} milissegundos, em lotes de até {@link #BATCH_SIZE} sessões.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SessionActivity {
+
+  /**
+   * Quantidade máxima de sessões em cada chamada do {@link SessionBackOperation#updateSessionVOActivity(List)}.
+   */
+  static final int BATCH_SIZE = 1000;
+
+  /**
+   * Sessões com atividade pendente de envio. Cada sessão aparece no máximo uma vez, pois só é incluída por quem altera o {@link SessionRecord#activityPending} de 0 para 1.
+   */
+  private static final ConcurrentLinkedQueue<SessionRecord> pending = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Quantidade de itens na fila {@link #pending}, evitando o custo do {@link ConcurrentLinkedQueue#size()}.<br>
+   * Incrementada depois da inclusão na fila, assim os itens contados no início de um envio já estão na fila, à frente das sessões marcadas novamente durante o envio.
+   */
+  private static final AtomicInteger pendingCount = new AtomicInteger(0);
+
+  /**
+   * Alteração atômica do {@link SessionRecord#activityPending}, sem criar um objeto atômico por sessão.
+   */
+  private static final AtomicIntegerFieldUpdater<SessionRecord> activityPending = AtomicIntegerFieldUpdater.newUpdater(SessionRecord.class, "activityPending");
+
+  /**
+   * Intervalo (em milissegundos) entre os envios das atividades. Valor padrão 5 segundos.
+   */
+  private static volatile long flushInterval = 5000;
+
+  /**
+   * Referência para a Thread de envio das atividades.
+   */
+  private static volatile Thread flushThread = null;
+
+  /**
+   * Lock dos envios. Separado do lock da classe para que o {@link #start(SessionBackOperation)}, chamado a cada login, não aguarde o envio em andamento.
+   */
+  private static final Object flushLock = new Object();
+
+  /**
+   * Determina se a Thread de envio das atividades foi chamada para ser finalizada.
+   */
+  private static volatile boolean shutingdown = false;
+
+  /**
+   * Construtor privado para classe estática
+   */
+  private SessionActivity() {
+  }
+
+  /**
+   * Registra a atividade da sessão, que será enviada no próximo envio.
+   *
+   * @param record Registro da sessão.
+   */
+  static void mark(SessionRecord record) {
+    // A leitura antes do compareAndSet evita a escrita concorrente na sessão já pendente, o caso mais comum
+    if (record.activityPending == 0 && activityPending.compareAndSet(record, 0, 1)) {
+      pending.add(record);
+      pendingCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Inicia a Thread de envio das atividades, caso ainda não tenha sido iniciada.<br>
+   * Chamado a cada login: depois que a Thread foi iniciada retorna sem obter lock.
+   *
+   * @param backOperation Operação de Retaguarda que recebe as atividades.
+   */
+  static void start(SessionBackOperation backOperation) {
+    if (flushThread == null) doStart(backOperation);
+  }
+
+  private static synchronized void doStart(final SessionBackOperation backOperation) {
+    if (flushThread != null) return;
+    flushThread = new Thread("### SessionManager Activity Thread") {
+      @Override
+      public void run() {
+        while (!shutingdown) {
+          try {
+            Thread.sleep(flushInterval);
+          } catch (InterruptedException e) {
+          }
+          flush(backOperation);
+        }
+      }
+    };
+    flushThread.setDaemon(true);
+    flushThread.start();
+  }
+
+  /**
+   * Envia as atividades pendentes. Apenas as sessões marcadas até o início do envio são enviadas, as marcadas durante o envio ficam para o próximo.
+   *
+   * @param backOperation Operação de Retaguarda que recebe as atividades.
+   */
+  static void flush(SessionBackOperation backOperation) {
+    synchronized (flushLock) {
+      doFlush(backOperation);
+    }
+  }
+
+  private static void doFlush(SessionBackOperation backOperation) {
+    int remaining = Math.max(0, pendingCount.get()); // Negativo enquanto um item retirado ainda não foi contado
+    ArrayList<SessionVO> batch = new ArrayList<>(Math.min(remaining, BATCH_SIZE));
+    while (remaining-- > 0) {
+      final SessionRecord record = pending.poll();
+      if (record == null) break;
+      pendingCount.decrementAndGet();
+      activityPending.set(record, 0); // A partir daqui um novo uso volta a marcar a sessão, para o próximo envio
+      if (record.isRemoved()) continue;
+      batch.add(record.getSessionVO());
+      if (batch.size() == BATCH_SIZE) {
+        send(backOperation, batch);
+        batch = new ArrayList<>(Math.min(remaining, BATCH_SIZE));
+      }
+    }
+    if (!batch.isEmpty()) send(backOperation, batch);
+  }
+
+  private static void send(SessionBackOperation backOperation, List<SessionVO> batch) {
+    try {
+      backOperation.updateSessionVOActivity(batch);
+    } catch (Throwable t) {
+      // A falha de um lote não deve impedir os próximos envios
+      RFWLogger.logException(t);
+    }
+  }
+
+  /**
+   * Finaliza a Thread de envio das atividades, enviando as atividades pendentes.
+   */
+  static void shutdown() {
+    final Thread thread;
+    synchronized (SessionActivity.class) {
+      shutingdown = true;
+      thread = flushThread;
+    }
+    if (thread != null) {
+      thread.interrupt();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+      }
+    }
+  }
+
+  /**
+   * # intervalo (em milissegundos) entre os envios das atividades. Valor padrão 5 segundos.
+   *
+   * @return the intervalo (em milissegundos) entre os envios das atividades
+   */
+  static long getFlushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * # intervalo (em milissegundos) entre os envios das atividades. Valor padrão 5 segundos.
+   *
+   * @param flushInterval the new intervalo (em milissegundos) entre os envios das atividades
+   */
+  static void setFlushInterval(long flushInterval) {
+    SessionActivity.flushInterval = flushInterval;
+  }
+}
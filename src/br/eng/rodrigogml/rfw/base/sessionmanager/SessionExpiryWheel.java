@@ -0,0 +1,189 @@
+package br.eng.rodrigogml.rfw.base.sessionmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.eng.rodrigogml.rfw.base.sessionmanager.SessionRegistry.SessionRecord;
+
+/**
+ * Description: Índice de expiração das sessões em uma roda de tempo hierárquica (<i>hierarchical timing wheel</i>).<br>
+ * O tempo é dividido em ticks de duração fixa. Cada nível tem {@link #WHEEL_SIZE} posições: no nível 0 cada posição corresponde a um tick, e no nível seguinte cada posição corresponde a uma volta completa do nível anterior. Uma sessão é colocada no menor nível cujo alcance contém o seu tick de expiração, e
+ * desce de nível (<i>cascade</i>) quando o nível inferior começa a volta que a contém.<br>
+ * Assim cada avanço da roda visita apenas as sessões que vencem naquele tick (ou que descem de nível), ao invés de percorrer todas as sessões.<br>
+ * <br>
+ * A roda não é thread-safe: é utilizada apenas pela Thread de controle do {@link SessionManager}.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SessionExpiryWheel {
+
+  /**
+   * Bits do índice das posições de cada nível.
+   */
+  private static final int WHEEL_BITS = 6;
+
+  /**
+   * Quantidade de posições de cada nível.
+   */
+  static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+  /**
+   * Quantidade de níveis. Com ticks de 1 segundo, o último nível alcança 64^4 segundos (cerca de 194 dias). Sessões com expiração além do alcance ficam na última volta do último nível e são reposicionadas quando chegam ao nível 0.
+   */
+  static final int LEVELS = 4;
+
+  /**
+   * Duração de cada tick em milissegundos.
+   */
+  private final long tickMillis;
+
+  /**
+   * Posições de cada nível. As listas são criadas sob demanda.
+   */
+  private final ArrayList<?>[][] slots = new ArrayList<?>[LEVELS][WHEEL_SIZE];
+
+  /**
+   * Último tick processado. Sessões com tick de expiração menor ou igual a este já foram entregues.
+   */
+  private long currentTick;
+
+  /**
+   * Quantidade de sessões na roda.
+   */
+  private int size = 0;
+
+  /**
+   * Cria a roda.
+   *
+   * @param tickMillis Duração de cada tick em milissegundos.
+   * @param nowMillis Momento atual, em milissegundos.
+   */
+  SessionExpiryWheel(long tickMillis, long nowMillis) {
+    this.tickMillis = tickMillis;
+    this.currentTick = nowMillis / tickMillis;
+  }
+
+  /**
+   * Posiciona a sessão para ser entregue no primeiro tick que começa depois do momento de expiração.
+   *
+   * @param record Sessão.
+   * @param expiryMillis Momento da expiração da sessão, em milissegundos.
+   * @return true caso a sessão tenha sido posicionada, false caso a sessão já esteja na roda.
+   */
+  boolean schedule(SessionRecord record, long expiryMillis) {
+    if (record.expiryTick != 0) return false;
+    record.expiryTick = Math.max(this.currentTick + 1, (expiryMillis + this.tickMillis - 1) / this.tickMillis);
+    place(record);
+    this.size++;
+    return true;
+  }
+
+  /**
+   * Coloca a sessão no nível e na posição do seu tick de expiração.
+   */
+  private void place(SessionRecord record) {
+    long tick = record.expiryTick;
+    for (int level = 0; level < LEVELS; level++) {
+      final int shift = WHEEL_BITS * (level + 1);
+      // Cabe neste nível se a expiração está a menos de uma volta completa do nível
+      if ((tick - this.currentTick) >>> shift == 0 || level == LEVELS - 1) {
+        if (level == LEVELS - 1 && (tick - this.currentTick) >>> shift != 0) tick = this.currentTick + (1L << shift) - 1; // Além do alcance da roda
+        slot(level, (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)).add(record);
+        return;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private ArrayList<SessionRecord> slot(int level, int index) {
+    ArrayList<SessionRecord> list = (ArrayList<SessionRecord>) this.slots[level][index];
+    if (list == null) {
+      list = new ArrayList<>();
+      this.slots[level][index] = list;
+    }
+    return list;
+  }
+
+  /**
+   * Avança a roda até o momento informado, entregando as sessões cujo tick de expiração foi alcançado. As sessões entregues saem da roda.
+   *
+   * @param nowMillis Momento atual, em milissegundos.
+   * @param due Lista que recebe as sessões vencidas.
+   * @return Quantidade de sessões visitadas, incluindo as que apenas desceram de nível.
+   */
+  int advance(long nowMillis, List<SessionRecord> due) {
+    final long targetTick = nowMillis / this.tickMillis;
+    int visited = 0;
+    while (this.currentTick < targetTick) {
+      this.currentTick++;
+      // Ao começar uma nova volta de um nível, as sessões da posição correspondente do nível acima descem. Começa pelo nível mais alto, para que as sessões desçam até o nível correto no mesmo tick
+      int top = 0;
+      while (top < LEVELS - 1 && (this.currentTick & ((1L << (WHEEL_BITS * (top + 1))) - 1)) == 0) {
+        top++;
+      }
+      for (int level = top; level > 0; level--) {
+        visited += cascade(level, (int) ((this.currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+      }
+      @SuppressWarnings("unchecked")
+      final ArrayList<SessionRecord> list = (ArrayList<SessionRecord>) this.slots[0][(int) (this.currentTick & WHEEL_MASK)];
+      if (list != null && !list.isEmpty()) {
+        this.slots[0][(int) (this.currentTick & WHEEL_MASK)] = null;
+        visited += list.size();
+        for (SessionRecord record : list) {
+          if (record.expiryTick <= this.currentTick) {
+            record.expiryTick = 0;
+            this.size--;
+            due.add(record);
+          } else {
+            place(record); // Expiração além do alcance da roda, volta para o último nível
+          }
+        }
+      }
+    }
+    return visited;
+  }
+
+  /**
+   * Redistribui as sessões de uma posição nos níveis inferiores.
+   */
+  private int cascade(int level, int index) {
+    @SuppressWarnings("unchecked")
+    final ArrayList<SessionRecord> list = (ArrayList<SessionRecord>) this.slots[level][index];
+    if (list == null || list.isEmpty()) return 0;
+    this.slots[level][index] = null;
+    for (SessionRecord record : list) {
+      place(record);
+    }
+    return list.size();
+  }
+
+  /**
+   * Remove todas as sessões da roda.
+   */
+  @SuppressWarnings("unchecked")
+  void clear() {
+    for (int level = 0; level < LEVELS; level++) {
+      for (int index = 0; index < WHEEL_SIZE; index++) {
+        if (this.slots[level][index] != null) {
+          for (SessionRecord record : (ArrayList<SessionRecord>) this.slots[level][index]) {
+            record.expiryTick = 0;
+          }
+          this.slots[level][index] = null;
+        }
+      }
+    }
+    this.size = 0;
+  }
+
+  /**
+   * # quantidade de sessões na roda.
+   *
+   * @return the quantidade de sessões na roda
+   */
+  int size() {
+    return size;
+  }
+}
@@ -1,10 +1,12 @@
 package br.eng.rodrigogml.rfw.base.sessionmanager;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import br.eng.rodrigogml.rfw.base.sessionmanager.SessionRegistry.SessionRecord;
 import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionBackOperation;
 import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionVO;
 import br.eng.rodrigogml.rfw.kernel.RFW;
@@ -27,12 +29,12 @@ public class SessionManager {
   /**
    * Determina se o SessionManager foi chamado para ser finalizado.
    */
-  private static Boolean shutingdown = false;
+  private static volatile boolean shutingdown = false;
 
   /**
    * Referência para a Thread do SessionManager.
    */
-  private static Thread controlThread = null;
+  private static volatile Thread controlThread = null;
 
   /**
    * Define um prefixo que será utilizado para identificar quando a String de acesso não é o UUID da sessão, mas sim um Token utilizado para criar a sessão de acesso de uma "máquina".<br>
@@ -41,42 +43,33 @@ public class SessionManager {
    * <li>Para inutilizar o acesso ao sistema via máquina defina esse atributo como "";
    * <li>Por questão de segurança esse valor só pode ser definido uma única vez.
    */
-  private static String tokenPrefix = null;
+  private static volatile String tokenPrefix = null;
 
   /**
-   * Esta hash mantém o timeMillis() da última vez que a sessão foi utilizada. É utilizada pelo método de limpeza.<br>
-   * Chave é o UUID da sessão.
-   */
-  private static final HashMap<String, Long> sessionsHeartBeat = new HashMap<>();
-
-  /**
-   * Cache com as sessões criadas indexadas pelo UUID da sessão.<Br>
-   * Chave UUID da sessão, valor Objeto da sessão.
+   * Referência para a implementação da Operação de Retaguarda do sistema. Interface que provê as informações de autenticação e acessos do usuário.
    */
-  private static final HashMap<String, SessionVO> sessionsByUUID = new HashMap<>();
+  private static volatile SessionBackOperation backOperation = null;
 
   /**
-   * Cache com as sessões indexadas pela Thread à qual foi associada.<br>
-   * Chave Thread associada, valor UUID da sessão.
+   * Define o tempo (em segundos) que uma sessão pode viver sem ser requisitada pelo Sessionmanager. Ao ocorrer o timeout, o SessionManager descarta a sessão.<br>
+   * Tempo em Segundos. Valor padrão 20 minutos.
    */
-  private static final HashMap<Thread, String> sessionsByThread = new HashMap<>();
+  private static volatile long timeToLive = 1200;
 
   /**
-   * Cache com a ligação entre o token e o UUID da sessão.<br>
-   * Chave Token de acesso, Valor UUID da sessão.
+   * Intervalo (em milissegundos) de verificação das sessões expiradas. Define a precisão da expiração das sessões.
    */
-  private static final HashMap<String, String> sessionsByToken = new HashMap<>();
+  private static final long EXPIRY_TICK_MILLIS = 1000;
 
   /**
-   * Referência para a implementação da Operação de Retaguarda do sistema. Interface que provê as informações de autenticação e acessos do usuário.
+   * Sessões criadas que ainda não foram incluídas no índice de expiração pela Thread de controle.
    */
-  private static SessionBackOperation backOperation = null;
+  private static final ConcurrentLinkedQueue<SessionRecord> expiryQueue = new ConcurrentLinkedQueue<>();
 
   /**
-   * Define o tempo (em segundos) que uma sessão pode viver sem ser requisitada pelo Sessionmanager. Ao ocorrer o timeout, o SessionManager descarta a sessão.<br>
-   * Tempo em Segundos. Valor padrão 20 minutos.
+   * Indica que o tempo de vida foi alterado e a Thread de controle deve reposicionar todas as sessões no índice de expiração.
    */
-  private static long timeToLive = 1200;
+  private static volatile boolean expiryRebuild = false;
 
   /**
    * Construtor privado para classe singleton
@@ -87,61 +80,73 @@ public class SessionManager {
   /**
    * Método chamado internamente para iniciar a thread de controle das sessoes.
    */
-  private static void startSessionThread() {
-    SessionManager.controlThread = new Thread("### SessionManager Control Thread") {
+  private static synchronized void startSessionThread() {
+    if (SessionManager.controlThread != null) return; // Já iniciada por outro login simultâneo
+    final Thread thread = new Thread("### SessionManager Control Thread") {
       @Override
       public void run() {
+        // A roda e a lista de vencidas são utilizadas apenas por esta Thread
+        final SessionExpiryWheel wheel = new SessionExpiryWheel(EXPIRY_TICK_MILLIS, System.currentTimeMillis());
+        final ArrayList<SessionRecord> due = new ArrayList<>();
+        long nextThreadCheck = System.currentTimeMillis() + timeToLive * 500;
         while (!shutingdown) {
           try { // Try para logar qualquer erro do sistema e prevenir o fim da Thread
             try {
-              Thread.sleep(timeToLive * 500);
+              Thread.sleep(EXPIRY_TICK_MILLIS);
             } catch (InterruptedException e) {
             }
+            final long ttl = timeToLive * 1000;
+
+            // Ao alterar o tempo de vida, todas as sessões são reposicionadas com o novo tempo
+            if (expiryRebuild) {
+              expiryRebuild = false;
+              wheel.clear();
+              for (SessionRecord record : SessionRegistry.sessions()) {
+                wheel.schedule(record, record.getHeartBeat() + ttl);
+              }
+            }
+            // Inclui as novas sessões na roda
+            SessionRecord newRecord;
+            while ((newRecord = expiryQueue.poll()) != null) {
+              if (!newRecord.isRemoved()) wheel.schedule(newRecord, newRecord.getHeartBeat() + ttl);
+            }
 
-            // Procuramos todas as Thread registradas por Threads Mortas e as removemos
-            final ArrayList<Thread> tmpThreadList = new ArrayList<>(sessionsByThread.keySet());
-            for (Thread thread : tmpThreadList) {
-              if (thread.getState() == State.TERMINATED) {
-                sessionsByThread.remove(thread);
-                RFW.pDev("[RFWSessionmanager] [REMOVED] Thread removida por estado 'TERMINATED'" + thread.getName());
-              } else {
-                final String uuid = sessionsByThread.get(thread);
-                // Se está viva, atualizamos o tempo de vida desta sessão.
-                updateCardio(uuid);
-                RFW.pDev("[RFWSessionmanager] [ALIVE] Thread da sessão continua viva" + thread.getName() + " /  UUID: " + uuid);
+            long now = System.currentTimeMillis();
+            if (now >= nextThreadCheck) {
+              nextThreadCheck = now + timeToLive * 500;
+              // Procuramos as associações feitas por outras Threads que nunca foram utilizadas por Threads Mortas e as removemos. As associações do ThreadLocal morrem com a própria Thread
+              for (Entry<Thread, SessionRecord> entry : SessionRegistry.pendingThreads()) {
+                final Thread thread = entry.getKey();
+                if (thread.getState() == State.TERMINATED && SessionRegistry.detachPending(thread, entry.getValue())) {
+                  RFW.pDev("[RFWSessionmanager] [REMOVED] Thread removida por estado 'TERMINATED'" + thread.getName());
+                }
               }
             }
 
-            // Iteramos todas as sessões de usuários existente em busca do último momento de vida
-            final ArrayList<String> tmpUUIDList = new ArrayList<>(sessionsByUUID.keySet());
-            for (String uuid : tmpUUIDList) {
-              // Verificamos a data do último batimento da sessão, se for maior que 10 minutos, acabamos com a sessão
-              // Note que se houver uma Thread ativa para a sessão (como em um caso de processo demorado), o loop acima já atualizou o tempo para o momento atual, impedindo que a sessão não seja assassinada pq o usuário está esperando o sistema responder.
-              final Long time = sessionsHeartBeat.get(uuid);
-              if (System.currentTimeMillis() - time > timeToLive * 1000) {
-                final SessionVO sVO = sessionsByUUID.remove(uuid);
-                RFW.pDev("### [Sessionmanager] [REMOVED] Thread removida por 'TIME OUT'. UUID: " + sVO.getUUID() + " / systemID: " + sVO.getUser());
-                sessionsHeartBeat.remove(uuid);
+            // Visitamos apenas as sessões cujo último batimento conhecido já venceu. As que tiveram novos batimentos desde que foram posicionadas voltam para a roda com o novo vencimento
+            wheel.advance(now, due);
+            for (SessionRecord record : due) {
+              if (record.isRemoved()) continue;
+              // Se houver uma Thread ativa para a sessão (como em um caso de processo demorado), atualizamos o tempo para o momento atual, impedindo que a sessão não seja assassinada pq o usuário está esperando o sistema responder.
+              if (record.hasLiveThreads()) record.updateHeartBeat();
+              final long expiry = record.getHeartBeat() + ttl;
+              if (expiry > now) {
+                wheel.schedule(record, expiry);
+              } else if (SessionRegistry.unregister(record)) {
+                RFW.pDev("### [Sessionmanager] [REMOVED] Thread removida por 'TIME OUT'. UUID: " + record.getUUID() + " / systemID: " + record.getSessionVO().getUser());
               }
             }
+            due.clear();
           } catch (Throwable t) {
             RFWLogger.logException(t);
           }
         }
       }
     };
-    SessionManager.controlThread.setDaemon(true);
-    SessionManager.controlThread.setPriority(Thread.MIN_PRIORITY); // Não há muita prioridade em fechar as sessões dos usuários.
-    SessionManager.controlThread.start();
-  }
-
-  /**
-   * Atualiza o horário do último batimento
-   *
-   * @param uuid UUID da sessão do usuário
-   */
-  private static void updateCardio(String uuid) {
-    sessionsHeartBeat.put(uuid, System.currentTimeMillis());
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY); // Não há muita prioridade em fechar as sessões dos usuários.
+    thread.start();
+    SessionManager.controlThread = thread;
   }
 
   /**
@@ -181,27 +186,29 @@ public class SessionManager {
   private static SessionVO doLogin(String user, String password, String token, Locale locale) throws RFWException {
     if (SessionManager.controlThread == null) startSessionThread();
     PreProcess.requiredNonNull(SessionManager.backOperation, "A implementação so SessionBackOperation não foi definida no SessionManager! Inicializa o SessionManager adequadamente antes de utiliza-lo!");
+    SessionActivity.start(SessionManager.backOperation);
 
     String uuid = null;
     do {
       uuid = RUGenerators.generateUUID();
-    } while (sessionsByUUID.containsKey(uuid));
+    } while (SessionRegistry.containsUUID(uuid));
 
     SessionVO ssVO = null;
     if (user != null || password != null) {
       ssVO = SessionManager.backOperation.doLogin(user, password, locale, uuid);
+      token = null;
     } else {
       ssVO = SessionManager.backOperation.doLogin(token, uuid);
-      sessionsByToken.put(token, uuid);
     }
 
     if (ssVO == null) throw new RFWCriticalException("O sistema não gerou um objeto de sessão válido!");
     if (!uuid.equals(ssVO.getUUID())) throw new RFWCriticalException("O SessionVO não retornou o mesmo UUID passado na autenticação. Por favor veja a documentação do método de doLogin para entender o funcioanmento do UUID.");
 
-    sessionsByUUID.put(uuid, ssVO);
-    sessionsByThread.put(Thread.currentThread(), uuid);
-    updateCardio(uuid);
-    SessionManager.updateSessionVOActivity(ssVO);
+    // O registro é feito de uma só vez, com o batimento inicial, assim a sessão nunca é encontrada parcialmente registrada
+    final SessionRecord record = SessionRegistry.register(ssVO, token, Thread.currentThread());
+    expiryQueue.add(record);
+    // A atividade é enviada para o SessionBackOperation pela Thread de atividades, sem que o login aguarde o envio
+    SessionActivity.mark(record);
 
     return ssVO;
   }
@@ -213,7 +220,7 @@ public class SessionManager {
    * @throws RFWException caso ocorra alguma exception ou se a Thread atual não for encontrada (Exception com o código "RFW_ERR_000005")
    */
   public static SessionVO getSession() throws RFWException {
-    return getSession(sessionsByThread.get(Thread.currentThread()));
+    return getCurrentSessionRecord().getSessionVO();
   }
 
   /**
@@ -224,7 +231,7 @@ public class SessionManager {
    */
   public static SessionVO getSessionIfExists() throws RFWException {
     try {
-      return getSession(sessionsByThread.get(Thread.currentThread()));
+      return getCurrentSessionRecord().getSessionVO();
     } catch (RFWException e) {
       if (e.getExceptionCode().equals("RFW_ERR_000005")) return null;
       throw e;
@@ -238,58 +245,128 @@ public class SessionManager {
    * @throws RFWException Lançado em caso de erro. Caso a sessão não exista, esteja expirada, inválida, etc. o código da exception será "RFW_ERR_000005".
    */
   public static SessionVO getSession(String uuid) throws RFWException {
-    if (uuid == null) {
+    return getSessionRecord(uuid).getSessionVO();
+  }
+
+  /**
+   * Recupera o registro da sessão associada à Thread atual e atualiza o seu batimento.
+   *
+   * @return Registro da sessão.
+   * @throws RFWException Lançado caso a Thread atual não tenha sessão associada ou a sessão não seja mais válida, com o código "RFW_ERR_000005".
+   */
+  private static SessionRecord getCurrentSessionRecord() throws RFWException {
+    final SessionRecord record = SessionRegistry.getCurrent();
+    if (record == null) {
       throw new RFWWarningException("RFW_ERR_000005");
     }
+    record.updateHeartBeat();
+    SessionActivity.mark(record);
+    return record;
+  }
 
-    SessionVO sessionVO = null;
-    // verifica se o valor pode ser um Token de autenticação ao invés de do UUID
-    if (SessionManager.tokenPrefix != null && !"".equals(tokenPrefix) && uuid.startsWith(SessionManager.tokenPrefix)) {
-      String token = uuid;
-
-      // Se é um token de station, verificamos se já temos uma sessão criada para ele
-      uuid = SessionManager.sessionsByToken.get(token);
-      if (uuid != null) {
-        sessionVO = SessionManager.sessionsByUUID.get(uuid);
-      }
-
-      if (sessionVO == null) {
-        // Se não encontramos uma sessão válida, tentamos realizar o Login pelo Token e criar uma nova sessão.
-        sessionVO = doLogin(null, null, token, null);
-      }
-    } else {
-      // Busca pelo UUID de sessão
-      sessionVO = sessionsByUUID.get(uuid);
+  /**
+   * Recupera o registro da sessão pelo UUID ou Token de acesso e atualiza o seu batimento.
+   *
+   * @param uuid ID da sessão
+   * @return Registro da sessão.
+   * @throws RFWException Lançado em caso de erro. Caso a sessão não exista, esteja expirada, inválida, etc. o código da exception será "RFW_ERR_000005".
+   */
+  private static SessionRecord getSessionRecord(String uuid) throws RFWException {
+    if (uuid == null) {
+      throw new RFWWarningException("RFW_ERR_000005");
     }
-    if (sessionVO == null) {
+
+    final SessionRecord record = getRecord(uuid);
+    if (record == null) {
       throw new RFWValidationException("RFW_ERR_000005");
     }
 
-    // Atualiza o heartBeat da Sessão para mante-la viva
-    updateCardio(uuid);
+    // Atualiza o heartBeat da Sessão para mante-la viva e registra a atividade, enviada ao SessionBackOperation no próximo envio de atividades
+    record.updateHeartBeat();
+    SessionActivity.mark(record);
 
-    return sessionVO;
+    return record;
   }
 
   /**
-   * Registra uma sessão de usuário à Thread. Este método deve ser utilizado apra associar a Sessão nas Threads. Incluindo as de Login/Interceptor quanto as threads de "Fork" usadas no CRUD.
+   * Recupera o registro da sessão pelo UUID ou pelo Token de acesso. Caso o Token ainda não tenha uma sessão, realiza o login pelo Token.
+   *
+   * @param uuid UUID da sessão ou Token de acesso.
+   * @return Registro da sessão, ou nulo caso a sessão não exista.
+   * @throws RFWException Lançado em caso de falha no login pelo Token.
+   */
+  private static SessionRecord getRecord(String uuid) throws RFWException {
+    final String tokenPrefix = SessionManager.tokenPrefix;
+    // verifica se o valor pode ser um Token de autenticação ao invés de do UUID
+    if (tokenPrefix != null && !"".equals(tokenPrefix) && uuid.startsWith(tokenPrefix)) {
+      // Se é um token de station, verificamos se já temos uma sessão criada para ele
+      final SessionRecord record = SessionRegistry.getByToken(uuid);
+      if (record != null) return record;
+      // Se não encontramos uma sessão válida, tentamos realizar o Login pelo Token e criar uma nova sessão.
+      return SessionRegistry.get(doLogin(null, null, uuid, null).getUUID());
+    }
+    // Busca pelo UUID de sessão
+    return SessionRegistry.get(uuid);
+  }
+
+  /**
+   * Registra uma sessão de usuário à Thread. Este método deve ser utilizado apra associar a Sessão nas Threads. Incluindo as de Login/Interceptor quanto as threads de "Fork" usadas no CRUD.<br>
+   * A associação da Thread atual fica apenas na própria Thread ({@link ThreadLocal}). A associação de outra Thread fica pendente até que a Thread consulte a sua sessão. Para as Threads de "Fork" e tarefas de Executors prefira o {@link #propagateSession(Runnable)}, que não depende de nenhum registro global.
    *
    * @param thread Thread para associação da sessão
    * @param uuid Identificador da sessão
    * @throws RFWException Lançado caso ocorra algum erro ou a sessão não seja válida.
    */
   public static void attachSessionToThread(Thread thread, String uuid) throws RFWException {
-    // Verificamos se a Thread já tem alguma sessão associada. Não é pertido sobreescrever a sessão.
-    String threadUUID = sessionsByThread.get(thread);
-    if (threadUUID != null && !uuid.equals(threadUUID)) {
-      throw new RFWCriticalException("RFW_ERR_300037");
-    }
-
     // Recupera a sessão pelo UUID, assim já verifica se está valida
-    getSession(uuid);
+    final SessionRecord record = getSessionRecord(uuid);
 
-    // Se tudo OK, associamos essa sessão na nova Thread
-    sessionsByThread.put(thread, uuid);
+    // Se tudo OK, associamos essa sessão na nova Thread. A associação só é feita se outra sessão não foi associada à Thread neste meio tempo
+    if (SessionRegistry.attach(thread, record) != null) throw new RFWCriticalException("RFW_ERR_300037");
+  }
+
+  /**
+   * Cria uma tarefa que executa a tarefa informada com a sessão associada à Thread atual, permitindo propagar a sessão para Threads filhas e Executors.<br>
+   * A sessão é capturada neste momento e associada à Thread que executar a tarefa apenas durante a execução. Ao final a Thread volta a ter a associação que tinha antes, assim a tarefa pode ser executada em Threads de pool sem deixar a sessão associada a elas.<br>
+   * Se a Thread atual não tiver sessão, a tarefa é executada sem sessão associada. Se a sessão for cancelada ou expirar antes da execução, a tarefa é executada como se a Thread não tivesse sessão.
+   *
+   * @param task Tarefa a ser executada com a sessão.
+   * @return Tarefa que associa a sessão durante a execução da tarefa informada.
+   */
+  public static Runnable propagateSession(final Runnable task) {
+    final SessionRecord record = SessionRegistry.getCurrent();
+    return new Runnable() {
+      @Override
+      public void run() {
+        final SessionRecord previous = SessionRegistry.swapCurrent(record);
+        try {
+          task.run();
+        } finally {
+          SessionRegistry.swapCurrent(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Mesma operação do {@link #propagateSession(Runnable)} para tarefas que retornam valor.
+   *
+   * @param task Tarefa a ser executada com a sessão.
+   * @return Tarefa que associa a sessão durante a execução da tarefa informada.
+   */
+  public static <V> Callable<V> propagateSession(final Callable<V> task) {
+    final SessionRecord record = SessionRegistry.getCurrent();
+    return new Callable<V>() {
+      @Override
+      public V call() throws Exception {
+        final SessionRecord previous = SessionRegistry.swapCurrent(record);
+        try {
+          return task.call();
+        } finally {
+          SessionRegistry.swapCurrent(previous);
+        }
+      }
+    };
   }
 
   /**
@@ -298,7 +375,7 @@ public class SessionManager {
    * @param currentThread Thread a ter a sessão removida.
    */
   public static void cleanThread(Thread currentThread) {
-    sessionsByThread.remove(currentThread);
+    SessionRegistry.detach(currentThread);
   }
 
   /**
@@ -306,6 +383,7 @@ public class SessionManager {
    */
   public static final void shutdown() {
     SessionManager.shutingdown = true;
+    SessionActivity.shutdown();
     if (SessionManager.controlThread != null) {
       SessionManager.controlThread.interrupt();
       try {
@@ -321,23 +399,17 @@ public class SessionManager {
    * @param uuid Identificador único da sessão do usuário.
    */
   public static void unregisterSession(String uuid) {
-    SessionVO ssVO = null;
-    try {
-      ssVO = getSession(uuid);
-    } catch (RFWException e) {
-      // se a sessão não existir não tem problema, não lança erro
-    }
-
-    if (ssVO != null) {
-      sessionsByUUID.remove(ssVO.getUUID());
-      sessionsHeartBeat.remove(ssVO.getUUID());
-      for (Entry<Thread, String> entry : new ArrayList<>(sessionsByThread.entrySet())) {
-        if (entry.getValue().equals(uuid)) sessionsByThread.remove(entry.getKey());
-      }
-      for (Entry<String, String> entry : new ArrayList<>(sessionsByToken.entrySet())) {
-        if (entry.getValue().equals(uuid)) sessionsByToken.remove(entry.getKey());
-      }
+    // se a sessão não existir não tem problema, não lança erro
+    if (uuid == null) return;
+    final String tokenPrefix = SessionManager.tokenPrefix;
+    SessionRecord record = null;
+    if (tokenPrefix != null && !"".equals(tokenPrefix) && uuid.startsWith(tokenPrefix)) {
+      record = SessionRegistry.getByToken(uuid);
+    } else {
+      record = SessionRegistry.get(uuid);
     }
+    // Remove a sessão de uma só vez: UUID, Token e Threads associadas
+    if (record != null) SessionRegistry.unregister(record);
   }
 
   /**
@@ -347,8 +419,8 @@ public class SessionManager {
    * @param token Identificador único da sessão do usuário.
    */
   public static void unregisterSessionByToken(String token) {
-    String uuid = sessionsByToken.get(token);
-    unregisterSession(uuid);
+    final SessionRecord record = SessionRegistry.getByToken(token);
+    if (record != null) SessionRegistry.unregister(record);
   }
 
   /**
@@ -358,10 +430,10 @@ public class SessionManager {
    * @param uniqueID Identificador único da sessão do usuário.
    */
   public static void unregisterSessionByUniqueID(String uniqueID) {
-    for (Entry<String, SessionVO> entry : new ArrayList<>(sessionsByUUID.entrySet())) {
-      SessionVO ssVO = entry.getValue();
+    for (SessionRecord record : SessionRegistry.sessions()) {
+      SessionVO ssVO = record.getSessionVO();
       if (ssVO.getUniqueID() != null && ssVO.getUniqueID().equals(uniqueID)) {
-        unregisterSession(entry.getKey());
+        SessionRegistry.unregister(record);
       }
     }
   }
@@ -371,7 +443,7 @@ public class SessionManager {
    *
    * @param backOperation the new referência para a implementação da Operação de Retaguarda do sistema
    */
-  public static void setBackOperation(SessionBackOperation backOperation) throws RFWException {
+  public static synchronized void setBackOperation(SessionBackOperation backOperation) throws RFWException {
     PreProcess.requiredNonNull(backOperation, "SessionBackOperation não pode ser nulo!");
     if (SessionManager.backOperation != null) throw new RFWCriticalException("Não é permitido trocar o SessionBackOperation por questões de segurança.");
     SessionManager.backOperation = backOperation;
@@ -386,7 +458,7 @@ public class SessionManager {
    *
    * @param tokenPrefix the new define um prefixo que será utilizado para identificar quando a String de acesso não é o UUID da sessão, mas sim um Token utilizado para criar a sessão de acesso de uma "máquina"
    */
-  public static void setTokenPrefix(String tokenPrefix) throws RFWException {
+  public static synchronized void setTokenPrefix(String tokenPrefix) throws RFWException {
     PreProcess.requiredNonNull(tokenPrefix, "Prefixo de Token Inválido!");
     if (SessionManager.tokenPrefix != null) throw new RFWCriticalException("O prefixo de Token já foi definido anteriormente! Por questões de segurança ele não pode ser alterado!");
     SessionManager.tokenPrefix = tokenPrefix;
@@ -400,7 +472,10 @@ public class SessionManager {
    */
   public static void setTimeToLive(long timeToLive) throws RFWException {
     PreProcess.requiredNonNullPositive(timeToLive, "O TimeToLeave da Sessão deve ser um número positivo!");
-    SessionManager.timeToLive = timeToLive;
+    if (SessionManager.timeToLive != timeToLive) {
+      SessionManager.timeToLive = timeToLive;
+      SessionManager.expiryRebuild = true;
+    }
   }
 
   /**
@@ -427,7 +502,34 @@ public class SessionManager {
   }
 
   /**
-   * Repassa a notificação de SessionLastActiviry para o {@link SessionBackOperation}.
+   * Envia imediatamente as atividades das sessões acumuladas para o {@link SessionBackOperation#updateSessionVOActivity(java.util.List)}, sem aguardar o próximo envio da Thread de atividades.
+   */
+  public static void flushSessionActivity() {
+    if (SessionManager.backOperation != null) SessionActivity.flush(SessionManager.backOperation);
+  }
+
+  /**
+   * # intervalo (em milissegundos) entre os envios das atividades das sessões para o {@link SessionBackOperation#updateSessionVOActivity(java.util.List)}. Valor padrão 5 segundos.
+   *
+   * @param activityFlushInterval the new intervalo (em milissegundos) entre os envios das atividades das sessões
+   */
+  public static void setActivityFlushInterval(long activityFlushInterval) throws RFWException {
+    PreProcess.requiredNonNullPositive(activityFlushInterval, "O intervalo de envio das atividades deve ser um número positivo!");
+    SessionActivity.setFlushInterval(activityFlushInterval);
+  }
+
+  /**
+   * # intervalo (em milissegundos) entre os envios das atividades das sessões para o {@link SessionBackOperation#updateSessionVOActivity(java.util.List)}. Valor padrão 5 segundos.
+   *
+   * @return the intervalo (em milissegundos) entre os envios das atividades das sessões
+   */
+  public static long getActivityFlushInterval() {
+    return SessionActivity.getFlushInterval();
+  }
+
+  /**
+   * Repassa a notificação de SessionLastActiviry para o {@link SessionBackOperation}.<br>
+   * A notificação é feita imediatamente, na Thread atual. As atividades registradas pelo próprio SessionManager no login e no uso das sessões são acumuladas e enviadas em lotes (veja {@link #setActivityFlushInterval(long)}).
    *
    * @param ssVO Sessão a ser notificada.
    * @throws RFWException
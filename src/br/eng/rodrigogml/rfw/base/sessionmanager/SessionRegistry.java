@@ -0,0 +1,398 @@
+package br.eng.rodrigogml.rfw.base.sessionmanager;
+
+import java.lang.Thread.State;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionBackOperation;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionVO;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+
+/**
+ * Description: Registro das sessões ativas do {@link SessionManager}.<br>
+ * Cada sessão é representada por um único {@link SessionRecord}, com o {@link SessionVO}, o Token de acesso e o último batimento. Os índices por UUID e por Token apontam para o mesmo registro, assim uma consulta nunca encontra partes de sessões diferentes.<br>
+ * Os índices são {@link ConcurrentHashMap}, permitindo logins e consultas simultâneas sem bloqueio global. Um registro removido é marcado como tal antes de sair dos índices, de forma que as consultas que ainda o encontrem em um índice o descartem.<br>
+ * A sessão associada a cada Thread fica em um {@link ThreadLocal}, sem passar por nenhum mapa global. A associação feita por outra Thread fica pendente em um mapa até que a própria Thread a utilize.
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+final class SessionRegistry {
+
+  /**
+   * Registro de uma sessão.
+   */
+  static final class SessionRecord {
+
+    private final String uuid;
+
+    private final SessionVO sessionVO;
+
+    /**
+     * Token de acesso utilizado para criar a sessão, ou nulo se a sessão foi criada por usuário e senha.
+     */
+    private final String token;
+
+    /**
+     * System.currentTimeMillis() da última vez que a sessão foi utilizada.
+     */
+    private volatile long heartBeat;
+
+    /**
+     * Indica que a sessão foi removida do registro.
+     */
+    private volatile boolean removed = false;
+
+    /**
+     * Threads associadas à sessão. Enquanto houver uma Thread viva associada a sessão não expira, pois o usuário está aguardando o sistema responder. Protegida pelo lock do registro e criada sob demanda.
+     */
+    private ArrayList<Thread> threads = null;
+
+    /**
+     * Indica (1) que a sessão tem atividade registrada ainda não enviada para o {@link SessionBackOperation}. Controlado pelo {@link SessionActivity}, sempre com compareAndSet.
+     */
+    volatile int activityPending = 0;
+
+    /**
+     * Tick de expiração da sessão no {@link SessionExpiryWheel}, ou 0 se a sessão não está na roda. Utilizado apenas pela Thread de controle do {@link SessionManager}.
+     */
+    long expiryTick;
+
+    /**
+     * Cria o registro da sessão, ainda fora dos índices.
+     *
+     * @param sessionVO Objeto da sessão.
+     * @param token Token de acesso utilizado para criar a sessão, ou nulo se a sessão foi criada por usuário e senha.
+     */
+    SessionRecord(SessionVO sessionVO, String token) {
+      this.uuid = sessionVO.getUUID();
+      this.sessionVO = sessionVO;
+      this.token = token;
+      this.heartBeat = System.currentTimeMillis();
+    }
+
+    /**
+     * # uUID da sessão.
+     *
+     * @return the uUID da sessão
+     */
+    String getUUID() {
+      return uuid;
+    }
+
+    /**
+     * # objeto da sessão.
+     *
+     * @return the objeto da sessão
+     */
+    SessionVO getSessionVO() {
+      return sessionVO;
+    }
+
+    /**
+     * # token de acesso utilizado para criar a sessão, ou nulo se a sessão foi criada por usuário e senha.
+     *
+     * @return the token de acesso utilizado para criar a sessão
+     */
+    String getToken() {
+      return token;
+    }
+
+    /**
+     * # system.currentTimeMillis() da última vez que a sessão foi utilizada.
+     *
+     * @return the system.currentTimeMillis() da última vez que a sessão foi utilizada
+     */
+    long getHeartBeat() {
+      return heartBeat;
+    }
+
+    /**
+     * Atualiza o horário do último batimento para o momento atual.
+     */
+    void updateHeartBeat() {
+      this.heartBeat = System.currentTimeMillis();
+    }
+
+    /**
+     * # indica que a sessão foi removida do registro.
+     *
+     * @return the indica que a sessão foi removida do registro
+     */
+    boolean isRemoved() {
+      return removed;
+    }
+
+    private synchronized void bindThread(Thread thread) {
+      if (threads == null) threads = new ArrayList<>(2);
+      threads.add(thread);
+    }
+
+    private synchronized void unbindThread(Thread thread) {
+      if (threads != null) threads.remove(thread);
+    }
+
+    /**
+     * Verifica se a sessão tem alguma Thread viva associada. As Threads terminadas sem remover a associação são descartadas.
+     *
+     * @return true caso exista alguma Thread viva associada à sessão.
+     */
+    synchronized boolean hasLiveThreads() {
+      if (threads == null) return false;
+      for (Iterator<Thread> it = threads.iterator(); it.hasNext();) {
+        if (it.next().getState() == State.TERMINATED) it.remove();
+      }
+      return !threads.isEmpty();
+    }
+  }
+
+  /**
+   * Sessões indexadas pelo UUID da sessão.
+   */
+  private static final ConcurrentHashMap<String, SessionRecord> sessionsByUUID = new ConcurrentHashMap<>();
+
+  /**
+   * Sessões indexadas pelo Token de acesso utilizado para cria-las.
+   */
+  private static final ConcurrentHashMap<String, SessionRecord> sessionsByToken = new ConcurrentHashMap<>();
+
+  /**
+   * Sessão associada à Thread atual. Pode conter uma sessão já removida, que é descartada nas consultas.
+   */
+  private static final ThreadLocal<SessionRecord> currentSession = new ThreadLocal<>();
+
+  /**
+   * Sessões associadas por outra Thread ({@link SessionManager#attachSessionToThread(Thread, String)}) às Threads que ainda não as utilizaram. A própria Thread move a associação para o {@link #currentSession} na primeira consulta.
+   */
+  private static final ConcurrentHashMap<Thread, SessionRecord> pendingByThread = new ConcurrentHashMap<>();
+
+  /**
+   * Construtor privado para classe estática
+   */
+  private SessionRegistry() {
+  }
+
+  /**
+   * Verifica se o UUID já é utilizado por alguma sessão.
+   *
+   * @param uuid UUID da sessão.
+   * @return true caso exista uma sessão com o UUID.
+   */
+  static boolean containsUUID(String uuid) {
+    return sessionsByUUID.containsKey(uuid);
+  }
+
+  /**
+   * Registra uma nova sessão.
+   *
+   * @param sessionVO Objeto da sessão.
+   * @param token Token de acesso utilizado para criar a sessão, ou nulo se a sessão foi criada por usuário e senha. Caso o Token já tenha outra sessão, o Token passa a apontar para a nova sessão.
+   * @param thread Thread a ser associada à sessão, ou nulo para não associar a nenhuma Thread.
+   * @return Registro da sessão.
+   * @throws RFWCriticalException Lançado caso já exista uma sessão com o mesmo UUID.
+   */
+  static SessionRecord register(SessionVO sessionVO, String token, Thread thread) throws RFWCriticalException {
+    final SessionRecord record = new SessionRecord(sessionVO, token);
+    if (sessionsByUUID.putIfAbsent(record.uuid, record) != null) throw new RFWCriticalException("Já existe uma sessão registrada com o UUID '${0}'!", new String[] { record.uuid });
+    if (token != null) sessionsByToken.put(token, record);
+    if (thread != null) bind(thread, record);
+    return record;
+  }
+
+  /**
+   * Recupera a sessão pelo UUID.
+   *
+   * @param uuid UUID da sessão.
+   * @return Registro da sessão, ou nulo caso a sessão não exista.
+   */
+  static SessionRecord get(String uuid) {
+    return sessionsByUUID.get(uuid);
+  }
+
+  /**
+   * Recupera a sessão criada pelo Token de acesso.
+   *
+   * @param token Token de acesso.
+   * @return Registro da sessão, ou nulo caso o Token não tenha uma sessão.
+   */
+  static SessionRecord getByToken(String token) {
+    return valid(sessionsByToken.get(token));
+  }
+
+  /**
+   * Recupera a sessão associada à Thread atual.
+   *
+   * @return Registro da sessão, ou nulo caso a Thread não tenha sessão associada.
+   */
+  static SessionRecord getCurrent() {
+    return valid(current());
+  }
+
+  private static SessionRecord valid(SessionRecord record) {
+    if (record == null || record.removed) return null;
+    return record;
+  }
+
+  /**
+   * Recupera a associação da Thread atual, incluindo uma sessão já removida. Caso outra Thread tenha associado uma sessão a esta Thread, a associação pendente passa para o {@link #currentSession}.
+   */
+  private static SessionRecord current() {
+    SessionRecord record = currentSession.get();
+    if (!pendingByThread.isEmpty()) {
+      final Thread thread = Thread.currentThread();
+      final SessionRecord pending = pendingByThread.remove(thread);
+      if (pending != null) {
+        if (record != null && !record.removed) {
+          pending.unbindThread(thread); // A Thread já tem a sua sessão, a associação pendente é descartada
+        } else {
+          if (record != null) record.unbindThread(thread);
+          currentSession.set(pending);
+          record = pending;
+        }
+      }
+    }
+    return record;
+  }
+
+  /**
+   * Associa a sessão à Thread.
+   *
+   * @param thread Thread para associação da sessão. Quando não for a Thread atual, a associação fica pendente até que a própria Thread consulte a sua sessão.
+   * @param record Registro da sessão.
+   * @return Registro da sessão que já estava associado à Thread, caso seja de outra sessão. Neste caso a associação não é alterada. Nulo se a sessão foi associada.
+   */
+  static SessionRecord attach(Thread thread, SessionRecord record) {
+    if (thread == Thread.currentThread()) {
+      final SessionRecord current = current();
+      if (current == record) return null;
+      if (current != null && !current.removed) return current;
+      swapCurrent(record);
+      return null;
+    }
+    while (true) {
+      final SessionRecord current = pendingByThread.putIfAbsent(thread, record);
+      if (current == null) {
+        record.bindThread(thread);
+        return null;
+      }
+      if (current == record) return null;
+      if (!current.removed) return current;
+      // A sessão que estava associada já foi removida, substituímos a associação
+      if (pendingByThread.replace(thread, current, record)) {
+        current.unbindThread(thread);
+        record.bindThread(thread);
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Associa a sessão à Thread, substituindo a associação anterior.
+   */
+  private static void bind(Thread thread, SessionRecord record) {
+    if (thread == Thread.currentThread()) {
+      swapCurrent(record);
+    } else {
+      record.bindThread(thread);
+      final SessionRecord previous = pendingByThread.put(thread, record);
+      if (previous != null) previous.unbindThread(thread);
+    }
+  }
+
+  /**
+   * Troca a sessão associada à Thread atual.
+   *
+   * @param record Registro da sessão a ser associada, ou nulo para remover a associação.
+   * @return Registro da sessão que estava associada à Thread, incluindo uma sessão já removida, ou nulo se a Thread não tinha sessão associada.
+   */
+  static SessionRecord swapCurrent(SessionRecord record) {
+    final Thread thread = Thread.currentThread();
+    final SessionRecord previous = current();
+    if (previous == record) return previous;
+    if (previous != null) previous.unbindThread(thread);
+    if (record == null) {
+      currentSession.remove();
+    } else {
+      record.bindThread(thread);
+      currentSession.set(record);
+    }
+    return previous;
+  }
+
+  /**
+   * Remove a associação de sessão da Thread.
+   *
+   * @param thread Thread a ter a sessão removida.
+   */
+  static void detach(Thread thread) {
+    if (thread == Thread.currentThread()) {
+      swapCurrent(null);
+    } else {
+      final SessionRecord record = pendingByThread.remove(thread);
+      if (record != null) record.unbindThread(thread);
+    }
+  }
+
+  /**
+   * Remove a associação pendente da Thread apenas se ela ainda estiver associada à sessão informada.
+   *
+   * @param thread Thread a ter a sessão removida.
+   * @param record Registro da sessão.
+   * @return true caso a associação tenha sido removida.
+   */
+  static boolean detachPending(Thread thread, SessionRecord record) {
+    if (!pendingByThread.remove(thread, record)) return false;
+    record.unbindThread(thread);
+    return true;
+  }
+
+  /**
+   * Remove a sessão do registro e de todos os índices.
+   *
+   * @param record Registro da sessão.
+   * @return true caso a sessão tenha sido removida por esta chamada, false caso já tivesse sido removida.
+   */
+  static boolean unregister(SessionRecord record) {
+    if (!sessionsByUUID.remove(record.uuid, record)) return false;
+    record.removed = true;
+    if (record.token != null) sessionsByToken.remove(record.token, record);
+    // As Threads que ainda tenham a sessão no ThreadLocal a descartam na próxima consulta
+    if (!pendingByThread.isEmpty()) {
+      for (Entry<Thread, SessionRecord> entry : pendingByThread.entrySet()) {
+        if (entry.getValue() == record) detachPending(entry.getKey(), record);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sessões registradas. A iteração não bloqueia o registro e reflete as sessões incluídas ou removidas durante a iteração conforme a garantia de {@link ConcurrentHashMap#values()}.
+   *
+   * @return Sessões registradas.
+   */
+  static Collection<SessionRecord> sessions() {
+    return sessionsByUUID.values();
+  }
+
+  /**
+   * Associações feitas por outras Threads que ainda não foram utilizadas pelas Threads associadas. Mesma garantia de iteração do {@link #sessions()}.
+   *
+   * @return Associações pendentes entre as Threads e as sessões.
+   */
+  static Set<Entry<Thread, SessionRecord>> pendingThreads() {
+    return pendingByThread.entrySet();
+  }
+
+  /**
+   * Quantidade de sessões registradas.
+   *
+   * @return Quantidade de sessões registradas.
+   */
+  static int size() {
+    return sessionsByUUID.size();
+  }
+}
@@ -1,6 +1,11 @@
 package br.eng.rodrigogml.rfw.base.sessionmanager.interceptors;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 import javax.annotation.Resource;
 import javax.ejb.SessionContext;
@@ -30,6 +35,131 @@ import br.eng.rodrigogml.rfw.kernel.vo.RFWRecursiveClonable;
 @Interceptor
 public class SMInterceptor {
 
+  /**
+   * Tamanho do UUID no formato 8-4-4-4-12.
+   */
+  private static final int UUID_LENGTH = 36;
+
+  /**
+   * Caracteres ASCII aceitos nos grupos do UUID da sessão, conforme o {@link RUGenerators#UUID_REGEXP} utilizado antes da validação caractere a caractere.<br>
+   * Montado uma única vez testando cada caractere na expressão, assim a validação continua seguindo a expressão do kernel.
+   */
+  private static final boolean[] UUID_CHARS = uuidChars(RUGenerators.UUID_REGEXP);
+
+  /**
+   * Caracteres ASCII aceitos nos grupos do UUID do Token de acesso ([0-9a-z]), conforme a expressão utilizada antes da validação caractere a caractere.
+   */
+  private static final boolean[] TOKEN_CHARS = uuidChars("[0-9a-z]{8}-[0-9a-z]{4}-[0-9a-z]{4}-[0-9a-z]{4}-[0-9a-z]{12}");
+
+  /**
+   * Description: Definições de segurança de um método da fachada, resolvidas a partir da {@link Security} uma única vez por método.<br>
+   *
+   * @author Rodrigo GML
+   * @since 10.0 (17 de out de 2026)
+   */
+  static final class MethodSecurity {
+
+    /**
+     * Ação de segurança do método. {@link SecurityAction#HASSESSION} quando o método não tem a {@link Security}.
+     */
+    private final SecurityAction action;
+
+    /**
+     * Chaves de acesso exigidas quando a ação é {@link SecurityAction#HASKEY}, ou nulo para as demais ações.
+     */
+    private final String[] keys;
+
+    /**
+     * Chaves de acesso concatenadas para a mensagem de acesso negado.
+     */
+    private final String keysDescription;
+
+    /**
+     * Nome completo do método (Classe#método) para as mensagens de erro.
+     */
+    private final String methodName;
+
+    /**
+     * Posições dos parâmetros que podem receber um {@link RFWRecursiveClonable}. Parâmetros primitivos e de classes finais que não implementam a interface (como String e Long) ficam de fora.
+     */
+    private final int[] clonableParameters;
+
+    MethodSecurity(Method method) {
+      final Security annSec = method.getAnnotation(Security.class);
+      this.action = annSec == null ? SecurityAction.HASSESSION : annSec.action();
+      this.keys = this.action == SecurityAction.HASKEY ? annSec.key() : null;
+      this.keysDescription = this.keys == null ? null : RUArray.concatArrayIntoString(this.keys, 999);
+      this.methodName = method.getDeclaringClass().getCanonicalName() + "#" + method.getName();
+
+      final Class<?>[] types = method.getParameterTypes();
+      final int[] positions = new int[types.length];
+      int count = 0;
+      for (int i = 0; i < types.length; i++) {
+        final Class<?> type = types[i];
+        if (type.isPrimitive()) continue;
+        if (Modifier.isFinal(type.getModifiers()) && !RFWRecursiveClonable.class.isAssignableFrom(type)) continue;
+        positions[count++] = i;
+      }
+      this.clonableParameters = Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * # ação de segurança do método. {@link SecurityAction#HASSESSION} quando o método não tem a {@link Security}.
+     *
+     * @return the ação de segurança do método
+     */
+    SecurityAction getAction() {
+      return action;
+    }
+
+    /**
+     * # chaves de acesso exigidas quando a ação é {@link SecurityAction#HASKEY}, ou nulo para as demais ações.
+     *
+     * @return the chaves de acesso exigidas
+     */
+    String[] getKeys() {
+      return keys;
+    }
+
+    /**
+     * # chaves de acesso concatenadas para a mensagem de acesso negado.
+     *
+     * @return the chaves de acesso concatenadas
+     */
+    String getKeysDescription() {
+      return keysDescription;
+    }
+
+    /**
+     * # nome completo do método (Classe#método) para as mensagens de erro.
+     *
+     * @return the nome completo do método
+     */
+    String getMethodName() {
+      return methodName;
+    }
+
+    /**
+     * # posições dos parâmetros que podem receber um {@link RFWRecursiveClonable}.
+     *
+     * @return the posições dos parâmetros que podem receber um {@link RFWRecursiveClonable}
+     */
+    int[] getClonableParameters() {
+      return clonableParameters;
+    }
+  }
+
+  /**
+   * Cache das definições de segurança dos métodos da fachada, separado pela classe que declara o método.<br>
+   * O cache de cada classe fica associado à própria classe, assim não impede que o ClassLoader da aplicação seja descarregado em um redeploy.
+   */
+  private static final ClassValue<ConcurrentHashMap<Method, MethodSecurity>> methodSecurityCache = new ClassValue<ConcurrentHashMap<Method, MethodSecurity>>() {
+    @Override
+    protected ConcurrentHashMap<Method, MethodSecurity> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   @Resource
   private SessionContext context;
 
@@ -43,54 +173,26 @@ public class SMInterceptor {
 
     try {
       // Por padrão o Security Espera sempre que o primeiro parametro seja o UUID de uma transação válida. Só "pulamos" a validação da transação se o método chamado tiver a Annotation
-      final Security annSec = ctx.getMethod().getAnnotation(Security.class);
+      final MethodSecurity security = getMethodSecurity(ctx.getMethod());
       // Validamos a segurança de acordo com as definições do método
-      SecurityAction action = SecurityAction.HASSESSION; // Define como a ação padrão caso não tenha a annotation
-      if (annSec != null) action = annSec.action();
-      SessionVO ssVO = null; // Salva a sessão se conseguir identifica-la
-      switch (action) {
-        case SKIP:
-          // Não faz nada
-          break;
-        case HASSESSION: {
-          // Verificamos se recebemos uma sessão válida
-          int type = checkSession(ctx, parameters);
-          if (type != 0 && type != 1) throw new RFWCriticalException("O método exige uma sessão válida! Nenhum UUID ou TOKEN válido foi encontrado!");
-          // Se é uma chave válida, verificamos se a sessão é válida. Se a sessão não for válida o método lançará a exception
-          ssVO = SessionManager.getSession((String) parameters[0]);
-          // Se não deu exception, a transação é válida, registramos a sessão nesta Thread
-          SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
-        }
-          break;
-        case HASKEY: {
-          // Verificamos se recebemos uma sessão válida
-          int type = checkSession(ctx, parameters);
-          if (type != 0 && type != 1) throw new RFWCriticalException("O método exige uma sessão válida! Nenhum UUID ou TOKEN válido foi encontrado!");
-          // Se é uma chave válida, verificamos se a sessão é válida. Se a sessão não for válida o método lançará a exception
-          ssVO = SessionManager.getSession((String) parameters[0]);
-          // Verificamos se o usuário tem a chave definida
-          if (!ssVO.hasAccess(annSec.key())) throw new RFWWarningException("RFW_ERR_300070", new String[] { ssVO.getUser(), RUArray.concatArrayIntoString(annSec.key(), 999) });
-          // Se não deu exception, a transação é válida, registramos a sessão nesta Thread
-          SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
-        }
-          break;
-        case HASTOKENSESSION: {
-          // Verificamos se recebemos uma sessão válida
-          int type = checkSession(ctx, parameters);
-          if (type != 1) throw new RFWCriticalException("O método exige uma autenticação por token! Nenhum Token válido foi encontrado!");
-          // Se é uma chave válida, verificamos se a sessão é válida. Se a sessão não for válida o método lançará a exception
-          ssVO = SessionManager.getSession((String) parameters[0]);
-          // Se não deu exception, a transação é válida, registramos a sessão nesta Thread
-          SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
-        }
-          break;
+      if (security.getAction() != SecurityAction.SKIP) {
+        // Verificamos se recebemos uma sessão válida
+        int type = checkSession(security, parameters);
+        if (type != 1 && security.getAction() == SecurityAction.HASTOKENSESSION) throw new RFWCriticalException("O método exige uma autenticação por token! Nenhum Token válido foi encontrado!");
+        // Se é uma chave válida, verificamos se a sessão é válida. Se a sessão não for válida o método lançará a exception
+        SessionVO ssVO = SessionManager.getSession((String) parameters[0]);
+        // Verificamos se o usuário tem a chave definida
+        if (security.getKeys() != null && !ssVO.hasAccess(security.getKeys())) throw new RFWWarningException("RFW_ERR_300070", new String[] { ssVO.getUser(), security.getKeysDescription() });
+        // Se não deu exception, a transação é válida, registramos a sessão nesta Thread
+        SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
       }
 
       try {
         // Faz o interceptor processar o cloneRecursive para todos os VOs e remover as chamadas espalhadas atualmente em algumas fachadas
-        if (parameters != null) {
+        final int[] clonableParameters = security.getClonableParameters();
+        if (parameters != null && clonableParameters.length > 0) {
           final HashMap<RFWRecursiveClonable, RFWRecursiveClonable> clonedObjects = new HashMap<RFWRecursiveClonable, RFWRecursiveClonable>(); // Mantemos a mesma referência da hash no clone para que, se em dois parâmetros distintos do método forem passados o memo objeto (mesmo que aninhados) o clone detecte que são o mesmo e não crie mais intâncias diferentes para passar para o método
-          for (int i = 0; i < parameters.length; i++) {
+          for (int i : clonableParameters) {
             Object object = parameters[i];
             if (object instanceof RFWRecursiveClonable) {
               parameters[i] = ((RFWRecursiveClonable) object).cloneRecursive(clonedObjects);
@@ -120,22 +222,89 @@ public class SMInterceptor {
   /**
    * Verifica se recebemos a UUID no primeiro parâmetro e se a sessão é valida.
    *
-   * @param ctx Context da Chamada da Fachada para que seja possível retirar os parâmetreos sendo recebidos e informações para log.
+   * @param security Definições de segurança do método da fachada chamado, usadas para identificar o método nas mensagens de erro.
    * @param parameters Parâmetros do método da fachada para tentar detectar o UUID.
    * @return 0 caso seja detectado um UUID, 1 caso seja detectado um Token de Acesso.
    * @throws RFWException Lançado caso não se encontre nem um UUID válido nem um Token de acesso.
    */
-  private int checkSession(InvocationContext ctx, Object[] parameters) throws RFWException {
-    Integer type = null;
+  private int checkSession(MethodSecurity security, Object[] parameters) throws RFWException {
     if (parameters == null || parameters.length < 1 || parameters[0] == null || !(parameters[0] instanceof String)) {
-      throw new RFWCriticalException("ID de sessão inválida para chamada da fachada: ${0}", new String[] { ctx.getMethod().getDeclaringClass().getCanonicalName() + "#" + ctx.getMethod().getName() });
-    } else if (((String) parameters[0]).matches(RUGenerators.UUID_REGEXP)) {
-      type = 0;
-    } else if (((String) parameters[0]).matches("(\\Q" + SessionManager.getTokenPrefix() + "\\E)?[0-9a-z]{8}-[0-9a-z]{4}-[0-9a-z]{4}-[0-9a-z]{4}-[0-9a-z]{12}")) {
-      type = 1;
+      throw new RFWCriticalException("ID de sessão inválida para chamada da fachada: ${0}", new String[] { security.getMethodName() });
     }
-    if (type == null) throw new RFWCriticalException("RFW_000019", new String[] { ctx.getMethod().getDeclaringClass().getCanonicalName() + "#" + ctx.getMethod().getName(), ((String) parameters[0]) });
+    final int type = checkSessionKey((String) parameters[0]);
+    if (type < 0) throw new RFWCriticalException("RFW_000019", new String[] { security.getMethodName(), ((String) parameters[0]) });
     return type;
   }
 
+  /**
+   * Recupera as definições de segurança do método da fachada. As definições são resolvidas na primeira chamada de cada método e mantidas em cache, evitando a leitura da {@link Security} a cada chamada.
+   *
+   * @param method Método da fachada sendo chamado.
+   * @return Definições de segurança do método.
+   */
+  static MethodSecurity getMethodSecurity(Method method) {
+    final ConcurrentHashMap<Method, MethodSecurity> cache = methodSecurityCache.get(method.getDeclaringClass());
+    MethodSecurity security = cache.get(method);
+    if (security == null) {
+      security = new MethodSecurity(method);
+      final MethodSecurity previous = cache.putIfAbsent(method, security);
+      if (previous != null) security = previous;
+    }
+    return security;
+  }
+
+  /**
+   * Identifica se a chave recebida é um UUID de sessão ou um Token de acesso (o prefixo {@link SessionManager#getTokenPrefix()} seguido de um UUID).<br>
+   * A validação é feita caractere a caractere, sem expressões regulares e sem criar objetos, pois é executada em todas as chamadas da fachada. O resultado é o mesmo das expressões utilizadas anteriormente: o
+   * {@link RUGenerators#UUID_REGEXP} para o UUID, e para o Token o prefixo opcional seguido de um UUID com caracteres [0-9a-z].
+   *
+   * @param key Chave recebida no primeiro parâmetro do método da fachada.
+   * @return 0 caso seja um UUID, 1 caso seja um Token de Acesso, -1 caso não seja nenhum dos dois.
+   */
+  static int checkSessionKey(String key) {
+    if (isUUID(key, 0, UUID_CHARS)) return 0;
+    if (isUUID(key, 0, TOKEN_CHARS)) return 1; // Na expressão anterior o prefixo do Token era opcional
+    final String tokenPrefix = SessionManager.getTokenPrefix();
+    if (tokenPrefix != null && key.startsWith(tokenPrefix) && isUUID(key, tokenPrefix.length(), TOKEN_CHARS)) return 1;
+    return -1;
+  }
+
+  /**
+   * Verifica se a String, a partir da posição informada até o seu final, tem o formato de um UUID conforme o {@link RUGenerators#UUID_REGEXP}: grupos de 8, 4, 4, 4 e 12 caracteres separados por '-'.
+   *
+   * @param value String a ser verificada.
+   * @param offset Posição do início do UUID.
+   * @return true caso seja um UUID.
+   */
+  static boolean isUUID(String value, int offset) {
+    return isUUID(value, offset, UUID_CHARS);
+  }
+
+  private static boolean isUUID(String value, int offset, boolean[] chars) {
+    if (value.length() - offset != UUID_LENGTH) return false;
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      final char c = value.charAt(offset + i);
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        if (c != '-') return false;
+      } else if (c >= chars.length || !chars[c]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Monta a tabela dos caracteres aceitos nos grupos de um UUID por uma expressão regular, testando cada caractere ASCII na primeira posição de um UUID válido.
+   */
+  private static boolean[] uuidChars(String regexp) {
+    final Pattern pattern = Pattern.compile(regexp);
+    final char[] uuid = "00000000-0000-0000-0000-000000000000".toCharArray();
+    final boolean[] chars = new boolean[128];
+    for (char c = 0; c < chars.length; c++) {
+      uuid[0] = c;
+      chars[c] = pattern.matcher(new String(uuid)).matches();
+    }
+    return chars;
+  }
+
 }
@@ -1,5 +1,6 @@
 package br.eng.rodrigogml.rfw.base.sessionmanager.interfaces;
 
+import java.util.List;
 import java.util.Locale;
 
 import br.eng.rodrigogml.rfw.base.sessionmanager.SessionManager;
@@ -43,4 +44,18 @@ public interface SessionBackOperation {
    */
   public void updateSessionVOActivity(SessionVO ssVO) throws RFWException;
 
+  /**
+   * Notifica o BackOperation das sessões que registraram atividade no sistema desde a última notificação.<br>
+   * O {@link SessionManager} acumula as atividades de cada sessão e as envia em lotes, no intervalo definido em {@link SessionManager#setActivityFlushInterval(long)}, pela Thread de atividades do SessionManager. Cada sessão aparece uma única vez no lote, independente de quantas vezes foi utilizada no intervalo.<br>
+   * A implementação padrão chama o {@link #updateSessionVOActivity(SessionVO)} para cada sessão. Os sistemas que gravam a atividade em banco de dados devem sobrescrever este método para gravar o lote inteiro de uma só vez.
+   *
+   * @param sessions Sessões com atividade registrada.
+   * @throws RFWException
+   */
+  public default void updateSessionVOActivity(List<SessionVO> sessions) throws RFWException {
+    for (SessionVO ssVO : sessions) {
+      updateSessionVOActivity(ssVO);
+    }
+  }
+
 }
@@ -0,0 +1,309 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobCheckerListener;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobStatusSupplierDefault;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Testes das notificações de alteração do {@link JobStatus}, do {@link JobChecker} e dos {@link JobStatusDelta}.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JobCheckerTest {
+
+  /**
+   * Listener que registra as notificações recebidas.
+   */
+  public static class CounterListener implements JobCheckerListener {
+
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicInteger lastCalls = new AtomicInteger();
+    final CountDownLatch finished = new CountDownLatch(1);
+    final Semaphore notifications = new Semaphore(0);
+
+    @Override
+    public void updateStatus(JobStatus jobStatus, boolean lastCall) {
+      this.calls.incrementAndGet();
+      this.notifications.release();
+      if (lastCall) {
+        this.lastCalls.incrementAndGet();
+        this.finished.countDown();
+      }
+    }
+  }
+
+  /**
+   * Confere que cada alteração chega ao listener do JobChecker individualmente, sem depender da antiga verificação a cada 500ms.
+   */
+  @Test
+  public void t00_notificationPerChange() throws Throwable {
+    final Semaphore step = new Semaphore(0);
+    final int changes = 20;
+    final Job job = new Job("Latency") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        for (int i = 0; i < changes; i++) {
+          step.acquire();
+          jStatus.setProgressMessage("Alteração " + i);
+        }
+        return null;
+      }
+    };
+    final CounterListener listener = new CounterListener();
+    final JobChecker checker = new JobChecker(job.getJobStatus().getJobUUID(), null);
+    checker.setMinIntervalMillis(10);
+    checker.addListener(listener);
+    checker.start();
+    job.start();
+    assertTrue(listener.notifications.tryAcquire(5, TimeUnit.SECONDS)); // Notificação inicial
+    while (job.getJobStatus().getStartTime() == 0) {
+      Thread.sleep(5);
+    }
+    Thread.sleep(50);
+    listener.notifications.drainPermits();
+
+    for (int i = 0; i < changes; i++) {
+      step.release();
+      assertTrue("Alteração não notificada!", listener.notifications.tryAcquire(5, TimeUnit.SECONDS));
+      Thread.sleep(20); // Aguarda o intervalo mínimo para que cada alteração seja notificada individualmente
+      listener.notifications.drainPermits();
+    }
+
+    assertTrue(listener.finished.await(5, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    assertEquals(1, listener.lastCalls.get());
+  }
+
+  /**
+   * Confere que as alterações em sequência são agrupadas conforme o intervalo mínimo do assinante, e que a última notificação acontece uma única vez.
+   */
+  @Test
+  public void t01_coalescedNotifications() throws Throwable {
+    final int changes = 200000;
+    final Job job = new Job("Coalesce") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        for (int i = 0; i < changes; i++) {
+          jStatus.setProgress((double) i / changes);
+        }
+        Thread.sleep(200);
+        return null;
+      }
+    };
+    final CounterListener fast = new CounterListener();
+    final CounterListener slow = new CounterListener();
+    job.getJobStatus().subscribe(fast, 0);
+    job.getJobStatus().subscribe(slow, 100);
+    final long start = System.nanoTime();
+    job.start();
+    assertTrue(fast.finished.await(5, TimeUnit.SECONDS));
+    assertTrue(slow.finished.await(5, TimeUnit.SECONDS));
+    final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    Thread.sleep(150);
+
+    assertTrue("Notificações: " + fast.calls.get(), fast.calls.get() < changes / 10);
+    assertTrue("Notificações: " + slow.calls.get(), slow.calls.get() <= elapsedMillis / 100 + 2);
+    assertEquals(1, fast.lastCalls.get());
+    assertEquals(1, slow.lastCalls.get());
+  }
+
+  /**
+   * Acompanha centenas de Jobs com JobCheckers, conferindo que não é criada nenhuma Thread por JobChecker.
+   */
+  @Test
+  public void t02_manyCheckersWithoutThreads() throws Throwable {
+    final int total = 300;
+    final Semaphore release = new Semaphore(0);
+    final Job[] jobs = new Job[total];
+    final CounterListener[] listeners = new CounterListener[total];
+    for (int i = 0; i < total; i++) {
+      jobs[i] = new Job("Watched", "watched") {
+        @Override
+        public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+          release.acquire();
+          jStatus.setProgressMessage("Terminando");
+          return null;
+        }
+      };
+      listeners[i] = new CounterListener();
+      final JobChecker checker = new JobChecker(jobs[i].getJobStatus().getJobUUID(), null);
+      checker.addListener(listeners[i]);
+      checker.start();
+    }
+    final int threadsBefore = Thread.getAllStackTraces().size();
+    JobMonitor.setMaxParallelJobs("watched", 1);
+    try {
+      for (Job job : jobs) {
+        job.start();
+      }
+      Thread.sleep(200);
+      assertTrue("Threads criadas: " + (Thread.getAllStackTraces().size() - threadsBefore), Thread.getAllStackTraces().size() - threadsBefore <= 2); // No máximo a Thread de execução dos Jobs e a de notificação, caso ainda não existissem
+      release.release(total);
+      for (CounterListener listener : listeners) {
+        assertTrue(listener.finished.await(10, TimeUnit.SECONDS));
+      }
+      for (CounterListener listener : listeners) {
+        assertEquals(1, listener.lastCalls.get());
+      }
+    } finally {
+      JobMonitor.setMaxParallelJobs("watched", null);
+    }
+  }
+
+  /**
+   * Confere o acompanhamento por um {@link br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobStatusSupplier} que entrega cópias do {@link JobStatus} (como uma fachada remota): o JobChecker passa a verificar o Job periodicamente.
+   */
+  @Test
+  public void t03_remoteSupplier() throws Throwable {
+    final Semaphore step = new Semaphore(0);
+    final Job job = new Job("Remote") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        step.acquire();
+        jStatus.setProgressMessage("Processando");
+        step.acquire();
+        return "OK";
+      }
+    };
+    final AtomicInteger requests = new AtomicInteger();
+    final JobStatusSupplierDefault remote = new JobStatusSupplierDefault() {
+      @Override
+      public JobStatus getJobStatus(String jobUUID) throws RFWException {
+        requests.incrementAndGet();
+        final JobStatus jobStatus = super.getJobStatus(jobUUID);
+        if (jobStatus == null) return null;
+        try {
+          // Simula a passagem por uma fachada remota
+          final ByteArrayOutputStream out = new ByteArrayOutputStream();
+          try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(jobStatus);
+          }
+          try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return (JobStatus) ois.readObject();
+          }
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+
+      @Override
+      public JobStatusDelta getJobStatusDelta(String jobUUID, long sinceVersion, int reportOffset) throws RFWException {
+        requests.incrementAndGet();
+        final JobStatusDelta delta = super.getJobStatusDelta(jobUUID, sinceVersion, reportOffset);
+        return delta == null ? null : JobStatusDelta.fromByteArray(delta.toByteArray()); // Simula a passagem por uma fachada remota
+      }
+    };
+
+    final JobStatus copy = remote.getJobStatus(job.getJobStatus().getJobUUID());
+    try {
+      copy.subscribe(new CounterListener(), 0);
+      fail("A cópia do JobStatus aceitou a assinatura!");
+    } catch (RFWException e) {
+    }
+
+    final CounterListener listener = new CounterListener();
+    final JobChecker checker = new JobChecker(job.getJobStatus().getJobUUID(), remote);
+    checker.addListener(listener);
+    checker.start();
+    job.start();
+    assertTrue(listener.notifications.tryAcquire(5, TimeUnit.SECONDS));
+    step.release();
+    step.release();
+    assertTrue(listener.finished.await(5, TimeUnit.SECONDS));
+    final int requestsAtEnd = requests.get();
+    Thread.sleep(JobChecker.POLL_INTERVAL_MILLIS * 2);
+    assertEquals(1, listener.lastCalls.get());
+    assertEquals(requestsAtEnd, requests.get()); // As verificações terminam com o Job
+    assertEquals("OK", checker.getJobStatus().getJobReturn());
+  }
+
+  /**
+   * Confere os deltas do {@link JobStatus}: apenas os atributos alterados e o conteúdo novo do relatório são transferidos, e a cópia montada com os deltas fica igual ao original.
+   */
+  @Test
+  public void t04_deltaSnapshots() throws Throwable {
+    final Semaphore step = new Semaphore(0);
+    final Semaphore done = new Semaphore(0);
+    final StringBuilder line = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      line.append("Registro processado com sucesso. ");
+    }
+    final Job job = new Job("Delta") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        for (int i = 0; i < 6000; i++) {
+          jStatus.appendLn(line.toString());
+        }
+        jStatus.setParam("registros", 6000);
+        done.release();
+        step.acquire();
+        jStatus.setProgressMessage("Ação");
+        jStatus.appendLn("Última linha");
+        done.release();
+        step.acquire();
+        return "Terminado";
+      }
+    };
+    final JobStatus original = job.getJobStatus();
+    job.start();
+    assertTrue(done.tryAcquire(10, TimeUnit.SECONDS));
+
+    // Primeira cópia: JobStatus completo, com o relatório de aproximadamente 20MB
+    JobStatusDelta delta = JobStatusDelta.fromByteArray(original.getDelta(0, 0).toByteArray());
+    final JobStatus replica = delta.applyTo(null);
+    assertEquals(original.getReport(), replica.getReport());
+    assertEquals(6000, replica.getParam("registros"));
+    assertEquals(original.getVersion(), replica.getVersion());
+
+    // Sem alterações: o delta tem apenas o cabeçalho
+    byte[] bytes = original.getDelta(replica.getVersion(), replica.getReportSize()).toByteArray();
+    assertTrue("Delta sem alterações: " + bytes.length + " bytes", bytes.length < 100); // Basicamente o UUID do Job e as versões
+    assertTrue(!JobStatusDelta.fromByteArray(bytes).hasChanges());
+
+    // Uma alteração: apenas a mensagem e a linha nova do relatório
+    step.release();
+    assertTrue(done.tryAcquire(10, TimeUnit.SECONDS));
+    bytes = original.getDelta(replica.getVersion(), replica.getReportSize()).toByteArray();
+    assertTrue("Delta com a mensagem e uma linha do relatório: " + bytes.length + " bytes", bytes.length < 200);
+    delta = JobStatusDelta.fromByteArray(bytes);
+    delta.applyTo(replica);
+    assertEquals("Ação", replica.getProgressMessage());
+    assertEquals(original.getReport(), replica.getReport());
+    assertEquals(6000, replica.getParam("registros"));
+
+    // Término do Job
+    step.release();
+    assertTrue(job.join(5000));
+    JobStatusDelta.fromByteArray(original.getDelta(replica.getVersion(), replica.getReportSize()).toByteArray()).applyTo(replica);
+    assertEquals(JobStep.FINISHED, replica.getStep());
+    assertEquals("Terminado", replica.getJobReturn());
+    assertEquals(original.getLastChange(), replica.getLastChange());
+
+    // Delta criado a partir de uma versão mais nova que a da cópia não pode ser aplicado
+    try {
+      original.getDelta(original.getVersion(), 0).applyTo(delta.applyTo(null));
+      fail("Delta aplicado sobre uma versão anterior!");
+    } catch (RFWException e) {
+    }
+  }
+}
@@ -0,0 +1,584 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobCheckerListener;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWValidationException;
+
+/**
+ * Description: Testes da execução dos Jobs pelo JobMonitor.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JobMonitorTest {
+
+  /**
+   * Job que aguarda o tempo informado, registrando a quantidade de Jobs executando ao mesmo tempo.
+   */
+  public static class SleepJob extends Job {
+
+    final AtomicInteger running;
+    final AtomicInteger peak;
+    final long sleep;
+
+    public SleepJob(String category, long sleep, AtomicInteger running, AtomicInteger peak) {
+      super("SleepJob", category);
+      this.sleep = sleep;
+      this.running = running;
+      this.peak = peak;
+    }
+
+    @Override
+    public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+      final int current = this.running.incrementAndGet();
+      this.peak.accumulateAndGet(current, Math::max);
+      try {
+        Thread.sleep(this.sleep);
+      } finally {
+        this.running.decrementAndGet();
+      }
+      return Thread.currentThread().getName();
+    }
+  }
+
+  private int defaultMaxParallelJobs;
+
+  @Before
+  public void saveLimits() {
+    this.defaultMaxParallelJobs = JobMonitor.getMaxParallelJobs();
+  }
+
+  @After
+  public void restoreLimits() throws Throwable {
+    JobMonitor.setMaxParallelJobs(this.defaultMaxParallelJobs);
+  }
+
+  /**
+   * Inicia mais Jobs do que o limite de execuções simultâneas e confere que os excedentes aguardam na fila, sem criar uma Thread por Job.
+   */
+  @Test
+  public void t00_maxParallelJobs() throws Throwable {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    JobMonitor.setMaxParallelJobs(2);
+
+    final long threadsBefore = countJobThreads();
+    final SleepJob[] jobs = new SleepJob[6];
+    for (int i = 0; i < jobs.length; i++) {
+      jobs[i] = new SleepJob(null, 100, running, peak);
+      assertFalse(jobs[i].isAlive());
+      jobs[i].start();
+      assertTrue(jobs[i].isAlive());
+    }
+    assertTrue(JobMonitor.getQueuedJobs() >= jobs.length - 2);
+    assertTrue("Threads criadas para os Jobs: " + (countJobThreads() - threadsBefore), countJobThreads() - threadsBefore <= 2);
+    for (SleepJob job : jobs) {
+      assertTrue("O Job não terminou!", job.join(20000));
+      assertEquals(JobStep.FINISHED, job.getJobStatus().getStep());
+      assertTrue(((String) job.getJobStatus().getJobReturn()).startsWith("### Job: SleepJob")); // A Thread é identificada com o Job durante a execução
+      assertFalse(job.isAlive());
+    }
+    assertEquals(2, peak.get());
+
+    try {
+      jobs[0].start();
+      fail("O Job foi iniciado duas vezes!");
+    } catch (IllegalStateException e) {
+    }
+  }
+
+  /**
+   * Confere o limite de Jobs simultâneos por categoria: os Jobs de uma categoria limitada não impedem a execução dos Jobs de outras categorias.
+   */
+  @Test
+  public void t01_maxParallelJobsPerCategory() throws Throwable {
+    final AtomicInteger importRunning = new AtomicInteger();
+    final AtomicInteger importPeak = new AtomicInteger();
+    final AtomicInteger otherRunning = new AtomicInteger();
+    final AtomicInteger otherPeak = new AtomicInteger();
+    JobMonitor.setMaxParallelJobs(10);
+    JobMonitor.setMaxParallelJobs("import", 1);
+    try {
+      final SleepJob[] jobs = new SleepJob[6];
+      for (int i = 0; i < jobs.length; i++) {
+        jobs[i] = i % 2 == 0 ? new SleepJob("import", 150, importRunning, importPeak) : new SleepJob("report", 150, otherRunning, otherPeak);
+        jobs[i].start();
+      }
+      for (SleepJob job : jobs) {
+        assertTrue("O Job não terminou!", job.join(20000));
+      }
+      assertEquals(1, importPeak.get());
+      assertEquals(3, otherPeak.get());
+    } finally {
+      JobMonitor.setMaxParallelJobs("import", null);
+    }
+  }
+
+  /**
+   * Confere a interrupção dos Jobs: o Job em execução tem sua Thread interrompida, o Job na fila é cancelado sem ser executado e o cancelamento cooperativo do {@link JobStatus#checkInterrupt()} continua funcionando.
+   */
+  @Test
+  public void t02_interrupt() throws Throwable {
+    final AtomicInteger executions = new AtomicInteger();
+    JobMonitor.setMaxParallelJobs("interrupt", 1);
+    try {
+      final Job running = new Job("Running", "interrupt") {
+        @Override
+        public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+          executions.incrementAndGet();
+          Thread.sleep(60000);
+          return null;
+        }
+      };
+      final Job queued = new Job("Queued", "interrupt") {
+        @Override
+        public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+          executions.incrementAndGet();
+          return null;
+        }
+      };
+      running.start();
+      queued.start();
+      while (running.getJobStatus().getStep() != JobStep.RUNNING) {
+        Thread.sleep(5);
+      }
+      assertEquals(JobStep.IDLE, queued.getJobStatus().getStep());
+
+      assertTrue(JobMonitor.cleanJob(queued.getJobStatus().getJobUUID()));
+      assertTrue(queued.join(1000));
+      assertEquals(JobStep.EXCEPTION, queued.getJobStatus().getStep());
+      assertEquals("RFW_ERR_000004", ((RFWValidationException) queued.getJobStatus().getException()).getExceptionCode());
+
+      assertTrue(JobMonitor.cleanJob(running.getJobStatus().getJobUUID()));
+      assertTrue(running.join(5000));
+      assertEquals(JobStep.EXCEPTION, running.getJobStatus().getStep());
+      assertTrue(running.getJobStatus().getException() instanceof InterruptedException);
+      assertEquals(1, executions.get());
+
+      final Job cooperative = new Job("Cooperative", "interrupt") {
+        @Override
+        public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+          while (true) {
+            jStatus.checkInterrupt();
+            Thread.yield();
+          }
+        }
+      };
+      cooperative.start();
+      while (cooperative.getJobStatus().getStep() != JobStep.RUNNING) {
+        Thread.sleep(5);
+      }
+      JobMonitor.interrupt(cooperative.getJobStatus().getJobUUID());
+      assertTrue(cooperative.join(5000));
+      assertEquals("RFW_ERR_000004", ((RFWValidationException) cooperative.getJobStatus().getException()).getExceptionCode());
+    } finally {
+      JobMonitor.setMaxParallelJobs("interrupt", null);
+    }
+  }
+
+  /**
+   * Confere que o Job terminado fica disponível pelo tempo de retenção e depois é removido da memória.
+   */
+  @Test
+  public void t03_finishedJobRetention() throws Throwable {
+    final long defaultRetention = JobMonitor.getFinishedJobRetentionMillis();
+    JobMonitor.setFinishedJobRetentionMillis(200);
+    try {
+      final SleepJob job = new SleepJob(null, 1, new AtomicInteger(), new AtomicInteger());
+      final String uuid = job.getJobStatus().getJobUUID();
+      job.start();
+      assertTrue(job.join(5000));
+      final long end = System.currentTimeMillis();
+      assertNotNull(JobMonitor.getJobStatus(uuid));
+      while (JobMonitor.getJobStatus(uuid) != null) {
+        assertTrue("O Job não foi removido da memória!", System.currentTimeMillis() - end < 5000);
+        Thread.sleep(5);
+      }
+      assertTrue(System.currentTimeMillis() - end >= 150);
+    } finally {
+      JobMonitor.setFinishedJobRetentionMillis(defaultRetention);
+    }
+  }
+
+  /**
+   * Registra 10 mil Jobs e confere que os prazos de todos eles são controlados sem a criação de Threads.
+   */
+  @Test
+  public void t04_tenThousandJobsWithoutThreads() throws Throwable {
+    final int total = 10000;
+    final int threadsBefore = Thread.getAllStackTraces().size();
+    final int sweepingBefore = JobSweeper.size();
+
+    final SleepJob[] jobs = new SleepJob[total];
+    for (int i = 0; i < total; i++) {
+      jobs[i] = new SleepJob(null, 1, null, null);
+    }
+    assertEquals(total, JobSweeper.size() - sweepingBefore);
+    assertTrue("Threads criadas: " + (Thread.getAllStackTraces().size() - threadsBefore), Thread.getAllStackTraces().size() - threadsBefore <= 1); // No máximo a Thread de verificação, caso ainda não existisse
+
+    for (SleepJob job : jobs) {
+      assertTrue(JobMonitor.cleanJob(job.getJobStatus().getJobUUID()));
+    }
+    assertEquals(sweepingBefore, JobSweeper.size());
+  }
+
+  /**
+   * Finaliza milhares de Jobs curtos em paralelo: a finalização e a remoção não utilizam lock global, e todos devem terminar e ser removidos sem deixar prazos pendentes.
+   */
+  @Test
+  public void t05_manyShortJobsCompletion() throws Throwable {
+    final int total = 5000;
+    final int sweepingBefore = JobSweeper.size();
+    JobMonitor.setMaxParallelJobs(16);
+
+    final SleepJob[] jobs = new SleepJob[total];
+    for (int i = 0; i < total; i++) {
+      jobs[i] = new SleepJob(null, 0, new AtomicInteger(), new AtomicInteger());
+    }
+    for (SleepJob job : jobs) {
+      job.start();
+    }
+    for (SleepJob job : jobs) {
+      assertTrue("O Job não terminou!", job.join(20000));
+    }
+
+    for (SleepJob job : jobs) {
+      assertEquals(JobStep.FINISHED, job.getJobStatus().getStep());
+      assertTrue(JobMonitor.cleanJob(job.getJobStatus().getJobUUID()));
+    }
+    assertEquals(sweepingBefore, JobSweeper.size());
+  }
+
+  /**
+   * Remove os Jobs por várias Threads enquanto eles terminam, conferindo que cada Job é removido uma única vez e que nenhum prazo de retenção sobrevive a um Job removido.
+   */
+  @Test
+  public void t06_concurrentCleanAndCompletion() throws Throwable {
+    final int total = 2000;
+    final int sweepingBefore = JobSweeper.size();
+    JobMonitor.setMaxParallelJobs(8);
+
+    final SleepJob[] jobs = new SleepJob[total];
+    for (int i = 0; i < total; i++) {
+      jobs[i] = new SleepJob(null, 0, new AtomicInteger(), new AtomicInteger());
+      jobs[i].start();
+    }
+    final AtomicInteger removed = new AtomicInteger();
+    final Thread[] cleaners = new Thread[4];
+    for (int t = 0; t < cleaners.length; t++) {
+      cleaners[t] = new Thread() {
+        @Override
+        public void run() {
+          for (SleepJob job : jobs) {
+            if (JobMonitor.cleanJob(job.getJobStatus().getJobUUID())) removed.incrementAndGet();
+          }
+        }
+      };
+      cleaners[t].start();
+    }
+    for (Thread cleaner : cleaners) {
+      cleaner.join();
+    }
+    for (SleepJob job : jobs) {
+      assertTrue("O Job não terminou!", job.join(20000));
+      assertNull(JobMonitor.getJobStatus(job.getJobStatus().getJobUUID()));
+    }
+    assertEquals(total, removed.get());
+    assertEquals(sweepingBefore, JobSweeper.size());
+  }
+
+  /**
+   * Confere o cálculo do progresso a partir dos contadores de passos e tarefas.
+   */
+  @Test
+  public void t07_calculatedProgress() throws Throwable {
+    final JobStatus status = new JobStatus("progress", "Progress");
+    assertTrue(status.getIndeterminate());
+    status.setTasksTotal(4);
+    assertFalse(status.getIndeterminate());
+    assertEquals(0d, status.getProgress(), 0d);
+    status.incTasksCount();
+    assertEquals(0.25d, status.getProgress(), 0d);
+
+    status.setStepsTotal(4); // 4 passos de 4 tarefas
+    status.setTasksCount(2);
+    assertEquals(0.125d, status.getProgress(), 0d);
+    status.incStepsCount();
+    assertEquals(2, status.getStepsCount());
+    assertEquals(0, status.getTasksCount());
+    assertEquals(0.25d, status.getProgress(), 0d);
+    status.setTasks(3, 4);
+    assertEquals(0.4375d, status.getProgress(), 0d);
+    status.setTasksCount(10); // Mais tarefas que o total não ultrapassa o passo
+    assertEquals(0.5d, status.getProgress(), 0d);
+    status.setStepsCount(4);
+    status.setTasksCount(4);
+    assertEquals(1d, status.getProgress(), 0d);
+
+    status.setProgress(0.1d); // O progresso definido diretamente substitui o cálculo...
+    assertEquals(0.1d, status.getProgress(), 0d);
+    status.incTasksCount(); // ...até a próxima alteração dos contadores
+    assertEquals(1d, status.getProgress(), 0d);
+  }
+
+  /**
+   * Incrementa o progresso de um Job a partir de várias Threads, conferindo que nenhum incremento é perdido e que as alterações continuam sendo publicadas aos assinantes.
+   */
+  @Test
+  public void t08_parallelProgress() throws Throwable {
+    final int threads = 8;
+    final int increments = 2000000;
+    final JobStatus status = new JobStatus("progress", "Progress");
+    status.setTasksTotal(threads * increments);
+
+    final AtomicInteger lastProgress = new AtomicInteger();
+    status.subscribe(new JobCheckerListener() {
+      @Override
+      public void updateStatus(JobStatus jobStatus, boolean lastCall) {
+        lastProgress.set((int) (jobStatus.getProgress() * 100));
+      }
+    }, 10);
+
+    final Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      workers[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < increments; i++) {
+            status.incTasksCount();
+          }
+        }
+      };
+    }
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    assertEquals(threads * increments, status.getTasksCount());
+    assertEquals(1d, status.getProgress(), 0d);
+
+    final long endWait = System.currentTimeMillis() + 5000;
+    while (lastProgress.get() != 100 && System.currentTimeMillis() < endWait) {
+      Thread.sleep(10);
+    }
+    assertEquals("A última alteração do progresso não foi notificada!", 100, lastProgress.get());
+
+    // O delta também leva o progresso calculado
+    final JobStatus replica = new JobStatus("progress", "Progress", false);
+    status.getDelta(0, 0).applyTo(replica);
+    assertEquals(1d, replica.getProgress(), 0d);
+    assertEquals(threads * increments, replica.getTasksCount());
+  }
+
+  /**
+   * Confere que o resultado dos Jobs terminados sai da memória durante o tempo de retenção: os resultados grandes vão para o disco, os pequenos ficam serializados no índice, e os não serializáveis continuam em memória.
+   */
+  @Test
+  public void t09_resultStore() throws Throwable {
+    final long diskBefore = JobResultStore.getDiskBytes();
+
+    // Resultado grande, com relatório
+    final ArrayList<String> bigReturn = new ArrayList<>();
+    for (int i = 0; i < 50000; i++) {
+      bigReturn.add("Registro " + i);
+    }
+    final Job big = new Job("BigResult") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        for (int i = 0; i < 1000; i++) {
+          jStatus.appendLn("Linha " + i);
+        }
+        return bigReturn;
+      }
+    };
+    final String bigUUID = big.getJobStatus().getJobUUID();
+    big.start();
+    assertTrue(big.join(10000));
+    waitStored(bigUUID);
+    assertTrue(JobResultStore.getDiskBytes() > diskBefore);
+
+    final JobStatus copy = JobMonitor.getJobStatus(bigUUID);
+    assertTrue("O JobStatus deveria ser uma cópia lida do armazenamento!", copy != big.getJobStatus());
+    assertEquals(JobStep.FINISHED, copy.getStep());
+    assertEquals(bigReturn, copy.getJobReturn());
+    assertEquals(big.getJobStatus().getReport(), copy.getReport());
+    assertEquals("Linha 999\r\n", copy.getReport(copy.getReportSize() - 11, 100));
+    assertEquals(big.getJobStatus().getVersion(), JobMonitor.getJobStatusDelta(bigUUID, 0, 0).getVersion());
+
+    // Resultado pequeno, mantido no índice
+    final Job small = new Job("SmallResult") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        jStatus.appendLn("Concluído");
+        return 42;
+      }
+    };
+    final String smallUUID = small.getJobStatus().getJobUUID();
+    final long diskAfterBig = JobResultStore.getDiskBytes();
+    small.start();
+    assertTrue(small.join(10000));
+    waitStored(smallUUID);
+    assertEquals(diskAfterBig, JobResultStore.getDiskBytes());
+    assertEquals(42, JobMonitor.getJobStatus(smallUUID).getJobReturn());
+    assertEquals("Concluído\r\n", JobMonitor.getJobStatus(smallUUID).getReport());
+
+    // Resultado não serializável, mantido em memória
+    final Job memory = new Job("MemoryResult") {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        return new Object();
+      }
+    };
+    memory.start();
+    assertTrue(memory.join(10000));
+    Thread.sleep(100);
+    assertTrue(JobMonitor.getJobStatus(memory.getJobStatus().getJobUUID()) == memory.getJobStatus());
+
+    assertTrue(JobMonitor.cleanJob(bigUUID));
+    assertTrue(JobMonitor.cleanJob(smallUUID));
+    assertTrue(JobMonitor.cleanJob(memory.getJobStatus().getJobUUID()));
+    assertNull(JobMonitor.getJobStatus(bigUUID));
+    assertNull(JobMonitor.getJobStatus(smallUUID));
+    assertEquals(diskBefore, JobResultStore.getDiskBytes());
+    // A cópia e o JobStatus original continuam lendo o relatório completo depois da remoção do Job
+    assertEquals("Linha 0\r\n", copy.getReport(0, 9));
+    assertEquals(copy.getReport(), big.getJobStatus().getReport());
+  }
+
+  /**
+   * Confere que os resultados mais antigos são descartados quando o espaço dos resultados é ultrapassado.
+   */
+  @Test
+  public void t10_resultStoreMaxBytes() throws Throwable {
+    final long defaultMaxBytes = JobMonitor.getResultStoreMaxBytes();
+    try {
+      JobMonitor.setResultStoreMaxBytes(JobResultStore.getDiskBytes() + 3 * 40000);
+      final String[] uuids = new String[4];
+      for (int i = 0; i < uuids.length; i++) {
+        final Job job = new Job("Result " + i) {
+          @Override
+          public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+            return new byte[30000];
+          }
+        };
+        uuids[i] = job.getJobStatus().getJobUUID();
+        job.start();
+        assertTrue(job.join(10000));
+        waitStored(uuids[i]);
+      }
+      // O descarte acontece logo depois do resultado ficar disponível no índice
+      final long endWait = System.currentTimeMillis() + 5000;
+      while (JobMonitor.getJobStatus(uuids[0]) != null) {
+        if (System.currentTimeMillis() > endWait) fail("O resultado mais antigo deveria ter sido descartado!");
+        Thread.sleep(5);
+      }
+      for (int i = 1; i < uuids.length; i++) {
+        assertNotNull(JobMonitor.getJobStatus(uuids[i]));
+        assertTrue(JobMonitor.cleanJob(uuids[i]));
+      }
+    } finally {
+      JobMonitor.setResultStoreMaxBytes(defaultMaxBytes);
+    }
+  }
+
+  /**
+   * Confere que o prazo cancelado, que continua na fila do JobSweeper até o seu vencimento original, não mantém o Job removido na memória.
+   */
+  @Test
+  public void t11_cleanedJobReleased() throws Throwable {
+    SleepJob job = new SleepJob(null, 0, new AtomicInteger(), new AtomicInteger());
+    final WeakReference<SleepJob> reference = new WeakReference<>(job);
+    assertTrue(JobMonitor.cleanJob(job.getJobStatus().getJobUUID()));
+    job = null;
+
+    final long endWait = System.currentTimeMillis() + 5000;
+    while (reference.get() != null) {
+      if (System.currentTimeMillis() > endWait) fail("O Job removido continua na memória!");
+      System.gc();
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Acompanha o progresso por cópias serializadas do JobStatus, como o {@link br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobStatusSupplier} padrão, conferindo que cada incremento aparece na versão, no {@link JobStatus#getLastChange()} e no delta calculado a partir da cópia.
+   */
+  @Test
+  public void t12_polledProgress() throws Throwable {
+    final JobStatus status = new JobStatus("polled", "Polled");
+    status.setStepsTotal(1);
+    status.setTasksTotal(100);
+    final JobStatus replica = new JobStatus("polled", "Polled", false);
+    long version = 0;
+    for (int i = 1; i <= 100; i++) {
+      final long versionBefore = status.getVersion();
+      final long lastChangeBefore = status.getLastChange();
+      if (i % 10 == 0) Thread.sleep(2); // Garante que o relógio avançou desde a última alteração
+      status.incTasksCount();
+      assertTrue(status.getVersion() > versionBefore);
+      if (i % 10 == 0) assertTrue(status.getLastChange() > lastChangeBefore);
+
+      final JobStatusDelta delta = serializedCopy(status).getDelta(version, 0);
+      assertTrue("O incremento " + i + " não gerou alteração no delta!", delta.hasChanges());
+      delta.applyTo(replica);
+      version = replica.getVersion();
+      assertEquals(i / 100d, replica.getProgress(), 1e-9);
+      assertEquals(i, replica.getTasksCount());
+    }
+  }
+
+  /**
+   * Cria uma cópia do JobStatus pela serialização, como a recebida de outra JVM.
+   */
+  private static JobStatus serializedCopy(JobStatus status) throws Throwable {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(status);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (JobStatus) in.readObject();
+    }
+  }
+
+  /**
+   * Aguarda o armazenamento do resultado do Job, que acontece logo depois do seu término.
+   */
+  private static void waitStored(String jobUUID) throws Throwable {
+    final long endWait = System.currentTimeMillis() + 5000;
+    while (JobResultStore.get(jobUUID) == null) {
+      if (System.currentTimeMillis() > endWait) fail("O resultado do Job não foi armazenado!");
+      Thread.sleep(5);
+    }
+  }
+
+  /**
+   * Conta as Threads que podem executar Jobs. As Threads daemon (como as dos Timers do JobMonitor) não são consideradas.
+   */
+  private static long countJobThreads() {
+    return Thread.getAllStackTraces().keySet().stream().filter(t -> !t.isDaemon()).count();
+  }
+}
@@ -0,0 +1,206 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.jobmonitor.JobStatus.JobStep;
+import br.eng.rodrigogml.rfw.base.jobmonitor.interfaces.JobParallelTask;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWValidationException;
+
+/**
+ * Description: Testes do processamento em paralelo dos itens de um Job ({@link Job#parallelFor(int, JobParallelTask)}).<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JobParallelTest {
+
+  /**
+   * Job que executa o parallelFor informado.
+   */
+  public abstract static class ParallelJob extends Job {
+
+    public ParallelJob() {
+      super("ParallelJob");
+    }
+  }
+
+  /**
+   * Confere que cada item é processado uma única vez, por mais de uma Thread, e que o progresso chega em 100%.
+   */
+  @Test
+  public void t00_allItemsOnce() throws Throwable {
+    final int count = 100000;
+    final AtomicIntegerArray processed = new AtomicIntegerArray(count);
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    final ParallelJob job = new ParallelJob() {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        job.parallelFor(count, new JobParallelTask() {
+          @Override
+          public void run(int index, JobStatus jobStatus) throws Throwable {
+            processed.incrementAndGet(index);
+            threads.add(Thread.currentThread());
+            if (index % 1000 == 0) Thread.sleep(1); // Dá tempo para as Threads do pool participarem
+          }
+        });
+        return null;
+      }
+    };
+    job.start();
+    assertTrue(job.join(20000));
+    assertEquals(JobStep.FINISHED, job.getJobStatus().getStep());
+    for (int i = 0; i < count; i++) {
+      assertEquals("Item " + i, 1, processed.get(i));
+    }
+    assertEquals(count, job.getJobStatus().getTasksCount());
+    assertEquals(1d, job.getJobStatus().getProgress(), 0d);
+    if (JobEngine.getParallelism() > 1) assertTrue("Os itens foram processados por uma única Thread!", threads.size() > 1);
+    JobMonitor.cleanJob(job.getJobStatus().getJobUUID());
+  }
+
+  /**
+   * Confere que o parallelFor é combinado com os passos do progresso e que um parallelFor dentro de outro não altera os contadores nem trava o pool.
+   */
+  @Test
+  public void t01_stepsAndNested() throws Throwable {
+    final int outer = JobEngine.getParallelism() * 4; // Mais itens que Threads no pool, para que os parallelFor internos disputem o pool
+    final AtomicInteger inner = new AtomicInteger();
+    final ParallelJob job = new ParallelJob() {
+      @Override
+      public Object runJob(Job job, final JobStatus jStatus) throws Throwable {
+        jStatus.setStepsTotal(2);
+        job.parallelFor(10, new JobParallelTask() {
+          @Override
+          public void run(int index, JobStatus jobStatus) throws Throwable {
+          }
+        });
+        assertEquals(0.5d, jStatus.getProgress(), 0d);
+        jStatus.incStepsCount();
+
+        final Job parent = job;
+        parent.parallelFor(outer, new JobParallelTask() {
+          @Override
+          public void run(int index, JobStatus jobStatus) throws Throwable {
+            parent.parallelFor(100, new JobParallelTask() {
+              @Override
+              public void run(int index, JobStatus jobStatus) throws Throwable {
+                inner.incrementAndGet();
+              }
+            });
+          }
+        });
+        return null;
+      }
+    };
+    job.start();
+    assertTrue("O parallelFor interno travou o pool!", job.join(20000));
+    assertEquals(JobStep.FINISHED, job.getJobStatus().getStep());
+    assertEquals(outer * 100, inner.get());
+    assertEquals(2, job.getJobStatus().getStepsCount());
+    assertEquals(outer, job.getJobStatus().getTasksCount());
+    assertEquals(1d, job.getJobStatus().getProgress(), 0d);
+    JobMonitor.cleanJob(job.getJobStatus().getJobUUID());
+  }
+
+  /**
+   * Confere que a primeira exceção de um item interrompe os demais e é lançada pelo parallelFor, com as demais exceções como suprimidas.
+   */
+  @Test
+  public void t02_exceptions() throws Throwable {
+    final int count = 100000;
+    final AtomicInteger processed = new AtomicInteger();
+    final ParallelJob job = new ParallelJob() {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        job.parallelFor(count, new JobParallelTask() {
+          @Override
+          public void run(int index, JobStatus jobStatus) throws Throwable {
+            processed.incrementAndGet();
+            if (index % 10000 == 500) throw new IllegalStateException("Falha no item " + index);
+          }
+        });
+        return null;
+      }
+    };
+    job.start();
+    assertTrue(job.join(20000));
+    assertEquals(JobStep.EXCEPTION, job.getJobStatus().getStep());
+    final Throwable exception = job.getJobStatus().getException();
+    assertTrue(exception instanceof IllegalStateException);
+    for (Throwable suppressed : exception.getSuppressed()) {
+      assertTrue(suppressed instanceof IllegalStateException);
+    }
+    assertTrue("Os itens não foram interrompidos depois da falha: " + processed.get(), processed.get() < count);
+    JobMonitor.cleanJob(job.getJobStatus().getJobUUID());
+  }
+
+  /**
+   * Confere que a interrupção do Job interrompe as Threads do pool que processam os itens.
+   */
+  @Test
+  public void t03_interrupt() throws Throwable {
+    final int count = JobEngine.getParallelism() * 2;
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicInteger interrupted = new AtomicInteger();
+    final ParallelJob job = new ParallelJob() {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        job.parallelFor(count, new JobParallelTask() {
+          @Override
+          public void run(int index, JobStatus jobStatus) throws Throwable {
+            started.countDown();
+            try {
+              Thread.sleep(60000);
+            } catch (InterruptedException e) {
+              interrupted.incrementAndGet();
+              throw e;
+            }
+          }
+        });
+        return null;
+      }
+    };
+    job.start();
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    Thread.sleep(100); // Aguarda as Threads do pool iniciarem seus itens
+    job.interrupt();
+    assertTrue("O Job não foi interrompido!", job.join(10000));
+    assertEquals(JobStep.EXCEPTION, job.getJobStatus().getStep());
+    assertTrue(interrupted.get() >= 1);
+    assertTrue(job.getJobStatus().getException() instanceof InterruptedException || job.getJobStatus().getException() instanceof RFWValidationException);
+
+    // A interrupção não chega nas próximas tarefas do pool
+    final ParallelJob next = new ParallelJob() {
+      @Override
+      public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+        job.parallelFor(count, new JobParallelTask() {
+          @Override
+          public void run(int index, JobStatus jobStatus) throws Throwable {
+            assertFalse(Thread.currentThread().isInterrupted());
+            Thread.sleep(10);
+          }
+        });
+        return null;
+      }
+    };
+    next.start();
+    assertTrue(next.join(10000));
+    assertEquals(JobStep.FINISHED, next.getJobStatus().getStep());
+    JobMonitor.cleanJob(job.getJobStatus().getJobUUID());
+    JobMonitor.cleanJob(next.getJobStatus().getJobUUID());
+  }
+}
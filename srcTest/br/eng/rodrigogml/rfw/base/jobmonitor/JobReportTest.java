@@ -0,0 +1,181 @@
+package br.eng.rodrigogml.rfw.base.jobmonitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+
+/**
+ * Description: Testes do relatório dos Jobs ({@link JobStatus#append(String)}) com a gravação em disco do seu início.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class JobReportTest {
+
+  private int defaultReportMemoryChars;
+
+  @Before
+  public void saveLimits() {
+    this.defaultReportMemoryChars = JobMonitor.getReportMemoryChars();
+  }
+
+  @After
+  public void restoreLimits() throws Throwable {
+    JobMonitor.setReportMemoryChars(this.defaultReportMemoryChars);
+  }
+
+  /**
+   * Linha do relatório de teste. O conteúdo de cada linha depende do seu número, permitindo conferir qualquer trecho.
+   */
+  private static String line(int i) {
+    return "Registro " + i + " conciliado: ação concluída com sucesso.";
+  }
+
+  /**
+   * Monta um relatório de aproximadamente 20 milhões de caracteres e confere que a memória utilizada pelo relatório continua limitada.
+   */
+  @Test
+  public void t00_memoryStaysFlat() throws Throwable {
+    JobMonitor.setReportMemoryChars(65536);
+    final JobStatus status = new JobStatus("report", "Report");
+
+    long expectedSize = 0;
+    int lines = 0;
+    while (expectedSize < 20000000) {
+      final String line = line(lines++);
+      status.appendLn(line);
+      expectedSize += line.length() + 2;
+      assertTrue(status.getReportBuffer().memoryChars() <= 65536);
+    }
+    assertEquals(expectedSize, status.getReportSize());
+    // Apenas o final do relatório fica em memória, o restante está no arquivo (2 bytes por caractere)
+    final File file = status.getReportBuffer().getFile();
+    assertNotNull(file);
+    assertEquals((expectedSize - status.getReportBuffer().memoryChars()) * 2, file.length());
+
+    // Trechos do início (em disco), do final (em memória) e atravessando os dois
+    assertEquals(line(0) + "\r\n" + line(1), status.getReport(0, line(0).length() + 2 + line(1).length()));
+    final String last = line(lines - 1) + "\r\n";
+    assertEquals(last, status.getReport(expectedSize - last.length(), 1000));
+    assertEquals("", status.getReport(expectedSize, 10));
+    final long boundary = status.getReportBuffer().length() - status.getReportBuffer().memoryChars();
+    final String across = status.getReport(boundary - 5000, 10000);
+    assertEquals(10000, across.length());
+    assertEquals(status.getReport(boundary - 5000, 5000) + status.getReport(boundary, 5000), across);
+  }
+
+  /**
+   * Confere a leitura em partes, a escrita em um {@link Writer}, a serialização e o descarte do arquivo temporário.
+   */
+  @Test
+  public void t01_readsAndDispose() throws Throwable {
+    JobMonitor.setReportMemoryChars(1000);
+    final SleepJobWithReport job = new SleepJobWithReport(20000);
+    final JobStatus status = job.getJobStatus();
+    job.start();
+    assertTrue(job.join(10000));
+
+    final StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      expected.append(line(i)).append("\r\n");
+    }
+    assertEquals(expected.toString(), status.getReport());
+    for (long offset : new long[] { 0, 1, 999, 12345, expected.length() - 500 }) {
+      assertEquals(expected.substring((int) offset, (int) Math.min(expected.length(), offset + 777)), status.getReport(offset, 777));
+    }
+
+    final AtomicLong writes = new AtomicLong();
+    final StringWriter writer = new StringWriter() {
+      @Override
+      public void write(String str) {
+        writes.incrementAndGet();
+        super.write(str);
+      }
+    };
+    status.writeReport(writer);
+    assertEquals(expected.toString(), writer.toString());
+    assertTrue(writes.get() > 1); // Escrito em partes
+
+    // A cópia serializada contém o relatório inteiro
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+      oos.writeObject(status);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      final JobStatus copy = (JobStatus) ois.readObject();
+      assertEquals(expected.toString(), copy.getReport());
+      // A cópia grava o relatório no seu próprio arquivo, e pode altera-lo
+      assertNotNull(copy.getReportBuffer().getFile());
+      copy.getReportBuffer().truncate(100);
+      assertEquals(expected.substring(0, 100), copy.getReport());
+    }
+
+    // Depois de remover o Job do JobMonitor, quem tem a referência do JobStatus continua lendo o relatório completo
+    final File file = status.getReportBuffer().getFile();
+    assertTrue(file.exists());
+    assertTrue(JobMonitor.cleanJob(status.getJobUUID()));
+    assertTrue(file.exists());
+    assertEquals(expected.toString(), status.getReport());
+  }
+
+  /**
+   * Confere que o arquivo temporário do relatório é apagado quando o JobStatus deixa de ser alcançável.
+   */
+  @Test
+  public void t02_fileDeletedWhenUnreachable() throws Throwable {
+    JobMonitor.setReportMemoryChars(1000);
+    JobStatus status = new JobStatus("report", "Report");
+    for (int i = 0; i < 1000; i++) {
+      status.appendLn(line(i));
+    }
+    final File file = status.getReportBuffer().getFile();
+    assertTrue(file.exists());
+    status = null;
+
+    final long endWait = System.currentTimeMillis() + 5000;
+    while (file.exists()) {
+      if (System.currentTimeMillis() > endWait) fail("O arquivo do relatório não foi apagado!");
+      System.gc();
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Job que escreve a quantidade de linhas informada no relatório.
+   */
+  public static class SleepJobWithReport extends Job {
+
+    private final int lines;
+
+    public SleepJobWithReport(int lines) {
+      super("Report");
+      this.lines = lines;
+    }
+
+    @Override
+    public Object runJob(Job job, JobStatus jStatus) throws Throwable {
+      for (int i = 0; i < this.lines; i++) {
+        jStatus.appendLn(line(i));
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerControllerTest.CounterRunnable;
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerControllerTest.SampleTask;
+import br.eng.rodrigogml.rfw.kernel.RFW;
+
+/**
+ * Description: Testes do Scheduler em cluster: distribuição das tarefas por hash consistente e leases de execução.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SchedulerClusterTest {
+
+  private File directory = null;
+
+  @Before
+  public void createDirectory() throws Throwable {
+    this.directory = Files.createTempDirectory("schedulerlease").toFile();
+  }
+
+  @After
+  public void deleteDirectory() {
+    SchedulerController.setCluster(null);
+    SchedulerController.cancelAllTaks();
+    for (File file : this.directory.listFiles()) {
+      file.delete();
+    }
+    this.directory.delete();
+  }
+
+  /**
+   * Confere a distribuição das tarefas entre os nós e que, com a entrada de um novo nó, apenas as tarefas que passam para ele mudam de responsável.
+   */
+  @Test
+  public void t00_consistentHashDistribution() throws Throwable {
+    final int total = 30000;
+    final SchedulerFileLeaseProvider provider = new SchedulerFileLeaseProvider(this.directory, "A");
+    final SchedulerCluster cluster = new SchedulerCluster("A", Arrays.asList("A", "B", "C"), provider);
+
+    final String[] owners = new String[total];
+    final HashMap<String, AtomicInteger> count = new HashMap<>();
+    for (int i = 0; i < total; i++) {
+      owners[i] = cluster.getOwner((long) i);
+      count.computeIfAbsent(owners[i], k -> new AtomicInteger()).incrementAndGet();
+    }
+    assertEquals(3, count.size());
+    for (AtomicInteger c : count.values()) {
+      assertTrue("Distribuição desigual: " + count, Math.abs(c.get() - total / 3) < total / 3 * 0.2);
+    }
+
+    // Mesma lista em outra ordem (como em outro nó) deve dar o mesmo resultado
+    final SchedulerCluster other = new SchedulerCluster("B", Arrays.asList("C", "B", "A"), provider);
+    for (int i = 0; i < total; i++) {
+      assertEquals(owners[i], other.getOwner((long) i));
+    }
+
+    cluster.setNodes(Arrays.asList("A", "B", "C", "D"));
+    int moved = 0;
+    for (int i = 0; i < total; i++) {
+      final String owner = cluster.getOwner((long) i);
+      if (!owner.equals(owners[i])) {
+        assertEquals("Tarefa mudou de responsável entre os nós antigos!", "D", owner);
+        moved++;
+      }
+    }
+    assertTrue("Tarefas redistribuídas com a entrada do 4º nó: " + moved + " de " + total, moved > total / 4 * 0.7 && moved < total / 4 * 1.3);
+  }
+
+  /**
+   * Confere as regras do lease: apenas um nó obtém cada execução, execuções concluídas não são obtidas de novo e leases expirados podem ser obtidos por outro nó.
+   */
+  @Test
+  public void t01_fileLease() throws Throwable {
+    final SchedulerFileLeaseProvider nodeA = new SchedulerFileLeaseProvider(this.directory, "A");
+    final SchedulerFileLeaseProvider nodeB = new SchedulerFileLeaseProvider(this.directory, "B");
+    final SampleTask task = new SampleTask(CounterRunnable.class, LocalDateTime.of(2026, 10, 17, 2, 0));
+    final LocalDateTime slot1 = task.getScheduleTime();
+    final LocalDateTime slot2 = slot1.plusDays(1);
+    final LocalDateTime slot3 = slot2.plusDays(1);
+
+    assertTrue(nodeA.acquire(task, slot1, 60000));
+    assertFalse(nodeB.acquire(task, slot1, 60000)); // Em execução no A
+    nodeA.release(task, slot1);
+    assertFalse(nodeB.acquire(task, slot1, 60000)); // Já concluída
+
+    assertTrue(nodeB.acquire(task, slot2, 1));
+    Thread.sleep(10);
+    assertTrue(nodeA.acquire(task, slot2, 60000)); // Lease do B expirou sem ser liberado (nó caiu)
+    nodeB.release(task, slot2); // Liberação atrasada do B não pode marcar a execução do A como concluída
+    assertFalse(nodeB.acquire(task, slot2, 60000));
+    nodeA.release(task, slot2);
+
+    assertTrue(nodeB.acquire(task, slot3, 60000));
+    assertFalse(nodeA.acquire(task, slot2, 60000)); // Execução anterior à última obtida
+
+    // Nó que caiu durante a gravação deixa apenas o arquivo temporário incompleto, o lease anterior continua valendo
+    Files.write(new File(this.directory, "task-" + task.getId() + ".lease.tmp").toPath(), new byte[] { 1, 2, 3 });
+    assertFalse(nodeA.acquire(task, slot3, 60000)); // Em execução no B
+  }
+
+  /**
+   * Várias Threads de "nós" diferentes disputando as mesmas execuções: cada execução deve ser obtida uma única vez.
+   */
+  @Test
+  public void t02_concurrentLease() throws Throwable {
+    final int slots = 300;
+    final SampleTask task = new SampleTask(CounterRunnable.class, LocalDateTime.of(2026, 10, 17, 2, 0));
+    final AtomicInteger[] acquired = new AtomicInteger[slots];
+    for (int i = 0; i < slots; i++) {
+      acquired[i] = new AtomicInteger();
+    }
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      final SchedulerFileLeaseProvider provider = new SchedulerFileLeaseProvider(this.directory, "N" + t);
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < slots; i++) {
+              final LocalDateTime slot = task.getScheduleTime().plusMinutes(i);
+              if (provider.acquire(task, slot, 60000)) {
+                acquired[i].incrementAndGet();
+                provider.release(task, slot);
+              }
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (failure.get() != null) throw failure.get();
+    for (int i = 0; i < slots; i++) {
+      assertTrue("Execução " + i + " obtida " + acquired[i].get() + " vezes!", acquired[i].get() <= 1);
+    }
+  }
+
+  /**
+   * Com o Scheduler em cluster, apenas as tarefas de responsabilidade deste nó são executadas.
+   */
+  @Test
+  public void t03_schedulerExecutesOnlyOwnedTasks() throws Throwable {
+    final SchedulerCluster cluster = new SchedulerCluster("A", Arrays.asList("A", "B"), new SchedulerFileLeaseProvider(this.directory, "A"));
+    SchedulerController.setCluster(cluster);
+
+    final int total = 100;
+    final HashSet<String> owned = new HashSet<>();
+    final SampleTask[] tasks = new SampleTask[total];
+    final LocalDateTime time = RFW.getDateTime().plus(100, ChronoUnit.MILLIS); // Tempo suficiente para montar as tarefas antes do horário, tarefas atrasadas não seriam executadas
+    for (int i = 0; i < total; i++) {
+      tasks[i] = new SampleTask(CounterRunnable.class, time);
+      tasks[i].getProperties().put("id", "" + tasks[i].getId());
+      if (cluster.isLocalOwner(tasks[i].getId())) owned.add("" + tasks[i].getId());
+    }
+    SchedulerController.loadTasks(tasks);
+
+    final long start = System.currentTimeMillis();
+    while (SchedulerController.getTasks().size() > 0) {
+      assertTrue("As tarefas não foram executadas!", System.currentTimeMillis() - start < 10000);
+      Thread.sleep(5);
+    }
+    assertTrue(owned.size() > 0 && owned.size() < total);
+    for (SampleTask task : tasks) {
+      final AtomicLong executions = CounterRunnable.executions.get("" + task.getId());
+      if (owned.contains("" + task.getId())) {
+        assertEquals(1, executions.get());
+      } else {
+        assertTrue("Tarefa de outro nó foi executada!", executions == null);
+      }
+    }
+  }
+}
@@ -0,0 +1,812 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.After;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerTaskTiming.TaskStatus;
+import br.eng.rodrigogml.rfw.base.scheduler.annotations.SchedulerSingleton;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerBatchListener;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerListener;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerRunnable;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask.RepeatFrequency;
+import br.eng.rodrigogml.rfw.kernel.RFW;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWCriticalException;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Classe de teste do {@link SchedulerController}.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SchedulerControllerTest {
+
+  /**
+   * Tarefa utilizada no teste de carga, registra o atraso entre o horário agendado e o horário em que foi realmente executada.
+   */
+  public static class JitterRunnable implements SchedulerRunnable {
+
+    static final ConcurrentLinkedQueue<Long> jitters = new ConcurrentLinkedQueue<>();
+
+    static CountDownLatch latch = null;
+
+    @Override
+    public Map<String, String> runTask(Map<String, String> properties) throws RFWException {
+      jitters.add(System.currentTimeMillis() - Long.parseLong(properties.get("expected")));
+      latch.countDown();
+      return null;
+    }
+  }
+
+  /**
+   * Tarefa utilizada no teste de concorrência, apenas conta suas execuções por ID de tarefa.
+   */
+  public static class CounterRunnable implements SchedulerRunnable {
+
+    static final ConcurrentHashMap<String, AtomicLong> executions = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, String> runTask(Map<String, String> properties) throws RFWException {
+      executions.computeIfAbsent(properties.get("id"), k -> new AtomicLong()).incrementAndGet();
+      if ("true".equals(properties.get("fail"))) throw new RFWCriticalException("Falha simulada da tarefa.");
+      return null;
+    }
+  }
+
+  /**
+   * Tarefa utilizada nos testes da fila de execução. Registra a ordem de execução e o pico de execuções simultâneas, e aguarda o tempo definido na propriedade "sleep".
+   */
+  public static class ConcurrencyRunnable implements SchedulerRunnable {
+
+    static final AtomicInteger running = new AtomicInteger();
+    static final AtomicInteger peak = new AtomicInteger();
+    static final ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+
+    static void reset() {
+      running.set(0);
+      peak.set(0);
+      order.clear();
+    }
+
+    @Override
+    public Map<String, String> runTask(Map<String, String> properties) throws RFWException {
+      final int current = running.incrementAndGet();
+      peak.accumulateAndGet(current, Math::max);
+      try {
+        order.add(properties.get("id"));
+        Thread.sleep(Long.parseLong(properties.get("sleep")));
+      } catch (InterruptedException e) {
+      } finally {
+        running.decrementAndGet();
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Tarefa utilizada no benchmark das tarefas de alta frequência. Conta suas instâncias e execuções.
+   */
+  public static class InstanceCounterRunnable implements SchedulerRunnable {
+
+    static final AtomicLong instances = new AtomicLong();
+    static final AtomicLong executions = new AtomicLong();
+
+    public InstanceCounterRunnable() {
+      instances.incrementAndGet();
+    }
+
+    @Override
+    public Map<String, String> runTask(Map<String, String> properties) throws RFWException {
+      executions.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * Mesmo que o {@link InstanceCounterRunnable}, mas declarado como reutilizável.
+   */
+  @SchedulerSingleton
+  public static class SingletonCounterRunnable extends InstanceCounterRunnable {
+  }
+
+  /**
+   * Implementação simples da {@link SchedulerTask} para os testes.
+   */
+  public static class SampleTask implements SchedulerTask {
+
+    private final Long id = SchedulerController.generateID();
+    private final String taskClass;
+    private LocalDateTime scheduleTime;
+    private RepeatFrequency repeatFrequency;
+    private Long lateExecution;
+    private LocalDateTime lastExecution;
+    private Long timeToRepeat;
+    private LocalDateTime stopDate;
+    private Integer recurrence;
+    private Boolean monthlyRepeatByDayOfMonth;
+    private Integer priority;
+    private Map<String, String> properties = new HashMap<>();
+
+    public SampleTask(Class<? extends SchedulerRunnable> taskClass, LocalDateTime scheduleTime) {
+      this.taskClass = taskClass.getName();
+      this.scheduleTime = scheduleTime;
+    }
+
+    @Override
+    public String getTaskClass() {
+      return taskClass;
+    }
+
+    @Override
+    public Long getId() {
+      return id;
+    }
+
+    @Override
+    public LocalDateTime getScheduleTime() {
+      return scheduleTime;
+    }
+
+    @Override
+    public RepeatFrequency getRepeatFrequency() {
+      return repeatFrequency;
+    }
+
+    public void setRepeatFrequency(RepeatFrequency repeatFrequency) {
+      this.repeatFrequency = repeatFrequency;
+    }
+
+    @Override
+    public Long getLateExecution() {
+      return lateExecution;
+    }
+
+    public void setLateExecution(Long lateExecution) {
+      this.lateExecution = lateExecution;
+    }
+
+    @Override
+    public LocalDateTime getLastExecution() {
+      return lastExecution;
+    }
+
+    @Override
+    public Long getTimeToRepeat() {
+      return timeToRepeat;
+    }
+
+    public void setTimeToRepeat(Long timeToRepeat) {
+      this.timeToRepeat = timeToRepeat;
+    }
+
+    @Override
+    public LocalDateTime getStopDate() {
+      return stopDate;
+    }
+
+    public void setStopDate(LocalDateTime stopDate) {
+      this.stopDate = stopDate;
+    }
+
+    @Override
+    public Integer getRecurrence() {
+      return recurrence;
+    }
+
+    public void setRecurrence(Integer recurrence) {
+      this.recurrence = recurrence;
+    }
+
+    @Override
+    public Boolean getMonthlyRepeatByDayOfMonth() {
+      return monthlyRepeatByDayOfMonth;
+    }
+
+    public void setMonthlyRepeatByDayOfMonth(Boolean monthlyRepeatByDayOfMonth) {
+      this.monthlyRepeatByDayOfMonth = monthlyRepeatByDayOfMonth;
+    }
+
+    @Override
+    public Integer getPriority() {
+      return priority;
+    }
+
+    public void setPriority(Integer priority) {
+      this.priority = priority;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+      return properties;
+    }
+
+    @Override
+    public void setProperties(Map<String, String> properties) {
+      this.properties = properties;
+    }
+
+    @Override
+    public void setLastExecution(LocalDateTime lastExecution) {
+      this.lastExecution = lastExecution;
+    }
+
+    @Override
+    public void setScheduleTime(LocalDateTime scheduleTime) {
+      this.scheduleTime = scheduleTime;
+    }
+  }
+
+  @After
+  public void cleanUp() {
+    SchedulerController.cancelAllTaks();
+  }
+
+  /**
+   * Agenda 10 mil tarefas e valida que todas são executadas sem que o motor de agendamento crie uma Thread por tarefa.<br>
+   * Com o modelo antigo (um Timer por tarefa) este teste criava 10 mil Threads.
+   */
+  @Test
+  public void t00_scheduleTenThousandTasks() throws Throwable {
+    final int total = 10000;
+    JitterRunnable.jitters.clear();
+    JitterRunnable.latch = new CountDownLatch(total);
+
+    final int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+    ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+
+    final LocalDateTime now = RFW.getDateTime();
+    final long nowMillis = System.currentTimeMillis();
+    final SchedulerTask[] tasks = new SchedulerTask[total];
+    for (int i = 0; i < total; i++) {
+      long delay = 1000 + (i % 1000); // Espalha as tarefas entre 1 e 2 segundos a partir de agora
+      SampleTask task = new SampleTask(JitterRunnable.class, now.plus(delay, ChronoUnit.MILLIS));
+      task.getProperties().put("expected", "" + (nowMillis + delay));
+      tasks[i] = task;
+    }
+    SchedulerController.loadTasks(tasks);
+
+    final int threadsScheduled = ManagementFactory.getThreadMXBean().getThreadCount();
+
+    assertTrue("Nem todas as tarefas foram executadas!", JitterRunnable.latch.await(60, TimeUnit.SECONDS));
+    final int threadsPeak = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+
+    assertEquals(total, JitterRunnable.jitters.size());
+
+    assertTrue("O Scheduler criou Threads demais para as tarefas agendadas: " + (threadsScheduled - threadsBefore), threadsScheduled - threadsBefore <= 1);
+    assertTrue("O Scheduler criou Threads demais para executar as tarefas: " + (threadsPeak - threadsBefore), threadsPeak - threadsBefore <= SchedulerController.getMaxWorkerThreads() + 1);
+  }
+
+  /**
+   * Valida o cálculo direto (sem iterações) das frequências DAILY e MONTHLY comparando com o cálculo iterativo, recorrência a recorrência, utilizado anteriormente.
+   */
+  @Test
+  public void t01_calcNextExecutionClosedForm() throws Throwable {
+    final Random random = new Random(1234);
+    final LocalDateTime now = LocalDateTime.of(2026, 10, 17, 10, 30, 15);
+    for (int i = 0; i < 5000; i++) {
+      final RepeatFrequency frequency = i % 3 == 0 ? RepeatFrequency.DAILY : RepeatFrequency.MONTHLY;
+      // Dia até 28 para que o avanço mês a mês não sofra ajuste de fim de mês no cálculo de referência
+      LocalDateTime scheduleTime = LocalDateTime.of(1990 + random.nextInt(36), 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+      SampleTask task = new SampleTask(JitterRunnable.class, scheduleTime);
+      task.setRepeatFrequency(frequency);
+      task.setRecurrence(random.nextBoolean() ? null : 1 + random.nextInt(15));
+      task.setMonthlyRepeatByDayOfMonth(i % 3 == 2 ? Boolean.FALSE : null);
+
+      LocalDateTime[] expected = calcIterative(task, now);
+      task.setLateExecution(null);
+      assertEquals("Próxima execução diferente para: " + scheduleTime + " / " + frequency + " / " + task.getRecurrence(), expected[1], SchedulerController.calcTaskNextExecution(task, now));
+      task.setLateExecution(-1L);
+      assertEquals("Execução atrasada diferente para: " + scheduleTime + " / " + frequency + " / " + task.getRecurrence(), expected[0], SchedulerController.calcTaskNextExecution(task, now));
+    }
+  }
+
+  /**
+   * Calcula a próxima execução de 10 mil tarefas agendadas há décadas, como ocorre na inicialização do sistema, validando que todas caem no futuro.
+   */
+  @Test
+  public void t02_calcNextExecutionOldTasks() throws Throwable {
+    final int total = 10000;
+    final LocalDateTime now = RFW.getDateTime();
+    final SampleTask[] tasks = new SampleTask[total];
+    for (int i = 0; i < total; i++) {
+      tasks[i] = new SampleTask(JitterRunnable.class, now.minusYears(30).plusMinutes(i));
+      tasks[i].setRepeatFrequency(i % 2 == 0 ? RepeatFrequency.DAILY : RepeatFrequency.MONTHLY);
+      tasks[i].setMonthlyRepeatByDayOfMonth(i % 4 == 1 ? Boolean.FALSE : null);
+    }
+
+    for (SampleTask task : tasks) {
+      final LocalDateTime next = SchedulerController.calcTaskNextExecution(task, now);
+      assertNotNull("Próxima execução não calculada para: " + task.getScheduleTime(), next);
+      assertTrue("Próxima execução no passado para: " + task.getScheduleTime() + " / " + next, !next.isBefore(now));
+    }
+  }
+
+  /**
+   * Cálculo de referência, iterando recorrência a recorrência, como o {@link SchedulerController} fazia antes do cálculo direto.
+   *
+   * @return Array com a última execução passada e a próxima execução futura.
+   */
+  private static LocalDateTime[] calcIterative(SchedulerTask task, LocalDateTime now) {
+    int skip = task.getRecurrence() != null ? task.getRecurrence() : 1;
+    LocalDateTime last = null;
+    LocalDateTime next = task.getScheduleTime();
+    do {
+      last = next;
+      if (task.getRepeatFrequency() == RepeatFrequency.DAILY) {
+        next = next.plus(skip, ChronoUnit.DAYS);
+      } else if (task.getMonthlyRepeatByDayOfMonth() == null || task.getMonthlyRepeatByDayOfMonth()) {
+        next = next.plus(skip, ChronoUnit.MONTHS);
+      } else {
+        GregorianCalendar gc2 = GregorianCalendar.from(task.getScheduleTime().atZone(ZoneId.systemDefault()));
+        int dwm = gc2.get(GregorianCalendar.DAY_OF_WEEK_IN_MONTH);
+        int dw = gc2.get(GregorianCalendar.DAY_OF_WEEK);
+        GregorianCalendar gc = GregorianCalendar.from(next.atZone(ZoneId.systemDefault()));
+        gc.add(GregorianCalendar.MONTH, skip);
+        int month = gc.get(GregorianCalendar.MONTH);
+        gc.set(GregorianCalendar.DAY_OF_WEEK_IN_MONTH, dwm);
+        gc.set(GregorianCalendar.DAY_OF_WEEK, dw);
+        while (month != gc.get(GregorianCalendar.MONTH)) {
+          gc.add(GregorianCalendar.WEEK_OF_YEAR, -1);
+        }
+        next = gc.toZonedDateTime().toLocalDateTime();
+      }
+    } while (next.compareTo(now) < 0);
+    return new LocalDateTime[] { last, next };
+  }
+
+  /**
+   * Teste de estresse do registro de tarefas: várias Threads agendando, cancelando, executando imediatamente e listando tarefas enquanto as próprias tarefas se reagendam.<br>
+   * Ao final nenhuma tarefa que não foi cancelada pode ter perdido seu reagendamento, e nenhuma tarefa cancelada pode continuar executando.
+   */
+  @Test
+  public void t03_concurrentRegistryStress() throws Throwable {
+    final int permanentCount = 200; // Tarefas nunca canceladas, devem continuar agendadas ao final
+    final int volatileCount = 200; // Tarefas canceladas e recarregadas o tempo todo
+    final SampleTask[] permanent = new SampleTask[permanentCount];
+    final SampleTask[] transients = new SampleTask[volatileCount];
+    final LocalDateTime start = RFW.getDateTime().plus(10, ChronoUnit.MILLIS);
+    for (int i = 0; i < permanentCount + volatileCount; i++) {
+      SampleTask task = new SampleTask(CounterRunnable.class, start);
+      task.setRepeatFrequency(RepeatFrequency.TIMED);
+      task.setTimeToRepeat(5L + (i % 20));
+      task.getProperties().put("id", "" + task.getId());
+      if (i < permanentCount) {
+        permanent[i] = task;
+      } else {
+        transients[i - permanentCount] = task;
+      }
+    }
+    SchedulerController.loadTasks(permanent);
+    SchedulerController.loadTasks(transients);
+
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread[] threads = new Thread[16];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread("Stress #" + t) {
+        @Override
+        public void run() {
+          final ThreadLocalRandom random = ThreadLocalRandom.current();
+          try {
+            while (running.get()) {
+              switch (random.nextInt(5)) {
+                case 0:
+                  SchedulerController.executeTaskNow(permanent[random.nextInt(permanentCount)].getId());
+                  break;
+                case 1:
+                  SchedulerController.loadTasks(permanent[random.nextInt(permanentCount)]);
+                  break;
+                case 2:
+                  SchedulerController.cancelTak(transients[random.nextInt(volatileCount)].getId());
+                  break;
+                case 3:
+                  SchedulerController.loadTasks(transients[random.nextInt(volatileCount)]);
+                  break;
+                case 4:
+                  for (SchedulerTaskTiming timing : SchedulerController.getTasks()) {
+                    timing.getStatus();
+                  }
+                  break;
+              }
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    Thread.sleep(3000);
+    running.set(false);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    if (failure.get() != null) throw failure.get();
+
+    // Cancelamos todas as tarefas voláteis e conferimos que as permanentes não perderam seu reagendamento
+    for (SampleTask task : transients) {
+      SchedulerController.cancelTak(task.getId());
+    }
+    Thread.sleep(200); // Tempo para as execuções em andamento terminarem
+    final ConcurrentHashMap<Long, SchedulerTaskTiming> registry = new ConcurrentHashMap<>();
+    for (SchedulerTaskTiming timing : SchedulerController.getTasks()) {
+      registry.put(timing.getSchedulerTask().getId(), timing);
+    }
+    assertEquals("Tarefas perderam o reagendamento ou tarefas canceladas continuam no registro!", permanentCount, registry.size());
+    for (SampleTask task : permanent) {
+      assertTrue("Tarefa perdeu seu reagendamento: " + task.getId(), isScheduled(task.getId()));
+    }
+
+    // Nenhuma tarefa cancelada pode continuar executando
+    final long[] before = new long[volatileCount];
+    for (int i = 0; i < volatileCount; i++) {
+      AtomicLong counter = CounterRunnable.executions.get("" + transients[i].getId());
+      before[i] = counter == null ? 0 : counter.get();
+    }
+    Thread.sleep(300);
+    for (int i = 0; i < volatileCount; i++) {
+      AtomicLong counter = CounterRunnable.executions.get("" + transients[i].getId());
+      assertEquals("Tarefa cancelada continua executando: " + transients[i].getId(), before[i], counter == null ? 0 : counter.get());
+    }
+  }
+
+  /**
+   * Garante que os IDs gerados são únicos mesmo quando gerados por várias Threads simultaneamente.
+   */
+  @Test
+  public void t04_generateIDConcurrently() throws Throwable {
+    final ConcurrentHashMap<Long, Boolean> ids = new ConcurrentHashMap<>();
+    final Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 10000; i++) {
+            ids.put(SchedulerController.generateID(), Boolean.TRUE);
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(threads.length * 10000, ids.size());
+  }
+
+  /**
+   * Garante que um listener lento não atrasa a execução das tarefas, e que todos os eventos chegam aos listeners individuais e em lote.
+   */
+  @Test
+  public void t05_asyncListeners() throws Throwable {
+    final int total = 40;
+    final AtomicLong success = new AtomicLong();
+    final AtomicLong fail = new AtomicLong();
+    final AtomicLong batchResults = new AtomicLong();
+    final AtomicLong batchFails = new AtomicLong();
+    final AtomicLong batchCalls = new AtomicLong();
+
+    SchedulerListener slowListener = new SchedulerListener() {
+      @Override
+      public void success(SchedulerTask task) {
+        sleep(50);
+        success.incrementAndGet();
+      }
+
+      @Override
+      public void fail(SchedulerTask task, RFWException e) {
+        sleep(50);
+        fail.incrementAndGet();
+      }
+    };
+    SchedulerBatchListener batchListener = new SchedulerBatchListener() {
+      @Override
+      public void executed(List<SchedulerExecutionResult> results) {
+        batchCalls.incrementAndGet();
+        for (SchedulerExecutionResult result : results) {
+          batchResults.incrementAndGet();
+          if (!result.isSuccess()) batchFails.incrementAndGet();
+          assertTrue(!result.getEndTime().isBefore(result.getStartTime()));
+        }
+      }
+    };
+    SchedulerController.addListener(slowListener);
+    SchedulerController.addBatchListener(batchListener);
+    try {
+      final SampleTask[] tasks = new SampleTask[total];
+      for (int i = 0; i < total; i++) {
+        tasks[i] = new SampleTask(CounterRunnable.class, RFW.getDateTime().plus(10, ChronoUnit.MILLIS));
+        tasks[i].getProperties().put("id", "" + tasks[i].getId());
+        if (i % 4 == 0) tasks[i].getProperties().put("fail", "true");
+      }
+      final long start = System.currentTimeMillis();
+      SchedulerController.loadTasks(tasks);
+
+      // Todas as tarefas devem terminar bem antes do tempo que o listener lento leva para processar todos os eventos (40 x 50ms)
+      while (SchedulerController.getTasks().size() > 0 && System.currentTimeMillis() - start < 10000) {
+        Thread.sleep(5);
+      }
+      final long executionTime = System.currentTimeMillis() - start;
+      assertTrue("As tarefas aguardaram os listeners: " + executionTime + "ms", executionTime < total * 50 / 2);
+
+      assertTrue("Os eventos não foram entregues!", SchedulerController.flushEvents(10000));
+      assertEquals(total - total / 4, success.get());
+      assertEquals(total / 4, fail.get());
+      assertEquals(total, batchResults.get());
+      assertEquals(total / 4, batchFails.get());
+      assertTrue("Os eventos não foram agrupados em lote: " + batchCalls.get(), batchCalls.get() < total);
+    } finally {
+      SchedulerController.removeListener(slowListener);
+      SchedulerController.removeBatchListener(batchListener);
+    }
+  }
+
+  /**
+   * Garante que o limite de execuções simultâneas por classe é respeitado e que as métricas de espera na fila são registradas.
+   */
+  @Test
+  public void t06_maxConcurrentExecutionsPerClass() throws Throwable {
+    final String taskClass = ConcurrencyRunnable.class.getName();
+    final int total = 12;
+    ConcurrencyRunnable.reset();
+    SchedulerController.setMaxConcurrentExecutions(taskClass, 2);
+    try {
+      final LocalDateTime time = RFW.getDateTime().plus(20, ChronoUnit.MILLIS);
+      final SampleTask[] tasks = new SampleTask[total];
+      for (int i = 0; i < total; i++) {
+        tasks[i] = new SampleTask(ConcurrencyRunnable.class, time);
+        tasks[i].getProperties().put("id", "" + tasks[i].getId());
+        tasks[i].getProperties().put("sleep", "50");
+      }
+      SchedulerController.loadTasks(tasks);
+
+      final long start = System.currentTimeMillis();
+      while (ConcurrencyRunnable.order.size() < total || ConcurrencyRunnable.running.get() > 0) {
+        assertTrue("As tarefas não foram executadas!", System.currentTimeMillis() - start < 10000);
+        Thread.sleep(5);
+      }
+      assertEquals(2, ConcurrencyRunnable.peak.get());
+
+      SchedulerQueueStatistics stats = null;
+      for (SchedulerQueueStatistics s : SchedulerController.getQueueStatistics()) {
+        if (taskClass.equals(s.getTaskClass())) stats = s;
+      }
+      assertNotNull(stats);
+      assertEquals(Integer.valueOf(2), stats.getMaxConcurrentExecutions());
+      assertEquals(total, stats.getExecutions());
+      // Com 2 execuções simultâneas de 50ms, a última tarefa aguarda na fila pelo menos 5 rodadas
+      assertTrue("Espera máxima na fila: " + stats.getMaxQueueWaitMillis(), stats.getMaxQueueWaitMillis() >= 5 * 50 * 0.9);
+    } finally {
+      SchedulerController.setMaxConcurrentExecutions(taskClass, null);
+    }
+  }
+
+  /**
+   * Garante que, com as Threads de execução ocupadas, as tarefas da fila são executadas por ordem de prioridade.
+   */
+  @Test
+  public void t07_priorityOrder() throws Throwable {
+    final int originalMax = SchedulerController.getMaxWorkerThreads();
+    ConcurrencyRunnable.reset();
+    SchedulerController.setMaxWorkerThreads(1);
+    try {
+      // Tarefa que ocupa a única Thread enquanto as demais vencem
+      final SampleTask blocker = new SampleTask(ConcurrencyRunnable.class, RFW.getDateTime().plus(10, ChronoUnit.MILLIS));
+      blocker.getProperties().put("id", "blocker");
+      blocker.getProperties().put("sleep", "200");
+      SchedulerController.loadTasks(blocker);
+      final long blockerStart = System.currentTimeMillis();
+      while (ConcurrencyRunnable.running.get() == 0) {
+        assertTrue("A tarefa não foi executada!", System.currentTimeMillis() - blockerStart < 10000);
+        Thread.sleep(1);
+      }
+
+      final int[] priorities = { 0, 5, -1, 10, 7, 3 };
+      final LocalDateTime time = RFW.getDateTime().plus(20, ChronoUnit.MILLIS);
+      for (int i = 0; i < priorities.length; i++) {
+        final SampleTask task = new SampleTask(ConcurrencyRunnable.class, time);
+        task.setPriority(priorities[i] == 0 ? null : priorities[i]);
+        task.getProperties().put("id", priorities[i] + "/" + i);
+        task.getProperties().put("sleep", "0");
+        SchedulerController.loadTasks(task);
+      }
+
+      final long start = System.currentTimeMillis();
+      while (ConcurrencyRunnable.order.size() < priorities.length + 1 || ConcurrencyRunnable.running.get() > 0) {
+        assertTrue("As tarefas não foram executadas!", System.currentTimeMillis() - start < 10000);
+        Thread.sleep(5);
+      }
+      assertEquals("[blocker, 10/3, 7/4, 5/1, 3/5, 0/0, -1/2]", ConcurrencyRunnable.order.toString());
+    } finally {
+      SchedulerController.setMaxWorkerThreads(originalMax);
+    }
+  }
+
+  /**
+   * Confere que a fábrica em cache cria uma instância por execução das classes comuns, e que as classes {@link SchedulerSingleton} são instanciadas uma única vez mesmo em tarefas de alta frequência.
+   */
+  @Test
+  public void t08_runnableFactory() throws Throwable {
+    final String taskClass = InstanceCounterRunnable.class.getName();
+
+    // Classes comuns continuam recebendo uma instância por execução, as Singleton sempre a mesma
+    assertTrue(SchedulerRunnableFactory.getInstance(taskClass) != SchedulerRunnableFactory.getInstance(taskClass));
+    assertTrue(SchedulerRunnableFactory.getInstance(SingletonCounterRunnable.class.getName()) == SchedulerRunnableFactory.getInstance(SingletonCounterRunnable.class.getName()));
+
+    // Tarefas TIMED de alta frequência
+    final long instancesBefore = InstanceCounterRunnable.instances.get();
+    final long executionsBefore = InstanceCounterRunnable.executions.get();
+    final SampleTask[] tasks = new SampleTask[20];
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = new SampleTask(SingletonCounterRunnable.class, RFW.getDateTime().plus(10, ChronoUnit.MILLIS));
+      tasks[i].setRepeatFrequency(RepeatFrequency.TIMED);
+      tasks[i].setTimeToRepeat(1L);
+    }
+    SchedulerController.loadTasks(tasks);
+    Thread.sleep(1000);
+    SchedulerController.cancelAllTaks();
+    final long executions = InstanceCounterRunnable.executions.get() - executionsBefore;
+    assertTrue(executions > tasks.length);
+    assertEquals(instancesBefore, InstanceCounterRunnable.instances.get()); // A instância Singleton já tinha sido criada acima
+
+    // Classes inválidas não devem ficar em cache como falha, e devem gerar erro a cada tentativa
+    for (int i = 0; i < 2; i++) {
+      try {
+        SchedulerRunnableFactory.getInstance(SampleTask.class.getName());
+        fail("Classe que não implementa SchedulerRunnable foi aceita!");
+      } catch (RFWCriticalException e) {
+      }
+    }
+  }
+
+  /**
+   * Confere a precisão dos percentis do histograma das métricas, em valores de nanosegundos a segundos.
+   */
+  @Test
+  public void t09_histogramPrecision() throws Throwable {
+    for (long scale : new long[] { 1, 1000, 1000000, 1000000000 }) {
+      final SchedulerHistogram histogram = new SchedulerHistogram();
+      for (long i = 1; i <= 10000; i++) {
+        histogram.record(i * scale);
+      }
+      final SchedulerHistogramSnapshot snapshot = histogram.snapshot();
+      assertEquals(10000, snapshot.getCount());
+      assertEquals(10000 * scale, snapshot.getMaxNanos());
+      assertEquals(5000 * scale, snapshot.getP50Nanos(), 5000 * scale * 0.035);
+      assertEquals(9900 * scale, snapshot.getP99Nanos(), 9900 * scale * 0.035);
+      assertEquals(5000.5 * scale / 1000000d, snapshot.getMeanMillis(), 0.000001);
+    }
+    // Todas as faixas são contínuas: o maior valor de cada faixa é o anterior ao menor valor da seguinte
+    for (long value = 1; value > 0 && value < Long.MAX_VALUE / 2; value = value * 3 + 1) {
+      final int index = SchedulerHistogram.index(value);
+      assertTrue(SchedulerHistogram.highestValue(index) >= value);
+      assertTrue(index == 0 || SchedulerHistogram.highestValue(index - 1) < value);
+      assertEquals(index + 1, SchedulerHistogram.index(SchedulerHistogram.highestValue(index) + 1));
+    }
+  }
+
+  /**
+   * Confere as métricas de execução por classe de tarefa (atraso, tempo de execução e falhas) e sua publicação no JMX.
+   */
+  @Test
+  public void t10_taskStatistics() throws Throwable {
+    final String concurrencyClass = ConcurrencyRunnable.class.getName();
+    final String counterClass = CounterRunnable.class.getName();
+    final int total = 10;
+    ConcurrencyRunnable.reset();
+    SchedulerController.resetTaskStatistics();
+    SchedulerController.setMaxConcurrentExecutions(concurrencyClass, 1);
+    try {
+      final LocalDateTime time = RFW.getDateTime().plus(20, ChronoUnit.MILLIS);
+      final SampleTask[] tasks = new SampleTask[total * 2];
+      for (int i = 0; i < total; i++) {
+        tasks[i] = new SampleTask(ConcurrencyRunnable.class, time);
+        tasks[i].getProperties().put("id", "" + tasks[i].getId());
+        tasks[i].getProperties().put("sleep", "20");
+        tasks[total + i] = new SampleTask(CounterRunnable.class, time);
+        tasks[total + i].getProperties().put("id", "" + tasks[total + i].getId());
+        if (i % 2 == 0) tasks[total + i].getProperties().put("fail", "true");
+      }
+      SchedulerController.loadTasks(tasks);
+      final long start = System.currentTimeMillis();
+      while (SchedulerController.getTasks().size() > 0) {
+        assertTrue("As tarefas não foram executadas!", System.currentTimeMillis() - start < 10000);
+        Thread.sleep(5);
+      }
+    } finally {
+      SchedulerController.setMaxConcurrentExecutions(concurrencyClass, null);
+    }
+
+    SchedulerTaskStatistics concurrency = null;
+    SchedulerTaskStatistics counter = null;
+    for (SchedulerTaskStatistics statistics : SchedulerController.getTaskStatistics()) {
+      if (concurrencyClass.equals(statistics.getTaskClass())) concurrency = statistics;
+      if (counterClass.equals(statistics.getTaskClass())) counter = statistics;
+    }
+    assertNotNull(concurrency);
+    assertNotNull(counter);
+    assertEquals(total, concurrency.getExecutions());
+    assertEquals(0, concurrency.getFailures());
+    assertEquals(total, concurrency.getDuration().getCount());
+    assertTrue(concurrency.getDuration().getP50Millis() >= 19);
+    // Executando uma de cada vez, a última tarefa começa pelo menos 9 execuções (de 20ms) depois do seu horário
+    assertTrue("Atraso máximo: " + concurrency.getLag().getMaxMillis(), concurrency.getLag().getMaxMillis() >= 9 * 20 * 0.9);
+    assertTrue(concurrency.getLag().getP50Millis() < concurrency.getLag().getMaxMillis());
+    assertEquals(total, counter.getExecutions());
+    assertEquals(total / 2, counter.getFailures());
+
+    SchedulerController.registerMBean();
+    try {
+      SchedulerController.registerMBean(); // Registro repetido é ignorado
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(SchedulerController.MBEAN_NAME);
+      assertEquals(2L * total, server.getAttribute(name, "Executions"));
+      assertEquals((long) total / 2, server.getAttribute(name, "Failures"));
+      final CompositeData[] statistics = (CompositeData[]) server.getAttribute(name, "TaskStatistics");
+      assertEquals(2, statistics.length);
+      for (CompositeData data : statistics) {
+        assertEquals((long) total, data.get("executions"));
+        assertTrue(data.get("lag") instanceof CompositeData);
+      }
+      server.invoke(name, "resetTaskStatistics", null, null);
+      assertEquals(0L, server.getAttribute(name, "Executions"));
+    } finally {
+      SchedulerController.unregisterMBean();
+    }
+    assertTrue(!ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(SchedulerController.MBEAN_NAME)));
+  }
+
+  /**
+   * Verifica se a tarefa tem um agendamento ativo no registro. Como as tarefas continuam executando, o agendamento lido pode terminar e ser substituído pelo seguinte entre a leitura e a verificação do status, por isso tentamos algumas vezes antes de considerar que a tarefa perdeu o reagendamento.
+   */
+  private static boolean isScheduled(Long id) {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      SchedulerTaskTiming found = null;
+      for (SchedulerTaskTiming timing : SchedulerController.getTasks()) {
+        if (id.equals(timing.getSchedulerTask().getId())) found = timing;
+      }
+      if (found == null) return false;
+      if (found.getStatus() != TaskStatus.STOPED) return true;
+    }
+    return false;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerControllerTest.CounterRunnable;
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerControllerTest.SampleTask;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask.RepeatFrequency;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Testes da frequência {@link RepeatFrequency#CRON} e da compilação das expressões CRON.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SchedulerCronExpressionTest {
+
+  /**
+   * Confere o cálculo dos horários em expressões comuns.
+   */
+  @Test
+  public void t00_nextAndPrevious() throws Throwable {
+    final LocalDateTime friday = LocalDateTime.of(2026, 10, 16, 18, 0); // Sexta-feira
+
+    // Dias úteis às 8h e às 18h
+    SchedulerCronExpression cron = SchedulerCronExpression.compile("0 8,18 * * MON-FRI");
+    assertEquals(LocalDateTime.of(2026, 10, 19, 8, 0), cron.next(friday)); // Pula o fim de semana
+    assertEquals(LocalDateTime.of(2026, 10, 16, 18, 0), cron.previous(friday));
+    assertEquals(LocalDateTime.of(2026, 10, 16, 8, 0), cron.previous(friday.minusSeconds(1)));
+
+    // A cada 15 minutos em horário comercial, com segundos
+    cron = SchedulerCronExpression.compile("30 */15 9-17 * * *");
+    assertEquals(LocalDateTime.of(2026, 10, 16, 9, 0, 30), cron.next(LocalDateTime.of(2026, 10, 16, 8, 59)));
+    assertEquals(LocalDateTime.of(2026, 10, 17, 9, 0, 30), cron.next(LocalDateTime.of(2026, 10, 16, 17, 45, 30)));
+
+    // Último dia de fevereiro em ano bissexto e 29/02
+    cron = SchedulerCronExpression.compile("0 0 29 FEB *");
+    assertEquals(LocalDateTime.of(2028, 2, 29, 0, 0), cron.next(friday));
+    assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), cron.previous(friday));
+
+    // Dia do mês e dia da semana restritos: executa em qualquer um dos dois
+    cron = SchedulerCronExpression.compile("0 0 13 * FRI");
+    assertEquals(LocalDateTime.of(2026, 10, 23, 0, 0), cron.next(friday));
+    assertEquals(LocalDateTime.of(2026, 11, 13, 0, 0), cron.next(LocalDateTime.of(2026, 11, 6, 0, 0)));
+    assertEquals(LocalDateTime.of(2026, 11, 13, 0, 0), cron.next(LocalDateTime.of(2026, 11, 12, 0, 0)));
+
+    // Abreviações e domingo como 7
+    assertEquals(LocalDateTime.of(2027, 1, 1, 0, 0), SchedulerCronExpression.compile("@yearly").next(friday));
+    assertEquals(LocalDateTime.of(2026, 10, 18, 0, 0), SchedulerCronExpression.compile("@weekly").next(friday));
+    assertEquals(LocalDateTime.of(2026, 10, 18, 0, 0), SchedulerCronExpression.compile("0 0 * * 7").next(friday));
+
+    // Expressões inválidas
+    for (String invalid : new String[] { "* * * *", "60 * * * *", "* * 31 2 *", "0 0 30 FEB ?", "* * * * XYZ", "5-1 * * * *", "@never" }) {
+      try {
+        SchedulerCronExpression.compile(invalid);
+        fail("Expressão inválida aceita: " + invalid);
+      } catch (RFWException e) {
+      }
+    }
+  }
+
+  /**
+   * Compara o next() e o previous() com uma busca minuto a minuto em expressões aleatórias.
+   */
+  @Test
+  public void t01_compareWithBruteForce() throws Throwable {
+    final Random random = new Random(17);
+    final String[] samples = { "*/7 3-5,22 * * *", "15 10 1,15,31 * *", "0 12 * 2,4,6 SUN,WED", "*/20 * 10-12 * 1-5", "0 0 1 */3 *", "5 4 * * SAT" };
+    for (String expression : samples) {
+      final SchedulerCronExpression cron = SchedulerCronExpression.compile(expression);
+      for (int i = 0; i < 20; i++) {
+        final LocalDateTime time = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(3 * 365 * 24 * 60)).withSecond(random.nextInt(60));
+        LocalDateTime expected = time.withSecond(0).plusMinutes(1);
+        while (!cron.matches(expected)) {
+          expected = expected.plusMinutes(1);
+        }
+        assertEquals(expression + " após " + time, expected, cron.next(time));
+        assertTrue(matchesByFields(expression, expected));
+
+        expected = time.withSecond(0);
+        while (!cron.matches(expected)) {
+          expected = expected.minusMinutes(1);
+        }
+        assertEquals(expression + " antes de " + time, expected, cron.previous(time));
+      }
+    }
+  }
+
+  /**
+   * Confere as execuções nas mudanças de horário de verão em São Paulo: no início (04/11/2018, 00:00 pulou para 01:00) o horário inexistente executa após o ajuste, e no fim (16/02/2019, 23:00 se repetiu) o horário repetido executa uma única vez.
+   */
+  @Test
+  public void t02_daylightSavingTime() throws Throwable {
+    final ZoneId zone = ZoneId.of("America/Sao_Paulo");
+
+    SchedulerCronExpression cron = SchedulerCronExpression.compile("30 0 * * *");
+    ZonedDateTime time = cron.next(ZonedDateTime.of(LocalDateTime.of(2018, 11, 3, 12, 0), zone));
+    assertEquals(LocalDateTime.of(2018, 11, 4, 1, 30), time.toLocalDateTime());
+    time = cron.next(time);
+    assertEquals(LocalDateTime.of(2018, 11, 5, 0, 30), time.toLocalDateTime());
+
+    cron = SchedulerCronExpression.compile("30 23 * * *");
+    time = cron.next(ZonedDateTime.of(LocalDateTime.of(2019, 2, 16, 12, 0), zone));
+    assertEquals(LocalDateTime.of(2019, 2, 16, 23, 30), time.toLocalDateTime());
+    assertEquals(-2 * 3600, time.getOffset().getTotalSeconds()); // Primeira ocorrência, ainda no horário de verão
+    time = cron.next(time);
+    assertEquals(LocalDateTime.of(2019, 2, 17, 23, 30), time.toLocalDateTime()); // A repetição das 23:30 foi ignorada
+
+    // Após a primeira ocorrência do horário repetido, o próximo horário do dia não é antecipado
+    cron = SchedulerCronExpression.compile("0 * * * *");
+    time = cron.next(ZonedDateTime.ofLocal(LocalDateTime.of(2019, 2, 16, 23, 10), zone, null).withLaterOffsetAtOverlap());
+    assertEquals(LocalDateTime.of(2019, 2, 17, 0, 0), time.toLocalDateTime());
+  }
+
+  /**
+   * Confere o cálculo da próxima execução de tarefas CRON pelo Scheduler.
+   */
+  @Test
+  public void t03_calcTaskNextExecution() throws Throwable {
+    final SampleTask task = new SampleTask(CounterRunnable.class, LocalDateTime.of(2026, 10, 1, 0, 0)) {
+      @Override
+      public String getCronExpression() {
+        return "0 8,18 * * MON-FRI";
+      }
+    };
+    task.setRepeatFrequency(RepeatFrequency.CRON);
+
+    // Agendamento futuro: primeiro horário da expressão a partir dele
+    assertEquals(LocalDateTime.of(2026, 10, 1, 8, 0), SchedulerController.calcTaskNextExecution(task, LocalDateTime.of(2026, 9, 20, 0, 0)));
+
+    // Sábado: próxima execução é segunda às 8h
+    assertEquals(LocalDateTime.of(2026, 10, 19, 8, 0), SchedulerController.calcTaskNextExecution(task, LocalDateTime.of(2026, 10, 17, 10, 0)));
+
+    // Execução atrasada: sexta 18h ainda dentro do prazo de 1 hora
+    task.setLateExecution(3600000L);
+    assertEquals(LocalDateTime.of(2026, 10, 16, 18, 0), SchedulerController.calcTaskNextExecution(task, LocalDateTime.of(2026, 10, 16, 18, 30)));
+    task.setLastExecution(LocalDateTime.of(2026, 10, 16, 18, 0, 1));
+    assertEquals(LocalDateTime.of(2026, 10, 19, 8, 0), SchedulerController.calcTaskNextExecution(task, LocalDateTime.of(2026, 10, 16, 18, 30)));
+
+    // Data de fim das execuções
+    task.setStopDate(LocalDateTime.of(2026, 10, 18, 0, 0));
+    assertNull(SchedulerController.calcTaskNextExecution(task, LocalDateTime.of(2026, 10, 16, 18, 30)));
+  }
+
+  /**
+   * Encadeia muitas chamadas do cálculo do próximo horário com a expressão já compilada, conferindo que cada horário avança e atende a expressão.
+   */
+  @Test
+  public void t04_nextChained() throws Throwable {
+    final SchedulerCronExpression cron = SchedulerCronExpression.compile("0 8,18 * * MON-FRI");
+    LocalDateTime time = LocalDateTime.of(2026, 10, 17, 0, 0);
+    for (int i = 0; i < 10000; i++) {
+      final LocalDateTime next = cron.next(time);
+      assertTrue("Horário não avançou: " + time + " / " + next, next.isAfter(time));
+      assertTrue("Horário fora da expressão: " + next, next.getDayOfWeek() != DayOfWeek.SATURDAY && next.getDayOfWeek() != DayOfWeek.SUNDAY);
+      assertTrue("Horário fora da expressão: " + next, (next.getHour() == 8 || next.getHour() == 18) && next.getMinute() == 0);
+      time = next;
+    }
+  }
+
+  /**
+   * Verificação independente da compilação: confere os campos de um horário diretamente contra a expressão (somente os formatos usados em {@link #t01_compareWithBruteForce()}).
+   */
+  private static boolean matchesByFields(String expression, LocalDateTime time) {
+    final String[] fields = expression.split(" ");
+    final boolean dom = matchesField(fields[2], time.getDayOfMonth(), 1);
+    final boolean dow = matchesField(fields[4].replace("SUN", "0").replace("WED", "3").replace("SAT", "6"), time.getDayOfWeek().getValue() % 7, 0);
+    final boolean day = "*".equals(fields[2]) || "*".equals(fields[4]) ? dom && dow : dom || dow;
+    return time.getSecond() == 0 && matchesField(fields[0], time.getMinute(), 0) && matchesField(fields[1], time.getHour(), 0) && day && matchesField(fields[3], time.getMonthValue(), 1);
+  }
+
+  private static boolean matchesField(String field, int value, int min) {
+    for (String part : field.split(",")) {
+      int step = 1;
+      if (part.contains("/")) {
+        step = Integer.parseInt(part.substring(part.indexOf('/') + 1));
+        part = part.substring(0, part.indexOf('/'));
+      }
+      int from = min;
+      int to = 59;
+      if (!"*".equals(part)) {
+        from = Integer.parseInt(part.split("-")[0]);
+        to = part.contains("-") ? Integer.parseInt(part.split("-")[1]) : from;
+      }
+      if (value >= from && value <= to && (value - from) % step == 0) return true;
+    }
+    return false;
+  }
+}
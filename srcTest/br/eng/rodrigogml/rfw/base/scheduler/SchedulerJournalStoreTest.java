@@ -0,0 +1,345 @@
+package br.eng.rodrigogml.rfw.base.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.scheduler.SchedulerControllerTest.SampleTask;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerRunnable;
+import br.eng.rodrigogml.rfw.base.scheduler.interfaces.SchedulerTask.RepeatFrequency;
+import br.eng.rodrigogml.rfw.kernel.RFW;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+
+/**
+ * Description: Testes do journal de estado das tarefas do Scheduler.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SchedulerJournalStoreTest {
+
+  /**
+   * Tarefa que incrementa a propriedade "count" a cada execução e a retorna como novas propriedades.
+   */
+  public static class IncrementRunnable implements SchedulerRunnable {
+
+    @Override
+    public Map<String, String> runTask(Map<String, String> properties) throws RFWException {
+      final HashMap<String, String> result = new HashMap<>(properties);
+      result.put("count", "" + (Integer.parseInt(properties.getOrDefault("count", "0")) + 1));
+      return result;
+    }
+  }
+
+  private File file = null;
+
+  @Before
+  public void createFile() throws Throwable {
+    this.file = File.createTempFile("schedulerjournal", ".rfws");
+    this.file.delete();
+  }
+
+  @After
+  public void deleteFile() {
+    SchedulerController.setStore(null);
+    SchedulerController.cancelAllTaks();
+    this.file.delete();
+  }
+
+  /**
+   * Registra as transições de 10 mil tarefas, reabre o arquivo e confere que o último estado de cada uma foi recuperado.
+   */
+  @Test
+  public void t00_recoverTenThousandTasks() throws Throwable {
+    final int total = 10000;
+    final LocalDateTime base = LocalDateTime.of(2026, 10, 17, 2, 0, 0, 123456789);
+
+    SchedulerJournalStore store = new SchedulerJournalStore(this.file);
+    for (int i = 0; i < total; i++) {
+      final SampleTask task = new SampleTask(IncrementRunnable.class, base);
+      final HashMap<String, String> properties = new HashMap<>();
+      properties.put("index", "" + i);
+      properties.put("descrição", "ção " + i);
+      store.scheduled(task, base);
+      store.started(task, base, base.plusSeconds(1));
+      if (i % 100 != 0) { // Algumas tarefas ficam "em execução" quando a JVM cai
+        store.finished(task, base, base.plusSeconds(2), i % 2 == 0 ? properties : null);
+        store.scheduled(task, base.plusDays(1));
+      }
+    }
+    final Map<Long, SchedulerTaskState> expected = store.recover();
+    store.close();
+
+    store = new SchedulerJournalStore(this.file);
+    final Map<Long, SchedulerTaskState> recovered = store.recover();
+    store.close();
+
+    assertEquals(total, recovered.size());
+    int running = 0;
+    int withProperties = 0;
+    for (SchedulerTaskState exp : expected.values()) {
+      final SchedulerTaskState state = recovered.get(exp.getId());
+      assertNotNull(state);
+      assertEquals(exp.getScheduleTime(), state.getScheduleTime());
+      assertEquals(exp.getLastStartTime(), state.getLastStartTime());
+      assertEquals(exp.getLastExecution(), state.getLastExecution());
+      assertEquals(exp.getLastExecutionScheduleTime(), state.getLastExecutionScheduleTime());
+      assertEquals(exp.isRunning(), state.isRunning());
+      assertEquals(exp.getProperties(), state.getProperties());
+      if (state.isRunning()) {
+        running++;
+        assertEquals(base, state.getScheduleTime());
+        assertNull(state.getLastExecution());
+      } else {
+        assertEquals(base.plusDays(1), state.getScheduleTime());
+        assertEquals(base.plusSeconds(2), state.getLastExecution());
+      }
+      if (state.getProperties() != null) withProperties++;
+    }
+    assertEquals(total / 100, running);
+    assertEquals(total / 2 - total / 100, withProperties);
+  }
+
+  /**
+   * Simula um registro interrompido pela queda da JVM: o registro corrompido é descartado, os anteriores recuperados, e o journal continua aceitando registros.
+   */
+  @Test
+  public void t01_discardTornRecord() throws Throwable {
+    final LocalDateTime time = LocalDateTime.of(2026, 10, 17, 2, 0);
+    final SampleTask task1 = new SampleTask(IncrementRunnable.class, time);
+    final SampleTask task2 = new SampleTask(IncrementRunnable.class, time);
+    final SampleTask task3 = new SampleTask(IncrementRunnable.class, time);
+
+    SchedulerJournalStore store = new SchedulerJournalStore(this.file);
+    store.finished(task1, time, time.plusMinutes(1), null);
+    store.finished(task2, time, time.plusMinutes(2), null);
+    store.finished(task3, time, time.plusMinutes(3), null);
+    store.close();
+
+    // Corrompe um byte do conteúdo do último registro
+    try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+      long pos = 8;
+      long last = -1;
+      while (true) {
+        raf.seek(pos);
+        final int length = raf.readInt();
+        if (length == 0) break;
+        last = pos;
+        pos += 8 + length;
+      }
+      raf.seek(last + 8 + 5);
+      raf.write(raf.readByte() ^ 0xFF);
+    }
+
+    store = new SchedulerJournalStore(this.file);
+    Map<Long, SchedulerTaskState> states = store.recover();
+    assertEquals(2, states.size());
+    assertEquals(time.plusMinutes(1), states.get(task1.getId()).getLastExecution());
+    assertEquals(time.plusMinutes(2), states.get(task2.getId()).getLastExecution());
+    assertFalse(states.containsKey(task3.getId()));
+
+    store.finished(task3, time, time.plusMinutes(4), null);
+    store.close();
+
+    store = new SchedulerJournalStore(this.file);
+    states = store.recover();
+    store.close();
+    assertEquals(3, states.size());
+    assertEquals(time.plusMinutes(4), states.get(task3.getId()).getLastExecution());
+  }
+
+  /**
+   * Garante que a compactação mantém o arquivo limitado sem perder o estado das tarefas.
+   */
+  @Test
+  public void t02_compaction() throws Throwable {
+    final LocalDateTime time = LocalDateTime.of(2026, 10, 17, 2, 0);
+    final SampleTask[] tasks = new SampleTask[10];
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = new SampleTask(IncrementRunnable.class, time);
+    }
+
+    SchedulerJournalStore store = new SchedulerJournalStore(this.file, 64 * 1024);
+    final HashMap<String, String> properties = new HashMap<>();
+    for (int i = 0; i < 50000; i++) {
+      properties.put("count", "" + i);
+      store.finished(tasks[i % tasks.length], time.plusMinutes(i), time.plusMinutes(i).plusSeconds(1), properties);
+    }
+    store.close();
+    assertFalse(new File(this.file.getPath() + ".compact.tmp").exists());
+    assertFalse(new File(this.file.getPath() + ".compact").exists());
+
+    final int records = countRecords(this.file);
+    assertTrue("Registros no arquivo: " + records, records < 64 * 1024 / 40);
+
+    store = new SchedulerJournalStore(this.file);
+    final Map<Long, SchedulerTaskState> states = store.recover();
+    store.close();
+    assertEquals(tasks.length, states.size());
+    for (int i = 0; i < tasks.length; i++) {
+      final int last = 50000 - tasks.length + i;
+      assertEquals(time.plusMinutes(last).plusSeconds(1), states.get(tasks[i].getId()).getLastExecution());
+      assertEquals("" + last, states.get(tasks[i].getId()).getProperties().get("count"));
+    }
+  }
+
+  /**
+   * Executa uma tarefa pelo Scheduler com o journal definido, e confere que após "reiniciar" com os dados desatualizados da aplicação, a tarefa recupera sua última execução e propriedades.
+   */
+  @Test
+  public void t03_schedulerRecovery() throws Throwable {
+    SchedulerJournalStore store = new SchedulerJournalStore(this.file);
+    SchedulerController.setStore(store);
+
+    final LocalDateTime scheduleTime = RFW.getDateTime().plus(10, ChronoUnit.MILLIS);
+    final SampleTask task = new SampleTask(IncrementRunnable.class, scheduleTime);
+    task.setRepeatFrequency(RepeatFrequency.TIMED);
+    task.setTimeToRepeat(10L);
+    SchedulerController.loadTasks(task);
+    final long start = System.currentTimeMillis();
+    while (Integer.parseInt(task.getProperties().getOrDefault("count", "0")) < 5) {
+      assertTrue("A tarefa não foi executada!", System.currentTimeMillis() - start < 10000);
+      Thread.sleep(5);
+    }
+    SchedulerController.cancelTak(task.getId());
+    Thread.sleep(50); // Tempo para uma execução em andamento terminar
+    SchedulerController.setStore(null);
+    store.close();
+    final LocalDateTime lastExecution = task.getLastExecution();
+    final String count = task.getProperties().get("count");
+
+    // "Reinicia" com os dados que a aplicação tinha persistido antes das execuções
+    task.setLastExecution(null);
+    task.setScheduleTime(scheduleTime);
+    task.setProperties(new HashMap<String, String>());
+    task.setTimeToRepeat(60000L); // Não deixa executar de novo durante as verificações
+
+    store = new SchedulerJournalStore(this.file);
+    SchedulerController.setStore(store);
+    SchedulerController.recoverTasks(task);
+    assertEquals(lastExecution, task.getLastExecution());
+    assertEquals(count, task.getProperties().get("count"));
+    SchedulerController.cancelTak(task.getId());
+    store.close();
+  }
+
+  /**
+   * Simula a queda durante a cópia da compactação para o journal, e confere que a compactação é refeita na abertura sem perder o estado das tarefas.
+   */
+  @Test
+  public void t04_interruptedCompaction() throws Throwable {
+    final LocalDateTime time = LocalDateTime.of(2026, 10, 17, 2, 0);
+    final HashMap<String, String> properties = new HashMap<>();
+    SchedulerJournalStore store = new SchedulerJournalStore(this.file);
+    for (int i = 0; i < 2000; i++) {
+      properties.put("count", "" + i);
+      final SampleTask task = new SampleTask(IncrementRunnable.class, time);
+      store.finished(task, time.plusMinutes(i), time.plusMinutes(i).plusSeconds(1), properties);
+      store.scheduled(task, time.plusDays(1));
+    }
+    final Map<Long, SchedulerTaskState> expected = store.recover();
+    store.close();
+
+    // Conteúdo compactado, como gravado no arquivo da compactação antes da cópia
+    final File copy = new File(this.file.getPath() + ".copy");
+    final File compactFile = new File(this.file.getPath() + ".compact");
+    try {
+      Files.copy(this.file.toPath(), copy.toPath());
+      store = new SchedulerJournalStore(copy);
+      store.compact();
+      store.close();
+      final byte[] image = Files.readAllBytes(copy.toPath());
+      Files.write(compactFile.toPath(), image);
+
+      // Cópia interrompida: apenas o início do journal foi sobrescrito
+      try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+        raf.write(image, 0, 4096);
+      }
+
+      store = new SchedulerJournalStore(this.file);
+      final Map<Long, SchedulerTaskState> recovered = store.recover();
+      store.close();
+      assertFalse(compactFile.exists());
+      assertEquals(expected.size(), recovered.size());
+      for (SchedulerTaskState exp : expected.values()) {
+        final SchedulerTaskState state = recovered.get(exp.getId());
+        assertNotNull(state);
+        assertEquals(exp.getScheduleTime(), state.getScheduleTime());
+        assertEquals(exp.getLastExecution(), state.getLastExecution());
+        assertEquals(exp.getProperties(), state.getProperties());
+      }
+    } finally {
+      copy.delete();
+      compactFile.delete();
+    }
+  }
+
+  /**
+   * Impede a compactação e confere que os registros continuam sendo aceitos e recuperados, sem que a falha da compactação seja lançada pelo registro.
+   */
+  @Test
+  public void t05_compactionFailure() throws Throwable {
+    final LocalDateTime time = LocalDateTime.of(2026, 10, 17, 2, 0);
+    final SampleTask task = new SampleTask(IncrementRunnable.class, time);
+    final HashMap<String, String> properties = new HashMap<>();
+    final File compactFile = new File(this.file.getPath() + ".compact");
+    final File blocker = new File(compactFile, "blocker");
+    SchedulerJournalStore store = new SchedulerJournalStore(this.file, 64 * 1024);
+    try {
+      // Um diretório com conteúdo no lugar do arquivo da compactação faz a confirmação falhar
+      assertTrue(compactFile.mkdir());
+      assertTrue(blocker.createNewFile());
+      for (int i = 0; i < 5000; i++) {
+        properties.put("count", "" + i);
+        store.finished(task, time.plusMinutes(i), time.plusMinutes(i).plusSeconds(1), properties);
+      }
+      store.close();
+      assertFalse(new File(this.file.getPath() + ".compact.tmp").exists());
+      assertEquals(5000, countRecords(this.file)); // Nenhuma compactação foi concluída
+    } finally {
+      blocker.delete();
+      compactFile.delete();
+    }
+
+    store = new SchedulerJournalStore(this.file);
+    final SchedulerTaskState state = store.recover().get(task.getId());
+    store.close();
+    assertEquals(time.plusMinutes(4999).plusSeconds(1), state.getLastExecution());
+    assertEquals("4999", state.getProperties().get("count"));
+  }
+
+  /**
+   * Conta os registros gravados no arquivo do journal.
+   */
+  private static int countRecords(File file) throws Throwable {
+    int records = 0;
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      long pos = 8;
+      while (pos + 8 <= raf.length()) {
+        raf.seek(pos);
+        final int length = raf.readInt();
+        if (length == 0) break;
+        records++;
+        pos += 8 + length;
+      }
+    }
+    return records;
+  }
+}
@@ -0,0 +1,623 @@
+package br.eng.rodrigogml.rfw.base.sessionmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.sessionmanager.SessionRegistry.SessionRecord;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionBackOperation;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionVO;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.utils.RUGenerators;
+
+/**
+ * Description: Testes do {@link SessionManager} e do seu registro de sessões ({@link SessionRegistry}).<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SessionManagerTest {
+
+  /**
+   * Prefixo dos Tokens de acesso utilizados nos testes.
+   */
+  public static final String TOKEN_PREFIX = "TK-";
+
+  /**
+   * Indica que o {@link SessionManager} já foi configurado. O SessionBackOperation e o prefixo só podem ser definidos uma vez, e são compartilhados com os testes de outras classes executados na mesma JVM.
+   */
+  private static boolean configured = false;
+
+  /**
+   * Quantidade de chamadas do {@link SessionBackOperation#updateSessionVOActivity(SessionVO)}.
+   */
+  private static final AtomicInteger activityUpdates = new AtomicInteger();
+
+  /**
+   * Quantidade de lotes recebidos pelo {@link SessionBackOperation#updateSessionVOActivity(List)}.
+   */
+  private static final AtomicInteger activityBatches = new AtomicInteger();
+
+  /**
+   * Quantidade de atividades enviadas de cada sessão, pelo UUID.
+   */
+  private static final ConcurrentHashMap<String, AtomicInteger> activityBySession = new ConcurrentHashMap<>();
+
+  /**
+   * Quantidade de lotes recebidos com uma mesma sessão repetida.
+   */
+  private static final AtomicInteger activityDuplicates = new AtomicInteger();
+
+  /**
+   * Threads que enviaram as atividades.
+   */
+  private static final Set<String> activityThreads = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Sessão de teste.
+   */
+  public static class TestSessionVO implements SessionVO {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String uuid;
+
+    private final String user;
+
+    public TestSessionVO(String uuid, String user) {
+      this.uuid = uuid;
+      this.user = user;
+    }
+
+    @Override
+    public String getUUID() {
+      return uuid;
+    }
+
+    @Override
+    public String getUser() {
+      return user;
+    }
+
+    @Override
+    public String getUniqueID() {
+      return user;
+    }
+
+    @Override
+    public boolean hasAccess(String[] keys, Long objID) {
+      return true;
+    }
+
+    @Override
+    public boolean hasAccess(String[] keys) {
+      return true;
+    }
+
+    @Override
+    public boolean hasAccess(String key, Long objID) {
+      return true;
+    }
+
+    @Override
+    public boolean hasAccess(String key) {
+      return true;
+    }
+  }
+
+  @BeforeClass
+  public static synchronized void setUp() throws RFWException {
+    if (configured) return;
+    configured = true;
+    SessionManager.setTokenPrefix(TOKEN_PREFIX);
+    SessionManager.setBackOperation(new SessionBackOperation() {
+      @Override
+      public SessionVO doLogin(String user, String password, Locale locale, String uuid) throws RFWException {
+        return new TestSessionVO(uuid, user);
+      }
+
+      @Override
+      public SessionVO doLogin(String token, String uuid) throws RFWException {
+        return new TestSessionVO(uuid, token);
+      }
+
+      @Override
+      public void updateSessionVOActivity(SessionVO ssVO) throws RFWException {
+        activityUpdates.incrementAndGet();
+      }
+
+      @Override
+      public void updateSessionVOActivity(List<SessionVO> sessions) throws RFWException {
+        activityBatches.incrementAndGet();
+        activityThreads.add(Thread.currentThread().getName());
+        if (new HashSet<>(sessions).size() != sessions.size()) activityDuplicates.incrementAndGet();
+        for (SessionVO ssVO : sessions) {
+          activityUpdates.incrementAndGet();
+          AtomicInteger count = activityBySession.get(ssVO.getUUID());
+          if (count == null) {
+            activityBySession.putIfAbsent(ssVO.getUUID(), new AtomicInteger());
+            count = activityBySession.get(ssVO.getUUID());
+          }
+          count.incrementAndGet();
+        }
+      }
+    });
+  }
+
+  /**
+   * Confere o login, a recuperação da sessão pelo UUID e pela Thread, e o cancelamento da sessão.
+   */
+  @Test
+  public void t00_loginAndUnregister() throws Throwable {
+    final SessionVO ssVO = SessionManager.doLogin("user", "pwd", Locale.getDefault());
+    assertSame(ssVO, SessionManager.getSession(ssVO.getUUID()));
+    assertSame(ssVO, SessionManager.getSession()); // O login associa a sessão à Thread
+
+    SessionManager.cleanThread(Thread.currentThread());
+    assertNull(SessionManager.getSessionIfExists());
+    SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
+    assertSame(ssVO, SessionManager.getSession());
+
+    SessionManager.unregisterSession(ssVO.getUUID());
+    assertNull(SessionManager.getSessionIfExists()); // A associação com a Thread é removida junto com a sessão
+    assertSessionNotFound(ssVO.getUUID());
+    SessionManager.unregisterSession(ssVO.getUUID()); // Sessão inexistente não lança erro
+    SessionManager.unregisterSession(null);
+  }
+
+  /**
+   * Confere o login por Token e o cancelamento pelo Token e pelo identificador único.
+   */
+  @Test
+  public void t01_tokenAndUniqueID() throws Throwable {
+    final String token = TOKEN_PREFIX + "0123abcd-0000-0000-0000-000000000000";
+    final SessionVO ssVO = SessionManager.getSession(token); // Cria a sessão pelo Token
+    assertEquals(token, ssVO.getUser());
+    assertSame(ssVO, SessionManager.getSession(token));
+    assertSame(ssVO, SessionManager.getSession(ssVO.getUUID()));
+
+    SessionManager.unregisterSessionByToken(token);
+    assertSessionNotFound(ssVO.getUUID());
+    final SessionVO newVO = SessionManager.getSession(token); // Um novo uso do Token cria uma nova sessão
+    assertTrue(!newVO.getUUID().equals(ssVO.getUUID()));
+    SessionManager.unregisterSession(token);
+    assertSessionNotFound(newVO.getUUID());
+
+    final SessionVO first = SessionManager.doLogin("unique", "pwd", null);
+    final SessionVO second = SessionManager.doLogin("unique", "pwd", null);
+    final SessionVO other = SessionManager.doLogin("other", "pwd", null);
+    SessionManager.unregisterSessionByUniqueID("unique");
+    assertSessionNotFound(first.getUUID());
+    assertSessionNotFound(second.getUUID());
+    assertSame(other, SessionManager.getSession(other.getUUID()));
+    SessionManager.unregisterSession(other.getUUID());
+    SessionManager.cleanThread(Thread.currentThread());
+  }
+
+  /**
+   * Confere a associação da sessão a outra Thread e que a Thread não aceita a associação de uma segunda sessão.
+   */
+  @Test
+  public void t02_attachToThread() throws Throwable {
+    final SessionVO ssVO = SessionManager.doLogin("attach", "pwd", null);
+    final SessionVO otherVO = SessionManager.doLogin("attach2", "pwd", null);
+    SessionManager.cleanThread(Thread.currentThread());
+
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread thread = new Thread() {
+      @Override
+      public void run() {
+        try {
+          SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
+          assertSame(ssVO, SessionManager.getSession());
+          SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID()); // A mesma sessão pode ser associada novamente
+          try {
+            SessionManager.attachSessionToThread(Thread.currentThread(), otherVO.getUUID());
+            fail("A Thread aceitou a associação de uma segunda sessão!");
+          } catch (RFWException e) {
+            assertEquals("RFW_ERR_300037", e.getExceptionCode());
+          }
+          SessionManager.cleanThread(Thread.currentThread());
+          SessionManager.attachSessionToThread(Thread.currentThread(), otherVO.getUUID());
+          assertSame(otherVO, SessionManager.getSession());
+          SessionManager.cleanThread(Thread.currentThread());
+        } catch (Throwable e) {
+          failure.set(e);
+        }
+      }
+    };
+    thread.start();
+    thread.join();
+    if (failure.get() != null) throw failure.get();
+    assertNull(SessionManager.getSessionIfExists());
+    SessionManager.unregisterSession(ssVO.getUUID());
+    SessionManager.unregisterSession(otherVO.getUUID());
+  }
+
+  /**
+   * Várias Threads realizam logins, consultas, associações e cancelamentos de sessões simultaneamente. Confere que nenhuma sessão é perdida ou misturada.
+   */
+  @Test
+  public void t03_concurrentLogins() throws Throwable {
+    final int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    final int loginsPerThread = 25000;
+    final int sessionsBefore = SessionRegistry.size();
+
+    final CountDownLatch start = new CountDownLatch(1);
+    final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<SessionVO> kept = new ConcurrentLinkedQueue<>();
+    final ArrayList<Thread> list = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int threadIndex = t;
+      final Thread thread = new Thread("SessionManagerTest #" + t) {
+        @Override
+        public void run() {
+          try {
+            start.await();
+            for (int i = 0; i < loginsPerThread; i++) {
+              final String user = "user-" + threadIndex + "-" + i;
+              final SessionVO ssVO = SessionManager.doLogin(user, "pwd", null);
+              if (SessionManager.getSession() != ssVO) throw new AssertionError("Sessão da Thread trocada: " + user);
+              SessionManager.cleanThread(Thread.currentThread());
+              if (SessionManager.getSession(ssVO.getUUID()) != ssVO) throw new AssertionError("Sessão trocada: " + user);
+              if (i % 4 == 0) {
+                SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
+                SessionManager.cleanThread(Thread.currentThread());
+              }
+              // Metade das sessões é cancelada, a outra metade deve continuar acessível
+              if (i % 2 == 0) {
+                SessionManager.unregisterSession(ssVO.getUUID());
+              } else {
+                kept.add(ssVO);
+              }
+            }
+          } catch (Throwable e) {
+            failures.add(e);
+          }
+        }
+      };
+      thread.start();
+      list.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : list) {
+      thread.join();
+    }
+    if (!failures.isEmpty()) throw failures.peek();
+
+    final int logins = threads * loginsPerThread;
+
+    SessionManager.flushSessionActivity();
+    assertEquals(sessionsBefore + logins / 2, SessionRegistry.size());
+    for (SessionVO ssVO : kept) {
+      assertSame(ssVO, SessionManager.getSession(ssVO.getUUID()));
+      assertTrue("Atividade da sessão não enviada: " + ssVO.getUser(), activityBySession.containsKey(ssVO.getUUID()));
+    }
+
+    for (SessionVO ssVO : kept) {
+      SessionManager.unregisterSession(ssVO.getUUID());
+    }
+    assertEquals(sessionsBefore, SessionRegistry.size());
+  }
+
+  /**
+   * Confere que a sessão sem uso expira, e que a sessão utilizada ou associada a uma Thread ativa continua viva.
+   */
+  @Test
+  public void t04_expiry() throws Throwable {
+    final long defaultTimeToLive = SessionManager.getTimeToLive();
+    SessionManager.setTimeToLive(1);
+    try {
+      final SessionVO idle = SessionManager.doLogin("idle", "pwd", null);
+      final SessionVO used = SessionManager.doLogin("used", "pwd", null);
+      final SessionVO busy = SessionManager.doLogin("busy", "pwd", null);
+      SessionManager.cleanThread(Thread.currentThread());
+
+      // Thread com um processo demorado na sessão
+      final CountDownLatch attached = new CountDownLatch(1);
+      final CountDownLatch finish = new CountDownLatch(1);
+      final AtomicReference<Throwable> failure = new AtomicReference<>();
+      final Thread thread = new Thread() {
+        @Override
+        public void run() {
+          try {
+            SessionManager.attachSessionToThread(Thread.currentThread(), busy.getUUID());
+            attached.countDown();
+            finish.await();
+            SessionManager.cleanThread(Thread.currentThread());
+          } catch (Throwable e) {
+            failure.set(e);
+            attached.countDown(); // Libera o teste para que a falha seja lançada
+          }
+        }
+      };
+      thread.start();
+      assertTrue(attached.await(5, TimeUnit.SECONDS));
+      if (failure.get() != null) throw failure.get();
+
+      final long start = System.currentTimeMillis();
+      while (SessionRegistry.get(idle.getUUID()) != null) {
+        assertTrue("A sessão sem uso não expirou!", System.currentTimeMillis() - start < 10000);
+        SessionManager.getSession(used.getUUID());
+        Thread.sleep(100);
+      }
+      assertSessionNotFound(idle.getUUID());
+      // Mais um tempo de vida completo sem usar a sessão associada à Thread
+      for (int i = 0; i < 15; i++) {
+        SessionManager.getSession(used.getUUID());
+        Thread.sleep(100);
+      }
+      assertSame(used, SessionManager.getSession(used.getUUID()));
+      assertSame(busy, SessionManager.getSession(busy.getUUID()));
+
+      finish.countDown();
+      thread.join();
+      if (failure.get() != null) throw failure.get();
+      SessionManager.unregisterSession(used.getUUID());
+      SessionManager.unregisterSession(busy.getUUID());
+    } finally {
+      SessionManager.setTimeToLive(defaultTimeToLive);
+    }
+  }
+
+  /**
+   * Índice de expiração com 200 mil sessões vivas: confere que cada sessão vence no tick correto e que cada avanço visita apenas as sessões que vencem (ou descem de nível), ao invés de percorrer todas as sessões.
+   */
+  @Test
+  public void t05_expiryWheelVisits() throws Throwable {
+    final int sessions = 200000;
+    final long tick = 1000;
+    final long timeToLive = 1200 * tick;
+    final long base = System.currentTimeMillis() / tick * tick;
+
+    final SessionExpiryWheel wheel = new SessionExpiryWheel(tick, base);
+    final SessionRecord[] records = new SessionRecord[sessions];
+    final HashMap<SessionRecord, Long> expiries = new HashMap<>(sessions * 2);
+    final Random random = new Random(42);
+    for (int i = 0; i < sessions; i++) {
+      records[i] = new SessionRecord(new TestSessionVO(RUGenerators.generateUUID(), "bench"), null);
+      // Batimentos espalhados ao longo do último tempo de vida, como em um servidor em uso contínuo
+      final long expiry = base + 1 + (long) (random.nextDouble() * timeToLive);
+      expiries.put(records[i], expiry);
+      assertTrue(wheel.schedule(records[i], expiry));
+    }
+    assertFalse(wheel.schedule(records[0], base)); // Já está na roda
+    assertEquals(sessions, wheel.size());
+
+    final ArrayList<SessionRecord> due = new ArrayList<>();
+    long visited = 0;
+    int delivered = 0;
+    int maxVisited = 0;
+    for (long now = base + tick; now <= base + timeToLive + tick; now += tick) {
+      final int sweep = wheel.advance(now, due);
+      visited += sweep;
+      maxVisited = Math.max(maxVisited, sweep);
+      for (SessionRecord record : due) {
+        final long expiry = expiries.remove(record);
+        // Vence no primeiro tick depois da expiração
+        if (expiry > now || expiry <= now - tick) throw new AssertionError("Sessão vencida no tick errado: expiração " + (expiry - base) + "ms entregue em " + (now - base) + "ms");
+      }
+      delivered += due.size();
+      due.clear();
+    }
+
+    assertEquals(sessions, delivered);
+    assertTrue(expiries.isEmpty());
+    assertEquals(0, wheel.size());
+    assertTrue("Sessões visitadas: " + visited, visited <= (long) sessions * SessionExpiryWheel.LEVELS);
+    assertTrue("Sessões visitadas em um único avanço: " + maxVisited, maxVisited < sessions / 4);
+  }
+
+  /**
+   * Confere a propagação da sessão para tarefas de Executors e para Threads filhas, e que a Thread do pool volta para a associação anterior ao final da tarefa.
+   */
+  @Test
+  public void t06_propagateSession() throws Throwable {
+    final SessionVO ssVO = SessionManager.doLogin("parent", "pwd", null);
+    final SessionVO poolVO = SessionManager.doLogin("pool", "pwd", null);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      SessionManager.cleanThread(Thread.currentThread()); // O último login associou a sessão "pool" à Thread atual
+      SessionManager.attachSessionToThread(Thread.currentThread(), ssVO.getUUID());
+      final Runnable propagated = SessionManager.propagateSession(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            assertSame(ssVO, SessionManager.getSession());
+          } catch (RFWException e) {
+            throw new AssertionError(e);
+          }
+        }
+      });
+      final Callable<SessionVO> current = new Callable<SessionVO>() {
+        @Override
+        public SessionVO call() throws Exception {
+          return SessionManager.getSessionIfExists();
+        }
+      };
+      executor.submit(propagated).get();
+      assertNull(executor.submit(current).get()); // A Thread do pool não fica com a sessão
+      assertSame(ssVO, executor.submit(SessionManager.propagateSession(current)).get());
+
+      // A Thread do pool com sua própria sessão volta para ela ao final da tarefa
+      executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          SessionManager.attachSessionToThread(Thread.currentThread(), poolVO.getUUID());
+          return null;
+        }
+      }).get();
+      assertSame(ssVO, executor.submit(SessionManager.propagateSession(current)).get());
+      assertSame(poolVO, executor.submit(current).get());
+
+      // Sessão cancelada depois de capturada
+      final Callable<SessionVO> captured = SessionManager.propagateSession(current);
+      SessionManager.cleanThread(Thread.currentThread());
+      assertNull(SessionManager.propagateSession(current).call()); // Sem sessão na Thread atual
+      SessionManager.unregisterSession(ssVO.getUUID());
+      assertNull(executor.submit(captured).get());
+      assertSame(poolVO, executor.submit(current).get());
+    } finally {
+      executor.shutdown();
+    }
+
+    // Associação feita antes de a Thread filha iniciar
+    final SessionVO childVO = SessionManager.doLogin("child", "pwd", null);
+    SessionManager.cleanThread(Thread.currentThread());
+    final AtomicReference<SessionVO> childSession = new AtomicReference<>();
+    final AtomicReference<Throwable> childFailure = new AtomicReference<>();
+    final Thread child = new Thread() {
+      @Override
+      public void run() {
+        try {
+          childSession.set(SessionManager.getSession());
+          SessionManager.cleanThread(Thread.currentThread());
+        } catch (Throwable e) {
+          childFailure.set(e);
+        }
+      }
+    };
+    SessionManager.attachSessionToThread(child, childVO.getUUID());
+    try {
+      SessionManager.attachSessionToThread(child, poolVO.getUUID());
+      fail("A Thread aceitou a associação de uma segunda sessão!");
+    } catch (RFWException e) {
+      assertEquals("RFW_ERR_300037", e.getExceptionCode());
+    }
+    child.start();
+    child.join();
+    if (childFailure.get() != null) throw childFailure.get();
+    assertSame(childVO, childSession.get());
+    assertNull(SessionManager.getSessionIfExists());
+    SessionManager.unregisterSession(childVO.getUUID());
+    SessionManager.unregisterSession(poolVO.getUUID());
+  }
+
+  /**
+   * Confere que as atividades das sessões são acumuladas e enviadas em lotes pela Thread de atividades, com cada sessão uma única vez por envio, independente da quantidade de usos.
+   */
+  @Test
+  public void t07_activityFlush() throws Throwable {
+    final long defaultInterval = SessionManager.getActivityFlushInterval();
+    SessionManager.flushSessionActivity(); // Descarta as atividades dos testes anteriores
+    SessionManager.setActivityFlushInterval(300);
+    try {
+      final int sessions = 50;
+      final int batchesBefore = activityBatches.get();
+      final ArrayList<SessionVO> list = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        final SessionVO ssVO = SessionManager.doLogin("activity-" + i, "pwd", null);
+        list.add(ssVO);
+        for (int j = 0; j < 100; j++) {
+          SessionManager.getSession(ssVO.getUUID());
+        }
+      }
+      SessionManager.cleanThread(Thread.currentThread());
+
+      final long start = System.currentTimeMillis();
+      for (SessionVO ssVO : list) {
+        while (!activityBySession.containsKey(ssVO.getUUID())) {
+          assertTrue("A atividade não foi enviada!", System.currentTimeMillis() - start < 10000);
+          Thread.sleep(50);
+        }
+      }
+      final int batches = activityBatches.get() - batchesBefore;
+      assertTrue("Lotes: " + batches, batches <= 3);
+      for (SessionVO ssVO : list) {
+        assertTrue(activityBySession.get(ssVO.getUUID()).get() <= 2); // Os usos de cada sessão foram acumulados
+      }
+      assertTrue(activityThreads.contains("### SessionManager Activity Thread")); // Enviadas pela Thread de atividades, e não pela Thread do login
+
+      // Sessões canceladas antes do envio não são enviadas
+      final SessionVO removed = SessionManager.doLogin("activity-removed", "pwd", null);
+      SessionManager.cleanThread(Thread.currentThread());
+      SessionManager.unregisterSession(removed.getUUID());
+      SessionManager.flushSessionActivity();
+      assertTrue(!activityBySession.containsKey(removed.getUUID()));
+
+      for (SessionVO ssVO : list) {
+        SessionManager.unregisterSession(ssVO.getUUID());
+      }
+    } finally {
+      SessionManager.setActivityFlushInterval(defaultInterval);
+    }
+  }
+
+  /**
+   * Várias Threads utilizam as mesmas sessões enquanto as atividades são enviadas, conferindo que nenhum lote recebe a mesma sessão mais de uma vez.
+   */
+  @Test
+  public void t08_concurrentActivityMarks() throws Throwable {
+    final ArrayList<SessionVO> list = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      list.add(SessionManager.doLogin("marks-" + i, "pwd", null));
+    }
+    SessionManager.cleanThread(Thread.currentThread());
+    final int duplicatesBefore = activityDuplicates.get();
+
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final CountDownLatch done = new CountDownLatch(4);
+    for (int t = 0; t < 4; t++) {
+      new Thread() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < 200000; i++) {
+              SessionManager.getSession(list.get(i % list.size()).getUUID());
+            }
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            done.countDown();
+          }
+        }
+      }.start();
+    }
+    while (!done.await(1, TimeUnit.MILLISECONDS)) {
+      SessionManager.flushSessionActivity();
+    }
+    SessionManager.flushSessionActivity();
+    if (failure.get() != null) throw failure.get();
+    assertEquals(duplicatesBefore, activityDuplicates.get());
+
+    for (SessionVO ssVO : list) {
+      SessionManager.unregisterSession(ssVO.getUUID());
+    }
+  }
+
+  private static void assertSessionNotFound(String uuid) {
+    try {
+      SessionManager.getSession(uuid);
+      fail("Sessão não foi removida: " + uuid);
+    } catch (RFWException e) {
+      assertEquals("RFW_ERR_000005", e.getExceptionCode());
+    }
+  }
+}
@@ -0,0 +1,295 @@
+package br.eng.rodrigogml.rfw.base.sessionmanager.interceptors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javax.interceptor.InvocationContext;
+
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import br.eng.rodrigogml.rfw.base.sessionmanager.SessionManager;
+import br.eng.rodrigogml.rfw.base.sessionmanager.SessionManagerTest;
+import br.eng.rodrigogml.rfw.base.sessionmanager.annotations.Security;
+import br.eng.rodrigogml.rfw.base.sessionmanager.annotations.Security.SecurityAction;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interceptors.SMInterceptor.MethodSecurity;
+import br.eng.rodrigogml.rfw.base.sessionmanager.interfaces.SessionVO;
+import br.eng.rodrigogml.rfw.kernel.exceptions.RFWException;
+import br.eng.rodrigogml.rfw.kernel.utils.RUGenerators;
+import br.eng.rodrigogml.rfw.kernel.vo.RFWRecursiveClonable;
+
+/**
+ * Description: Testes da validação das chaves de sessão e das definições de segurança do {@link SMInterceptor}.<br>
+ *
+ * @author Rodrigo GML
+ * @since 10.0 (17 de out de 2026)
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SMInterceptorTest {
+
+  private static final String UUID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+  /**
+   * Fachada de teste.
+   */
+  public static class TestFacade {
+
+    public SessionVO session(String uuid, Integer value) throws RFWException {
+      return SessionManager.getSession();
+    }
+
+    @Security(action = SecurityAction.HASTOKENSESSION)
+    public SessionVO station(String token) throws RFWException {
+      return SessionManager.getSession();
+    }
+
+    @Security(action = SecurityAction.SKIP)
+    public String skip(String value) {
+      return value;
+    }
+
+    @Security(action = SecurityAction.HASKEY, key = { "KEY_A", "KEY_B" })
+    public SessionVO keyed(String uuid, RFWRecursiveClonable vo, long value, Object object, Long id, String[] values) throws RFWException {
+      return SessionManager.getSession();
+    }
+  }
+
+  /**
+   * Contexto de chamada da fachada, invocando diretamente o método do {@link TestFacade}.
+   */
+  private static class TestInvocationContext implements InvocationContext {
+
+    private final Object target = new TestFacade();
+
+    private final Method method;
+
+    private Object[] parameters;
+
+    private final HashMap<String, Object> contextData = new HashMap<>();
+
+    TestInvocationContext(Method method) {
+      this.method = method;
+    }
+
+    @Override
+    public Object getTarget() {
+      return target;
+    }
+
+    @Override
+    public Method getMethod() {
+      return method;
+    }
+
+    @Override
+    public Object[] getParameters() {
+      return parameters;
+    }
+
+    @Override
+    public void setParameters(Object[] parameters) {
+      this.parameters = parameters;
+    }
+
+    @Override
+    public Object proceed() throws Exception {
+      return method.invoke(target, parameters);
+    }
+
+    // Métodos sem @Override: não existem em todas as versões da API de Interceptors
+
+    public Object getTimer() {
+      return null;
+    }
+
+    public Constructor<?> getConstructor() {
+      return null;
+    }
+
+    public Map<String, Object> getContextData() {
+      return contextData;
+    }
+  }
+
+  @BeforeClass
+  public static void setUp() throws RFWException {
+    SessionManagerTest.setUp();
+  }
+
+  /**
+   * Confere a identificação das chaves de sessão e de Token.
+   */
+  @Test
+  public void t00_sessionKeys() {
+    final String prefix = SessionManager.getTokenPrefix();
+    assertEquals(0, SMInterceptor.checkSessionKey(UUID));
+    assertEquals(0, SMInterceptor.checkSessionKey(RUGenerators.generateUUID()));
+    assertEquals(1, SMInterceptor.checkSessionKey(prefix + UUID));
+
+    assertEquals(-1, SMInterceptor.checkSessionKey(""));
+    assertEquals(-1, SMInterceptor.checkSessionKey(prefix));
+    assertEquals(-1, SMInterceptor.checkSessionKey(UUID.substring(1)));
+    assertEquals(-1, SMInterceptor.checkSessionKey(UUID + "0"));
+    assertEquals(-1, SMInterceptor.checkSessionKey(UUID.replace('-', '0')));
+    assertEquals(-1, SMInterceptor.checkSessionKey("0f8fad5bd-9cb-469f-a165-70867728950e")); // Separador fora de posição
+    assertEquals(-1, SMInterceptor.checkSessionKey("0f8fad5b-d9cb-469f-a165-70867728950_"));
+    assertEquals(-1, SMInterceptor.checkSessionKey("0f8fad5b-d9cb-469f-a165-70867728950é"));
+    assertEquals(-1, SMInterceptor.checkSessionKey("X" + prefix + UUID));
+    assertEquals(-1, SMInterceptor.checkSessionKey(prefix + prefix + UUID));
+    assertEquals(-1, SMInterceptor.checkSessionKey(prefix + UUID.substring(1)));
+
+    assertTrue(SMInterceptor.isUUID("xx" + UUID, 2));
+    assertFalse(SMInterceptor.isUUID(UUID, 2));
+  }
+
+  /**
+   * Confere que a validação das chaves não cria objetos.
+   */
+  @Test
+  public void t01_allocationFree() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean) || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) return;
+    final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+    final String token = SessionManager.getTokenPrefix() + UUID;
+    final long threadId = Thread.currentThread().getId();
+
+    int sum = 0;
+    for (int i = 0; i < 100000; i++) { // Aquecimento
+      sum += SMInterceptor.checkSessionKey(UUID) + SMInterceptor.checkSessionKey(token);
+    }
+    final long before = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 1000000; i++) {
+      sum += SMInterceptor.checkSessionKey(UUID) + SMInterceptor.checkSessionKey(token);
+    }
+    final long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+    assertEquals(1100000, sum);
+    assertTrue("Bytes alocados em 2 milhões de validações: " + allocated, allocated < 64 * 1024); // Apenas o ruído da própria medição
+  }
+
+  /**
+   * Confere a verificação de sessão do interceptor: a sessão é associada à Thread durante a chamada e removida ao final.
+   */
+  @Test
+  public void t02_businessIntercept() throws Throwable {
+    final SMInterceptor interceptor = new SMInterceptor();
+    final SessionVO ssVO = SessionManager.doLogin("interceptor", "pwd", null);
+    SessionManager.cleanThread(Thread.currentThread());
+    try {
+      final TestInvocationContext ctx = new TestInvocationContext(TestFacade.class.getMethod("session", String.class, Integer.class));
+      ctx.setParameters(new Object[] { ssVO.getUUID(), 1 });
+      assertSame(ssVO, interceptor.businessIntercept(ctx));
+      assertNull(SessionManager.getSessionIfExists());
+
+      ctx.setParameters(new Object[] { "sessão inválida", 1 });
+      try {
+        interceptor.businessIntercept(ctx);
+        fail("Chave de sessão inválida aceita!");
+      } catch (RFWException e) {
+        assertEquals("RFW_000019", e.getExceptionCode());
+      }
+      ctx.setParameters(new Object[] { UUID, 1 });
+      try {
+        interceptor.businessIntercept(ctx);
+        fail("Sessão inexistente aceita!");
+      } catch (RFWException e) {
+        assertEquals("RFW_ERR_000005", e.getExceptionCode());
+      }
+
+      final TestInvocationContext station = new TestInvocationContext(TestFacade.class.getMethod("station", String.class));
+      station.setParameters(new Object[] { ssVO.getUUID() });
+      try {
+        interceptor.businessIntercept(station);
+        fail("Sessão por UUID aceita no método que exige Token!");
+      } catch (RFWException e) {
+      }
+      final String token = SessionManager.getTokenPrefix() + RUGenerators.generateUUID();
+      station.setParameters(new Object[] { token });
+      final SessionVO stationVO = (SessionVO) interceptor.businessIntercept(station);
+      assertEquals(token, stationVO.getUser());
+      assertNull(SessionManager.getSessionIfExists());
+      SessionManager.unregisterSessionByToken(token);
+
+      final TestInvocationContext skip = new TestInvocationContext(TestFacade.class.getMethod("skip", String.class));
+      skip.setParameters(new Object[] { "qualquer valor" });
+      assertEquals("qualquer valor", interceptor.businessIntercept(skip));
+    } finally {
+      SessionManager.unregisterSession(ssVO.getUUID());
+    }
+  }
+
+  /**
+   * Compara a validação das chaves com a validação anterior por expressões regulares, em UUIDs e Tokens válidos e com caracteres alterados.
+   */
+  @Test
+  public void t03_regexEquivalence() throws Throwable {
+    final String prefix = SessionManager.getTokenPrefix();
+    final String chars = "09afzAFG-_É ";
+    final Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      final String uuid = RUGenerators.generateUUID();
+      final StringBuilder key = new StringBuilder(i % 2 == 0 ? uuid : prefix + uuid);
+      if (i % 3 != 0) key.setCharAt(random.nextInt(key.length()), chars.charAt(random.nextInt(chars.length())));
+      if (i % 50 == 0) key.setLength(random.nextInt(key.length()));
+      final String value = key.toString();
+      assertEquals("Chave: " + value, regexCheckSessionKey(value), SMInterceptor.checkSessionKey(value));
+    }
+  }
+
+  /**
+   * Confere as definições de segurança resolvidas para cada método da fachada e o seu cache.
+   */
+  @Test
+  public void t04_methodSecurity() throws Throwable {
+    final Method sessionMethod = TestFacade.class.getMethod("session", String.class, Integer.class);
+    final MethodSecurity session = SMInterceptor.getMethodSecurity(sessionMethod);
+    assertSame(session, SMInterceptor.getMethodSecurity(sessionMethod));
+    assertSame(session, SMInterceptor.getMethodSecurity(TestFacade.class.getMethod("session", String.class, Integer.class)));
+    assertEquals(SecurityAction.HASSESSION, session.getAction());
+    assertNull(session.getKeys());
+    assertEquals(TestFacade.class.getCanonicalName() + "#session", session.getMethodName());
+    assertEquals(0, session.getClonableParameters().length);
+
+    assertEquals(SecurityAction.HASTOKENSESSION, SMInterceptor.getMethodSecurity(TestFacade.class.getMethod("station", String.class)).getAction());
+    assertEquals(SecurityAction.SKIP, SMInterceptor.getMethodSecurity(TestFacade.class.getMethod("skip", String.class)).getAction());
+
+    final Method keyedMethod = TestFacade.class.getMethod("keyed", String.class, RFWRecursiveClonable.class, long.class, Object.class, Long.class, String[].class);
+    final MethodSecurity keyed = SMInterceptor.getMethodSecurity(keyedMethod);
+    assertEquals(SecurityAction.HASKEY, keyed.getAction());
+    assertArrayEquals(new String[] { "KEY_A", "KEY_B" }, keyed.getKeys());
+    assertArrayEquals(new int[] { 1, 3 }, keyed.getClonableParameters());
+
+    final SMInterceptor interceptor = new SMInterceptor();
+    final SessionVO ssVO = SessionManager.doLogin("keyed", "pwd", null);
+    SessionManager.cleanThread(Thread.currentThread());
+    try {
+      final TestInvocationContext ctx = new TestInvocationContext(keyedMethod);
+      ctx.setParameters(new Object[] { ssVO.getUUID(), null, 1L, "objeto", 2L, new String[0] });
+      assertSame(ssVO, interceptor.businessIntercept(ctx));
+    } finally {
+      SessionManager.unregisterSession(ssVO.getUUID());
+    }
+  }
+
+  /**
+   * Validação das chaves feita pelo interceptor antes da validação sem expressões regulares, mantida para comparação.
+   */
+  private static int regexCheckSessionKey(String key) {
+    if (key.matches(RUGenerators.UUID_REGEXP)) return 0;
+    if (key.matches("(\\Q" + SessionManager.getTokenPrefix() + "\\E)?[0-9a-z]{8}-[0-9a-z]{4}-[0-9a-z]{4}-[0-9a-z]{4}-[0-9a-z]{12}")) return 1;
+    return -1;
+  }
+}